@@ -0,0 +1,47 @@
+package com.example.batch.config;
+
+import com.example.batch.index.NaturalKeyIndex;
+import com.example.batch.index.NaturalKeyIndexLoader;
+import com.example.batch.support.ImportTable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.batch.core.configuration.annotation.JobScope;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 自然キー索引設定クラス
+ * 索引はジョブ実行単位で1回だけ読み込み、同一ジョブ内のステップ・パーティション・チャンクで共有する
+ */
+@Configuration
+@RequiredArgsConstructor
+public class KeyIndexConfig {
+    
+    private final NaturalKeyIndexLoader naturalKeyIndexLoader;
+    
+    /**
+     * 従業員コード索引
+     */
+    @Bean
+    @JobScope
+    public NaturalKeyIndex employeeKeyIndex() {
+        return naturalKeyIndexLoader.load(ImportTable.EMPLOYEE);
+    }
+    
+    /**
+     * 商品コード索引
+     */
+    @Bean
+    @JobScope
+    public NaturalKeyIndex productKeyIndex() {
+        return naturalKeyIndexLoader.load(ImportTable.PRODUCT);
+    }
+    
+    /**
+     * 取引ID索引
+     */
+    @Bean
+    @JobScope
+    public NaturalKeyIndex salesKeyIndex() {
+        return naturalKeyIndexLoader.load(ImportTable.SALES);
+    }
+}
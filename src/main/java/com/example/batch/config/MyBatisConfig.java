@@ -1,10 +1,13 @@
 package com.example.batch.config;
 
+import org.apache.ibatis.session.ExecutorType;
 import org.apache.ibatis.session.SqlSessionFactory;
 import org.mybatis.spring.SqlSessionFactoryBean;
+import org.mybatis.spring.SqlSessionTemplate;
 import org.mybatis.spring.annotation.MapperScan;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
 import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
 
 import javax.sql.DataSource;
@@ -48,4 +51,31 @@ public class MyBatisConfig {
         
         return sessionFactory.getObject();
     }
+    
+    /**
+     * 通常（SIMPLE実行モード）のSqlSessionTemplate
+     * Mapperインターフェースはこのテンプレートを使用する
+     * 
+     * @param sqlSessionFactory SqlSessionFactory
+     * @return SqlSessionTemplate
+     */
+    @Bean
+    @Primary
+    public SqlSessionTemplate sqlSessionTemplate(SqlSessionFactory sqlSessionFactory) {
+        return new SqlSessionTemplate(sqlSessionFactory);
+    }
+    
+    /**
+     * BATCH実行モードのSqlSessionTemplate
+     * 同一SQLをJDBCバッチにまとめて送信する。Springのトランザクションに参加し、
+     * コミット時にまとめてフラッシュされる。
+     * 同一トランザクション内でSIMPLE実行モードのMapperと混在させないこと。
+     * 
+     * @param sqlSessionFactory SqlSessionFactory
+     * @return BATCH実行モードのSqlSessionTemplate
+     */
+    @Bean
+    public SqlSessionTemplate batchSqlSessionTemplate(SqlSessionFactory sqlSessionFactory) {
+        return new SqlSessionTemplate(sqlSessionFactory, ExecutorType.BATCH);
+    }
 }
\ No newline at end of file
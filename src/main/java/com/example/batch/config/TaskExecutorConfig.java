@@ -5,6 +5,8 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.core.task.TaskExecutor;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
+import java.util.concurrent.ThreadPoolExecutor;
+
 @Configuration
 public class TaskExecutorConfig {
     
@@ -33,4 +35,22 @@ public class TaskExecutorConfig {
         executor.initialize();
         return executor;
     }
+    
+    /**
+     * 非同期チャンク処理（load.mode=async）のプロセッサー用エグゼキューター
+     * キューが満杯の場合は呼び出し元スレッドで処理し、同時に保持する処理中アイテム数を制限する
+     */
+    @Bean("asyncItemTaskExecutor")
+    public TaskExecutor asyncItemTaskExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(4);
+        executor.setMaxPoolSize(4);
+        executor.setQueueCapacity(200);        // 処理中アイテムの上限（チャンクサイズ程度）
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setThreadNamePrefix("async-item-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(60);
+        executor.initialize();
+        return executor;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,171 @@
+package com.example.batch.csv;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * 別スレッドで読み込む入力ストリーム
+ * 専用スレッドが元のストリーム（GZIPInputStreamなど）から一定サイズのブロックを読み込んで上限付きキューへ渡し、
+ * 呼び出し元のスレッドはキューからブロックを受け取る。伸長と解析が別スレッドで重なって実行される
+ *
+ * ブロックのバッファは使い回すため、キューの上限（ブロック数×ブロックサイズ）を超えてメモリを使用することはない
+ * 読み込みスレッドで発生したIOExceptionは、それまでのブロックを返した後に呼び出し元で送出する
+ */
+public class BackgroundInflatingInputStream extends InputStream {
+
+    /** 1ブロックの既定サイズ（256KB） */
+    public static final int DEFAULT_BLOCK_SIZE = 256 * 1024;
+
+    /** キューに保持する既定のブロック数 */
+    public static final int DEFAULT_QUEUE_BLOCKS = 8;
+
+    private static final Block END = new Block(new byte[0], -1);
+
+    private final InputStream source;
+    private final BlockingQueue<byte[]> free;
+    private final BlockingQueue<Block> filled;
+    private final Thread producer;
+
+    private volatile boolean closed;
+    private volatile IOException failure;
+    private Block current;
+    private int position;
+
+    /**
+     * コンストラクタ（読み込みスレッドを開始する）
+     *
+     * @param source 元のストリーム（読み込みスレッドが読み込み、終了時に閉じる）
+     * @param threadName 読み込みスレッドの名前
+     */
+    public BackgroundInflatingInputStream(InputStream source, String threadName) {
+        this(source, threadName, DEFAULT_BLOCK_SIZE, DEFAULT_QUEUE_BLOCKS);
+    }
+
+    /**
+     * コンストラクタ（読み込みスレッドを開始する）
+     *
+     * @param source 元のストリーム（読み込みスレッドが読み込み、終了時に閉じる）
+     * @param threadName 読み込みスレッドの名前
+     * @param blockSize 1ブロックのサイズ
+     * @param queueBlocks キューに保持するブロック数
+     */
+    public BackgroundInflatingInputStream(InputStream source, String threadName, int blockSize, int queueBlocks) {
+        if (blockSize < 1 || queueBlocks < 1) {
+            throw new IllegalArgumentException("blockSize and queueBlocks must be positive");
+        }
+        this.source = source;
+        // 呼び出し元が1ブロック、読み込みスレッドが1ブロックを使用中でもキューを満たせる数のバッファを用意する
+        this.free = new ArrayBlockingQueue<>(queueBlocks + 2);
+        this.filled = new ArrayBlockingQueue<>(queueBlocks + 1);
+        for (int i = 0; i < queueBlocks + 2; i++) {
+            free.add(new byte[blockSize]);
+        }
+        this.producer = new Thread(this::produce, threadName);
+        this.producer.setDaemon(true);
+        this.producer.start();
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (!fill()) {
+            return -1;
+        }
+        return current.data()[position++] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        if (!fill()) {
+            return -1;
+        }
+        int n = Math.min(len, current.length() - position);
+        System.arraycopy(current.data(), position, b, off, n);
+        position += n;
+        return n;
+    }
+
+    @Override
+    public int available() {
+        return current == null || current == END ? 0 : current.length() - position;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        producer.interrupt();
+        try {
+            producer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 現在のブロックを読み終えた場合は次のブロックを受け取る
+     *
+     * @return 読み込めるバイトがある場合true（終端の場合false）
+     */
+    private boolean fill() throws IOException {
+        if (closed) {
+            throw new IOException("Stream closed");
+        }
+        while (current == null || (current != END && position >= current.length())) {
+            if (current != null) {
+                free.add(current.data());
+            }
+            try {
+                current = filled.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for input");
+            }
+            position = 0;
+        }
+        if (current == END) {
+            if (failure != null) {
+                throw new IOException("Failed to read compressed input", failure);
+            }
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * 読み込みスレッドの処理
+     */
+    private void produce() {
+        try (InputStream in = source) {
+            while (!closed) {
+                byte[] buffer = free.take();
+                int n = in.readNBytes(buffer, 0, buffer.length);
+                if (n > 0) {
+                    filled.put(new Block(buffer, n));
+                }
+                if (n < buffer.length) {
+                    break;
+                }
+            }
+        } catch (InterruptedException e) {
+            return;
+        } catch (IOException e) {
+            failure = e;
+        }
+        try {
+            filled.put(END);
+        } catch (InterruptedException e) {
+            // 呼び出し元が閉じたため終端を通知する必要はない
+        }
+    }
+
+    private record Block(byte[] data, int length) {
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.batch.csv;
+
+import org.springframework.batch.item.ItemStreamException;
+import org.springframework.batch.item.file.BufferedReaderFactory;
+import org.springframework.core.io.Resource;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+
+/**
+ * 圧縮ファイルに対応したBufferedReaderFactory
+ * FlatFileItemReaderに設定すると、.gz・.zipのリソースを展開せずに読み込む（伸長は別スレッドで行う）
+ * 圧縮されていないリソースは既定のBufferedReaderFactoryと同じく読み込む
+ *
+ * 読み込み件数による再開は、伸長し直したストリームでレコードを読み飛ばして再開する
+ */
+public class CompressedBufferedReaderFactory implements BufferedReaderFactory {
+
+    @Override
+    public BufferedReader create(Resource resource, String encoding) {
+        try {
+            if (!CompressedInputs.isCompressed(resource.getFilename())) {
+                return new BufferedReader(new InputStreamReader(resource.getInputStream(), encoding));
+            }
+            return CompressedInputs.newReader(resource.getFile().toPath(), Charset.forName(encoding));
+        } catch (IOException e) {
+            throw new ItemStreamException("Failed to open " + resource.getDescription(), e);
+        }
+    }
+}
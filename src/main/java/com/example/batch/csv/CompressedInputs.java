@@ -0,0 +1,106 @@
+package com.example.batch.csv;
+
+import java.io.BufferedReader;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Locale;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * 圧縮されたCSV入力のユーティリティ
+ * 拡張子が.gz・.zipのファイルは展開せずに直接読み込み、伸長は専用スレッドで行う（BackgroundInflatingInputStream）
+ * .zipはファイルのエントリーを1つだけ含むアーカイブに限る
+ */
+public final class CompressedInputs {
+
+    private static final int INFLATE_BUFFER_SIZE = 64 * 1024;
+
+    private CompressedInputs() {
+    }
+
+    /**
+     * 圧縮ファイル（.gz・.zip）か
+     *
+     * @param path ファイルパス
+     * @return 圧縮ファイルの場合true
+     */
+    public static boolean isCompressed(String path) {
+        if (path == null) {
+            return false;
+        }
+        String lower = path.toLowerCase(Locale.ROOT);
+        return lower.endsWith(".gz") || lower.endsWith(".zip");
+    }
+
+    /**
+     * 入力ストリームを開く（圧縮ファイルは別スレッドで伸長したバイト列を返す）
+     *
+     * @param file 入力ファイル
+     * @return 入力ストリーム
+     * @throws IOException ファイルを開けない場合
+     * @throws IllegalArgumentException .zipにファイルのエントリーが1つだけ含まれていない場合
+     */
+    public static InputStream open(Path file) throws IOException {
+        String name = file.getFileName().toString();
+        if (!isCompressed(name)) {
+            return Files.newInputStream(file);
+        }
+        InputStream source = name.toLowerCase(Locale.ROOT).endsWith(".gz")
+                ? new GZIPInputStream(Files.newInputStream(file), INFLATE_BUFFER_SIZE)
+                : openZipEntry(file);
+        return new BackgroundInflatingInputStream(source, "inflate-" + name);
+    }
+
+    /**
+     * 文字ストリームを開く
+     *
+     * @param file 入力ファイル
+     * @param charset 文字コード
+     * @return 文字ストリーム
+     * @throws IOException ファイルを開けない場合
+     */
+    public static BufferedReader newReader(Path file, Charset charset) throws IOException {
+        return new BufferedReader(new InputStreamReader(open(file), charset));
+    }
+
+    private static InputStream openZipEntry(Path file) throws IOException {
+        ZipFile zipFile = new ZipFile(file.toFile());
+        try {
+            List<ZipEntry> entries = new ArrayList<>();
+            Enumeration<? extends ZipEntry> enumeration = zipFile.entries();
+            while (enumeration.hasMoreElements()) {
+                ZipEntry entry = enumeration.nextElement();
+                if (!entry.isDirectory()) {
+                    entries.add(entry);
+                }
+            }
+            if (entries.size() != 1) {
+                throw new IllegalArgumentException("Zip archive must contain exactly one file: "
+                        + file + " (" + entries.size() + " entries)");
+            }
+            return new FilterInputStream(zipFile.getInputStream(entries.get(0))) {
+                @Override
+                public void close() throws IOException {
+                    try {
+                        super.close();
+                    } finally {
+                        zipFile.close();
+                    }
+                }
+            };
+        } catch (IOException | RuntimeException e) {
+            zipFile.close();
+            throw e;
+        }
+    }
+}
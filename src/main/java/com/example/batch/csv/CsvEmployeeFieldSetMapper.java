@@ -0,0 +1,30 @@
+package com.example.batch.csv;
+
+import com.example.batch.dto.CsvEmployee;
+import org.springframework.batch.item.file.transform.FieldSet;
+
+/**
+ * 従業員CSVフィールドセットマッパー
+ */
+public class CsvEmployeeFieldSetMapper extends PositionalFieldSetMapper<CsvEmployee> {
+    
+    public CsvEmployeeFieldSetMapper() {
+        super("employee_code", "first_name", "last_name", "email",
+              "department", "position", "salary", "hire_date", "status");
+    }
+    
+    @Override
+    public CsvEmployee mapFieldSet(FieldSet fieldSet) {
+        return CsvEmployee.builder()
+                .employeeCode(fieldSet.readString(0))
+                .firstName(fieldSet.readString(1))
+                .lastName(fieldSet.readString(2))
+                .email(fieldSet.readString(3))
+                .department(fieldSet.readString(4))
+                .position(fieldSet.readString(5))
+                .salary(FieldSetValues.decimal(fieldSet, 6))
+                .hireDate(FieldSetValues.localDate(fieldSet, 7))
+                .status(fieldSet.readString(8))
+                .build();
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.batch.csv;
+
+import org.springframework.batch.item.file.transform.FieldExtractor;
+import org.springframework.batch.item.file.transform.LineAggregator;
+
+/**
+ * CsvWriterの書式によるFlatFileItemWriter用の行組み立て
+ * DelimitedLineAggregatorの代わりに使用し、日付・日時・10進数をCsvValuesで書式化して、
+ * 区切り文字・ダブルクォート・改行を含む項目だけをダブルクォートで囲む
+ *
+ * @param <T> アイテムの型
+ */
+public class CsvLineAggregator<T> implements LineAggregator<T> {
+
+    private final FieldExtractor<T> fieldExtractor;
+    private final char delimiter;
+
+    public CsvLineAggregator(FieldExtractor<T> fieldExtractor) {
+        this(fieldExtractor, ',');
+    }
+
+    public CsvLineAggregator(FieldExtractor<T> fieldExtractor, char delimiter) {
+        this.fieldExtractor = fieldExtractor;
+        this.delimiter = delimiter;
+    }
+
+    @Override
+    public String aggregate(T item) {
+        StringBuilder line = new StringBuilder(128);
+        CsvWriter.appendRecord(line, fieldExtractor.extract(item), delimiter);
+        return line.toString();
+    }
+}
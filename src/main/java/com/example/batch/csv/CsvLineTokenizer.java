@@ -0,0 +1,67 @@
+package com.example.batch.csv;
+
+import org.springframework.batch.item.file.transform.DefaultFieldSet;
+import org.springframework.batch.item.file.transform.FieldSet;
+import org.springframework.batch.item.file.transform.IncorrectTokenCountException;
+import org.springframework.batch.item.file.transform.LineTokenizer;
+import org.springframework.lang.Nullable;
+
+import java.util.Arrays;
+
+/**
+ * CsvTokenizerによるFlatFileItemReader用の項目分割
+ * DelimitedLineTokenizerの代わりに使用し、クォート・エスケープの扱いをタスクレット・レポートのCSV読み込みと揃える
+ *
+ * 既定では項目数が列名の数と異なる場合にIncorrectTokenCountExceptionを送出する（DelimitedLineTokenizerと同じ）
+ * マルチスレッドステップでリーダーを共有しても使えるよう、作業用のCsvTokenizerはスレッドごとに保持する
+ */
+public class CsvLineTokenizer implements LineTokenizer {
+
+    private final String[] names;
+    private final ThreadLocal<CsvTokenizer> tokenizers;
+    private boolean strict = true;
+
+    /**
+     * コンストラクタ（区切り文字はカンマ）
+     *
+     * @param names 列名（項目の並び順）
+     */
+    public CsvLineTokenizer(String... names) {
+        this(',', names);
+    }
+
+    /**
+     * コンストラクタ
+     *
+     * @param delimiter 区切り文字
+     * @param names 列名（項目の並び順）
+     */
+    public CsvLineTokenizer(char delimiter, String... names) {
+        this.names = names.clone();
+        this.tokenizers = ThreadLocal.withInitial(() -> new CsvTokenizer(delimiter));
+    }
+
+    /**
+     * 項目数を検証するか（falseの場合は不足分を空文字で補い、超過分は切り捨てる）
+     */
+    public void setStrict(boolean strict) {
+        this.strict = strict;
+    }
+
+    @Override
+    public FieldSet tokenize(@Nullable String line) {
+        CsvTokenizer tokenizer = tokenizers.get();
+        int count = tokenizer.tokenize(line != null ? line : "");
+        if (count == names.length) {
+            return new DefaultFieldSet(tokenizer.toArray(), names);
+        }
+        if (strict) {
+            throw new IncorrectTokenCountException(names.length, count, line);
+        }
+        String[] values = Arrays.copyOf(tokenizer.toArray(), names.length);
+        for (int i = count; i < values.length; i++) {
+            values[i] = "";
+        }
+        return new DefaultFieldSet(values, names);
+    }
+}
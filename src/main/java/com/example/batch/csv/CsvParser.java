@@ -0,0 +1,102 @@
+package com.example.batch.csv;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * CSVパーサー
+ * CsvRecordReaderでレコードを読み込み、CsvTokenizerで項目に分割する（チャンク・タスクレット・レポートのCSV読み込み共通）
+ * 項目の値は次のレコードを読み込むまで参照でき、項目の配列は再利用する
+ *
+ * <pre>
+ * try (CsvParser parser = new CsvParser(reader)) {
+ *     while (parser.next()) {
+ *         String code = parser.field(0);
+ *     }
+ * }
+ * </pre>
+ */
+public class CsvParser implements Closeable {
+
+    private final CsvRecordReader records;
+    private final CsvTokenizer tokenizer;
+    private String record;
+    private long recordNumber;
+
+    public CsvParser(Reader reader) {
+        this(reader, ',');
+    }
+
+    public CsvParser(Reader reader, char delimiter) {
+        this.records = new CsvRecordReader(reader);
+        this.tokenizer = new CsvTokenizer(delimiter);
+    }
+
+    /**
+     * 次のレコードを読み込んで項目に分割
+     *
+     * @return レコードがある場合true（ファイル末尾の場合false）
+     * @throws IOException 読み込みエラー時の例外
+     */
+    public boolean next() throws IOException {
+        record = records.readRecord();
+        if (record == null) {
+            return false;
+        }
+        recordNumber++;
+        tokenizer.tokenize(record);
+        return true;
+    }
+
+    /**
+     * 現在のレコードの項目数
+     */
+    public int fieldCount() {
+        return tokenizer.size();
+    }
+
+    /**
+     * 現在のレコードの項目の値
+     *
+     * @param index 項目位置（0始まり）
+     * @return 値
+     * @throws IndexOutOfBoundsException 項目が存在しない場合
+     */
+    public String field(int index) {
+        return tokenizer.get(index);
+    }
+
+    /**
+     * 現在のレコードの項目の値を配列にコピー
+     */
+    public String[] values() {
+        return tokenizer.toArray();
+    }
+
+    /**
+     * 現在のレコード文字列（エラーメッセージ用）
+     */
+    public String record() {
+        return record;
+    }
+
+    /**
+     * 現在のレコードの番号（1始まり、ヘッダー行を含む）
+     */
+    public long recordNumber() {
+        return recordNumber;
+    }
+
+    /**
+     * 現在のレコードが空行か
+     */
+    public boolean isBlank() {
+        return record != null && record.isBlank();
+    }
+
+    @Override
+    public void close() throws IOException {
+        records.close();
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.batch.csv;
+
+import com.example.batch.dto.CsvProduct;
+import org.springframework.batch.item.file.transform.FieldSet;
+
+/**
+ * 商品CSVフィールドセットマッパー
+ */
+public class CsvProductFieldSetMapper extends PositionalFieldSetMapper<CsvProduct> {
+    
+    public CsvProductFieldSetMapper() {
+        super("product_code", "product_name", "category", "price",
+              "stock_quantity", "description", "manufacturer", "release_date", "is_active");
+    }
+    
+    @Override
+    public CsvProduct mapFieldSet(FieldSet fieldSet) {
+        return CsvProduct.builder()
+                .productCode(fieldSet.readString(0))
+                .productName(fieldSet.readString(1))
+                .category(fieldSet.readString(2))
+                .price(FieldSetValues.decimal(fieldSet, 3))
+                .stockQuantity(FieldSetValues.integer(fieldSet, 4))
+                .description(fieldSet.readString(5))
+                .manufacturer(fieldSet.readString(6))
+                .releaseDate(FieldSetValues.localDate(fieldSet, 7))
+                .isActive(FieldSetValues.bool(fieldSet, 8))
+                .build();
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.batch.csv;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * CSVレコードリーダー
+ * ダブルクォートで囲まれた項目内の改行を考慮して、1レコード分の文字列を読み込む
+ * 返却する文字列には行末の改行（CRLF/LF）を含めない
+ */
+public class CsvRecordReader implements Closeable {
+    
+    private static final int BUFFER_SIZE = 64 * 1024;
+    
+    private final Reader reader;
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private final StringBuilder record = new StringBuilder(256);
+    private int position;
+    private int limit;
+    
+    public CsvRecordReader(Reader reader) {
+        this.reader = reader;
+    }
+    
+    /**
+     * 次のレコードを読み込む
+     * 
+     * @return レコード文字列（ファイル末尾の場合はnull）
+     * @throws IOException 読み込みエラー時の例外
+     */
+    public String readRecord() throws IOException {
+        record.setLength(0);
+        boolean inQuotes = false;
+        boolean read = false;
+        
+        while (true) {
+            if (position >= limit) {
+                limit = reader.read(buffer, 0, buffer.length);
+                position = 0;
+                if (limit <= 0) {
+                    limit = 0;
+                    return read ? trimCarriageReturn() : null;
+                }
+            }
+            
+            int start = position;
+            while (position < limit) {
+                char c = buffer[position++];
+                if (c == '"') {
+                    // 連続するダブルクォート（エスケープ）は開閉を2回反転するため結果的に状態は変わらない
+                    inQuotes = !inQuotes;
+                } else if (c == '\n' && !inQuotes) {
+                    record.append(buffer, start, position - 1 - start);
+                    return trimCarriageReturn();
+                }
+            }
+            record.append(buffer, start, position - start);
+            read = true;
+        }
+    }
+    
+    private String trimCarriageReturn() {
+        int length = record.length();
+        if (length > 0 && record.charAt(length - 1) == '\r') {
+            record.setLength(length - 1);
+        }
+        return record.toString();
+    }
+    
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.batch.csv;
+
+import org.springframework.batch.item.file.separator.RecordSeparatorPolicy;
+
+/**
+ * FlatFileItemReader用のレコード区切り判定
+ * ダブルクォートの開閉を数え、囲み内の改行ではレコードを区切らない（CsvRecordReaderと同じ判定）
+ * DefaultRecordSeparatorPolicyと異なり、行末のバックスラッシュを継続行として扱わない
+ */
+public class CsvRecordSeparatorPolicy implements RecordSeparatorPolicy {
+
+    @Override
+    public boolean isEndOfRecord(String record) {
+        boolean inQuotes = false;
+        for (int i = 0; i < record.length(); i++) {
+            if (record.charAt(i) == '"') {
+                inQuotes = !inQuotes;
+            }
+        }
+        return !inQuotes;
+    }
+
+    @Override
+    public String postProcess(String record) {
+        return record;
+    }
+
+    @Override
+    public String preProcess(String record) {
+        // 囲み内の改行は読み込み時に取り除かれるため、改行を補って次の行と連結する
+        return record + "\n";
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.batch.csv;
+
+/**
+ * CSVレコード操作
+ * レコード文字列から指定位置の項目だけを取り出す（ダブルクォートで囲まれた項目に対応、全項目の分割はCsvTokenizerを使用する）
+ */
+public final class CsvRecords {
+    
+    private CsvRecords() {
+    }
+    
+    /**
+     * 指定位置の項目を取得
+     * ダブルクォートは取り除き、エスケープされたダブルクォート（""）は1文字に戻す
+     * 
+     * @param record レコード文字列
+     * @param index 項目位置（0始まり）
+     * @param delimiter 区切り文字
+     * @return 項目の値（項目が存在しない場合はnull）
+     */
+    public static String field(String record, int index, char delimiter) {
+        int length = record.length();
+        int i = 0;
+        
+        // 指定位置の手前まで、囲み外の区切り文字を数えて読み飛ばす
+        for (int column = 0; column < index; column++) {
+            boolean inQuotes = false;
+            boolean found = false;
+            while (i < length) {
+                char c = record.charAt(i++);
+                if (c == '"') {
+                    inQuotes = !inQuotes;
+                } else if (c == delimiter && !inQuotes) {
+                    found = true;
+                    break;
+                }
+            }
+            if (!found) {
+                return null;
+            }
+        }
+        
+        if (i < length && record.charAt(i) == '"') {
+            StringBuilder value = new StringBuilder();
+            i++;
+            while (i < length) {
+                char c = record.charAt(i++);
+                if (c == '"') {
+                    if (i < length && record.charAt(i) == '"') {
+                        value.append('"');
+                        i++;
+                    } else {
+                        break;
+                    }
+                } else {
+                    value.append(c);
+                }
+            }
+            // 閉じクォートの後ろの文字は区切り文字まで連結する（CsvTokenizerと同じ扱い）
+            int end = record.indexOf(delimiter, i);
+            value.append(record, i, end < 0 ? length : end);
+            return value.toString();
+        }
+        
+        int end = record.indexOf(delimiter, i);
+        return record.substring(i, end < 0 ? length : end);
+    }
+    
+    /**
+     * ヘッダーレコードから列名の位置を取得
+     * 
+     * @param header ヘッダーレコード
+     * @param columnName 列名（大文字小文字は区別しない）
+     * @param delimiter 区切り文字
+     * @return 項目位置（0始まり）
+     * @throws IllegalArgumentException 列名が存在しない場合
+     */
+    public static int indexOf(String header, String columnName, char delimiter) {
+        CsvTokenizer tokenizer = new CsvTokenizer(delimiter);
+        tokenizer.tokenize(header);
+        return indexOf(tokenizer.toArray(), columnName);
+    }
+    
+    /**
+     * 分割済みのヘッダー項目から列名の位置を取得
+     * 
+     * @param header ヘッダーの項目
+     * @param columnName 列名（大文字小文字は区別しない）
+     * @return 項目位置（0始まり）
+     * @throws IllegalArgumentException 列名が存在しない場合
+     */
+    public static int indexOf(String[] header, String columnName) {
+        for (int index = 0; index < header.length; index++) {
+            // 先頭列のBOMは列名に含めない
+            if (header[index].replace("\uFEFF", "").trim().equalsIgnoreCase(columnName)) {
+                return index;
+            }
+        }
+        throw new IllegalArgumentException("Column not found in header: " + columnName);
+    }
+}
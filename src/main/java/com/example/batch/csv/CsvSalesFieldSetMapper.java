@@ -0,0 +1,30 @@
+package com.example.batch.csv;
+
+import com.example.batch.dto.CsvSales;
+import org.springframework.batch.item.file.transform.FieldSet;
+
+/**
+ * 売上CSVフィールドセットマッパー
+ */
+public class CsvSalesFieldSetMapper extends PositionalFieldSetMapper<CsvSales> {
+    
+    public CsvSalesFieldSetMapper() {
+        super("transaction_id", "product_code", "customer_name", "quantity",
+              "unit_price", "total_amount", "sale_date", "payment_method", "status");
+    }
+    
+    @Override
+    public CsvSales mapFieldSet(FieldSet fieldSet) {
+        return CsvSales.builder()
+                .transactionId(fieldSet.readString(0))
+                .productCode(fieldSet.readString(1))
+                .customerName(fieldSet.readString(2))
+                .quantity(FieldSetValues.integer(fieldSet, 3))
+                .unitPrice(FieldSetValues.decimal(fieldSet, 4))
+                .totalAmount(FieldSetValues.decimal(fieldSet, 5))
+                .saleDate(FieldSetValues.localDateTime(fieldSet, 6))
+                .paymentMethod(fieldSet.readString(7))
+                .status(fieldSet.readString(8))
+                .build();
+    }
+}
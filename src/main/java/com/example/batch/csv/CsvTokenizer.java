@@ -0,0 +1,133 @@
+package com.example.batch.csv;
+
+import java.util.Arrays;
+
+/**
+ * CSVレコードの項目分割
+ * 1レコード分の文字列（CsvRecordReaderが読み込んだもの）を区切り文字で項目に分割する
+ *
+ * <ul>
+ *   <li>ダブルクォートで囲まれた項目は囲みを取り除き、エスケープされたダブルクォート（""）は1文字に戻す</li>
+ *   <li>囲み内の区切り文字・改行は項目の一部として扱う</li>
+ *   <li>閉じクォートの後ろに区切り文字までの文字がある場合は、そのまま項目に連結する</li>
+ *   <li>末尾の区切り文字の後ろは空の項目とする（空のレコードは空の項目1つ）</li>
+ * </ul>
+ *
+ * 項目の配列・作業用バッファは呼び出しごとに再利用するため、インスタンスはスレッドごとに用意する
+ */
+public final class CsvTokenizer {
+
+    private static final char QUOTE = '"';
+
+    private final char delimiter;
+    private final StringBuilder quoted = new StringBuilder(64);
+    private String[] fields = new String[16];
+    private int size;
+
+    public CsvTokenizer() {
+        this(',');
+    }
+
+    public CsvTokenizer(char delimiter) {
+        if (delimiter == QUOTE || delimiter == '\r' || delimiter == '\n') {
+            throw new IllegalArgumentException("Invalid delimiter: " + delimiter);
+        }
+        this.delimiter = delimiter;
+    }
+
+    /**
+     * レコードを項目に分割
+     *
+     * @param record レコード文字列（行末の改行を含まない）
+     * @return 項目数
+     */
+    public int tokenize(String record) {
+        size = 0;
+        int length = record.length();
+        int i = 0;
+        while (true) {
+            int end;
+            String value;
+            if (i < length && record.charAt(i) == QUOTE) {
+                i = readQuoted(record, i + 1, length);
+                int next = record.indexOf(delimiter, i);
+                end = next < 0 ? length : next;
+                if (end > i) {
+                    quoted.append(record, i, end);
+                }
+                value = quoted.toString();
+            } else {
+                int next = record.indexOf(delimiter, i);
+                end = next < 0 ? length : next;
+                value = record.substring(i, end);
+            }
+            add(value);
+            if (end >= length) {
+                return size;
+            }
+            i = end + 1;
+        }
+    }
+
+    /**
+     * 項目数
+     *
+     * @return 直前に分割したレコードの項目数
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * 項目の値
+     *
+     * @param index 項目位置（0始まり）
+     * @return 値
+     * @throws IndexOutOfBoundsException 項目が存在しない場合
+     */
+    public String get(int index) {
+        if (index >= size) {
+            throw new IndexOutOfBoundsException("Field " + index + " out of " + size);
+        }
+        return fields[index];
+    }
+
+    /**
+     * 項目の値を配列にコピー
+     *
+     * @return 値の配列
+     */
+    public String[] toArray() {
+        return Arrays.copyOf(fields, size);
+    }
+
+    /**
+     * 囲まれた項目の値を作業用バッファに読み込む
+     *
+     * @return 閉じクォートの次の位置（閉じていない場合はレコードの末尾）
+     */
+    private int readQuoted(String record, int start, int length) {
+        quoted.setLength(0);
+        while (true) {
+            int quote = record.indexOf(QUOTE, start);
+            if (quote < 0) {
+                quoted.append(record, start, length);
+                return length;
+            }
+            quoted.append(record, start, quote);
+            if (quote + 1 < length && record.charAt(quote + 1) == QUOTE) {
+                quoted.append(QUOTE);
+                start = quote + 2;
+            } else {
+                return quote + 1;
+            }
+        }
+    }
+
+    private void add(String value) {
+        if (size == fields.length) {
+            fields = Arrays.copyOf(fields, size * 2);
+        }
+        fields[size++] = value;
+    }
+}
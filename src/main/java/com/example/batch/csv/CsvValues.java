@@ -0,0 +1,473 @@
+package com.example.batch.csv;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+
+/**
+ * CSV値の解析・書式化（全リーダー・ライター共通、スレッドセーフ）
+ * 固定書式のyyyy-MM-dd・yyyy-MM-dd HH:mm:ssは文字・バイト列から直接解析し、
+ * 10進数は18桁以内であればunscaled long経由でBigDecimalを生成する
+ * 頻出する小さな値（日付・4桁以下の金額・数量）は生成済みのインスタンスを再利用する
+ *
+ * 固定書式に合わない値はDateTimeFormatter・BigDecimal(String)で解析し、同じ例外を送出する
+ */
+public final class CsvValues {
+
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+    private static final DateTimeFormatter DATE_TIME_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    /** 日付キャッシュのスロット数（2のべき乗） */
+    private static final int DATE_CACHE_SIZE = 4096;
+
+    /** 再利用する10進数の範囲（unscaledが0以上この値未満、scaleが0以上MAX_CACHED_SCALE以下） */
+    private static final int DECIMAL_CACHE_LIMIT = 10_000;
+    private static final int MAX_CACHED_SCALE = 2;
+
+    /**
+     * キャッシュはロックなしで読み書きする（要素は不変オブジェクトのため、競合しても生成し直すだけで結果は変わらない）
+     */
+    private static final LocalDate[] DATE_CACHE = new LocalDate[DATE_CACHE_SIZE];
+    private static final BigDecimal[][] DECIMAL_CACHE = new BigDecimal[MAX_CACHED_SCALE + 1][DECIMAL_CACHE_LIMIT];
+    private static final Integer[] INTEGER_CACHE = new Integer[DECIMAL_CACHE_LIMIT];
+
+    private CsvValues() {
+    }
+
+    // ---- 文字列からの解析 ----
+
+    /**
+     * 日付（yyyy-MM-dd）を解析
+     *
+     * @param value 値（前後の空白は除去済みであること）
+     * @return 日付（空の場合はnull）
+     * @throws java.time.DateTimeException 日付でない場合
+     */
+    public static LocalDate parseDate(CharSequence value) {
+        if (isEmpty(value)) {
+            return null;
+        }
+        if (value.length() == 10 && value.charAt(4) == '-' && value.charAt(7) == '-') {
+            int year = digits(value, 0, 4);
+            int month = digits(value, 5, 2);
+            int day = digits(value, 8, 2);
+            if ((year | month | day) >= 0) {
+                return date(year, month, day);
+            }
+        }
+        return LocalDate.parse(value, DATE_FORMAT);
+    }
+
+    /**
+     * 日時（yyyy-MM-dd HH:mm:ss）を解析
+     *
+     * @param value 値（前後の空白は除去済みであること）
+     * @return 日時（空の場合はnull）
+     * @throws java.time.DateTimeException 日時でない場合
+     */
+    public static LocalDateTime parseDateTime(CharSequence value) {
+        if (isEmpty(value)) {
+            return null;
+        }
+        if (value.length() == 19 && value.charAt(4) == '-' && value.charAt(7) == '-' && value.charAt(10) == ' '
+                && value.charAt(13) == ':' && value.charAt(16) == ':') {
+            int year = digits(value, 0, 4);
+            int month = digits(value, 5, 2);
+            int day = digits(value, 8, 2);
+            int hour = digits(value, 11, 2);
+            int minute = digits(value, 14, 2);
+            int second = digits(value, 17, 2);
+            if ((year | month | day | hour | minute | second) >= 0) {
+                return LocalDateTime.of(date(year, month, day), LocalTime.of(hour, minute, second));
+            }
+        }
+        return LocalDateTime.parse(value, DATE_TIME_FORMAT);
+    }
+
+    /**
+     * 10進数を解析
+     *
+     * @param value 値（前後の空白は除去済みであること）
+     * @return 10進数（空の場合はnull）
+     * @throws NumberFormatException 数値でない場合
+     */
+    public static BigDecimal parseDecimal(CharSequence value) {
+        if (isEmpty(value)) {
+            return null;
+        }
+        int length = value.length();
+        int start = 0;
+        char first = value.charAt(0);
+        boolean negative = first == '-';
+        if (negative || first == '+') {
+            start = 1;
+        }
+        long unscaled = 0;
+        int digits = 0;
+        int scale = -1;
+        for (int i = start; i < length; i++) {
+            char c = value.charAt(i);
+            if (c == '.' && scale < 0) {
+                scale = 0;
+                continue;
+            }
+            int digit = c - '0';
+            if (digit < 0 || digit > 9 || ++digits > 18) {
+                return new BigDecimal(value.toString());
+            }
+            unscaled = unscaled * 10 + digit;
+            if (scale >= 0) {
+                scale++;
+            }
+        }
+        if (digits == 0) {
+            return new BigDecimal(value.toString());
+        }
+        return decimal(negative ? -unscaled : unscaled, Math.max(scale, 0));
+    }
+
+    /**
+     * 整数を解析
+     *
+     * @param value 値（前後の空白は除去済みであること）
+     * @return 整数（空の場合はnull）
+     * @throws NumberFormatException 整数でない場合
+     */
+    public static Integer parseInteger(CharSequence value) {
+        if (isEmpty(value)) {
+            return null;
+        }
+        int length = value.length();
+        int start = 0;
+        char first = value.charAt(0);
+        boolean negative = first == '-';
+        if (negative || first == '+') {
+            start = 1;
+        }
+        if (start == length || length - start > 9) {
+            return Integer.valueOf(value.toString());
+        }
+        int result = 0;
+        for (int i = start; i < length; i++) {
+            int digit = value.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                throw new NumberFormatException("For input string: \"" + value + "\"");
+            }
+            result = result * 10 + digit;
+        }
+        return integer(negative ? -result : result);
+    }
+
+    /**
+     * 真偽値を解析（true/false、yes/no、on/off、1/0、大文字小文字は区別しない）
+     *
+     * @param value 値（前後の空白は除去済みであること）
+     * @return 真偽値（空の場合はnull）
+     * @throws IllegalArgumentException 真偽値でない場合
+     */
+    public static Boolean parseBoolean(String value) {
+        if (isEmpty(value)) {
+            return null;
+        }
+        switch (value.toLowerCase(Locale.ROOT)) {
+            case "true", "yes", "on", "1":
+                return Boolean.TRUE;
+            case "false", "no", "off", "0":
+                return Boolean.FALSE;
+            default:
+                throw new IllegalArgumentException("Invalid boolean value '" + value + "'");
+        }
+    }
+
+    // ---- バイト列（ASCII互換の文字コード）からの解析 ----
+
+    /**
+     * 日付（yyyy-MM-dd）をバイト列から解析
+     *
+     * @param buffer バッファ
+     * @param start 開始位置
+     * @param end 終了位置（この位置を含まない）
+     * @return 日付（空の場合はnull）
+     */
+    public static LocalDate parseDate(ByteBuffer buffer, int start, int end) {
+        if (end - start == 10 && buffer.get(start + 4) == '-' && buffer.get(start + 7) == '-') {
+            int year = digits(buffer, start, 4);
+            int month = digits(buffer, start + 5, 2);
+            int day = digits(buffer, start + 8, 2);
+            if ((year | month | day) >= 0) {
+                return date(year, month, day);
+            }
+        }
+        return parseDate(decode(buffer, start, end));
+    }
+
+    /**
+     * 日時（yyyy-MM-dd HH:mm:ss）をバイト列から解析
+     *
+     * @param buffer バッファ
+     * @param start 開始位置
+     * @param end 終了位置（この位置を含まない）
+     * @return 日時（空の場合はnull）
+     */
+    public static LocalDateTime parseDateTime(ByteBuffer buffer, int start, int end) {
+        if (end - start == 19 && buffer.get(start + 4) == '-' && buffer.get(start + 7) == '-'
+                && buffer.get(start + 10) == ' ' && buffer.get(start + 13) == ':' && buffer.get(start + 16) == ':') {
+            int year = digits(buffer, start, 4);
+            int month = digits(buffer, start + 5, 2);
+            int day = digits(buffer, start + 8, 2);
+            int hour = digits(buffer, start + 11, 2);
+            int minute = digits(buffer, start + 14, 2);
+            int second = digits(buffer, start + 17, 2);
+            if ((year | month | day | hour | minute | second) >= 0) {
+                return LocalDateTime.of(date(year, month, day), LocalTime.of(hour, minute, second));
+            }
+        }
+        return parseDateTime(decode(buffer, start, end));
+    }
+
+    /**
+     * 10進数をバイト列から解析
+     *
+     * @param buffer バッファ
+     * @param start 開始位置
+     * @param end 終了位置（この位置を含まない）
+     * @return 10進数（空の場合はnull）
+     */
+    public static BigDecimal parseDecimal(ByteBuffer buffer, int start, int end) {
+        if (start == end) {
+            return null;
+        }
+        int p = start;
+        byte first = buffer.get(p);
+        boolean negative = first == '-';
+        if (negative || first == '+') {
+            p++;
+        }
+        long unscaled = 0;
+        int digits = 0;
+        int scale = -1;
+        for (; p < end; p++) {
+            byte b = buffer.get(p);
+            if (b == '.' && scale < 0) {
+                scale = 0;
+                continue;
+            }
+            int digit = b - '0';
+            if (digit < 0 || digit > 9 || ++digits > 18) {
+                return parseDecimal(decode(buffer, start, end));
+            }
+            unscaled = unscaled * 10 + digit;
+            if (scale >= 0) {
+                scale++;
+            }
+        }
+        if (digits == 0) {
+            return parseDecimal(decode(buffer, start, end));
+        }
+        return decimal(negative ? -unscaled : unscaled, Math.max(scale, 0));
+    }
+
+    /**
+     * 整数をバイト列から解析
+     *
+     * @param buffer バッファ
+     * @param start 開始位置
+     * @param end 終了位置（この位置を含まない）
+     * @return 整数（空の場合はnull）
+     */
+    public static Integer parseInteger(ByteBuffer buffer, int start, int end) {
+        if (start == end) {
+            return null;
+        }
+        int p = start;
+        byte first = buffer.get(p);
+        boolean negative = first == '-';
+        if (negative || first == '+') {
+            p++;
+        }
+        if (p == end || end - p > 9) {
+            return parseInteger(decode(buffer, start, end));
+        }
+        int result = 0;
+        for (; p < end; p++) {
+            int digit = buffer.get(p) - '0';
+            if (digit < 0 || digit > 9) {
+                return parseInteger(decode(buffer, start, end));
+            }
+            result = result * 10 + digit;
+        }
+        return integer(negative ? -result : result);
+    }
+
+    // ---- 書式化 ----
+
+    /**
+     * 日付をyyyy-MM-ddで書式化
+     *
+     * @param value 日付
+     * @return 文字列（nullの場合はnull）
+     */
+    public static String formatDate(LocalDate value) {
+        if (value == null) {
+            return null;
+        }
+        if (value.getYear() < 0 || value.getYear() > 9999) {
+            return DATE_FORMAT.format(value);
+        }
+        char[] chars = new char[10];
+        writeDate(chars, value);
+        return new String(chars);
+    }
+
+    /**
+     * 日時をyyyy-MM-dd HH:mm:ssで書式化（秒未満は切り捨て）
+     *
+     * @param value 日時
+     * @return 文字列（nullの場合はnull）
+     */
+    public static String formatDateTime(LocalDateTime value) {
+        if (value == null) {
+            return null;
+        }
+        if (value.getYear() < 0 || value.getYear() > 9999) {
+            return DATE_TIME_FORMAT.format(value);
+        }
+        char[] chars = new char[19];
+        writeDate(chars, value.toLocalDate());
+        chars[10] = ' ';
+        writeDigits(chars, 11, value.getHour(), 2);
+        chars[13] = ':';
+        writeDigits(chars, 14, value.getMinute(), 2);
+        chars[16] = ':';
+        writeDigits(chars, 17, value.getSecond(), 2);
+        return new String(chars);
+    }
+
+    /**
+     * 10進数を指数表記なしで書式化
+     *
+     * @param value 10進数
+     * @return 文字列（nullの場合はnull）
+     */
+    public static String formatDecimal(BigDecimal value) {
+        return value != null ? value.toPlainString() : null;
+    }
+
+    /**
+     * 値の型に応じてCSV用の文字列に書式化（日付・日時・10進数以外はString.valueOf）
+     *
+     * @param value 値
+     * @return 文字列（nullの場合はnull）
+     */
+    public static String format(Object value) {
+        if (value instanceof LocalDateTime dateTime) {
+            return formatDateTime(dateTime);
+        }
+        if (value instanceof LocalDate date) {
+            return formatDate(date);
+        }
+        if (value instanceof BigDecimal decimal) {
+            return formatDecimal(decimal);
+        }
+        return value != null ? String.valueOf(value) : null;
+    }
+
+    // ---- 内部処理 ----
+
+    private static LocalDate date(int year, int month, int day) {
+        int key = (year * 12 + month) * 31 + day;
+        int slot = (key ^ (key >>> 12)) & (DATE_CACHE_SIZE - 1);
+        LocalDate cached = DATE_CACHE[slot];
+        if (cached != null && cached.getDayOfMonth() == day && cached.getMonthValue() == month && cached.getYear() == year) {
+            return cached;
+        }
+        LocalDate created = LocalDate.of(year, month, day);
+        DATE_CACHE[slot] = created;
+        return created;
+    }
+
+    private static BigDecimal decimal(long unscaled, int scale) {
+        if (unscaled < 0 || unscaled >= DECIMAL_CACHE_LIMIT || scale > MAX_CACHED_SCALE) {
+            return BigDecimal.valueOf(unscaled, scale);
+        }
+        BigDecimal[] cache = DECIMAL_CACHE[scale];
+        BigDecimal cached = cache[(int) unscaled];
+        if (cached == null) {
+            cached = BigDecimal.valueOf(unscaled, scale);
+            cache[(int) unscaled] = cached;
+        }
+        return cached;
+    }
+
+    private static Integer integer(int value) {
+        if (value < 0 || value >= DECIMAL_CACHE_LIMIT) {
+            return value;
+        }
+        Integer cached = INTEGER_CACHE[value];
+        if (cached == null) {
+            cached = value;
+            INTEGER_CACHE[value] = cached;
+        }
+        return cached;
+    }
+
+    /**
+     * 数字列を整数に変換（数字以外を含む場合は-1）
+     */
+    private static int digits(CharSequence value, int start, int length) {
+        int result = 0;
+        for (int i = start; i < start + length; i++) {
+            int digit = value.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            result = result * 10 + digit;
+        }
+        return result;
+    }
+
+    /**
+     * 数字列を整数に変換（数字以外を含む場合は-1）
+     */
+    private static int digits(ByteBuffer buffer, int start, int length) {
+        int result = 0;
+        for (int p = start; p < start + length; p++) {
+            int digit = buffer.get(p) - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            result = result * 10 + digit;
+        }
+        return result;
+    }
+
+    private static void writeDate(char[] chars, LocalDate date) {
+        writeDigits(chars, 0, date.getYear(), 4);
+        chars[4] = '-';
+        writeDigits(chars, 5, date.getMonthValue(), 2);
+        chars[7] = '-';
+        writeDigits(chars, 8, date.getDayOfMonth(), 2);
+    }
+
+    private static void writeDigits(char[] chars, int offset, int value, int width) {
+        for (int i = offset + width - 1; i >= offset; i--) {
+            chars[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+    }
+
+    private static String decode(ByteBuffer buffer, int start, int end) {
+        byte[] bytes = new byte[end - start];
+        buffer.get(start, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static boolean isEmpty(CharSequence value) {
+        return value == null || value.length() == 0;
+    }
+}
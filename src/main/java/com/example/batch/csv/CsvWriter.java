@@ -0,0 +1,105 @@
+package com.example.batch.csv;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * CSVライター
+ * 値をCsvValuesで書式化し、区切り文字・ダブルクォート・改行を含む項目だけをダブルクォートで囲んで出力する
+ * （囲み内のダブルクォートは""にエスケープする。nullは空の項目とする）
+ * チャンクモデルのCsvLineAggregatorとタスクレットのDB→CSVで共通に使用する
+ */
+public class CsvWriter implements Closeable, Flushable {
+
+    private static final char QUOTE = '"';
+    private static final String LINE_SEPARATOR = "\n";
+
+    private final Writer writer;
+    private final char delimiter;
+    private final StringBuilder line = new StringBuilder(256);
+
+    public CsvWriter(Writer writer) {
+        this(writer, ',');
+    }
+
+    public CsvWriter(Writer writer, char delimiter) {
+        this.writer = writer;
+        this.delimiter = delimiter;
+    }
+
+    /**
+     * 1レコードを出力
+     *
+     * @param values 項目の値
+     * @throws IOException 書き込みエラー時の例外
+     */
+    public void writeRecord(Object... values) throws IOException {
+        line.setLength(0);
+        appendRecord(line, values, delimiter);
+        line.append(LINE_SEPARATOR);
+        writer.append(line);
+    }
+
+    /**
+     * 1レコード分の文字列を組み立てる（行末の改行は含めない）
+     *
+     * @param line 追加先
+     * @param values 項目の値
+     * @param delimiter 区切り文字
+     */
+    public static void appendRecord(StringBuilder line, Object[] values, char delimiter) {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                line.append(delimiter);
+            }
+            appendField(line, CsvValues.format(values[i]), delimiter);
+        }
+    }
+
+    /**
+     * 1項目を追加（必要な場合だけダブルクォートで囲む）
+     *
+     * @param line 追加先
+     * @param value 値（nullは空の項目）
+     * @param delimiter 区切り文字
+     */
+    public static void appendField(StringBuilder line, String value, char delimiter) {
+        if (value == null) {
+            return;
+        }
+        int length = value.length();
+        int i = 0;
+        while (i < length) {
+            char c = value.charAt(i);
+            if (c == delimiter || c == QUOTE || c == '\n' || c == '\r') {
+                break;
+            }
+            i++;
+        }
+        if (i == length) {
+            line.append(value);
+            return;
+        }
+        line.append(QUOTE).append(value, 0, i);
+        for (; i < length; i++) {
+            char c = value.charAt(i);
+            if (c == QUOTE) {
+                line.append(QUOTE);
+            }
+            line.append(c);
+        }
+        line.append(QUOTE);
+    }
+
+    @Override
+    public void flush() throws IOException {
+        writer.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+}
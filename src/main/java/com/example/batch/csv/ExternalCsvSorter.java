@@ -0,0 +1,214 @@
+package com.example.batch.csv;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * CSV外部マージソート
+ * 指定列をキーにCSVファイルを並べ替える。メモリ上限を超える分はソート済みランとして一時ファイルに書き出し、
+ * 最後にk-wayマージで1ファイルにまとめる。キーが同じレコードは入力順を保つ（安定ソート）
+ * 入力が圧縮ファイル（.gz・.zip）の場合は展開せずに読み込む
+ */
+@Slf4j
+public class ExternalCsvSorter {
+    
+    /** レコード1件あたりのオブジェクト管理分の見積もりバイト数 */
+    private static final int RECORD_OVERHEAD_BYTES = 64;
+    
+    private final long maxRunBytes;
+    private final Path workDirectory;
+    private final Charset charset;
+    private final char delimiter;
+    
+    /**
+     * コンストラクタ
+     * 
+     * @param maxRunBytes 1ランとしてメモリに保持する最大バイト数（見積もり）
+     * @param workDirectory 一時ファイルの作成先
+     * @param charset ファイルの文字コード
+     * @param delimiter 区切り文字
+     */
+    public ExternalCsvSorter(long maxRunBytes, Path workDirectory, Charset charset, char delimiter) {
+        this.maxRunBytes = maxRunBytes;
+        this.workDirectory = workDirectory;
+        this.charset = charset;
+        this.delimiter = delimiter;
+    }
+    
+    /**
+     * CSVファイルを指定列で並べ替えて出力
+     * 先頭行はヘッダーとしてそのまま出力する
+     * 
+     * @param input 入力ファイル
+     * @param output 出力ファイル
+     * @param columnName キー列名
+     * @return 並べ替えたレコード件数（ヘッダーを除く）
+     * @throws IOException 入出力エラー時の例外
+     */
+    public long sort(Path input, Path output, String columnName) throws IOException {
+        Files.createDirectories(workDirectory);
+        List<Path> runs = new ArrayList<>();
+        String header;
+        long records = 0;
+        
+        try (CsvRecordReader reader = new CsvRecordReader(CompressedInputs.newReader(input, charset))) {
+            header = reader.readRecord();
+            if (header == null) {
+                Files.writeString(output, "", charset);
+                return 0;
+            }
+            int keyIndex = CsvRecords.indexOf(header, columnName, delimiter);
+            
+            List<SortRecord> buffer = new ArrayList<>();
+            long bufferedBytes = 0;
+            String record;
+            while ((record = reader.readRecord()) != null) {
+                if (record.isEmpty()) {
+                    continue;
+                }
+                String key = CsvRecords.field(record, keyIndex, delimiter);
+                buffer.add(new SortRecord(key != null ? key : "", record, records++));
+                bufferedBytes += 2L * (record.length() + (key != null ? key.length() : 0)) + RECORD_OVERHEAD_BYTES;
+                
+                if (bufferedBytes >= maxRunBytes) {
+                    runs.add(writeRun(buffer));
+                    buffer.clear();
+                    bufferedBytes = 0;
+                }
+            }
+            
+            if (runs.isEmpty()) {
+                // 1ランに収まる場合は一時ファイルを使わずに出力する
+                buffer.sort(SortRecord.ORDER);
+                try (BufferedWriter writer = Files.newBufferedWriter(output, charset)) {
+                    writeRecord(writer, header);
+                    for (SortRecord sortRecord : buffer) {
+                        writeRecord(writer, sortRecord.record());
+                    }
+                }
+                return records;
+            }
+            if (!buffer.isEmpty()) {
+                runs.add(writeRun(buffer));
+                buffer.clear();
+            }
+        }
+        
+        try {
+            log.info("Merging {} sorted runs ({} records)", runs.size(), records);
+            merge(runs, output, header, columnName);
+        } finally {
+            for (Path run : runs) {
+                Files.deleteIfExists(run);
+            }
+        }
+        return records;
+    }
+    
+    /**
+     * バッファを並べ替えて一時ファイルにランとして書き出す
+     */
+    private Path writeRun(List<SortRecord> buffer) throws IOException {
+        buffer.sort(SortRecord.ORDER);
+        Path run = Files.createTempFile(workDirectory, "csv-sort-run-", ".csv");
+        try (BufferedWriter writer = Files.newBufferedWriter(run, charset)) {
+            for (SortRecord sortRecord : buffer) {
+                writeRecord(writer, sortRecord.record());
+            }
+        }
+        log.debug("Wrote sorted run {} ({} records)", run.getFileName(), buffer.size());
+        return run;
+    }
+    
+    /**
+     * ソート済みランをk-wayマージして出力
+     * キーが同じ場合はランの作成順（＝入力順）を優先する
+     */
+    private void merge(List<Path> runs, Path output, String header, String columnName) throws IOException {
+        List<RunCursor> cursors = new ArrayList<>(runs.size());
+        PriorityQueue<RunCursor> queue = new PriorityQueue<>(runs.size(), RunCursor.ORDER);
+        int keyIndex = CsvRecords.indexOf(header, columnName, delimiter);
+        
+        try (BufferedWriter writer = Files.newBufferedWriter(output, charset)) {
+            for (int i = 0; i < runs.size(); i++) {
+                RunCursor cursor = new RunCursor(i, new CsvRecordReader(Files.newBufferedReader(runs.get(i), charset)), keyIndex);
+                cursors.add(cursor);
+                if (cursor.advance(delimiter)) {
+                    queue.add(cursor);
+                }
+            }
+            
+            writeRecord(writer, header);
+            while (!queue.isEmpty()) {
+                RunCursor cursor = queue.poll();
+                writeRecord(writer, cursor.record);
+                if (cursor.advance(delimiter)) {
+                    queue.add(cursor);
+                }
+            }
+        } finally {
+            for (RunCursor cursor : cursors) {
+                try {
+                    cursor.reader.close();
+                } catch (IOException e) {
+                    log.warn("Failed to close sorted run: {}", e.getMessage());
+                }
+            }
+        }
+    }
+    
+    private static void writeRecord(Writer writer, String record) throws IOException {
+        writer.write(record);
+        writer.write('\n');
+    }
+    
+    /**
+     * ソート対象レコード
+     */
+    private record SortRecord(String key, String record, long sequence) {
+        
+        static final Comparator<SortRecord> ORDER =
+                Comparator.comparing(SortRecord::key).thenComparingLong(SortRecord::sequence);
+    }
+    
+    /**
+     * ランの読み込み位置
+     */
+    private static final class RunCursor {
+        
+        static final Comparator<RunCursor> ORDER =
+                Comparator.comparing((RunCursor cursor) -> cursor.key).thenComparingInt(cursor -> cursor.runIndex);
+        
+        final int runIndex;
+        final CsvRecordReader reader;
+        final int keyIndex;
+        String record;
+        String key;
+        
+        RunCursor(int runIndex, CsvRecordReader reader, int keyIndex) {
+            this.runIndex = runIndex;
+            this.reader = reader;
+            this.keyIndex = keyIndex;
+        }
+        
+        boolean advance(char delimiter) throws IOException {
+            record = reader.readRecord();
+            if (record == null) {
+                return false;
+            }
+            String field = CsvRecords.field(record, keyIndex, delimiter);
+            key = field != null ? field : "";
+            return true;
+        }
+    }
+}
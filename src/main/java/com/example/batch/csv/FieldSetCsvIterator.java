@@ -0,0 +1,108 @@
+package com.example.batch.csv;
+
+import org.springframework.batch.item.file.transform.DefaultFieldSet;
+import org.springframework.batch.item.file.transform.FieldSet;
+import org.springframework.validation.BindException;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * フィールドセットマッパーによるヘッダー付きCSVの逐次読み込み
+ * ヘッダー行の列名でマッパーの列位置に並べ替えるため、列の並びが異なるファイルも読み込める
+ * （並びが同じ場合は並べ替えを省略する）
+ * レコードの読み込み・項目分割はCsvParserで行い、空行は読み飛ばす
+ *
+ * @param <T> DTOの型
+ */
+public class FieldSetCsvIterator<T> implements Iterator<T>, Closeable {
+
+    private final CsvParser parser;
+    private final PositionalFieldSetMapper<T> mapper;
+    private final String[] columnNames;
+    private final int[] sourceIndexes;
+
+    private boolean hasNext;
+
+    /**
+     * コンストラクタ（ヘッダー行を読み込む）
+     *
+     * @param reader 入力
+     * @param mapper フィールドセットマッパー
+     * @throws IOException 読み込みエラー時の例外
+     * @throws IllegalArgumentException マッパーの列がヘッダーにない場合
+     */
+    public FieldSetCsvIterator(Reader reader, PositionalFieldSetMapper<T> mapper) throws IOException {
+        this.parser = new CsvParser(reader);
+        this.mapper = mapper;
+        this.columnNames = mapper.getColumnNames();
+
+        if (!parser.next()) {
+            this.sourceIndexes = null;
+            return;
+        }
+        String[] header = parser.values();
+        int[] indexes = new int[columnNames.length];
+        boolean reordered = false;
+        for (int i = 0; i < columnNames.length; i++) {
+            indexes[i] = CsvRecords.indexOf(header, columnNames[i]);
+            reordered |= indexes[i] != i;
+        }
+        this.sourceIndexes = reordered ? indexes : null;
+        advance();
+    }
+
+    @Override
+    public boolean hasNext() {
+        return hasNext;
+    }
+
+    /**
+     * 次のレコードをDTOに変換
+     *
+     * @return DTO
+     * @throws IllegalArgumentException 変換エラー時の例外
+     */
+    @Override
+    public T next() {
+        if (!hasNext) {
+            throw new NoSuchElementException();
+        }
+        String record = parser.record();
+        String[] values = new String[columnNames.length];
+        for (int i = 0; i < values.length; i++) {
+            int source = sourceIndexes != null ? sourceIndexes[i] : i;
+            values[i] = source < parser.fieldCount() ? parser.field(source) : null;
+        }
+        try {
+            advance();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        FieldSet fieldSet = new DefaultFieldSet(values, columnNames);
+        try {
+            return mapper.mapFieldSet(fieldSet);
+        } catch (BindException | RuntimeException e) {
+            throw new IllegalArgumentException("Failed to map record: " + record, e);
+        }
+    }
+
+    /**
+     * 次の空でないレコードを先読み
+     */
+    private void advance() throws IOException {
+        while ((hasNext = parser.next()) && parser.isBlank()) {
+            // 空行は読み飛ばす
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        parser.close();
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.batch.csv;
+
+import org.springframework.batch.item.file.transform.FieldSet;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * フィールドセットの型付き値取得
+ * 前後の空白を除いた値をCsvValuesで変換し、空の値はnullとして扱う（BeanWrapperFieldSetMapper＋ConversionServiceと同じ扱い）
+ */
+final class FieldSetValues {
+    
+    private FieldSetValues() {
+    }
+    
+    static BigDecimal decimal(FieldSet fieldSet, int index) {
+        return CsvValues.parseDecimal(fieldSet.readString(index));
+    }
+    
+    static Integer integer(FieldSet fieldSet, int index) {
+        return CsvValues.parseInteger(fieldSet.readString(index));
+    }
+    
+    static LocalDate localDate(FieldSet fieldSet, int index) {
+        return CsvValues.parseDate(fieldSet.readString(index));
+    }
+    
+    static LocalDateTime localDateTime(FieldSet fieldSet, int index) {
+        return CsvValues.parseDateTime(fieldSet.readString(index));
+    }
+    
+    /**
+     * 真偽値（true/false、yes/no、on/off、1/0、大文字小文字は区別しない）
+     */
+    static Boolean bool(FieldSet fieldSet, int index) {
+        return CsvValues.parseBoolean(fieldSet.readString(index));
+    }
+}
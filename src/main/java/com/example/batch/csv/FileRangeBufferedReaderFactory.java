@@ -0,0 +1,172 @@
+package com.example.batch.csv;
+
+import org.springframework.batch.item.ItemStreamException;
+import org.springframework.batch.item.file.BufferedReaderFactory;
+import org.springframework.core.io.Resource;
+
+import java.io.BufferedReader;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.SequenceInputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Enumeration;
+import java.util.List;
+
+/**
+ * ファイルの一部のバイト範囲だけを読み込むBufferedReaderFactory
+ * FlatFileItemReaderに設定すると、startOffsetからendOffsetの手前までを1つのファイルとして読み込む
+ * 範囲の先頭と末尾はレコード境界であること（FileRangePartitionerが作成する範囲）
+ * 複数の範囲を指定した場合は、範囲を先頭から順に連結した1つのファイルとして読み込む（BlockFingerprintTaskletが作成する変更ブロックの範囲）
+ *
+ * 読み込み件数による再開は範囲の先頭から数える。エラー時の行番号も範囲の先頭からの行数となる
+ */
+public class FileRangeBufferedReaderFactory implements BufferedReaderFactory {
+
+    private final List<long[]> ranges;
+
+    /**
+     * コンストラクタ
+     *
+     * @param startOffset 範囲の先頭位置（バイト、含む）
+     * @param endOffset 範囲の末尾位置（バイト、含まない）
+     */
+    public FileRangeBufferedReaderFactory(long startOffset, long endOffset) {
+        this(List.of(new long[] {startOffset, endOffset}));
+    }
+
+    /**
+     * コンストラクタ
+     *
+     * @param ranges 読み込む範囲（{先頭位置（含む）, 末尾位置（含まない）}、昇順で重ならないこと）
+     */
+    public FileRangeBufferedReaderFactory(List<long[]> ranges) {
+        long previousEnd = 0;
+        for (long[] range : ranges) {
+            if (range[0] < previousEnd || range[1] < range[0]) {
+                throw new IllegalArgumentException("Invalid range: [" + range[0] + ", " + range[1] + ")");
+            }
+            previousEnd = range[1];
+        }
+        this.ranges = List.copyOf(ranges);
+    }
+
+    @Override
+    public BufferedReader create(Resource resource, String encoding) {
+        try {
+            Path file = resource.getFile().toPath();
+            InputStream input = ranges.size() == 1
+                    ? open(file, ranges.get(0))
+                    : new SequenceInputStream(new RangeStreams(file, ranges));
+            return new BufferedReader(new InputStreamReader(input, Charset.forName(encoding)));
+        } catch (IOException | UncheckedIOException e) {
+            throw new ItemStreamException("Failed to open " + resource.getDescription()
+                    + " at ranges " + describe(ranges), e);
+        }
+    }
+
+    private static InputStream open(Path file, long[] range) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        channel.position(range[0]);
+        return new RangeInputStream(Channels.newInputStream(channel), range[1] - range[0]);
+    }
+
+    private static String describe(List<long[]> ranges) {
+        StringBuilder description = new StringBuilder();
+        for (long[] range : ranges) {
+            description.append(description.length() == 0 ? "" : ", ")
+                    .append('[').append(range[0]).append(", ").append(range[1]).append(')');
+        }
+        return description.toString();
+    }
+
+    /**
+     * 範囲ごとの入力ストリーム
+     * 前の範囲を読み終えてから次の範囲のファイルを開く（SequenceInputStreamが読み終えたストリームを閉じる）
+     */
+    private static final class RangeStreams implements Enumeration<InputStream> {
+
+        private final Path file;
+        private final List<long[]> ranges;
+        private int next;
+
+        RangeStreams(Path file, List<long[]> ranges) {
+            this.file = file;
+            this.ranges = ranges;
+        }
+
+        @Override
+        public boolean hasMoreElements() {
+            return next < ranges.size();
+        }
+
+        @Override
+        public InputStream nextElement() {
+            try {
+                return open(file, ranges.get(next++));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /**
+     * 残りバイト数に達したらファイル末尾として扱う入力ストリーム
+     */
+    private static final class RangeInputStream extends FilterInputStream {
+
+        private long remaining;
+
+        RangeInputStream(InputStream in, long length) {
+            super(in);
+            this.remaining = length;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (remaining <= 0) {
+                return -1;
+            }
+            int b = super.read();
+            if (b >= 0) {
+                remaining--;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (remaining <= 0) {
+                return -1;
+            }
+            int read = super.read(b, off, (int) Math.min(len, remaining));
+            if (read > 0) {
+                remaining -= read;
+            }
+            return read;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(Math.min(n, remaining));
+            remaining -= skipped;
+            return skipped;
+        }
+
+        @Override
+        public int available() throws IOException {
+            return (int) Math.min(super.available(), remaining);
+        }
+
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+    }
+}
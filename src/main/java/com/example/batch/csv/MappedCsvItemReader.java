@@ -0,0 +1,272 @@
+package com.example.batch.csv;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.item.file.FlatFileParseException;
+import org.springframework.batch.item.support.AbstractItemCountingItemStreamItemReader;
+import org.springframework.core.io.Resource;
+import org.springframework.util.Assert;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * メモリマップCSVリーダー
+ * 入力ファイルをFileChannel.mapでメモリマップし、区切り文字・改行・クォートをバイト列のまま走査する
+ * 行ごとの文字列化・String[]への分割・FieldSetの生成を行わず、マッパーが取得した列だけを値に変換する
+ * 2GBを超えるファイルは一定サイズのウィンドウ単位でマップし直す
+ *
+ * FlatFileItemReaderの代替として使用できる（linesToSkip・空行の読み飛ばし・読み込み件数による再開に対応）
+ * setRangeでバイト範囲を指定すると、その範囲のレコードだけを読み込む（FileRangePartitionerのパーティション用）
+ * 列数の不一致や変換エラーはFlatFileParseExceptionとして通知する
+ * 文字コードはUTF-8などASCII互換のものに限る
+ *
+ * @param <T> アイテムの型
+ */
+@Slf4j
+public class MappedCsvItemReader<T> extends AbstractItemCountingItemStreamItemReader<T> {
+
+    /** マップするウィンドウの既定サイズ（256MB） */
+    public static final long DEFAULT_WINDOW_SIZE = 256L * 1024 * 1024;
+
+    private Resource resource;
+    private MappedCsvRecordMapper<T> recordMapper;
+    private Charset charset = StandardCharsets.UTF_8;
+    private byte delimiter = ',';
+    private int linesToSkip;
+    private int expectedFieldCount;
+    private long windowSize = DEFAULT_WINDOW_SIZE;
+    private long startOffset;
+    private long endOffset = Long.MAX_VALUE;
+
+    private FileChannel channel;
+    private long fileSize;
+    private long limitOffset;
+    private MappedByteBuffer buffer;
+    private long windowStart;
+    private int position;
+    private int lineNumber;
+    private MappedCsvRecord record;
+
+    public MappedCsvItemReader() {
+        setName("mappedCsvItemReader");
+    }
+
+    public void setResource(Resource resource) {
+        this.resource = resource;
+    }
+
+    public void setRecordMapper(MappedCsvRecordMapper<T> recordMapper) {
+        this.recordMapper = recordMapper;
+    }
+
+    public void setCharset(Charset charset) {
+        this.charset = charset;
+    }
+
+    public void setDelimiter(char delimiter) {
+        Assert.isTrue(delimiter < 0x80, "delimiter must be an ASCII character");
+        this.delimiter = (byte) delimiter;
+    }
+
+    public void setLinesToSkip(int linesToSkip) {
+        this.linesToSkip = linesToSkip;
+    }
+
+    /**
+     * 1レコードの列数を設定（0の場合は検証しない）
+     *
+     * @param expectedFieldCount 列数
+     */
+    public void setExpectedFieldCount(int expectedFieldCount) {
+        this.expectedFieldCount = expectedFieldCount;
+    }
+
+    /**
+     * マップするウィンドウのサイズを設定（1レコードはこのサイズに収まること）
+     *
+     * @param windowSize ウィンドウサイズ（バイト）
+     */
+    public void setWindowSize(long windowSize) {
+        Assert.isTrue(windowSize > 0 && windowSize <= Integer.MAX_VALUE, "windowSize must be between 1 and Integer.MAX_VALUE");
+        this.windowSize = windowSize;
+    }
+
+    /**
+     * 読み込むバイト範囲を設定（先頭と末尾はレコード境界であること）
+     *
+     * @param startOffset 範囲の先頭位置（バイト、含む）
+     * @param endOffset 範囲の末尾位置（バイト、含まない）
+     */
+    public void setRange(long startOffset, long endOffset) {
+        Assert.isTrue(startOffset >= 0 && endOffset >= startOffset, "invalid range");
+        this.startOffset = startOffset;
+        this.endOffset = endOffset;
+    }
+
+    @Override
+    protected void doOpen() throws Exception {
+        Assert.notNull(resource, "resource is required");
+        Assert.notNull(recordMapper, "recordMapper is required");
+
+        record = new MappedCsvRecord(charset);
+        channel = FileChannel.open(resource.getFile().toPath(), StandardOpenOption.READ);
+        fileSize = channel.size();
+        limitOffset = Math.min(fileSize, endOffset);
+        lineNumber = 0;
+        map(Math.min(startOffset, limitOffset));
+
+        for (int i = 0; i < linesToSkip && nextRecord(); i++) {
+            // ヘッダー行などを読み飛ばす
+        }
+        log.debug("Opened {} ({} bytes)", resource, fileSize);
+    }
+
+    @Override
+    protected T doRead() throws Exception {
+        while (nextRecord()) {
+            if (record.isBlank()) {
+                continue;
+            }
+            if (expectedFieldCount > 0 && record.getFieldCount() != expectedFieldCount) {
+                throw new FlatFileParseException("Incorrect number of fields: expected " + expectedFieldCount
+                        + " actual " + record.getFieldCount(), record.getLine(), lineNumber);
+            }
+            try {
+                return recordMapper.map(record);
+            } catch (Exception e) {
+                String line = record.getLine();
+                throw new FlatFileParseException("Parsing error at line: " + lineNumber + " in resource=["
+                        + resource.getDescription() + "], input=[" + line + "]", e, line, lineNumber);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 再開時に読み込み済みのアイテムを読み飛ばす（値の変換は行わない）
+     */
+    @Override
+    protected void jumpToItem(int itemIndex) throws Exception {
+        int skipped = 0;
+        while (skipped < itemIndex && nextRecord()) {
+            if (!record.isBlank()) {
+                skipped++;
+            }
+        }
+    }
+
+    @Override
+    protected void doClose() throws Exception {
+        buffer = null;
+        record = null;
+        if (channel != null) {
+            channel.close();
+            channel = null;
+        }
+    }
+
+    /**
+     * 次のレコードを走査（ウィンドウ末尾で途切れた場合はレコードの先頭からマップし直す）
+     *
+     * @return レコードがある場合true
+     */
+    private boolean nextRecord() throws IOException {
+        while (buffer != null) {
+            int limit = buffer.limit();
+            boolean lastWindow = windowStart + limit >= limitOffset;
+            if (position >= limit) {
+                if (lastWindow) {
+                    return false;
+                }
+                map(windowStart + position);
+                continue;
+            }
+            if (scan(limit, lastWindow)) {
+                lineNumber++;
+                return true;
+            }
+            if (position == 0) {
+                throw new IllegalStateException("Record at byte " + windowStart
+                        + " exceeds the mapping window size " + windowSize);
+            }
+            map(windowStart + position);
+        }
+        return false;
+    }
+
+    /**
+     * 現在位置から1レコード分の列位置を記録し、次のレコードの先頭へ進める
+     *
+     * @param limit バッファの終端
+     * @param lastWindow ファイル末尾を含むウィンドウか
+     * @return レコードの終端まで走査できた場合true（ウィンドウ末尾で途切れた場合false）
+     */
+    private boolean scan(int limit, boolean lastWindow) {
+        int p = position;
+        record.reset(buffer, p);
+        int fieldStart = p;
+        int quotedEnd = -1;
+        boolean inQuotes = false;
+        boolean quoted = false;
+        boolean escaped = false;
+
+        while (p < limit) {
+            byte b = buffer.get(p);
+            if (inQuotes) {
+                if (b == '"') {
+                    if (p + 1 >= limit && !lastWindow) {
+                        return false;
+                    }
+                    if (p + 1 < limit && buffer.get(p + 1) == '"') {
+                        escaped = true;
+                        p += 2;
+                        continue;
+                    }
+                    inQuotes = false;
+                    quotedEnd = p;
+                }
+                p++;
+                continue;
+            }
+            if (b == delimiter || b == '\n') {
+                record.addField(fieldStart, quoted ? quotedEnd : p, escaped);
+                if (b == '\n') {
+                    record.end(p);
+                    position = p + 1;
+                    return true;
+                }
+                p++;
+                fieldStart = p;
+                quoted = false;
+                escaped = false;
+                continue;
+            }
+            if (b == '"' && p == fieldStart) {
+                inQuotes = true;
+                quoted = true;
+                fieldStart = p + 1;
+            }
+            p++;
+        }
+
+        if (!lastWindow) {
+            return false;
+        }
+        // 改行のない最終行
+        record.addField(fieldStart, quoted ? (inQuotes ? limit : quotedEnd) : limit, escaped);
+        record.end(limit);
+        position = limit;
+        return true;
+    }
+
+    private void map(long offset) throws IOException {
+        long size = Math.min(windowSize, limitOffset - offset);
+        buffer = channel.map(FileChannel.MapMode.READ_ONLY, offset, size);
+        windowStart = offset;
+        position = 0;
+    }
+}
@@ -0,0 +1,198 @@
+package com.example.batch.csv;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+
+/**
+ * メモリマップしたCSVの1レコードのビュー
+ * 各フィールドの開始・終了位置のみを保持し、値は取得メソッドが呼ばれたフィールドだけをバイト列から生成する
+ * 値は前後の空白を除いて返す。文字列以外の型は空のフィールドをnullとして扱い、CsvValuesでバイト列から直接解析する
+ *
+ * 次のレコードを読み込むと内容が置き換わるため、マッピング中にのみ使用すること
+ */
+public final class MappedCsvRecord {
+
+    private final Charset charset;
+
+    private ByteBuffer buffer;
+    private int recordStart;
+    private int recordEnd;
+    private int fieldCount;
+    private int[] starts = new int[16];
+    private int[] ends = new int[16];
+    private boolean[] escaped = new boolean[16];
+    private byte[] scratch = new byte[256];
+
+    MappedCsvRecord(Charset charset) {
+        this.charset = charset;
+    }
+
+    void reset(ByteBuffer buffer, int recordStart) {
+        this.buffer = buffer;
+        this.recordStart = recordStart;
+        this.fieldCount = 0;
+    }
+
+    void addField(int start, int end, boolean hasEscapedQuotes) {
+        if (fieldCount == starts.length) {
+            int capacity = starts.length * 2;
+            starts = Arrays.copyOf(starts, capacity);
+            ends = Arrays.copyOf(ends, capacity);
+            escaped = Arrays.copyOf(escaped, capacity);
+        }
+        // 前後の空白（改行前のCRを含む）を除く
+        while (start < end && (buffer.get(start) & 0xFF) <= ' ') {
+            start++;
+        }
+        while (end > start && (buffer.get(end - 1) & 0xFF) <= ' ') {
+            end--;
+        }
+        starts[fieldCount] = start;
+        ends[fieldCount] = end;
+        escaped[fieldCount] = hasEscapedQuotes;
+        fieldCount++;
+    }
+
+    void end(int recordEnd) {
+        this.recordEnd = recordEnd;
+    }
+
+    /**
+     * フィールド数を取得
+     *
+     * @return フィールド数
+     */
+    public int getFieldCount() {
+        return fieldCount;
+    }
+
+    /**
+     * 空行（空のフィールドが1つだけ）か
+     *
+     * @return 空行の場合true
+     */
+    public boolean isBlank() {
+        return fieldCount == 1 && starts[0] == ends[0];
+    }
+
+    /**
+     * 文字列として取得（ASCIIのみのフィールドはデコードを省略する）
+     *
+     * @param index 列番号（0始まり）
+     * @return 値（列が存在しない場合はnull）
+     */
+    public String getString(int index) {
+        if (index >= fieldCount) {
+            return null;
+        }
+        int length = copy(index);
+        for (int i = 0; i < length; i++) {
+            if (scratch[i] < 0) {
+                return new String(scratch, 0, length, charset);
+            }
+        }
+        return new String(scratch, 0, length, StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * 整数として取得
+     *
+     * @param index 列番号（0始まり）
+     * @return 値（空の場合はnull）
+     * @throws NumberFormatException 整数でない場合
+     */
+    public Integer getInteger(int index) {
+        return isEmpty(index) ? null : CsvValues.parseInteger(buffer, starts[index], ends[index]);
+    }
+
+    /**
+     * 10進数として取得
+     *
+     * @param index 列番号（0始まり）
+     * @return 値（空の場合はnull）
+     * @throws NumberFormatException 数値でない場合
+     */
+    public BigDecimal getDecimal(int index) {
+        return isEmpty(index) ? null : CsvValues.parseDecimal(buffer, starts[index], ends[index]);
+    }
+
+    /**
+     * 日付（yyyy-MM-dd）として取得
+     *
+     * @param index 列番号（0始まり）
+     * @return 値（空の場合はnull）
+     * @throws java.time.DateTimeException 日付でない場合
+     */
+    public LocalDate getLocalDate(int index) {
+        return isEmpty(index) ? null : CsvValues.parseDate(buffer, starts[index], ends[index]);
+    }
+
+    /**
+     * 日時（yyyy-MM-dd HH:mm:ss）として取得
+     *
+     * @param index 列番号（0始まり）
+     * @return 値（空の場合はnull）
+     * @throws java.time.DateTimeException 日時でない場合
+     */
+    public LocalDateTime getLocalDateTime(int index) {
+        return isEmpty(index) ? null : CsvValues.parseDateTime(buffer, starts[index], ends[index]);
+    }
+
+    /**
+     * 真偽値として取得（true/false、yes/no、on/off、1/0、大文字小文字は区別しない）
+     *
+     * @param index 列番号（0始まり）
+     * @return 値（空の場合はnull）
+     * @throws IllegalArgumentException 真偽値でない場合
+     */
+    public Boolean getBoolean(int index) {
+        return isEmpty(index) ? null : CsvValues.parseBoolean(getString(index));
+    }
+
+    /**
+     * レコード全体を文字列として取得（エラー通知用）
+     *
+     * @return レコードの文字列
+     */
+    public String getLine() {
+        int end = recordEnd;
+        if (end > recordStart && buffer.get(end - 1) == '\r') {
+            end--;
+        }
+        byte[] bytes = new byte[end - recordStart];
+        buffer.get(recordStart, bytes);
+        return new String(bytes, charset);
+    }
+
+    private boolean isEmpty(int index) {
+        return index >= fieldCount || starts[index] == ends[index];
+    }
+
+    /**
+     * フィールドのバイト列を作業領域へ複製し、長さを返す（クォートのエスケープ""は"に戻す）
+     */
+    private int copy(int index) {
+        int start = starts[index];
+        int length = ends[index] - start;
+        if (scratch.length < length) {
+            scratch = new byte[Math.max(length, scratch.length * 2)];
+        }
+        buffer.get(start, scratch, 0, length);
+        if (!escaped[index]) {
+            return length;
+        }
+        int out = 0;
+        for (int i = 0; i < length; i++) {
+            scratch[out++] = scratch[i];
+            if (scratch[i] == '"' && i + 1 < length && scratch[i + 1] == '"') {
+                i++;
+            }
+        }
+        return out;
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.batch.csv;
+
+/**
+ * メモリマップCSVレコードのマッピング処理
+ * 必要な列だけを型付きの取得メソッドで読み出してアイテムを生成する
+ *
+ * @param <T> アイテムの型
+ */
+@FunctionalInterface
+public interface MappedCsvRecordMapper<T> {
+    
+    /**
+     * レコードをアイテムに変換
+     * 
+     * @param record レコード（次のレコード読み込みまで有効）
+     * @return アイテム
+     * @throws Exception 変換エラー時の例外
+     */
+    T map(MappedCsvRecord record) throws Exception;
+}
@@ -0,0 +1,75 @@
+package com.example.batch.csv;
+
+import com.example.batch.dto.CsvEmployee;
+import com.example.batch.dto.CsvProduct;
+import com.example.batch.dto.CsvSales;
+
+/**
+ * 取り込み用DTOのメモリマップCSVレコードマッパー
+ * 列の並びは各DTOのフィールド宣言順（スネークケースの列名）に合わせる
+ */
+public final class MappedCsvRecordMappers {
+    
+    /** 取り込みCSVの列数（従業員・商品・売上共通） */
+    public static final int FIELD_COUNT = 9;
+    
+    private MappedCsvRecordMappers() {
+    }
+    
+    /**
+     * 従業員CSVレコードマッパー
+     * 
+     * @return マッパー
+     */
+    public static MappedCsvRecordMapper<CsvEmployee> employee() {
+        return record -> CsvEmployee.builder()
+                .employeeCode(record.getString(0))
+                .firstName(record.getString(1))
+                .lastName(record.getString(2))
+                .email(record.getString(3))
+                .department(record.getString(4))
+                .position(record.getString(5))
+                .salary(record.getDecimal(6))
+                .hireDate(record.getLocalDate(7))
+                .status(record.getString(8))
+                .build();
+    }
+    
+    /**
+     * 商品CSVレコードマッパー
+     * 
+     * @return マッパー
+     */
+    public static MappedCsvRecordMapper<CsvProduct> product() {
+        return record -> CsvProduct.builder()
+                .productCode(record.getString(0))
+                .productName(record.getString(1))
+                .category(record.getString(2))
+                .price(record.getDecimal(3))
+                .stockQuantity(record.getInteger(4))
+                .description(record.getString(5))
+                .manufacturer(record.getString(6))
+                .releaseDate(record.getLocalDate(7))
+                .isActive(record.getBoolean(8))
+                .build();
+    }
+    
+    /**
+     * 売上CSVレコードマッパー
+     * 
+     * @return マッパー
+     */
+    public static MappedCsvRecordMapper<CsvSales> sales() {
+        return record -> CsvSales.builder()
+                .transactionId(record.getString(0))
+                .productCode(record.getString(1))
+                .customerName(record.getString(2))
+                .quantity(record.getInteger(3))
+                .unitPrice(record.getDecimal(4))
+                .totalAmount(record.getDecimal(5))
+                .saleDate(record.getLocalDateTime(6))
+                .paymentMethod(record.getString(7))
+                .status(record.getString(8))
+                .build();
+    }
+}
@@ -0,0 +1,264 @@
+package com.example.batch.csv;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemStreamException;
+import org.springframework.batch.item.file.FlatFileParseException;
+import org.springframework.batch.item.file.LineMapper;
+import org.springframework.batch.item.support.AbstractItemCountingItemStreamItemReader;
+import org.springframework.core.io.Resource;
+import org.springframework.util.Assert;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+
+/**
+ * バイト位置で再開するCSVリーダー
+ * update()のたびに読み込み済みレコードの直後のバイト位置と行番号をExecutionContextへ保存し、
+ * 再開時はその位置へ直接シークする（FlatFileItemReaderのように読み込み済みの行を読み直して捨てることはない）
+ *
+ * ファイル先頭のバイト列のチェックサムとファイルサイズを合わせて保存し、再開時に一致しない場合は
+ * 別のファイルに差し替えられたものとしてItemStreamExceptionで再開を拒否する
+ * 位置情報のない実行コンテキスト（read.countのみ）からの再開は、従来どおりレコードを読み飛ばして再開する
+ *
+ * レコードの区切りはダブルクォートの開閉を数えて判定し（クォート内の改行を含むレコードに対応）、
+ * 1レコードの文字列をLineMapperで変換する。空行は読み飛ばす
+ * 文字コードはUTF-8などASCII互換のものに限る
+ *
+ * @param <T> アイテムの型
+ */
+@Slf4j
+public class OffsetRestartableItemReader<T> extends AbstractItemCountingItemStreamItemReader<T> {
+
+    private static final String OFFSET_KEY = "byte.offset";
+    private static final String LINE_KEY = "line.number";
+    private static final String FINGERPRINT_KEY = "file.fingerprint";
+
+    /** チェックサムの対象とするファイル先頭のバイト数 */
+    private static final int FINGERPRINT_BYTES = 8 * 1024;
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private Resource resource;
+    private LineMapper<T> lineMapper;
+    private Charset charset = StandardCharsets.UTF_8;
+    private int linesToSkip;
+
+    private FileChannel channel;
+    private String fingerprint;
+    private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+    private byte[] record = new byte[256];
+    private int recordLength;
+    private long offset;
+    private int lineNumber;
+    private long restartOffset = -1;
+    private int restartLineNumber;
+
+    public OffsetRestartableItemReader() {
+        setName("offsetRestartableItemReader");
+    }
+
+    public void setResource(Resource resource) {
+        this.resource = resource;
+    }
+
+    public void setLineMapper(LineMapper<T> lineMapper) {
+        this.lineMapper = lineMapper;
+    }
+
+    public void setCharset(Charset charset) {
+        this.charset = charset;
+    }
+
+    public void setLinesToSkip(int linesToSkip) {
+        this.linesToSkip = linesToSkip;
+    }
+
+    /**
+     * 保存済みの位置とファイルの同一性を確認してから開く
+     *
+     * @param executionContext 実行コンテキスト
+     * @throws ItemStreamException ファイルが変更されている場合
+     */
+    @Override
+    public void open(ExecutionContext executionContext) throws ItemStreamException {
+        Assert.notNull(resource, "resource is required");
+        Assert.notNull(lineMapper, "lineMapper is required");
+
+        try {
+            fingerprint = fingerprint(resource.getFile().toPath());
+        } catch (IOException e) {
+            throw new ItemStreamException("Failed to read " + resource.getDescription(), e);
+        }
+
+        restartOffset = -1;
+        String offsetKey = getExecutionContextKey(OFFSET_KEY);
+        if (isSaveState() && executionContext.containsKey(offsetKey)) {
+            String saved = executionContext.getString(getExecutionContextKey(FINGERPRINT_KEY), null);
+            if (!fingerprint.equals(saved)) {
+                throw new ItemStreamException("Input file has changed since the previous run: "
+                        + resource.getDescription() + " (expected " + saved + ", actual " + fingerprint + ")");
+            }
+            restartOffset = executionContext.getLong(offsetKey);
+            restartLineNumber = executionContext.getInt(getExecutionContextKey(LINE_KEY));
+        }
+        super.open(executionContext);
+    }
+
+    /**
+     * 読み込み件数に加えて、読み込み済みレコードの直後のバイト位置・行番号・ファイルの識別値を保存
+     *
+     * @param executionContext 実行コンテキスト
+     */
+    @Override
+    public void update(ExecutionContext executionContext) throws ItemStreamException {
+        super.update(executionContext);
+        if (isSaveState() && channel != null) {
+            executionContext.putLong(getExecutionContextKey(OFFSET_KEY), offset);
+            executionContext.putInt(getExecutionContextKey(LINE_KEY), lineNumber);
+            executionContext.putString(getExecutionContextKey(FINGERPRINT_KEY), fingerprint);
+        }
+    }
+
+    @Override
+    protected void doOpen() throws Exception {
+        channel = FileChannel.open(resource.getFile().toPath(), StandardOpenOption.READ);
+        seek(0, 0);
+        for (int i = 0; i < linesToSkip && nextRecord(); i++) {
+            // ヘッダー行などを読み飛ばす
+        }
+    }
+
+    @Override
+    protected T doRead() throws Exception {
+        while (nextRecord()) {
+            if (isBlank()) {
+                continue;
+            }
+            String line = new String(record, 0, recordLength, charset);
+            try {
+                return lineMapper.mapLine(line, lineNumber);
+            } catch (Exception e) {
+                throw new FlatFileParseException("Parsing error at line: " + lineNumber + " in resource=["
+                        + resource.getDescription() + "], input=[" + line + "]", e, line, lineNumber);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 保存済みのバイト位置へシークする（位置情報がない場合はレコードを読み飛ばす）
+     */
+    @Override
+    protected void jumpToItem(int itemIndex) throws Exception {
+        if (restartOffset >= 0) {
+            seek(restartOffset, restartLineNumber);
+            log.info("Restarting {} at byte {} (line {}, item {})",
+                    resource.getDescription(), restartOffset, restartLineNumber, itemIndex);
+            return;
+        }
+        int skipped = 0;
+        while (skipped < itemIndex && nextRecord()) {
+            if (!isBlank()) {
+                skipped++;
+            }
+        }
+    }
+
+    @Override
+    protected void doClose() throws Exception {
+        if (channel != null) {
+            channel.close();
+            channel = null;
+        }
+    }
+
+    private void seek(long position, int line) throws IOException {
+        channel.position(position);
+        buffer.clear().flip();
+        offset = position;
+        lineNumber = line;
+    }
+
+    /**
+     * 次のレコードのバイト列を読み込む（行末のCRLF/LFは含めない）
+     *
+     * @return レコードがある場合true
+     */
+    private boolean nextRecord() throws IOException {
+        recordLength = 0;
+        boolean inQuotes = false;
+        boolean read = false;
+        while (true) {
+            if (!buffer.hasRemaining()) {
+                buffer.clear();
+                int n = channel.read(buffer);
+                buffer.flip();
+                if (n <= 0) {
+                    if (read) {
+                        lineNumber++;
+                        trimCarriageReturn();
+                    }
+                    return read;
+                }
+            }
+            while (buffer.hasRemaining()) {
+                byte b = buffer.get();
+                offset++;
+                read = true;
+                if (b == '\n') {
+                    lineNumber++;
+                    if (!inQuotes) {
+                        trimCarriageReturn();
+                        return true;
+                    }
+                } else if (b == '"') {
+                    inQuotes = !inQuotes;
+                }
+                if (recordLength == record.length) {
+                    record = Arrays.copyOf(record, record.length * 2);
+                }
+                record[recordLength++] = b;
+            }
+        }
+    }
+
+    private void trimCarriageReturn() {
+        if (recordLength > 0 && record[recordLength - 1] == '\r') {
+            recordLength--;
+        }
+    }
+
+    private boolean isBlank() {
+        for (int i = 0; i < recordLength; i++) {
+            if ((record[i] & 0xFF) > ' ') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * ファイルの識別値（サイズと先頭バイト列のCRC32）
+     */
+    static String fingerprint(Path file) throws IOException {
+        try (FileChannel fileChannel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = fileChannel.size();
+            ByteBuffer head = ByteBuffer.allocate((int) Math.min(size, FINGERPRINT_BYTES));
+            while (head.hasRemaining() && fileChannel.read(head) > 0) {
+                // 先頭のバイト列を読み込む
+            }
+            head.flip();
+            CRC32 crc = new CRC32();
+            crc.update(head);
+            return size + ":" + Long.toHexString(crc.getValue());
+        }
+    }
+}
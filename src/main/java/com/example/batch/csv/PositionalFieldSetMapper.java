@@ -0,0 +1,30 @@
+package com.example.batch.csv;
+
+import org.springframework.batch.item.file.mapping.FieldSetMapper;
+
+/**
+ * 列位置指定のフィールドセットマッパー基底クラス
+ * BeanWrapperFieldSetMapperのようなプロパティ解決・ConversionService経由の変換を行わず、
+ * 列番号で値を取得してDTOに直接設定する
+ * 
+ * 列の並び・列名は各DTOのフィールド宣言順（スネークケース）に合わせる
+ *
+ * @param <T> DTOの型
+ */
+public abstract class PositionalFieldSetMapper<T> implements FieldSetMapper<T> {
+    
+    private final String[] columnNames;
+    
+    protected PositionalFieldSetMapper(String... columnNames) {
+        this.columnNames = columnNames;
+    }
+    
+    /**
+     * CSVの列名を列位置の順に取得
+     * 
+     * @return 列名の配列
+     */
+    public String[] getColumnNames() {
+        return columnNames.clone();
+    }
+}
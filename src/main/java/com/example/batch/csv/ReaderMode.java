@@ -0,0 +1,32 @@
+package com.example.batch.csv;
+
+import java.util.Locale;
+
+/**
+ * CSV→DBチャンクジョブのリーダー方式
+ */
+public enum ReaderMode {
+    
+    /** FlatFileItemReader（行を文字列に変換してトークン分割） */
+    FLATFILE,
+    
+    /** MappedCsvItemReader（ファイルをメモリマップしてバイト列を直接走査） */
+    MAPPED;
+    
+    /**
+     * 設定値からリーダー方式を取得
+     * 
+     * @param value 設定値（大文字小文字は区別しない）
+     * @return リーダー方式
+     */
+    public static ReaderMode of(String value) {
+        if (value == null || value.isBlank()) {
+            return FLATFILE;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown reader mode: " + value, e);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.batch.decider;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.job.flow.FlowExecutionStatus;
+import org.springframework.batch.core.job.flow.JobExecutionDecider;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.DatabaseMetaData;
+
+/**
+ * 一括ロード判定
+ * H2のCSVREADで取り込めるかを判定し、取り込めない場合はチャンク処理へ振り分ける
+ * 入力検証（input.validation=strict）が指定された場合は、Bean Validationで検証するチャンク処理へ振り分ける
+ */
+@Slf4j
+@Component
+public class BulkLoadDecider implements JobExecutionDecider {
+    
+    /** 一括ロードで取り込む */
+    public static final String BULK = "BULK";
+    
+    /** チャンク処理で取り込む */
+    public static final String CHUNK = "CHUNK";
+    
+    /** 入力検証付きのチャンク処理で取り込む */
+    public static final String VALIDATE = "VALIDATE";
+    
+    private final DataSource dataSource;
+    private volatile Boolean h2;
+    
+    public BulkLoadDecider(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+    
+    @Override
+    public FlowExecutionStatus decide(JobExecution jobExecution, StepExecution stepExecution) {
+        String filePath = jobExecution.getJobParameters().getString("input.file.path");
+        String validation = jobExecution.getJobParameters().getString("input.validation");
+        
+        // Bean ValidationなどSQLで表現できない検証は検証付きのチャンク処理で行う
+        if ("strict".equalsIgnoreCase(validation)) {
+            log.info("入力検証が指定されているため、検証付きのチャンク処理で取り込みます");
+            return new FlowExecutionStatus(VALIDATE);
+        }
+        
+        if (!isH2()) {
+            log.info("データベースがH2ではないため、チャンク処理で取り込みます");
+            return new FlowExecutionStatus(CHUNK);
+        }
+        
+        if (filePath == null || !filePath.toLowerCase().endsWith(".csv")
+                || !Files.isRegularFile(Path.of(filePath))) {
+            log.info("CSVREADで読み込めない入力のため、チャンク処理で取り込みます: {}", filePath);
+            return new FlowExecutionStatus(CHUNK);
+        }
+        
+        log.info("一括ロード（CSVREAD）で取り込みます: {}", filePath);
+        return new FlowExecutionStatus(BULK);
+    }
+    
+    private boolean isH2() {
+        if (h2 == null) {
+            try {
+                String productName = JdbcUtils.extractDatabaseMetaData(
+                        dataSource, DatabaseMetaData::getDatabaseProductName);
+                h2 = "H2".equalsIgnoreCase(productName);
+            } catch (MetaDataAccessException e) {
+                log.warn("データベース製品名を取得できませんでした: {}", e.getMessage());
+                h2 = false;
+            }
+        }
+        return h2;
+    }
+}
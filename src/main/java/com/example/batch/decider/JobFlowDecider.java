@@ -1,43 +1,72 @@
 package com.example.batch.decider;
 
+import com.example.batch.support.InputProfile;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.batch.core.JobExecution;
 import org.springframework.batch.core.StepExecution;
 import org.springframework.batch.core.job.flow.FlowExecutionStatus;
 import org.springframework.batch.core.job.flow.JobExecutionDecider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+/**
+ * 処理フロー判定
+ * 先にジョブ内で実行済みのステップのスキップ率を判定し、10%を超える場合はエラー処理へ振り分ける
+ * 入力プロファイルステップの見積もり（推定件数）がジョブ実行コンテキストにあれば、処理を始める前にその件数で振り分ける
+ * 見積もりがない場合は、直前のステップの読み込み件数で振り分ける
+ */
 @Slf4j
 @Component
 public class JobFlowDecider implements JobExecutionDecider {
     
+    /** 大量データ処理フローへ移行する件数 */
+    @Value("${app.batch.profile.large-data-rows:10000}")
+    private long largeDataRows;
+    
     @Override
     public FlowExecutionStatus decide(JobExecution jobExecution, StepExecution stepExecution) {
+        // 直前のステップは入力プロファイルステップの場合があるため、実行済みの全ステップで判定する
+        long readCount = 0;
+        long skipCount = 0;
+        for (StepExecution executed : jobExecution.getStepExecutions()) {
+            readCount += executed.getReadCount();
+            skipCount += executed.getSkipCount();
+        }
+        
+        // スキップ率が高い場合はエラー処理へ
+        if (skipCount > 0 && (double) skipCount / readCount > 0.1) {
+            log.warn("スキップ率が10%を超えています。エラー処理フローへ移行します。");
+            return new FlowExecutionStatus("HIGH_SKIP_RATE");
+        }
+        
+        InputProfile profile = InputProfile.from(jobExecution.getExecutionContext());
+        if (profile != null) {
+            return decideByRows(profile.getEstimatedRows());
+        }
+        
         // ステップの実行結果から処理を分岐
         if (stepExecution != null) {
-            long readCount = stepExecution.getReadCount();
-            long skipCount = stepExecution.getSkipCount();
-            
-            // スキップ率が高い場合はエラー処理へ
-            if (skipCount > 0 && (double) skipCount / readCount > 0.1) {
-                log.warn("スキップ率が10%を超えています。エラー処理フローへ移行します。");
-                return new FlowExecutionStatus("HIGH_SKIP_RATE");
-            }
-            
-            // 読み込み件数が0の場合
-            if (readCount == 0) {
-                log.info("処理対象データがありません。");
-                return new FlowExecutionStatus("NO_DATA");
-            }
-            
-            // 処理件数による分岐
-            if (readCount > 10000) {
-                log.info("大量データ処理フローへ移行します。件数: {}", readCount);
-                return new FlowExecutionStatus("LARGE_DATA");
-            }
+            return decideByRows(stepExecution.getReadCount());
+        }
+        
+        // 通常処理を継続
+        return FlowExecutionStatus.COMPLETED;
+    }
+    
+    private FlowExecutionStatus decideByRows(long rows) {
+        // 読み込み件数が0の場合
+        if (rows == 0) {
+            log.info("処理対象データがありません。");
+            return new FlowExecutionStatus("NO_DATA");
+        }
+        
+        // 処理件数による分岐
+        if (rows > largeDataRows) {
+            log.info("大量データ処理フローへ移行します。件数: {}", rows);
+            return new FlowExecutionStatus("LARGE_DATA");
         }
         
         // 通常処理を継続
         return FlowExecutionStatus.COMPLETED;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,41 @@
+package com.example.batch.decider;
+
+import java.util.Locale;
+
+/**
+ * CSV→DBチャンクジョブの取り込み方式
+ */
+public enum LoadMode {
+    
+    /** 対象テーブルへ直接書き込む */
+    DIRECT,
+    
+    /** ステージングテーブルへ書き込み、集合MERGEで対象テーブルへ反映する */
+    STAGING,
+    
+    /** 処理を別スレッドで非同期に行い、読み込み・変換と書き込みを重ねて実行する */
+    ASYNC,
+    
+    /** 入力ファイルをファイル単位・バイト範囲に分割し、パーティションごとのワーカーステップを並列に実行する */
+    PARTITIONED,
+    
+    /** 入力プロファイル（推定件数・バイト数）からDIRECT・ASYNC・PARTITIONEDのいずれかを選ぶ（LoadModeDeciderで置き換える） */
+    AUTO;
+    
+    /**
+     * 設定値から取り込み方式を取得
+     * 
+     * @param value 設定値（大文字小文字は区別しない）
+     * @return 取り込み方式
+     */
+    public static LoadMode of(String value) {
+        if (value == null || value.isBlank()) {
+            return DIRECT;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown load mode: " + value, e);
+        }
+    }
+}
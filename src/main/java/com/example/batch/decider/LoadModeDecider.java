@@ -0,0 +1,78 @@
+package com.example.batch.decider;
+
+import com.example.batch.support.InputFiles;
+import com.example.batch.support.InputProfile;
+import com.example.batch.tasklet.BlockFingerprintTasklet;
+import com.example.batch.tasklet.IncrementalRangeTasklet;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.job.flow.FlowExecutionStatus;
+import org.springframework.batch.core.job.flow.JobExecutionDecider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 取り込み方式判定
+ * ジョブパラメータload.mode（未指定時はapp.batch.load.mode）で取り込み方式を振り分ける
+ * 入力ファイルにディレクトリ・globパターンが指定された場合は、load.modeにかかわらずPARTITIONEDとする
+ * 
+ * load.mode=autoの場合は、入力プロファイルステップがジョブ実行コンテキストに保存した見積もりから選ぶ
+ * （バイト数がpartition-bytes以上ならPARTITIONED、推定件数がasync-rows以上ならASYNC、それ以外はDIRECT）
+ * 増分取り込み（input.incremental=true）の場合は常にDIRECTとする
+ */
+@Slf4j
+@Component
+public class LoadModeDecider implements JobExecutionDecider {
+    
+    @Value("${app.batch.load.mode:direct}")
+    private String defaultLoadMode;
+    
+    /** autoでPARTITIONEDを選ぶ入力の合計バイト数 */
+    @Value("${app.batch.profile.partition-bytes:268435456}")
+    private long partitionBytes;
+    
+    /** autoでASYNCを選ぶ推定件数 */
+    @Value("${app.batch.profile.async-rows:100000}")
+    private long asyncRows;
+    
+    @Override
+    public FlowExecutionStatus decide(JobExecution jobExecution, StepExecution stepExecution) {
+        String value = jobExecution.getJobParameters().getString("load.mode", defaultLoadMode);
+        LoadMode loadMode = LoadMode.of(value);
+        if (loadMode == LoadMode.AUTO) {
+            loadMode = chooseByProfile(InputProfile.from(jobExecution.getExecutionContext()));
+        }
+        // 増分取り込み・変更ブロックの取り込みは読み込み範囲を指定できるDIRECTのステップで行う
+        if (loadMode != LoadMode.DIRECT && (IncrementalRangeTasklet.isIncremental(jobExecution.getExecutionContext())
+                || BlockFingerprintTasklet.hasChangedRanges(jobExecution.getExecutionContext()))) {
+            log.info("Reading a partial range of the input, switching load mode from {} to {}", loadMode, LoadMode.DIRECT);
+            loadMode = LoadMode.DIRECT;
+        }
+        // ディレクトリ・globパターンの入力はファイル単位のパーティションで取り込む
+        String filePath = jobExecution.getJobParameters().getString("input.file.path");
+        if (loadMode != LoadMode.PARTITIONED && InputFiles.isMultiFile(filePath)) {
+            log.info("Multiple input files were specified, switching load mode from {} to {}", loadMode, LoadMode.PARTITIONED);
+            loadMode = LoadMode.PARTITIONED;
+        }
+        log.info("Load mode: {}", loadMode);
+        return new FlowExecutionStatus(loadMode.name());
+    }
+    
+    private LoadMode chooseByProfile(InputProfile profile) {
+        if (profile == null) {
+            log.info("No input profile, using {}", LoadMode.DIRECT);
+            return LoadMode.DIRECT;
+        }
+        LoadMode loadMode;
+        if (profile.getBytes() >= partitionBytes) {
+            loadMode = LoadMode.PARTITIONED;
+        } else if (profile.getEstimatedRows() >= asyncRows) {
+            loadMode = LoadMode.ASYNC;
+        } else {
+            loadMode = LoadMode.DIRECT;
+        }
+        log.info("Chose load mode {} from input profile ({})", loadMode, profile);
+        return loadMode;
+    }
+}
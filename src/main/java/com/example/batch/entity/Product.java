@@ -48,6 +48,9 @@ public class Product {
     /** 有効フラグ */
     private Boolean isActive;
     
+    /** 内容ハッシュ（業務列のハッシュ値、未計算の場合はnull） */
+    private Long contentHash;
+    
     /** 作成日時 */
     private LocalDateTime createdAt;
     
@@ -0,0 +1,22 @@
+package com.example.batch.fingerprint;
+
+/**
+ * ブロックのフィンガープリント
+ * 
+ * @param startOffset ブロックの先頭位置（バイト、含む、レコード境界）
+ * @param endOffset ブロックの末尾位置（バイト、含まない、レコード境界）
+ * @param hash ブロックの内容のハッシュ値（SHA-256の先頭128ビットの16進表記）
+ */
+public record BlockFingerprint(long startOffset, long endOffset, String hash) {
+    
+    /**
+     * 位置と内容が同じブロックか
+     * 
+     * @param other 比較するブロック
+     * @return 位置とハッシュ値が一致する場合true
+     */
+    public boolean sameAs(BlockFingerprint other) {
+        return other != null && startOffset == other.startOffset && endOffset == other.endOffset
+                && hash.equals(other.hash);
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.batch.fingerprint;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * ブロックフィンガープリントの操作
+ * 論理的な入力（フィード）ごとに、前回取り込んだファイルのブロック単位のハッシュ値をフィンガープリントテーブルに保存する
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BlockFingerprintOperations {
+    
+    private static final String FINGERPRINT_TABLE = "input_block_fingerprint";
+    
+    private final JdbcTemplate jdbcTemplate;
+    
+    /**
+     * フィンガープリントを取得
+     * 
+     * @param feed フィード
+     * @return ブロックのフィンガープリント（ブロック番号順、初回は空）
+     */
+    public List<BlockFingerprint> find(String feed) {
+        return jdbcTemplate.query(
+                "SELECT start_offset, end_offset, block_hash FROM " + FINGERPRINT_TABLE
+                        + " WHERE feed = ? ORDER BY block_index",
+                (rs, rowNum) -> new BlockFingerprint(rs.getLong("start_offset"), rs.getLong("end_offset"),
+                        rs.getString("block_hash")),
+                feed);
+    }
+    
+    /**
+     * フィンガープリントを置き換え
+     * 
+     * @param feed フィード
+     * @param blocks ブロックのフィンガープリント
+     */
+    public void replace(String feed, List<BlockFingerprint> blocks) {
+        jdbcTemplate.update("DELETE FROM " + FINGERPRINT_TABLE + " WHERE feed = ?", feed);
+        List<Object[]> rows = new ArrayList<>(blocks.size());
+        for (int i = 0; i < blocks.size(); i++) {
+            BlockFingerprint block = blocks.get(i);
+            rows.add(new Object[] {feed, i, block.startOffset(), block.endOffset(), block.hash()});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO " + FINGERPRINT_TABLE
+                + " (feed, block_index, start_offset, end_offset, block_hash, updated_at)"
+                + " VALUES (?, ?, ?, ?, ?, CURRENT_TIMESTAMP)", rows);
+        log.info("Saved {} block fingerprints for feed {}", blocks.size(), feed);
+    }
+}
@@ -0,0 +1,183 @@
+package com.example.batch.fingerprint;
+
+import com.example.batch.support.RecordBoundaries;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * ブロック単位のファイルフィンガープリント
+ * ヘッダー行を1つ目のブロックとし、データ部を先頭から基準サイズごとに区切ったうえで、各区切りを次のレコード境界まで進めてブロックとする
+ * 区切りのクォート判定と境界の走査はRecordBoundariesで区間ごとに並列に行い、ブロックのハッシュ値もブロックごとに並列に求める
+ * 区切り位置はデータ部の先頭からの距離だけで決まるため、変更のないファイルからは毎回同じブロックが作られ、
+ * 追記では末尾のブロックと追加されたブロックだけが変更ありとなる
+ * ただし行の挿入・削除で位置がずれると、その位置を含むブロック以降はすべて変更ありとなる（追記・上書き更新のファイルを想定）
+ */
+public final class BlockFingerprinter {
+    
+    /** 一度にマップする最大バイト数 */
+    private static final int MAX_MAP_BYTES = 1 << 30;
+    
+    private static final int HASH_BYTES = 16;
+    
+    private final long blockBytes;
+    
+    /**
+     * コンストラクタ
+     * 
+     * @param blockBytes ブロックの基準サイズ（バイト、実際のブロックは次のレコード境界まで伸縮する）
+     */
+    public BlockFingerprinter(long blockBytes) {
+        if (blockBytes <= 0) {
+            throw new IllegalArgumentException("blockBytes must be positive: " + blockBytes);
+        }
+        this.blockBytes = blockBytes;
+    }
+    
+    /**
+     * ファイルのフィンガープリントを作成
+     * 
+     * @param file 入力ファイル（非圧縮）
+     * @return ブロックのフィンガープリント（先頭はヘッダー行のブロック）
+     * @throws IOException 読み込みエラー時の例外
+     */
+    public List<BlockFingerprint> fingerprint(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long dataStart = RecordBoundaries.recordEnd(channel, 0, false, size);
+            long[] boundaries = boundaries(channel, dataStart, size);
+            
+            BlockFingerprint[] blocks = new BlockFingerprint[boundaries.length + 1];
+            unchecked(IntStream.range(0, blocks.length).parallel(), i -> {
+                long start = i == 0 ? 0 : i == 1 ? dataStart : boundaries[i - 2];
+                long end = i == 0 ? dataStart : boundaries[i - 1];
+                blocks[i] = new BlockFingerprint(start, end, hash(channel, start, end));
+            });
+            return List.of(blocks);
+        }
+    }
+    
+    /**
+     * 前回から変更されたバイト範囲を求める
+     * ヘッダー行のブロックが変わった場合は、列の並びが変わった可能性があるためファイル全体を変更ありとする
+     * 隣り合う変更ブロックは1つの範囲にまとめる
+     * 
+     * @param previous 前回のフィンガープリント（初回は空）
+     * @param current 今回のフィンガープリント
+     * @return 変更された範囲（{先頭位置（含む）, 末尾位置（含まない）}、変更がない場合は空）
+     */
+    public static List<long[]> changedRanges(List<BlockFingerprint> previous, List<BlockFingerprint> current) {
+        if (current.isEmpty()) {
+            return List.of();
+        }
+        long size = current.get(current.size() - 1).endOffset();
+        if (previous.isEmpty() || !current.get(0).sameAs(previous.get(0))) {
+            return size > 0 ? List.of(new long[] {0, size}) : List.of();
+        }
+        
+        Map<Long, BlockFingerprint> previousByStart = new HashMap<>();
+        for (BlockFingerprint block : previous.subList(1, previous.size())) {
+            previousByStart.put(block.startOffset(), block);
+        }
+        List<long[]> ranges = new ArrayList<>();
+        for (BlockFingerprint block : current.subList(1, current.size())) {
+            if (block.sameAs(previousByStart.get(block.startOffset()))) {
+                continue;
+            }
+            long[] last = ranges.isEmpty() ? null : ranges.get(ranges.size() - 1);
+            if (last != null && last[1] == block.startOffset()) {
+                last[1] = block.endOffset();
+            } else {
+                ranges.add(new long[] {block.startOffset(), block.endOffset()});
+            }
+        }
+        return ranges;
+    }
+    
+    /**
+     * データ部のブロック境界を求める
+     * 区切り位置はデータ部の先頭から基準サイズごと（ファイルサイズによらない）とし、次のレコード境界まで進める
+     * 
+     * @return ブロックの末尾位置（昇順、最後はファイルサイズ）
+     */
+    private long[] boundaries(FileChannel channel, long dataStart, long size) throws IOException {
+        if (dataStart >= size) {
+            return new long[0];
+        }
+        int segments = (int) Math.min(Integer.MAX_VALUE - 1, (size - dataStart + blockBytes - 1) / blockBytes);
+        long[] cuts = new long[segments - 1];
+        for (int k = 1; k < segments; k++) {
+            cuts[k - 1] = dataStart + k * blockBytes;
+        }
+        long[] ends = Arrays.copyOf(RecordBoundaries.recordEnds(channel, dataStart, cuts, size), segments);
+        ends[segments - 1] = size;
+        
+        // 1レコードが基準サイズより長い場合は同じ境界が続くため、空のブロックを除く
+        long[] boundaries = new long[segments];
+        int count = 0;
+        long previous = dataStart;
+        for (long end : ends) {
+            if (end > previous) {
+                boundaries[count++] = end;
+                previous = end;
+            }
+        }
+        return Arrays.copyOf(boundaries, count);
+    }
+    
+    private static String hash(FileChannel channel, long start, long end) throws IOException {
+        MessageDigest digest = sha256();
+        for (long position = start; position < end; position += MAX_MAP_BYTES) {
+            digest.update(map(channel, position, Math.min(MAX_MAP_BYTES, end - position)));
+        }
+        byte[] hash = digest.digest();
+        return HexFormat.of().formatHex(hash, 0, HASH_BYTES);
+    }
+    
+    private static MappedByteBuffer map(FileChannel channel, long position, long length) throws IOException {
+        return channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+    }
+    
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+    
+    /**
+     * 並列ストリームの各要素を処理し、読み込みエラーはIOExceptionとして呼び出し元へ返す
+     */
+    private static void unchecked(IntStream indexes, IndexAction action) throws IOException {
+        try {
+            indexes.forEach(i -> {
+                try {
+                    action.accept(i);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+    
+    @FunctionalInterface
+    private interface IndexAction {
+        void accept(int index) throws IOException;
+    }
+}
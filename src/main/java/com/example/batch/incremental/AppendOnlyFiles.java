@@ -0,0 +1,143 @@
+package com.example.batch.incremental;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.zip.CRC32;
+
+/**
+ * 追記型CSVの増分範囲の判定
+ * 前回の取り込み状態と現在のファイルを比較し、追記された部分だけを読み込む範囲を決める
+ * 次のいずれかに当てはまる場合は、ファイルが切り詰め・差し替え（ローテーション）されたものとして先頭から読み込む
+ * <ul>
+ * <li>ファイルの識別子（inode）が前回と異なる</li>
+ * <li>ファイルサイズが前回の取り込み位置より小さい</li>
+ * <li>先頭のバイト列のチェックサムが前回と異なる</li>
+ * </ul>
+ * 範囲の末尾は最後の完結したレコードの直後とし、書き込み途中の最終行は次回に読み込む
+ */
+public final class AppendOnlyFiles {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private AppendOnlyFiles() {
+    }
+
+    /**
+     * 読み込む範囲を決める
+     *
+     * @param file 入力ファイル
+     * @param previous 前回の取り込み状態（初回はnull）
+     * @param headBytes チェックサムの対象とする先頭のバイト数の上限
+     * @return 読み込む範囲と、取り込み完了後に保存する状態
+     * @throws IOException 読み込みエラー時の例外
+     */
+    public static Range plan(Path file, IngestionOffset previous, int headBytes) throws IOException {
+        String fileKey = fileKey(file);
+        long size = Files.size(file);
+
+        long start = 0;
+        String reason;
+        if (previous == null) {
+            reason = "first run";
+        } else if (previous.fileKey() != null && !previous.fileKey().equals(fileKey)) {
+            reason = "file was replaced (" + previous.fileKey() + " -> " + fileKey + ")";
+        } else if (size < previous.committedOffset()) {
+            reason = "file was truncated (" + size + " < " + previous.committedOffset() + ")";
+        } else if (!headChecksum(file, previous.headLength()).equals(previous.headChecksum())) {
+            reason = "file head was rewritten";
+        } else {
+            start = previous.committedOffset();
+            reason = "appended since last run";
+        }
+
+        long end = lastRecordEnd(file, start, size);
+        int headLength = (int) Math.min(headBytes, end);
+        IngestionOffset next = new IngestionOffset(fileKey, end, headLength, headChecksum(file, headLength));
+        return new Range(start, end, next, reason);
+    }
+
+    /**
+     * ファイルシステム上の識別子（inodeなど）
+     *
+     * @return 識別子（ファイルシステムが提供しない場合はnull）
+     */
+    static String fileKey(Path file) throws IOException {
+        Object key = Files.readAttributes(file, BasicFileAttributes.class).fileKey();
+        return key != null ? key.toString() : null;
+    }
+
+    /**
+     * 先頭のバイト列のCRC32
+     */
+    static String headChecksum(Path file, int length) throws IOException {
+        CRC32 crc = new CRC32();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer head = ByteBuffer.allocate((int) Math.min(length, channel.size()));
+            while (head.hasRemaining() && channel.read(head) > 0) {
+                // 先頭のバイト列を読み込む
+            }
+            head.flip();
+            crc.update(head);
+        }
+        return Long.toHexString(crc.getValue());
+    }
+
+    /**
+     * 開始位置から走査して、最後の完結したレコードの直後の位置を求める
+     * ダブルクォートの開閉を数え、クォート内の改行ではレコードを区切らない
+     *
+     * @param file 入力ファイル
+     * @param start 走査の開始位置（レコード境界）
+     * @param size 走査の終了位置（ファイルサイズ）
+     * @return 最後の完結したレコードの直後の位置（完結したレコードがない場合はstart）
+     */
+    static long lastRecordEnd(Path file, long start, long size) throws IOException {
+        long end = start;
+        boolean inQuotes = false;
+        ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long position = start;
+            while (position < size) {
+                buffer.clear();
+                buffer.limit((int) Math.min(BUFFER_SIZE, size - position));
+                int n = channel.read(buffer, position);
+                if (n <= 0) {
+                    break;
+                }
+                for (int i = 0; i < n; i++) {
+                    byte b = buffer.get(i);
+                    if (b == '"') {
+                        inQuotes = !inQuotes;
+                    } else if (b == '\n' && !inQuotes) {
+                        end = position + i + 1;
+                    }
+                }
+                position += n;
+            }
+        }
+        return end;
+    }
+
+    /**
+     * 読み込む範囲
+     *
+     * @param start 範囲の先頭位置（バイト、含む。0の場合はヘッダー行から読み込む）
+     * @param end 範囲の末尾位置（バイト、含まない）
+     * @param next 取り込み完了後に保存する状態
+     * @param reason 範囲を決めた理由（ログ出力用）
+     */
+    public record Range(long start, long end, IngestionOffset next, String reason) {
+
+        /**
+         * 先頭から読み込むか
+         */
+        public boolean isFullRead() {
+            return start == 0;
+        }
+    }
+}
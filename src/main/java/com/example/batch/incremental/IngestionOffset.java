@@ -0,0 +1,13 @@
+package com.example.batch.incremental;
+
+/**
+ * 追記型CSVの取り込み状態
+ * ソースファイルごとに、取り込み済みの末尾のバイト位置と、同じファイルへの追記であることを確認するための識別情報を保持する
+ *
+ * @param fileKey ファイルシステム上の識別子（inodeなど、取得できない場合はnull）
+ * @param committedOffset 取り込み済みの末尾のバイト位置（次回はこの位置から読み込む）
+ * @param headLength チェックサムの対象とした先頭のバイト数
+ * @param headChecksum 先頭headLengthバイトのCRC32（16進数）
+ */
+public record IngestionOffset(String fileKey, long committedOffset, int headLength, String headChecksum) {
+}
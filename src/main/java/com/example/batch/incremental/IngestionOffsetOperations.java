@@ -0,0 +1,56 @@
+package com.example.batch.incremental;
+
+import com.example.batch.support.ImportTable;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 増分取り込み状態の操作
+ * ソースファイル・取り込み対象テーブルごとの取り込み済み位置を状態テーブルに保存する
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class IngestionOffsetOperations {
+    
+    private static final String OFFSET_TABLE = "ingestion_offset";
+    
+    private final JdbcTemplate jdbcTemplate;
+    
+    /**
+     * 取り込み状態を取得
+     * 
+     * @param table 取り込み対象テーブル
+     * @param sourcePath ソースファイルの絶対パス
+     * @return 取り込み状態（初回はnull）
+     */
+    public IngestionOffset find(ImportTable table, String sourcePath) {
+        List<IngestionOffset> offsets = jdbcTemplate.query(
+                "SELECT file_key, committed_offset, head_length, head_checksum FROM " + OFFSET_TABLE
+                        + " WHERE source_path = ? AND table_name = ?",
+                (rs, rowNum) -> new IngestionOffset(rs.getString("file_key"), rs.getLong("committed_offset"),
+                        rs.getInt("head_length"), rs.getString("head_checksum")),
+                sourcePath, table.getTableName());
+        return offsets.isEmpty() ? null : offsets.get(0);
+    }
+    
+    /**
+     * 取り込み状態を保存
+     * 
+     * @param table 取り込み対象テーブル
+     * @param sourcePath ソースファイルの絶対パス
+     * @param offset 取り込み状態
+     */
+    public void save(ImportTable table, String sourcePath, IngestionOffset offset) {
+        jdbcTemplate.update("MERGE INTO " + OFFSET_TABLE
+                        + " (source_path, table_name, file_key, committed_offset, head_length, head_checksum, updated_at)"
+                        + " KEY (source_path, table_name) VALUES (?, ?, ?, ?, ?, ?, CURRENT_TIMESTAMP)",
+                sourcePath, table.getTableName(), offset.fileKey(), offset.committedOffset(),
+                offset.headLength(), offset.headChecksum());
+        log.info("Saved ingestion offset of {} for {}: {}", sourcePath, table.getTableName(), offset.committedOffset());
+    }
+}
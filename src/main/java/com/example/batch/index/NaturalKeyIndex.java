@@ -0,0 +1,247 @@
+package com.example.batch.index;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 自然キー→ID索引
+ * 
+ * <p>自然キー（従業員コード等）をUTF-8バイト列として一度だけページ領域に格納し、
+ * オープンアドレス法のハッシュ表からプリミティブのlong IDを引く。
+ * キーごとのStringやLongオブジェクトを保持しないため、数百万件でも省メモリで保持できる。
+ * 件数が多い場合はページ領域をヒープ外（ダイレクトバッファ）に確保する。</p>
+ * 
+ * <p>読み取りは並行に行え、登録は排他で行う（パーティション・マルチスレッドステップから共有可能）。</p>
+ */
+public class NaturalKeyIndex {
+    
+    /** 未登録を表すID */
+    public static final long NO_ID = Long.MIN_VALUE;
+    
+    private static final int MAX_PAGE_SIZE = 1 << 20;
+    private static final int MIN_PAGE_SIZE = 1 << 12;
+    private static final int MAX_KEY_LENGTH = 0xFFFF;
+    private static final double LOAD_FACTOR = 0.7;
+    
+    private final boolean offHeap;
+    private final List<ByteBuffer> pages = new ArrayList<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private int nextPageSize;
+    private ByteBuffer currentPage;
+    
+    /** キー参照（(ページ番号 << 32 | ページ内オフセット) + 1、0は空きスロット） */
+    private long[] refs;
+    private long[] ids;
+    private int[] hashes;
+    private int mask;
+    private int threshold;
+    private int size;
+    
+    /**
+     * コンストラクタ
+     * 
+     * @param expectedSize 想定件数
+     * @param offHeap キー領域をヒープ外に確保するか
+     */
+    public NaturalKeyIndex(int expectedSize, boolean offHeap) {
+        this.offHeap = offHeap;
+        this.nextPageSize = (int) Math.min(MAX_PAGE_SIZE, Math.max(MIN_PAGE_SIZE, (long) expectedSize * 24));
+        allocateTable(tableSizeFor((int) Math.ceil(Math.max(expectedSize, 16) / LOAD_FACTOR)));
+    }
+    
+    /**
+     * 自然キーに対応するIDを取得
+     * 
+     * @param key 自然キー
+     * @return ID（未登録の場合は{@link #NO_ID}）
+     */
+    public long get(String key) {
+        byte[] bytes = encode(key);
+        int hash = hash(bytes);
+        lock.readLock().lock();
+        try {
+            int slot = find(bytes, hash);
+            return refs[slot] == 0 ? NO_ID : ids[slot];
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * 自然キーが登録済みか判定
+     * 
+     * @param key 自然キー
+     * @return 登録済みの場合true
+     */
+    public boolean contains(String key) {
+        return get(key) != NO_ID;
+    }
+    
+    /**
+     * 自然キーとIDを登録（登録済みの場合はIDを上書き）
+     * 
+     * @param key 自然キー
+     * @param id ID
+     */
+    public void put(String key, long id) {
+        byte[] bytes = encode(key);
+        int hash = hash(bytes);
+        lock.writeLock().lock();
+        try {
+            int slot = find(bytes, hash);
+            if (refs[slot] == 0) {
+                refs[slot] = intern(bytes);
+                hashes[slot] = hash;
+                size++;
+            }
+            ids[slot] = id;
+            
+            if (size > threshold) {
+                rehash(refs.length << 1);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    /**
+     * 登録件数を取得
+     * 
+     * @return 登録件数
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    /**
+     * 使用メモリ量（概算）を取得
+     * 
+     * @return バイト数
+     */
+    public long memoryBytes() {
+        lock.readLock().lock();
+        try {
+            long pageBytes = 0;
+            for (ByteBuffer page : pages) {
+                pageBytes += page.capacity();
+            }
+            return (long) refs.length * (Long.BYTES * 2 + Integer.BYTES) + pageBytes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+    
+    public boolean isOffHeap() {
+        return offHeap;
+    }
+    
+    private int find(byte[] key, int hash) {
+        int slot = hash & mask;
+        while (true) {
+            long ref = refs[slot];
+            if (ref == 0 || (hashes[slot] == hash && keyEquals(ref, key))) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+    
+    private long intern(byte[] key) {
+        int required = Short.BYTES + key.length;
+        if (currentPage == null || currentPage.remaining() < required) {
+            int pageSize = Math.max(nextPageSize, required);
+            currentPage = offHeap ? ByteBuffer.allocateDirect(pageSize) : ByteBuffer.allocate(pageSize);
+            pages.add(currentPage);
+            nextPageSize = MAX_PAGE_SIZE;
+        }
+        int offset = currentPage.position();
+        currentPage.putShort((short) key.length);
+        currentPage.put(key);
+        return (((long) (pages.size() - 1) << 32) | offset) + 1;
+    }
+    
+    private boolean keyEquals(long ref, byte[] key) {
+        long location = ref - 1;
+        ByteBuffer page = pages.get((int) (location >>> 32));
+        int offset = (int) location;
+        int length = page.getShort(offset) & 0xFFFF;
+        if (length != key.length) {
+            return false;
+        }
+        int start = offset + Short.BYTES;
+        for (int i = 0; i < length; i++) {
+            if (page.get(start + i) != key[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    private void rehash(int newCapacity) {
+        long[] oldRefs = refs;
+        long[] oldIds = ids;
+        int[] oldHashes = hashes;
+        allocateTable(newCapacity);
+        
+        for (int i = 0; i < oldRefs.length; i++) {
+            if (oldRefs[i] != 0) {
+                int slot = oldHashes[i] & mask;
+                while (refs[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                refs[slot] = oldRefs[i];
+                ids[slot] = oldIds[i];
+                hashes[slot] = oldHashes[i];
+            }
+        }
+    }
+    
+    private void allocateTable(int capacity) {
+        refs = new long[capacity];
+        ids = new long[capacity];
+        hashes = new int[capacity];
+        mask = capacity - 1;
+        threshold = (int) (capacity * LOAD_FACTOR);
+    }
+    
+    private static byte[] encode(String key) {
+        if (key == null) {
+            throw new IllegalArgumentException("Natural key must not be null");
+        }
+        byte[] bytes = key.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException("Natural key too long: " + bytes.length + " bytes");
+        }
+        return bytes;
+    }
+    
+    /**
+     * FNV-1aの結果をmurmur3の最終ミックスで拡散したハッシュ値
+     */
+    private static int hash(byte[] key) {
+        int h = 0x811C9DC5;
+        for (byte b : key) {
+            h ^= b & 0xFF;
+            h *= 0x01000193;
+        }
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        h ^= h >>> 13;
+        h *= 0xC2B2AE35;
+        h ^= h >>> 16;
+        return h;
+    }
+    
+    private static int tableSizeFor(int capacity) {
+        int n = Integer.highestOneBit(Math.max(capacity - 1, 1)) << 1;
+        return Math.max(n, 16);
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.batch.index;
+
+import com.example.batch.support.ImportTable;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+
+/**
+ * 自然キー索引ローダー
+ * 対象テーブルの自然キーとIDを1回のストリーミング読み込みで索引に展開する
+ */
+@Slf4j
+@Component
+public class NaturalKeyIndexLoader {
+    
+    private final JdbcTemplate jdbcTemplate;
+    
+    /** この件数以上の場合はキー領域をヒープ外に確保する */
+    @Value("${app.batch.key-index.off-heap-threshold:1000000}")
+    private int offHeapThreshold;
+    
+    /** 読み込み時のフェッチサイズ */
+    @Value("${app.batch.key-index.fetch-size:10000}")
+    private int fetchSize;
+    
+    public NaturalKeyIndexLoader(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+    
+    /**
+     * テーブルの既存キーを読み込んで索引を作成
+     * 
+     * @param table 対象テーブル
+     * @return 自然キー索引
+     */
+    public NaturalKeyIndex load(ImportTable table) {
+        long startTime = System.currentTimeMillis();
+        
+        Integer count = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM " + table.getTableName(), Integer.class);
+        int expectedSize = count != null ? count : 0;
+        NaturalKeyIndex index = new NaturalKeyIndex(expectedSize, expectedSize >= offHeapThreshold);
+        
+        String sql = "SELECT id, " + table.getKeyColumn() + " FROM " + table.getTableName();
+        jdbcTemplate.query(connection -> {
+            PreparedStatement ps = connection.prepareStatement(
+                    sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(fetchSize);
+            return ps;
+        }, (RowCallbackHandler) rs -> index.put(rs.getString(2), rs.getLong(1)));
+        
+        log.info("Loaded key index for {}: {} keys, {} KB{} in {} ms",
+                table.getTableName(), index.size(), index.memoryBytes() / 1024,
+                index.isOffHeap() ? " (off-heap)" : "", System.currentTimeMillis() - startTime);
+        return index;
+    }
+}
@@ -0,0 +1,135 @@
+package com.example.batch.job;
+
+import com.example.batch.dto.CsvEmployee;
+import com.example.batch.dto.CsvProduct;
+import com.example.batch.dto.CsvSales;
+import com.example.batch.entity.Employee;
+import com.example.batch.entity.Product;
+import com.example.batch.entity.Sales;
+import com.example.batch.listener.SeenKeyRecordingListener;
+import com.example.batch.processor.EmployeeProcessor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.batch.core.Step;
+import org.springframework.batch.core.StepExecutionListener;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.step.builder.SimpleStepBuilder;
+import org.springframework.batch.core.step.builder.StepBuilder;
+import org.springframework.batch.integration.async.AsyncItemProcessor;
+import org.springframework.batch.integration.async.AsyncItemWriter;
+import org.springframework.batch.item.ItemProcessor;
+import org.springframework.batch.item.ItemStreamReader;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.concurrent.Future;
+
+/**
+ * CSV→DB（非同期チャンク）ステップ設定クラス
+ * load.mode=asyncの場合に使用するステップを定義する
+ * 
+ * プロセッサーはAsyncItemProcessorで上限付きエグゼキューターに投入され、読み込みスレッドは変換の完了を待たずに次の行を読み込む。
+ * AsyncItemWriterがFutureを展開して並列取り込み用のライターへ渡すため、未変更行スキップ・スナップショット同期の設定はそのまま適用される。
+ * ライター方式はパーティション取り込みと同じく、indexedをmergeに置き換える。
+ * 変換中の例外はAsyncItemWriterが元の例外として再送出するため、スキップ・リトライの例外分類も同期版と同じになる
+ */
+@Configuration
+@RequiredArgsConstructor
+public class AsyncCsvToDbStepConfig {
+    
+    private final JobRepository jobRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final EmployeeProcessor employeeProcessor;
+    
+    @Autowired
+    @Qualifier("asyncItemTaskExecutor")
+    private TaskExecutor asyncItemTaskExecutor;
+    
+    @Value("${app.batch.chunk-size:100}")
+    private int chunkSize;
+    
+    /**
+     * 従業員CSV→DBステップ（非同期チャンク）
+     */
+    @Bean
+    public Step employeeAsyncCsvToDbChunkStep(ItemStreamReader<CsvEmployee> employeeCsvReader,
+                                              ItemWriter<Employee> parallelEmployeeWriter,
+                                              SeenKeyRecordingListener<CsvEmployee> employeeSeenKeyRecordingListener)
+            throws Exception {
+        SimpleStepBuilder<CsvEmployee, Future<Employee>> builder =
+                new StepBuilder("employeeAsyncCsvToDbChunkStep", jobRepository)
+                        .<CsvEmployee, Future<Employee>>chunk(chunkSize, transactionManager)
+                        .reader(employeeCsvReader)
+                        .processor(asyncProcessor(employeeProcessor))
+                        .writer(asyncWriter(parallelEmployeeWriter))
+                        .listener((StepExecutionListener) employeeSeenKeyRecordingListener);
+        registerWriterListener(builder, parallelEmployeeWriter);
+        return builder.build();
+    }
+    
+    /**
+     * 商品CSV→DBステップ（非同期チャンク）
+     */
+    @Bean
+    public Step productAsyncCsvToDbChunkStep(ItemStreamReader<CsvProduct> productCsvReader,
+                                             ItemProcessor<CsvProduct, Product> productProcessor,
+                                             ItemWriter<Product> parallelProductWriter,
+                                             SeenKeyRecordingListener<CsvProduct> productSeenKeyRecordingListener)
+            throws Exception {
+        SimpleStepBuilder<CsvProduct, Future<Product>> builder =
+                new StepBuilder("productAsyncCsvToDbChunkStep", jobRepository)
+                        .<CsvProduct, Future<Product>>chunk(chunkSize, transactionManager)
+                        .reader(productCsvReader)
+                        .processor(asyncProcessor(productProcessor))
+                        .writer(asyncWriter(parallelProductWriter))
+                        .listener((StepExecutionListener) productSeenKeyRecordingListener);
+        registerWriterListener(builder, parallelProductWriter);
+        return builder.build();
+    }
+    
+    /**
+     * 売上CSV→DBステップ（非同期チャンク）
+     */
+    @Bean
+    public Step salesAsyncCsvToDbChunkStep(ItemStreamReader<CsvSales> salesCsvReader,
+                                           ItemProcessor<CsvSales, Sales> salesProcessor,
+                                           ItemWriter<Sales> parallelSalesWriter) throws Exception {
+        SimpleStepBuilder<CsvSales, Future<Sales>> builder =
+                new StepBuilder("salesAsyncCsvToDbChunkStep", jobRepository)
+                        .<CsvSales, Future<Sales>>chunk(chunkSize, transactionManager)
+                        .reader(salesCsvReader)
+                        .processor(asyncProcessor(salesProcessor))
+                        .writer(asyncWriter(parallelSalesWriter));
+        registerWriterListener(builder, parallelSalesWriter);
+        return builder.build();
+    }
+    
+    private <I, O> AsyncItemProcessor<I, O> asyncProcessor(ItemProcessor<I, O> delegate) throws Exception {
+        AsyncItemProcessor<I, O> processor = new AsyncItemProcessor<>();
+        processor.setDelegate(delegate);
+        processor.setTaskExecutor(asyncItemTaskExecutor);
+        processor.afterPropertiesSet();
+        return processor;
+    }
+    
+    private <T> AsyncItemWriter<T> asyncWriter(ItemWriter<T> delegate) throws Exception {
+        AsyncItemWriter<T> writer = new AsyncItemWriter<>();
+        writer.setDelegate(delegate);
+        writer.afterPropertiesSet();
+        return writer;
+    }
+    
+    /**
+     * AsyncItemWriterはステップリスナーを委譲しないため、ライター自体をリスナーとして登録する
+     */
+    private static void registerWriterListener(SimpleStepBuilder<?, ?> builder, ItemWriter<?> writer) {
+        if (writer instanceof StepExecutionListener listener) {
+            builder.listener(listener);
+        }
+    }
+}
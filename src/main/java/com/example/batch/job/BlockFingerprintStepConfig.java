@@ -0,0 +1,64 @@
+package com.example.batch.job;
+
+import com.example.batch.fingerprint.BlockFingerprintOperations;
+import com.example.batch.fingerprint.BlockFingerprinter;
+import com.example.batch.support.ImportTable;
+import com.example.batch.tasklet.BlockFingerprintTasklet;
+import lombok.RequiredArgsConstructor;
+import org.springframework.batch.core.Step;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.step.builder.StepBuilder;
+import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/**
+ * ブロックフィンガープリントステップ設定クラス
+ * 変更ブロックの取り込み（input.fingerprint=true）の場合に、前回から変更されたブロックを求めるステップと、
+ * 取り込み完了後に今回のフィンガープリントを保存するステップを定義する
+ */
+@Configuration
+@RequiredArgsConstructor
+public class BlockFingerprintStepConfig {
+    
+    private final JobRepository jobRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final BlockFingerprintOperations blockFingerprintOperations;
+    
+    /** 変更ブロックだけを取り込むか（ジョブパラメータinput.fingerprintで上書き可能） */
+    @Value("${app.batch.fingerprint.enabled:false}")
+    private boolean fingerprint;
+    
+    /** ブロックの基準サイズ（バイト） */
+    @Value("${app.batch.fingerprint.block-bytes:16777216}")
+    private long blockBytes;
+    
+    /**
+     * 売上ブロックフィンガープリントステップ
+     */
+    @Bean
+    public Step salesBlockFingerprintStep() {
+        return new StepBuilder("salesBlockFingerprintStep", jobRepository)
+                .tasklet(new BlockFingerprintTasklet(ImportTable.SALES, blockFingerprintOperations,
+                        new BlockFingerprinter(blockBytes), fingerprint), transactionManager)
+                .build();
+    }
+    
+    /**
+     * 売上ブロックフィンガープリント保存ステップ
+     * 取り込みステップが完了した後にだけ実行されるため、失敗した場合は次回も同じブロックを読み込む
+     */
+    @Bean
+    public Step salesBlockFingerprintCommitStep() {
+        return new StepBuilder("salesBlockFingerprintCommitStep", jobRepository)
+                .tasklet((contribution, chunkContext) -> {
+                    BlockFingerprintTasklet.commit(
+                            chunkContext.getStepContext().getStepExecution().getJobExecution().getExecutionContext(),
+                            blockFingerprintOperations);
+                    return RepeatStatus.FINISHED;
+                }, transactionManager)
+                .build();
+    }
+}
@@ -24,12 +24,15 @@ public class ConditionalFlowJobConfig {
     private final JobRepository jobRepository;
     private final PlatformTransactionManager transactionManager;
     private final JobFlowDecider jobFlowDecider;
+    private final Step inputProfileStep;
     
     @Bean
     public Job conditionalFlowJob() {
         return new JobBuilder("conditionalFlowJob", jobRepository)
                 .incrementer(new RunIdIncrementer())
                 .start(validationStep())
+                // 入力ファイルの件数を見積もり、処理を始める前にフローを選ぶ
+                .next(inputProfileStep)
                 .next(jobFlowDecider)
                 .on("HIGH_SKIP_RATE").to(errorHandlingStep())
                 .from(jobFlowDecider).on("NO_DATA").to(noDataStep())
@@ -0,0 +1,191 @@
+package com.example.batch.job;
+
+import com.example.batch.decider.BulkLoadDecider;
+import com.example.batch.dto.CsvEmployee;
+import com.example.batch.dto.CsvProduct;
+import com.example.batch.dto.CsvSales;
+import com.example.batch.entity.Employee;
+import com.example.batch.entity.Product;
+import com.example.batch.entity.Sales;
+import com.example.batch.listener.JobCompletionListener;
+import com.example.batch.processor.EmployeeProcessor;
+import com.example.batch.tasklet.EmployeeCsvBulkLoadTasklet;
+import com.example.batch.tasklet.ProductCsvBulkLoadTasklet;
+import com.example.batch.tasklet.SalesCsvBulkLoadTasklet;
+import com.example.batch.validator.InputDataValidator;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.Step;
+import org.springframework.batch.core.job.builder.JobBuilder;
+import org.springframework.batch.core.launch.support.RunIdIncrementer;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.step.builder.StepBuilder;
+import org.springframework.batch.item.ItemProcessor;
+import org.springframework.batch.item.ItemStreamReader;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.batch.item.file.FlatFileParseException;
+import org.springframework.batch.item.support.CompositeItemProcessor;
+import org.springframework.batch.item.validator.ValidatingItemProcessor;
+import org.springframework.batch.item.validator.ValidationException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.Arrays;
+
+/**
+ * CSV→DB（一括ロード）ジョブ設定クラス
+ * H2のCSVREADでCSVファイルを直接取り込み、取り込めない場合はチャンクステップで処理する
+ * 入力検証（input.validation=strict）が指定された場合は、Bean Validationで検証し不正行をスキップするチャンクステップで処理する
+ */
+@Configuration
+@RequiredArgsConstructor
+public class CsvBulkLoadJobConfig {
+    
+    private final JobRepository jobRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final JobCompletionListener listener;
+    private final BulkLoadDecider bulkLoadDecider;
+    
+    private final EmployeeCsvBulkLoadTasklet employeeCsvBulkLoadTasklet;
+    private final ProductCsvBulkLoadTasklet productCsvBulkLoadTasklet;
+    private final SalesCsvBulkLoadTasklet salesCsvBulkLoadTasklet;
+    private final EmployeeProcessor employeeProcessor;
+    private final Validator validator;
+    
+    @Value("${app.batch.chunk-size:100}")
+    private int chunkSize;
+    
+    /**
+     * 従業員CSV→DBジョブ（一括ロード）
+     */
+    @Bean
+    public Job employeeCsvToDbBulkJob(Step employeeCsvToDbChunkStep, Step employeeCsvValidatedLoadStep) {
+        return new JobBuilder("employeeCsvToDbBulkJob", jobRepository)
+                .incrementer(new RunIdIncrementer())
+                .listener(listener)
+                .start(bulkLoadDecider)
+                .on(BulkLoadDecider.BULK).to(employeeCsvBulkLoadStep())
+                .from(bulkLoadDecider).on(BulkLoadDecider.VALIDATE).to(employeeCsvValidatedLoadStep)
+                .from(bulkLoadDecider).on("*").to(employeeCsvToDbChunkStep)
+                .end()
+                .build();
+    }
+    
+    /**
+     * 従業員CSV一括ロードステップ
+     */
+    @Bean
+    public Step employeeCsvBulkLoadStep() {
+        return new StepBuilder("employeeCsvBulkLoadStep", jobRepository)
+                .tasklet(employeeCsvBulkLoadTasklet, transactionManager)
+                .build();
+    }
+    
+    /**
+     * 従業員CSV検証付き取り込みステップ
+     */
+    @Bean
+    public Step employeeCsvValidatedLoadStep(ItemStreamReader<CsvEmployee> employeeCsvReader,
+                                             ItemWriter<Employee> employeeWriter) {
+        return validatedLoadStep("employeeCsvValidatedLoadStep", employeeCsvReader, employeeProcessor, employeeWriter);
+    }
+    
+    /**
+     * 商品CSV→DBジョブ（一括ロード）
+     */
+    @Bean
+    public Job productCsvToDbBulkJob(Step productCsvToDbChunkStep, Step productCsvValidatedLoadStep) {
+        return new JobBuilder("productCsvToDbBulkJob", jobRepository)
+                .incrementer(new RunIdIncrementer())
+                .listener(listener)
+                .start(bulkLoadDecider)
+                .on(BulkLoadDecider.BULK).to(productCsvBulkLoadStep())
+                .from(bulkLoadDecider).on(BulkLoadDecider.VALIDATE).to(productCsvValidatedLoadStep)
+                .from(bulkLoadDecider).on("*").to(productCsvToDbChunkStep)
+                .end()
+                .build();
+    }
+    
+    /**
+     * 商品CSV一括ロードステップ
+     */
+    @Bean
+    public Step productCsvBulkLoadStep() {
+        return new StepBuilder("productCsvBulkLoadStep", jobRepository)
+                .tasklet(productCsvBulkLoadTasklet, transactionManager)
+                .build();
+    }
+    
+    /**
+     * 商品CSV検証付き取り込みステップ
+     */
+    @Bean
+    public Step productCsvValidatedLoadStep(ItemStreamReader<CsvProduct> productCsvReader,
+                                            ItemProcessor<CsvProduct, Product> productProcessor,
+                                            ItemWriter<Product> productWriter) {
+        return validatedLoadStep("productCsvValidatedLoadStep", productCsvReader, productProcessor, productWriter);
+    }
+    
+    /**
+     * 売上CSV→DBジョブ（一括ロード）
+     */
+    @Bean
+    public Job salesCsvToDbBulkJob(Step salesCsvToDbChunkStep, Step salesCsvValidatedLoadStep) {
+        return new JobBuilder("salesCsvToDbBulkJob", jobRepository)
+                .incrementer(new RunIdIncrementer())
+                .listener(listener)
+                .start(bulkLoadDecider)
+                .on(BulkLoadDecider.BULK).to(salesCsvBulkLoadStep())
+                .from(bulkLoadDecider).on(BulkLoadDecider.VALIDATE).to(salesCsvValidatedLoadStep)
+                .from(bulkLoadDecider).on("*").to(salesCsvToDbChunkStep)
+                .end()
+                .build();
+    }
+    
+    /**
+     * 売上CSV一括ロードステップ
+     */
+    @Bean
+    public Step salesCsvBulkLoadStep() {
+        return new StepBuilder("salesCsvBulkLoadStep", jobRepository)
+                .tasklet(salesCsvBulkLoadTasklet, transactionManager)
+                .build();
+    }
+    
+    /**
+     * 売上CSV検証付き取り込みステップ
+     */
+    @Bean
+    public Step salesCsvValidatedLoadStep(ItemStreamReader<CsvSales> salesCsvReader,
+                                          ItemProcessor<CsvSales, Sales> salesProcessor,
+                                          ItemWriter<Sales> salesWriter) {
+        return validatedLoadStep("salesCsvValidatedLoadStep", salesCsvReader, salesProcessor, salesWriter);
+    }
+    
+    /**
+     * 検証付き取り込みステップ
+     * Bean Validationに違反する行と型変換できない行は、一括ロードの不正行と同様にスキップ件数として数え、処理を継続する
+     */
+    private <I, O> Step validatedLoadStep(String name, ItemStreamReader<I> reader,
+                                          ItemProcessor<I, O> processor, ItemWriter<O> writer) {
+        ValidatingItemProcessor<I> validatingProcessor = new ValidatingItemProcessor<>(new InputDataValidator<>(validator));
+        validatingProcessor.setFilter(false);
+        
+        CompositeItemProcessor<I, O> compositeProcessor = new CompositeItemProcessor<>();
+        compositeProcessor.setDelegates(Arrays.asList(validatingProcessor, processor));
+        
+        return new StepBuilder(name, jobRepository)
+                .<I, O>chunk(chunkSize, transactionManager)
+                .reader(reader)
+                .processor(compositeProcessor)
+                .writer(writer)
+                .faultTolerant()
+                .skip(ValidationException.class)
+                .skip(FlatFileParseException.class)
+                .skipLimit(Integer.MAX_VALUE)
+                .build();
+    }
+}
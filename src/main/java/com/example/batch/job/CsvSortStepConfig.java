@@ -0,0 +1,70 @@
+package com.example.batch.job;
+
+import com.example.batch.support.ImportTable;
+import com.example.batch.tasklet.CsvSortTasklet;
+import lombok.RequiredArgsConstructor;
+import org.springframework.batch.core.Step;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.step.builder.StepBuilder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+
+/**
+ * CSVソートステップ設定クラス
+ * 入力CSVをキー順に並べ替えてから取り込むためのステップを定義する（sort.column / input.sort指定時のみ並べ替える）
+ */
+@Configuration
+@RequiredArgsConstructor
+public class CsvSortStepConfig {
+    
+    private final JobRepository jobRepository;
+    private final PlatformTransactionManager transactionManager;
+    
+    /** 1ランとしてメモリに保持する最大バイト数 */
+    @Value("${app.batch.sort.max-run-bytes:67108864}")
+    private long maxRunBytes;
+    
+    /** ソート済みファイル・一時ファイルの作成先 */
+    @Value("${app.batch.sort.work-dir:${java.io.tmpdir}}")
+    private String workDirectory;
+    
+    @Value("${app.batch.csv.encoding:UTF-8}")
+    private String encoding;
+    
+    /**
+     * 従業員CSVソートステップ
+     */
+    @Bean
+    public Step employeeCsvSortStep() {
+        return csvSortStep("employeeCsvSortStep", ImportTable.EMPLOYEE);
+    }
+    
+    /**
+     * 商品CSVソートステップ
+     */
+    @Bean
+    public Step productCsvSortStep() {
+        return csvSortStep("productCsvSortStep", ImportTable.PRODUCT);
+    }
+    
+    /**
+     * 売上CSVソートステップ
+     */
+    @Bean
+    public Step salesCsvSortStep() {
+        return csvSortStep("salesCsvSortStep", ImportTable.SALES);
+    }
+    
+    private Step csvSortStep(String name, ImportTable table) {
+        CsvSortTasklet tasklet = new CsvSortTasklet(table, maxRunBytes,
+                Path.of(workDirectory), Charset.forName(encoding));
+        return new StepBuilder(name, jobRepository)
+                .tasklet(tasklet, transactionManager)
+                .build();
+    }
+}
@@ -1,5 +1,19 @@
 package com.example.batch.job;
 
+import com.example.batch.csv.CompressedBufferedReaderFactory;
+import com.example.batch.csv.CompressedInputs;
+import com.example.batch.csv.CsvEmployeeFieldSetMapper;
+import com.example.batch.csv.CsvLineTokenizer;
+import com.example.batch.csv.CsvProductFieldSetMapper;
+import com.example.batch.csv.CsvRecordSeparatorPolicy;
+import com.example.batch.csv.CsvSalesFieldSetMapper;
+import com.example.batch.csv.FileRangeBufferedReaderFactory;
+import com.example.batch.csv.MappedCsvItemReader;
+import com.example.batch.csv.MappedCsvRecordMapper;
+import com.example.batch.csv.MappedCsvRecordMappers;
+import com.example.batch.csv.ReaderMode;
+import com.example.batch.decider.LoadMode;
+import com.example.batch.decider.LoadModeDecider;
 import com.example.batch.dto.CsvEmployee;
 import com.example.batch.dto.CsvProduct;
 import com.example.batch.dto.CsvSales;
@@ -7,31 +21,54 @@ import com.example.batch.entity.Employee;
 import com.example.batch.entity.Product;
 import com.example.batch.entity.Sales;
 import com.example.batch.listener.JobCompletionListener;
+import com.example.batch.listener.SeenKeyRecordingListener;
 import com.example.batch.mapper.EmployeeMapper;
 import com.example.batch.mapper.ProductMapper;
 import com.example.batch.mapper.SalesMapper;
 import com.example.batch.processor.EmployeeProcessor;
+import com.example.batch.support.ContentHash;
+import com.example.batch.support.ProfiledCompletionPolicy;
+import com.example.batch.tasklet.BlockFingerprintTasklet;
+import com.example.batch.writer.EmployeeAppendItemWriter;
+import com.example.batch.writer.EmployeeIndexedUpsertItemWriter;
+import com.example.batch.writer.EmployeeMergeItemWriter;
+import com.example.batch.writer.IndexedUpsertItemWriter;
+import com.example.batch.writer.InventoryAdjustingItemWriter;
+import com.example.batch.writer.ProductAppendItemWriter;
+import com.example.batch.writer.ProductIndexedUpsertItemWriter;
+import com.example.batch.writer.ProductMergeItemWriter;
+import com.example.batch.writer.SalesAppendItemWriter;
+import com.example.batch.writer.SalesIndexedUpsertItemWriter;
+import com.example.batch.writer.SalesMergeItemWriter;
+import com.example.batch.writer.UnchangedRowSkippingItemWriter;
+import com.example.batch.writer.WriterMode;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.batch.core.Job;
 import org.springframework.batch.core.Step;
+import org.springframework.batch.core.StepExecutionListener;
 import org.springframework.batch.core.configuration.annotation.StepScope;
 import org.springframework.batch.core.job.builder.JobBuilder;
+import org.springframework.batch.core.job.flow.Flow;
 import org.springframework.batch.core.launch.support.RunIdIncrementer;
 import org.springframework.batch.core.repository.JobRepository;
 import org.springframework.batch.core.step.builder.StepBuilder;
 import org.springframework.batch.item.ItemProcessor;
 import org.springframework.batch.item.ItemReader;
+import org.springframework.batch.item.ItemStreamReader;
 import org.springframework.batch.item.ItemWriter;
-import org.springframework.batch.item.file.FlatFileItemReader;
 import org.springframework.batch.item.file.builder.FlatFileItemReaderBuilder;
-import org.springframework.batch.item.file.mapping.BeanWrapperFieldSetMapper;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.io.FileSystemResource;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.transaction.PlatformTransactionManager;
 
+import java.nio.charset.Charset;
+import java.util.List;
+import java.util.function.Function;
+
 /**
  * CSV→DB（チャンクモデル）ジョブ設定クラス
  * チャンクモデルを使用してCSVファイルからデータベースへデータを登録
@@ -47,20 +84,74 @@ public class CsvToDbChunkJobConfig {
     private final ProductMapper productMapper;
     private final SalesMapper salesMapper;
     private final EmployeeProcessor employeeProcessor;
+    private final EmployeeMergeItemWriter employeeMergeItemWriter;
+    private final ProductMergeItemWriter productMergeItemWriter;
+    private final SalesMergeItemWriter salesMergeItemWriter;
+    private final EmployeeIndexedUpsertItemWriter employeeIndexedUpsertItemWriter;
+    private final ProductIndexedUpsertItemWriter productIndexedUpsertItemWriter;
+    private final SalesIndexedUpsertItemWriter salesIndexedUpsertItemWriter;
+    private final EmployeeAppendItemWriter employeeAppendItemWriter;
+    private final ProductAppendItemWriter productAppendItemWriter;
+    private final SalesAppendItemWriter salesAppendItemWriter;
+    private final LoadModeDecider loadModeDecider;
+    private final JdbcTemplate jdbcTemplate;
     
     @Value("${app.batch.chunk-size:100}")
     private int chunkSize;
     
+    /** 1チャンクの目標バイト数（入力プロファイルの平均レコード長から件数を決める、0の場合はchunk-size固定） */
+    @Value("${app.batch.profile.chunk-bytes:0}")
+    private long chunkBytes;
+    
+    /** 入力プロファイルから決めるチャンクサイズの上限（件数） */
+    @Value("${app.batch.profile.max-chunk-size:10000}")
+    private int maxChunkSize;
+    
+    /** リーダー方式（flatfile: FlatFileItemReader / mapped: メモリマップしてバイト列を直接走査、ジョブパラメータreader.modeで上書き可能） */
+    @Value("${app.batch.reader.mode:flatfile}")
+    private String readerMode;
+    
+    /** mappedリーダーでマップするウィンドウのサイズ（バイト） */
+    @Value("${app.batch.reader.window-size:268435456}")
+    private long readerWindowSize;
+    
+    @Value("${app.batch.csv.encoding:UTF-8}")
+    private String encoding;
+    
+    /** ライター方式（merge: チャンク単位MERGE / compat: 1件ずつ既存チェック / indexed: 自然キー索引で振り分け / append: 複数行INSERTで追記） */
+    @Value("${app.batch.writer.mode:merge}")
+    private String writerMode;
+    
+    /** 内容ハッシュが一致する未変更行の書き込みをスキップするか（従業員・商品） */
+    @Value("${app.batch.writer.skip-unchanged:false}")
+    private boolean skipUnchanged;
+    
+    /** 売上取り込み時に新規取引の数量で商品の在庫数を減算するか（ジョブパラメータinventory.adjustで上書き可能） */
+    @Value("${app.batch.inventory.adjust:false}")
+    private boolean adjustInventory;
+    
     /**
      * 従業員CSV→DBジョブ（チャンクモデル）
      */
     @Bean
-    public Job employeeCsvToDbChunkJob(Step employeeCsvToDbChunkStep, 
+    public Job employeeCsvToDbChunkJob(Step employeeCsvToDbChunkStep,
+                                       Step employeeCsvSortStep,
+                                       Step inputProfileStep,
+                                       Flow employeeStagingLoadFlow,
+                                       Step employeeAsyncCsvToDbChunkStep,
+                                       Step employeePartitionedCsvToDbStep,
+                                       Step employeeSnapshotSyncStep,
                                        JobCompletionListener listener) {
         return new JobBuilder("employeeCsvToDbChunkJob", jobRepository)
                 .incrementer(new RunIdIncrementer())
                 .listener(listener)
-                .flow(employeeCsvToDbChunkStep)
+                .start(employeeCsvSortStep)
+                .next(inputProfileStep)
+                .next(loadModeDecider)
+                .on(LoadMode.STAGING.name()).to(employeeStagingLoadFlow).next(employeeSnapshotSyncStep)
+                .from(loadModeDecider).on(LoadMode.ASYNC.name()).to(employeeAsyncCsvToDbChunkStep).next(employeeSnapshotSyncStep)
+                .from(loadModeDecider).on(LoadMode.PARTITIONED.name()).to(employeePartitionedCsvToDbStep).next(employeeSnapshotSyncStep)
+                .from(loadModeDecider).on("*").to(employeeCsvToDbChunkStep).next(employeeSnapshotSyncStep)
                 .end()
                 .build();
     }
@@ -69,56 +160,111 @@ public class CsvToDbChunkJobConfig {
      * 従業員CSV→DBステップ（チャンクモデル）
      */
     @Bean
-    public Step employeeCsvToDbChunkStep() {
+    public Step employeeCsvToDbChunkStep(SeenKeyRecordingListener<CsvEmployee> employeeSeenKeyRecordingListener) {
         return new StepBuilder("employeeCsvToDbChunkStep", jobRepository)
-                .<CsvEmployee, Employee>chunk(chunkSize, transactionManager)
-                .reader(employeeCsvReader(null))
+                .<CsvEmployee, Employee>chunk(chunkCompletionPolicy(), transactionManager)
+                .reader(employeeCsvReader(null, null))
                 .processor(employeeProcessor)
                 .writer(employeeWriter())
+                .listener((StepExecutionListener) employeeSeenKeyRecordingListener)
                 .build();
     }
     
     /**
      * 従業員CSVリーダー
+     * reader.mode=mappedの場合はメモリマップCSVリーダーを使用する
+     * 圧縮ファイル（.gz・.zip）は展開せずに読み込む
      */
     @Bean
     @StepScope
-    public FlatFileItemReader<CsvEmployee> employeeCsvReader(
-            @Value("#{jobParameters['input.file.path']}") String filePath) {
-        BeanWrapperFieldSetMapper<CsvEmployee> fieldSetMapper = new BeanWrapperFieldSetMapper<>();
-        fieldSetMapper.setTargetType(CsvEmployee.class);
-        fieldSetMapper.setConversionService(createConversionService());
+    public ItemStreamReader<CsvEmployee> employeeCsvReader(
+            @Value("#{jobExecutionContext['sorted.file.path'] ?: jobParameters['input.file.path']}") String filePath,
+            @Value("#{jobParameters['reader.mode']}") String readerModeParameter) {
+        if (readerMode(filePath, readerModeParameter) == ReaderMode.MAPPED) {
+            return mappedCsvReader("employeeCsvReader", filePath, MappedCsvRecordMappers.employee());
+        }
         
+        CsvEmployeeFieldSetMapper fieldSetMapper = new CsvEmployeeFieldSetMapper();
         return new FlatFileItemReaderBuilder<CsvEmployee>()
                 .name("employeeCsvReader")
                 .resource(new FileSystemResource(filePath))
-                .delimited()
-                .names("employeeCode", "firstName", "lastName", "email", 
-                       "department", "position", "salary", "hireDate", "status")
+                .bufferedReaderFactory(new CompressedBufferedReaderFactory())
+                .lineTokenizer(new CsvLineTokenizer(fieldSetMapper.getColumnNames()))
+                .recordSeparatorPolicy(new CsvRecordSeparatorPolicy())
                 .fieldSetMapper(fieldSetMapper)
                 .linesToSkip(1) // ヘッダー行をスキップ
                 .build();
     }
     
     /**
-     * 日付変換サービス
+     * リーダー方式を取得（ジョブパラメータreader.modeを優先）
+     * 圧縮ファイル（.gz・.zip）はメモリマップできないため、常にflatfileとする
      */
-    private org.springframework.core.convert.ConversionService createConversionService() {
-        org.springframework.format.support.DefaultFormattingConversionService conversionService = 
-                new org.springframework.format.support.DefaultFormattingConversionService();
-        org.springframework.format.datetime.standard.DateTimeFormatterRegistrar registrar = 
-                new org.springframework.format.datetime.standard.DateTimeFormatterRegistrar();
-        registrar.setDateFormatter(java.time.format.DateTimeFormatter.ofPattern("yyyy-MM-dd"));
-        registrar.setDateTimeFormatter(java.time.format.DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"));
-        registrar.registerFormatters(conversionService);
-        return conversionService;
+    private ReaderMode readerMode(String filePath, String readerModeParameter) {
+        ReaderMode mode = ReaderMode.of(readerModeParameter != null ? readerModeParameter : readerMode);
+        if (mode == ReaderMode.MAPPED && CompressedInputs.isCompressed(filePath)) {
+            log.info("Compressed input is read with the flatfile reader: {}", filePath);
+            return ReaderMode.FLATFILE;
+        }
+        return mode;
+    }
+    
+    /**
+     * メモリマップCSVリーダーを作成（ヘッダー行をスキップ、列数を検証）
+     */
+    private <T> MappedCsvItemReader<T> mappedCsvReader(String name, String filePath, MappedCsvRecordMapper<T> recordMapper) {
+        MappedCsvItemReader<T> reader = new MappedCsvItemReader<>();
+        reader.setName(name);
+        reader.setResource(new FileSystemResource(filePath));
+        reader.setRecordMapper(recordMapper);
+        reader.setCharset(Charset.forName(encoding));
+        reader.setExpectedFieldCount(MappedCsvRecordMappers.FIELD_COUNT);
+        reader.setWindowSize(readerWindowSize);
+        reader.setLinesToSkip(1);
+        return reader;
     }
     
     /**
      * 従業員ライター
+     * app.batch.writer.modeに応じたライターを返す
+     * app.batch.writer.skip-unchanged=trueの場合は内容ハッシュが一致する行を書き込まない
      */
     @Bean
     public ItemWriter<Employee> employeeWriter() {
+        return employeeWriter(WriterMode.of(writerMode));
+    }
+    
+    /**
+     * 従業員ライター（並列取り込み用）
+     * パーティション・非同期チャンクのステップで使用し、indexedの場合はチャンク単位MERGEのライターを返す
+     */
+    @Bean
+    public ItemWriter<Employee> parallelEmployeeWriter() {
+        return employeeWriter(parallelWriterMode());
+    }
+    
+    private ItemWriter<Employee> employeeWriter(WriterMode mode) {
+        ItemWriter<Employee> writer = switch (mode) {
+            case COMPAT -> employeeCompatWriter();
+            case INDEXED -> employeeIndexedUpsertItemWriter;
+            case APPEND -> employeeAppendItemWriter;
+            default -> employeeMergeItemWriter;
+        };
+        if (skipUnchanged) {
+            // 索引振り分けライターはBATCH実行モードで書き込むため、登録済みハッシュも同じセッションで検索する
+            Function<List<String>, List<Employee>> finder = writer instanceof IndexedUpsertItemWriter<Employee> indexed
+                    ? indexed::findStored : employeeMapper::selectByEmployeeCodes;
+            writer = new UnchangedRowSkippingItemWriter<>(writer,
+                    finder, Employee::getEmployeeCode, Employee::getContentHash);
+        }
+        return writer;
+    }
+    
+    /**
+     * 従業員ライター（従来方式：1件ずつ既存チェックして登録・更新）
+     */
+    @Bean
+    public ItemWriter<Employee> employeeCompatWriter() {
         return items -> {
             for (Employee employee : items) {
                 try {
@@ -145,11 +291,23 @@ public class CsvToDbChunkJobConfig {
      */
     @Bean
     public Job productCsvToDbChunkJob(Step productCsvToDbChunkStep,
+                                      Step productCsvSortStep,
+                                      Step inputProfileStep,
+                                      Flow productStagingLoadFlow,
+                                      Step productAsyncCsvToDbChunkStep,
+                                      Step productPartitionedCsvToDbStep,
+                                      Step productSnapshotSyncStep,
                                       JobCompletionListener listener) {
         return new JobBuilder("productCsvToDbChunkJob", jobRepository)
                 .incrementer(new RunIdIncrementer())
                 .listener(listener)
-                .flow(productCsvToDbChunkStep)
+                .start(productCsvSortStep)
+                .next(inputProfileStep)
+                .next(loadModeDecider)
+                .on(LoadMode.STAGING.name()).to(productStagingLoadFlow).next(productSnapshotSyncStep)
+                .from(loadModeDecider).on(LoadMode.ASYNC.name()).to(productAsyncCsvToDbChunkStep).next(productSnapshotSyncStep)
+                .from(loadModeDecider).on(LoadMode.PARTITIONED.name()).to(productPartitionedCsvToDbStep).next(productSnapshotSyncStep)
+                .from(loadModeDecider).on("*").to(productCsvToDbChunkStep).next(productSnapshotSyncStep)
                 .end()
                 .build();
     }
@@ -158,31 +316,38 @@ public class CsvToDbChunkJobConfig {
      * 商品CSV→DBステップ（チャンクモデル）
      */
     @Bean
-    public Step productCsvToDbChunkStep() {
+    public Step productCsvToDbChunkStep(SeenKeyRecordingListener<CsvProduct> productSeenKeyRecordingListener) {
         return new StepBuilder("productCsvToDbChunkStep", jobRepository)
-                .<CsvProduct, Product>chunk(chunkSize, transactionManager)
-                .reader(productCsvReader(null))
+                .<CsvProduct, Product>chunk(chunkCompletionPolicy(), transactionManager)
+                .reader(productCsvReader(null, null))
                 .processor(productProcessor())
                 .writer(productWriter())
+                .listener((StepExecutionListener) productSeenKeyRecordingListener)
                 .build();
     }
     
     /**
      * 商品CSVリーダー
+     * reader.mode=mappedの場合はメモリマップCSVリーダーを使用する
+     * 圧縮ファイル（.gz・.zip）は展開せずに読み込む
      */
     @Bean
     @StepScope
-    public FlatFileItemReader<CsvProduct> productCsvReader(
-            @Value("#{jobParameters['input.file.path']}") String filePath) {
+    public ItemStreamReader<CsvProduct> productCsvReader(
+            @Value("#{jobExecutionContext['sorted.file.path'] ?: jobParameters['input.file.path']}") String filePath,
+            @Value("#{jobParameters['reader.mode']}") String readerModeParameter) {
+        if (readerMode(filePath, readerModeParameter) == ReaderMode.MAPPED) {
+            return mappedCsvReader("productCsvReader", filePath, MappedCsvRecordMappers.product());
+        }
+        
+        CsvProductFieldSetMapper fieldSetMapper = new CsvProductFieldSetMapper();
         return new FlatFileItemReaderBuilder<CsvProduct>()
                 .name("productCsvReader")
                 .resource(new FileSystemResource(filePath))
-                .delimited()
-                .names("productCode", "productName", "category", "price", 
-                       "stockQuantity", "description", "manufacturer", "releaseDate", "isActive")
-                .fieldSetMapper(new BeanWrapperFieldSetMapper<>() {{
-                    setTargetType(CsvProduct.class);
-                }})
+                .bufferedReaderFactory(new CompressedBufferedReaderFactory())
+                .lineTokenizer(new CsvLineTokenizer(fieldSetMapper.getColumnNames()))
+                .recordSeparatorPolicy(new CsvRecordSeparatorPolicy())
+                .fieldSetMapper(fieldSetMapper)
                 .linesToSkip(1)
                 .build();
     }
@@ -199,7 +364,7 @@ public class CsvToDbChunkJobConfig {
                 return null;
             }
             
-            return Product.builder()
+            Product product = Product.builder()
                     .productCode(csvProduct.getProductCode())
                     .productName(csvProduct.getProductName())
                     .category(csvProduct.getCategory())
@@ -210,14 +375,52 @@ public class CsvToDbChunkJobConfig {
                     .releaseDate(csvProduct.getReleaseDate())
                     .isActive(csvProduct.getIsActive() != null ? csvProduct.getIsActive() : true)
                     .build();
+            product.setContentHash(ContentHash.of(product));
+            return product;
         };
     }
     
     /**
      * 商品ライター
+     * app.batch.writer.modeに応じたライターを返す
+     * app.batch.writer.skip-unchanged=trueの場合は内容ハッシュが一致する行を書き込まない
      */
     @Bean
     public ItemWriter<Product> productWriter() {
+        return productWriter(WriterMode.of(writerMode));
+    }
+    
+    /**
+     * 商品ライター（並列取り込み用）
+     * パーティション・非同期チャンクのステップで使用し、indexedの場合はチャンク単位MERGEのライターを返す
+     */
+    @Bean
+    public ItemWriter<Product> parallelProductWriter() {
+        return productWriter(parallelWriterMode());
+    }
+    
+    private ItemWriter<Product> productWriter(WriterMode mode) {
+        ItemWriter<Product> writer = switch (mode) {
+            case COMPAT -> productCompatWriter();
+            case INDEXED -> productIndexedUpsertItemWriter;
+            case APPEND -> productAppendItemWriter;
+            default -> productMergeItemWriter;
+        };
+        if (skipUnchanged) {
+            // 索引振り分けライターはBATCH実行モードで書き込むため、登録済みハッシュも同じセッションで検索する
+            Function<List<String>, List<Product>> finder = writer instanceof IndexedUpsertItemWriter<Product> indexed
+                    ? indexed::findStored : productMapper::selectByProductCodes;
+            writer = new UnchangedRowSkippingItemWriter<>(writer,
+                    finder, Product::getProductCode, Product::getContentHash);
+        }
+        return writer;
+    }
+    
+    /**
+     * 商品ライター（従来方式：1件ずつ既存チェックして登録・更新）
+     */
+    @Bean
+    public ItemWriter<Product> productCompatWriter() {
         return items -> {
             for (Product product : items) {
                 try {
@@ -243,11 +446,30 @@ public class CsvToDbChunkJobConfig {
      */
     @Bean
     public Job salesCsvToDbChunkJob(Step salesCsvToDbChunkStep,
+                                    Step salesCsvSortStep,
+                                    Step inputProfileStep,
+                                    Flow salesStagingLoadFlow,
+                                    Step salesAsyncCsvToDbChunkStep,
+                                    Step salesPartitionedCsvToDbStep,
+                                    Step salesIncrementalRangeStep,
+                                    Step salesIncrementalCommitStep,
+                                    Step salesBlockFingerprintStep,
+                                    Step salesBlockFingerprintCommitStep,
                                     JobCompletionListener listener) {
         return new JobBuilder("salesCsvToDbChunkJob", jobRepository)
                 .incrementer(new RunIdIncrementer())
                 .listener(listener)
-                .flow(salesCsvToDbChunkStep)
+                .start(salesIncrementalRangeStep)
+                .next(salesBlockFingerprintStep)
+                .on(BlockFingerprintTasklet.UNCHANGED).end()
+                .from(salesBlockFingerprintStep).on("*").to(salesCsvSortStep)
+                .next(inputProfileStep)
+                .next(loadModeDecider)
+                .on(LoadMode.STAGING.name()).to(salesStagingLoadFlow)
+                .from(loadModeDecider).on(LoadMode.ASYNC.name()).to(salesAsyncCsvToDbChunkStep)
+                .from(loadModeDecider).on(LoadMode.PARTITIONED.name()).to(salesPartitionedCsvToDbStep)
+                .from(loadModeDecider).on("*").to(salesCsvToDbChunkStep).next(salesIncrementalCommitStep)
+                .next(salesBlockFingerprintCommitStep)
                 .end()
                 .build();
     }
@@ -258,8 +480,8 @@ public class CsvToDbChunkJobConfig {
     @Bean
     public Step salesCsvToDbChunkStep() {
         return new StepBuilder("salesCsvToDbChunkStep", jobRepository)
-                .<CsvSales, Sales>chunk(chunkSize, transactionManager)
-                .reader(salesCsvReader(null))
+                .<CsvSales, Sales>chunk(chunkCompletionPolicy(), transactionManager)
+                .reader(salesCsvReader(null, null, null, null, null))
                 .processor(salesProcessor())
                 .writer(salesWriter())
                 .build();
@@ -267,20 +489,45 @@ public class CsvToDbChunkJobConfig {
     
     /**
      * 売上CSVリーダー
+     * reader.mode=mappedの場合はメモリマップCSVリーダーを使用する
+     * 圧縮ファイル（.gz・.zip）は展開せずに読み込む
+     * 増分取り込み（input.incremental=true）の場合は、前回の取り込み位置以降の範囲だけを読み込む
+     * 変更ブロックの取り込み（input.fingerprint=true）の場合は、前回から変更されたブロックの範囲だけを読み込む
      */
     @Bean
     @StepScope
-    public FlatFileItemReader<CsvSales> salesCsvReader(
-            @Value("#{jobParameters['input.file.path']}") String filePath) {
+    public ItemStreamReader<CsvSales> salesCsvReader(
+            @Value("#{jobExecutionContext['sorted.file.path'] ?: jobParameters['input.file.path']}") String filePath,
+            @Value("#{jobParameters['reader.mode']}") String readerModeParameter,
+            @Value("#{jobExecutionContext['incremental.start-offset']}") Long startOffset,
+            @Value("#{jobExecutionContext['incremental.end-offset']}") Long endOffset,
+            @Value("#{jobExecutionContext['fingerprint.changed-ranges']}") String changedRanges) {
+        CsvSalesFieldSetMapper fieldSetMapper = new CsvSalesFieldSetMapper();
+        List<long[]> ranges = changedRanges != null ? BlockFingerprintTasklet.parseRanges(changedRanges)
+                : endOffset != null ? List.of(new long[] {startOffset, endOffset}) : null;
+        if (ranges != null) {
+            // 範囲の先頭がファイルの先頭の場合だけヘッダー行を読み飛ばす
+            return new FlatFileItemReaderBuilder<CsvSales>()
+                    .name("salesCsvReader")
+                    .resource(new FileSystemResource(filePath))
+                    .bufferedReaderFactory(new FileRangeBufferedReaderFactory(ranges))
+                    .lineTokenizer(new CsvLineTokenizer(fieldSetMapper.getColumnNames()))
+                    .recordSeparatorPolicy(new CsvRecordSeparatorPolicy())
+                    .fieldSetMapper(fieldSetMapper)
+                    .linesToSkip(ranges.get(0)[0] == 0 ? 1 : 0)
+                    .build();
+        }
+        if (readerMode(filePath, readerModeParameter) == ReaderMode.MAPPED) {
+            return mappedCsvReader("salesCsvReader", filePath, MappedCsvRecordMappers.sales());
+        }
+        
         return new FlatFileItemReaderBuilder<CsvSales>()
                 .name("salesCsvReader")
                 .resource(new FileSystemResource(filePath))
-                .delimited()
-                .names("transactionId", "productCode", "customerName", "quantity",
-                       "unitPrice", "totalAmount", "saleDate", "paymentMethod", "status")
-                .fieldSetMapper(new BeanWrapperFieldSetMapper<>() {{
-                    setTargetType(CsvSales.class);
-                }})
+                .bufferedReaderFactory(new CompressedBufferedReaderFactory())
+                .lineTokenizer(new CsvLineTokenizer(fieldSetMapper.getColumnNames()))
+                .recordSeparatorPolicy(new CsvRecordSeparatorPolicy())
+                .fieldSetMapper(fieldSetMapper)
                 .linesToSkip(1)
                 .build();
     }
@@ -313,9 +560,39 @@ public class CsvToDbChunkJobConfig {
     
     /**
      * 売上ライター
+     * app.batch.writer.modeに応じたライターを返す
+     * inventory.adjust=trueの場合は新規取引の数量を商品ごとに集計して在庫数を減算する
      */
     @Bean
     public ItemWriter<Sales> salesWriter() {
+        return salesWriter(WriterMode.of(writerMode));
+    }
+    
+    /**
+     * 売上ライター（並列取り込み用）
+     * パーティション・非同期チャンクのステップで使用し、indexedの場合はチャンク単位MERGEのライターを返す
+     * パーティションのワーカーは同じライターを共有するため、引当は取引IDの主キー制約で1回に限定する
+     */
+    @Bean
+    public ItemWriter<Sales> parallelSalesWriter() {
+        return salesWriter(parallelWriterMode());
+    }
+    
+    private ItemWriter<Sales> salesWriter(WriterMode mode) {
+        ItemWriter<Sales> writer = switch (mode) {
+            case COMPAT -> salesCompatWriter();
+            case INDEXED -> salesIndexedUpsertItemWriter;
+            case APPEND -> salesAppendItemWriter;
+            default -> salesMergeItemWriter;
+        };
+        return new InventoryAdjustingItemWriter(writer, jdbcTemplate, adjustInventory);
+    }
+    
+    /**
+     * 売上ライター（従来方式：1件ずつ既存チェックして登録・更新）
+     */
+    @Bean
+    public ItemWriter<Sales> salesCompatWriter() {
         return items -> {
             for (Sales sales : items) {
                 try {
@@ -335,4 +612,25 @@ public class CsvToDbChunkJobConfig {
             }
         };
     }
-}
\ No newline at end of file
+    
+    /**
+     * 並列取り込みのライター方式
+     * 索引振り分けライターはジョブ内で共有する索引へ新規キーをコミット後に反映するため、
+     * 並行するワーカーが同じ新規キーを登録すると一意制約違反となる。indexedはチャンク単位MERGEに置き換える
+     */
+    private WriterMode parallelWriterMode() {
+        WriterMode mode = WriterMode.of(writerMode);
+        if (mode != mode.forParallelLoad()) {
+            log.info("Writer mode {} is replaced with {} for parallel loads", mode, mode.forParallelLoad());
+        }
+        return mode.forParallelLoad();
+    }
+    
+    /**
+     * チャンクの区切り
+     * 入力プロファイルステップの平均レコード長とprofile.chunk-bytesからチャンクサイズを決める
+     */
+    private ProfiledCompletionPolicy chunkCompletionPolicy() {
+        return new ProfiledCompletionPolicy(chunkSize, chunkBytes, maxChunkSize);
+    }
+}
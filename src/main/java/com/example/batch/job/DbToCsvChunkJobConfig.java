@@ -1,5 +1,6 @@
 package com.example.batch.job;
 
+import com.example.batch.csv.CsvLineAggregator;
 import com.example.batch.dto.CsvEmployee;
 import com.example.batch.dto.CsvProduct;
 import com.example.batch.dto.CsvSales;
@@ -7,11 +8,10 @@ import com.example.batch.entity.Employee;
 import com.example.batch.entity.Product;
 import com.example.batch.entity.Sales;
 import com.example.batch.listener.JobCompletionListener;
+import com.example.batch.reader.KeysetPagingItemReader;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.ibatis.session.SqlSessionFactory;
-import org.mybatis.spring.batch.MyBatisPagingItemReader;
-import org.mybatis.spring.batch.builder.MyBatisPagingItemReaderBuilder;
 import org.springframework.batch.core.Job;
 import org.springframework.batch.core.Step;
 import org.springframework.batch.core.configuration.annotation.StepScope;
@@ -23,7 +23,6 @@ import org.springframework.batch.item.ItemProcessor;
 import org.springframework.batch.item.file.FlatFileItemWriter;
 import org.springframework.batch.item.file.builder.FlatFileItemWriterBuilder;
 import org.springframework.batch.item.file.transform.BeanWrapperFieldExtractor;
-import org.springframework.batch.item.file.transform.DelimitedLineAggregator;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -31,10 +30,12 @@ import org.springframework.core.io.FileSystemResource;
 import org.springframework.transaction.PlatformTransactionManager;
 
 import java.time.format.DateTimeFormatter;
+import java.util.function.Function;
 
 /**
  * DB→CSV（チャンクモデル）ジョブ設定クラス
  * チャンクモデルを使用してデータベースからCSVファイルへデータを出力
+ * 行の組み立てはCsvLineAggregator（区切り文字・ダブルクォート・改行を含む項目はダブルクォートで囲む）で行う
  */
 @Slf4j
 @Configuration
@@ -80,14 +81,11 @@ public class DbToCsvChunkJobConfig {
     
     /**
      * 従業員DBリーダー
+     * 前ページの最後のIDより後ろを取得するキーセットページングで読み込む
      */
     @Bean
-    public MyBatisPagingItemReader<Employee> employeeDbReader() {
-        return new MyBatisPagingItemReaderBuilder<Employee>()
-                .sqlSessionFactory(sqlSessionFactory)
-                .queryId("com.example.batch.mapper.EmployeeMapper.selectAll")
-                .pageSize(pageSize)
-                .build();
+    public KeysetPagingItemReader<Employee> employeeDbReader() {
+        return keysetPagingReader("employeeDbReader", "com.example.batch.mapper.EmployeeMapper.selectAfterId", Employee::getId);
     }
     
     /**
@@ -124,14 +122,10 @@ public class DbToCsvChunkJobConfig {
         fieldExtractor.setNames(new String[]{"employeeCode", "firstName", "lastName", "email",
                 "department", "position", "salary", "hireDate", "status"});
         
-        DelimitedLineAggregator<CsvEmployee> lineAggregator = new DelimitedLineAggregator<>();
-        lineAggregator.setDelimiter(",");
-        lineAggregator.setFieldExtractor(fieldExtractor);
-        
         return new FlatFileItemWriterBuilder<CsvEmployee>()
                 .name("employeeCsvWriter")
                 .resource(new FileSystemResource(filePath))
-                .lineAggregator(lineAggregator)
+                .lineAggregator(new CsvLineAggregator<>(fieldExtractor))
                 .headerCallback(writer -> writer.write("employee_code,first_name,last_name,email,department,position,salary,hire_date,status"))
                 .build();
     }
@@ -164,14 +158,11 @@ public class DbToCsvChunkJobConfig {
     
     /**
      * 商品DBリーダー
+     * 前ページの最後のIDより後ろを取得するキーセットページングで読み込む
      */
     @Bean
-    public MyBatisPagingItemReader<Product> productDbReader() {
-        return new MyBatisPagingItemReaderBuilder<Product>()
-                .sqlSessionFactory(sqlSessionFactory)
-                .queryId("com.example.batch.mapper.ProductMapper.selectAll")
-                .pageSize(pageSize)
-                .build();
+    public KeysetPagingItemReader<Product> productDbReader() {
+        return keysetPagingReader("productDbReader", "com.example.batch.mapper.ProductMapper.selectAfterId", Product::getId);
     }
     
     /**
@@ -208,14 +199,10 @@ public class DbToCsvChunkJobConfig {
         fieldExtractor.setNames(new String[]{"productCode", "productName", "category", "price",
                 "stockQuantity", "description", "manufacturer", "releaseDate", "isActive"});
         
-        DelimitedLineAggregator<CsvProduct> lineAggregator = new DelimitedLineAggregator<>();
-        lineAggregator.setDelimiter(",");
-        lineAggregator.setFieldExtractor(fieldExtractor);
-        
         return new FlatFileItemWriterBuilder<CsvProduct>()
                 .name("productCsvWriter")
                 .resource(new FileSystemResource(filePath))
-                .lineAggregator(lineAggregator)
+                .lineAggregator(new CsvLineAggregator<>(fieldExtractor))
                 .headerCallback(writer -> writer.write("product_code,product_name,category,price,stock_quantity,description,manufacturer,release_date,is_active"))
                 .build();
     }
@@ -248,14 +235,11 @@ public class DbToCsvChunkJobConfig {
     
     /**
      * 売上DBリーダー
+     * 前ページの最後のIDより後ろを取得するキーセットページングで読み込む
      */
     @Bean
-    public MyBatisPagingItemReader<Sales> salesDbReader() {
-        return new MyBatisPagingItemReaderBuilder<Sales>()
-                .sqlSessionFactory(sqlSessionFactory)
-                .queryId("com.example.batch.mapper.SalesMapper.selectAll")
-                .pageSize(pageSize)
-                .build();
+    public KeysetPagingItemReader<Sales> salesDbReader() {
+        return keysetPagingReader("salesDbReader", "com.example.batch.mapper.SalesMapper.selectAfterId", Sales::getId);
     }
     
     /**
@@ -292,15 +276,29 @@ public class DbToCsvChunkJobConfig {
         fieldExtractor.setNames(new String[]{"transactionId", "productCode", "customerName", "quantity",
                 "unitPrice", "totalAmount", "saleDate", "paymentMethod", "status"});
         
-        DelimitedLineAggregator<CsvSales> lineAggregator = new DelimitedLineAggregator<>();
-        lineAggregator.setDelimiter(",");
-        lineAggregator.setFieldExtractor(fieldExtractor);
-        
         return new FlatFileItemWriterBuilder<CsvSales>()
                 .name("salesCsvWriter")
                 .resource(new FileSystemResource(filePath))
-                .lineAggregator(lineAggregator)
+                .lineAggregator(new CsvLineAggregator<>(fieldExtractor))
                 .headerCallback(writer -> writer.write("transaction_id,product_code,customer_name,quantity,unit_price,total_amount,sale_date,payment_method,status"))
                 .build();
     }
-}
\ No newline at end of file
+    
+    /**
+     * キーセットページングのDBリーダーを作成
+     * 
+     * @param name リーダー名（実行コンテキストのキーの接頭辞）
+     * @param queryId lastId・pageSizeを受け取り、ID順に1ページを返すクエリ
+     * @param idExtractor アイテムのIDの取り出し
+     * @return リーダー
+     */
+    private <T> KeysetPagingItemReader<T> keysetPagingReader(String name, String queryId, Function<T, Long> idExtractor) {
+        KeysetPagingItemReader<T> reader = new KeysetPagingItemReader<>();
+        reader.setName(name);
+        reader.setSqlSessionFactory(sqlSessionFactory);
+        reader.setQueryId(queryId);
+        reader.setPageSize(pageSize);
+        reader.setIdExtractor(idExtractor);
+        return reader;
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.batch.job;
+
+import com.example.batch.incremental.IngestionOffsetOperations;
+import com.example.batch.support.ImportTable;
+import com.example.batch.tasklet.IncrementalRangeTasklet;
+import lombok.RequiredArgsConstructor;
+import org.springframework.batch.core.Step;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.step.builder.StepBuilder;
+import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/**
+ * 増分取り込みステップ設定クラス
+ * 追記型CSV（input.incremental=true）の場合に、前回の取り込み位置以降だけを読み込むための
+ * 範囲決定ステップと、取り込み完了後に取り込み位置を保存するステップを定義する
+ */
+@Configuration
+@RequiredArgsConstructor
+public class IncrementalIngestionStepConfig {
+    
+    private final JobRepository jobRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final IngestionOffsetOperations ingestionOffsetOperations;
+    
+    /** 増分取り込みとするか（ジョブパラメータinput.incrementalで上書き可能） */
+    @Value("${app.batch.incremental.enabled:false}")
+    private boolean incremental;
+    
+    /** ファイルの同一性確認に使用する先頭のバイト数 */
+    @Value("${app.batch.incremental.head-bytes:8192}")
+    private int headBytes;
+    
+    /**
+     * 売上増分取り込み範囲ステップ
+     */
+    @Bean
+    public Step salesIncrementalRangeStep() {
+        return new StepBuilder("salesIncrementalRangeStep", jobRepository)
+                .tasklet(new IncrementalRangeTasklet(ImportTable.SALES, ingestionOffsetOperations, incremental, headBytes),
+                        transactionManager)
+                .build();
+    }
+    
+    /**
+     * 売上増分取り込み位置保存ステップ
+     * 取り込みステップが完了した後にだけ実行されるため、失敗した場合は次回も同じ位置から読み込む
+     */
+    @Bean
+    public Step salesIncrementalCommitStep() {
+        return new StepBuilder("salesIncrementalCommitStep", jobRepository)
+                .tasklet((contribution, chunkContext) -> {
+                    IncrementalRangeTasklet.commit(
+                            chunkContext.getStepContext().getStepExecution().getJobExecution().getExecutionContext(),
+                            ImportTable.SALES, ingestionOffsetOperations);
+                    return RepeatStatus.FINISHED;
+                }, transactionManager)
+                .build();
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.batch.job;
+
+import com.example.batch.support.InputProfiler;
+import com.example.batch.tasklet.InputProfileTasklet;
+import lombok.RequiredArgsConstructor;
+import org.springframework.batch.core.Step;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.step.builder.StepBuilder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/**
+ * 入力プロファイルステップ設定クラス
+ * 取り込み方式・チャンクサイズを決める前に、入力ファイルの件数・サイズを見積もるステップを定義する
+ */
+@Configuration
+@RequiredArgsConstructor
+public class InputProfileStepConfig {
+
+    private final JobRepository jobRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    /** 全体を走査するファイルサイズの上限（バイト、超える場合は標本から推定） */
+    @Value("${app.batch.profile.full-scan-bytes:268435456}")
+    private long fullScanBytes;
+
+    /** 標本区間の数 */
+    @Value("${app.batch.profile.sample-count:16}")
+    private int sampleCount;
+
+    /** 標本区間1つのバイト数 */
+    @Value("${app.batch.profile.sample-bytes:1048576}")
+    private int sampleBytes;
+
+    /**
+     * 入力プロファイルステップ
+     */
+    @Bean
+    public Step inputProfileStep() {
+        InputProfiler profiler = new InputProfiler(fullScanBytes, sampleCount, sampleBytes, 1);
+        return new StepBuilder("inputProfileStep", jobRepository)
+                .tasklet(new InputProfileTasklet(profiler), transactionManager)
+                // 再起動時も最新のファイルで見積もり直す
+                .allowStartIfComplete(true)
+                .build();
+    }
+}
@@ -1,5 +1,7 @@
 package com.example.batch.job;
 
+import com.example.batch.csv.CsvLineTokenizer;
+import com.example.batch.csv.CsvRecordSeparatorPolicy;
 import com.example.batch.dto.CsvEmployee;
 import com.example.batch.entity.Employee;
 import com.example.batch.listener.SkipListener;
@@ -7,6 +9,8 @@ import com.example.batch.partitioner.RangePartitioner;
 import com.example.batch.processor.EmployeeProcessor;
 import com.example.batch.validator.InputDataValidator;
 import com.example.batch.validator.JobParametersValidator;
+import com.example.batch.writer.AffinityRoutingItemWriter;
+import com.example.batch.writer.EmployeeMergeItemWriter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.batch.core.Job;
@@ -55,6 +59,15 @@ public class ParallelProcessingJobConfig {
     private final InputDataValidator<CsvEmployee> inputDataValidator;
     private final JobParametersValidator jobParametersValidator;
     private final SkipListener<CsvEmployee, Employee> skipListener;
+    private final EmployeeMergeItemWriter employeeMergeItemWriter;
+    
+    /** 並列書き込みのレーン数（同じ自然キーは常に同じレーンで書き込む） */
+    @Value("${app.batch.writer.lanes:4}")
+    private int writerLanes;
+    
+    /** レーンが1回の書き込みにまとめる最大件数 */
+    @Value("${app.batch.writer.lane-batch-size:500}")
+    private int laneBatchSize;
     
     @Qualifier("batchTaskExecutor")
     private final TaskExecutor batchTaskExecutor;
@@ -171,11 +184,7 @@ public class ParallelProcessingJobConfig {
                 .<CsvEmployee, Employee>chunk(50, transactionManager)
                 .reader(csvItemReader(null))
                 .processor(employeeProcessor)
-                .writer(items -> {
-                    items.forEach(item -> 
-                        log.info("Writing employee: {}", item.getEmployeeCode())
-                    );
-                })
+                .writer(affinityRoutingEmployeeWriter())
                 .faultTolerant()
                 .skip(ValidationException.class)
                 .skipLimit(100)
@@ -185,6 +194,16 @@ public class ParallelProcessingJobConfig {
                 .build();
     }
     
+    /**
+     * マルチスレッドステップ用の従業員ライター
+     * 従業員コードのハッシュでレーンに振り分け、同じ従業員を複数スレッドが同時に書き込まないようにする
+     */
+    @Bean
+    public AffinityRoutingItemWriter<Employee> affinityRoutingEmployeeWriter() {
+        return new AffinityRoutingItemWriter<>(employeeMergeItemWriter, Employee::getEmployeeCode,
+                writerLanes, laneBatchSize, transactionManager);
+    }
+    
     @Bean
     @StepScope
     public FlatFileItemReader<CsvEmployee> csvItemReader(
@@ -193,9 +212,9 @@ public class ParallelProcessingJobConfig {
         return new FlatFileItemReaderBuilder<CsvEmployee>()
                 .name("csvItemReader")
                 .resource(new FileSystemResource(inputFile != null ? inputFile : "input/employees.csv"))
-                .delimited()
-                .names("employeeCode", "firstName", "lastName", "email", 
-                       "department", "position", "salary", "hireDate", "status")
+                .lineTokenizer(new CsvLineTokenizer("employeeCode", "firstName", "lastName", "email",
+                        "department", "position", "salary", "hireDate", "status"))
+                .recordSeparatorPolicy(new CsvRecordSeparatorPolicy())
                 .fieldSetMapper(new BeanWrapperFieldSetMapper<>() {{
                     setTargetType(CsvEmployee.class);
                 }})
@@ -0,0 +1,340 @@
+package com.example.batch.job;
+
+import com.example.batch.csv.CompressedBufferedReaderFactory;
+import com.example.batch.csv.CsvEmployeeFieldSetMapper;
+import com.example.batch.csv.CsvLineTokenizer;
+import com.example.batch.csv.CsvProductFieldSetMapper;
+import com.example.batch.csv.CsvRecordSeparatorPolicy;
+import com.example.batch.csv.CsvSalesFieldSetMapper;
+import com.example.batch.csv.FileRangeBufferedReaderFactory;
+import com.example.batch.csv.MappedCsvItemReader;
+import com.example.batch.csv.MappedCsvRecordMapper;
+import com.example.batch.csv.MappedCsvRecordMappers;
+import com.example.batch.csv.PositionalFieldSetMapper;
+import com.example.batch.csv.ReaderMode;
+import com.example.batch.dto.CsvEmployee;
+import com.example.batch.dto.CsvProduct;
+import com.example.batch.dto.CsvSales;
+import com.example.batch.entity.Employee;
+import com.example.batch.entity.Product;
+import com.example.batch.entity.Sales;
+import com.example.batch.partitioner.FileRangePartitioner;
+import com.example.batch.partitioner.MultiFilePartitioner;
+import com.example.batch.listener.SeenKeyRecordingListener;
+import com.example.batch.processor.EmployeeProcessor;
+import com.example.batch.support.InputFiles;
+import com.example.batch.writer.AffinityRoutingItemWriter;
+import com.example.batch.writer.WriterMode;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.Step;
+import org.springframework.batch.core.StepExecutionListener;
+import org.springframework.batch.core.configuration.annotation.StepScope;
+import org.springframework.batch.core.partition.PartitionHandler;
+import org.springframework.batch.core.partition.support.Partitioner;
+import org.springframework.batch.core.partition.support.TaskExecutorPartitionHandler;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.step.builder.StepBuilder;
+import org.springframework.batch.item.ItemProcessor;
+import org.springframework.batch.item.ItemStreamReader;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.batch.item.file.builder.FlatFileItemReaderBuilder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * CSV→DB（パーティション）ステップ設定クラス
+ * load.mode=partitionedの場合、または入力ファイルにディレクトリ・globパターンを指定した場合に使用するステップを定義する
+ *
+ * 単一ファイルはFileRangePartitionerでレコード境界に揃えたバイト範囲に分割し、
+ * 複数ファイルはMultiFilePartitionerで1ファイル1パーティション（閾値を超えるファイルはさらにバイト範囲に分割）とする。
+ * TaskExecutorPartitionHandlerでパーティションごとのワーカーステップを並列に実行するため、
+ * ファイルごとの読み込み・書き込み・スキップ件数は各ワーカーのStepExecutionに記録され、再起動時は未完了のパーティションだけが再実行される。
+ * ワーカーはチャンクモデルと同じプロセッサーと並列取り込み用のライターを使用する。
+ * 索引振り分けライターは並行するワーカーが同じ新規キーを重複して登録するため、ライター方式indexedはmergeに置き換える
+ * 従業員・商品のライターは全ワーカーで共有するAffinityRoutingItemWriterで包み、自然キーのハッシュで書き込みレーンに振り分ける。
+ * 複数ファイル・バイト範囲に同じキーが含まれても同時に書き込まれないため、ワーカー間で行ロードが競合しない
+ * （ライター方式appendは再実行で行が重複するため振り分けない。売上は在庫引当が商品行を更新し、取引IDでは競合を避けられないため対象外）
+ */
+@Slf4j
+@Configuration
+@RequiredArgsConstructor
+public class PartitionedCsvToDbStepConfig {
+
+    /** パーティションの入力ファイル（複数ファイル）、ソート済みファイル、入力ファイルの順に参照する */
+    private static final String FILE_PATH_EXPRESSION = "#{stepExecutionContext['filePath'] "
+            + "?: jobExecutionContext['sorted.file.path'] ?: jobParameters['input.file.path']}";
+
+    private final JobRepository jobRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    @Autowired
+    @Qualifier("partitionTaskExecutor")
+    private TaskExecutor partitionTaskExecutor;
+
+    @Value("${app.batch.chunk-size:100}")
+    private int chunkSize;
+
+    /** パーティション数（0の場合は利用可能なプロセッサー数、ジョブパラメータpartition.grid-sizeで上書き可能） */
+    @Value("${app.batch.partition.grid-size:0}")
+    private int gridSize;
+
+    /** 1パーティションの最小サイズ（バイト） */
+    @Value("${app.batch.partition.min-range-bytes:67108864}")
+    private long minRangeBytes;
+
+    /** 複数ファイル入力で、さらにバイト範囲に分割するファイルサイズの閾値（バイト） */
+    @Value("${app.batch.partition.split-threshold-bytes:268435456}")
+    private long splitThresholdBytes;
+
+    /** リーダー方式（ジョブパラメータreader.modeで上書き可能） */
+    @Value("${app.batch.reader.mode:flatfile}")
+    private String readerMode;
+
+    /** mappedリーダーでマップするウィンドウのサイズ（バイト） */
+    @Value("${app.batch.reader.window-size:268435456}")
+    private long readerWindowSize;
+
+    @Value("${app.batch.csv.encoding:UTF-8}")
+    private String encoding;
+
+    @Value("${app.batch.writer.mode:merge}")
+    private String writerMode;
+
+    /** 従業員・商品ワーカーの書き込みレーン数 */
+    @Value("${app.batch.writer.lanes:4}")
+    private int writerLanes;
+
+    @Value("${app.batch.writer.lane-batch-size:500}")
+    private int laneBatchSize;
+
+    /**
+     * 入力CSVのパーティショナー
+     * 入力がディレクトリ・globパターンの場合はファイル単位、単一ファイルの場合はバイト範囲で分割する
+     * ジョブパラメータpartition.grid-sizeが指定された場合はパーティション数を上書きする
+     */
+    @Bean
+    @StepScope
+    public Partitioner csvFilePartitioner(
+            @Value("#{jobExecutionContext['sorted.file.path'] ?: jobParameters['input.file.path']}") String filePath,
+            @Value("#{jobParameters['partition.grid-size']}") String gridSizeParameter) {
+        Partitioner partitioner;
+        if (InputFiles.isMultiFile(filePath)) {
+            List<Path> files = InputFiles.resolve(filePath);
+            if (files.isEmpty()) {
+                throw new IllegalArgumentException("No input files match: " + filePath);
+            }
+            log.info("Input files: {} ({} files)", filePath, files.size());
+            partitioner = new MultiFilePartitioner(files, 1, splitThresholdBytes, minRangeBytes);
+        } else {
+            partitioner = new FileRangePartitioner(Path.of(filePath), 1, minRangeBytes);
+        }
+        if (gridSizeParameter == null) {
+            return partitioner;
+        }
+        int overridden = Integer.parseInt(gridSizeParameter.trim());
+        Partitioner delegate = partitioner;
+        return requested -> delegate.partition(overridden);
+    }
+
+    /**
+     * 従業員CSV→DBステップ（パーティション、マスター）
+     */
+    @Bean
+    public Step employeePartitionedCsvToDbStep(Step employeeCsvRangeWorkerStep) {
+        return partitionedStep("employeePartitionedCsvToDbStep", "employeeCsvRangeWorkerStep",
+                employeeCsvRangeWorkerStep);
+    }
+
+    /**
+     * 従業員CSV→DBステップ（パーティション、ワーカー）
+     */
+    @Bean
+    public Step employeeCsvRangeWorkerStep(EmployeeProcessor employeeProcessor,
+                                           ItemWriter<Employee> parallelEmployeeWriter,
+                                           SeenKeyRecordingListener<CsvEmployee> employeeSeenKeyRecordingListener) {
+        return new StepBuilder("employeeCsvRangeWorkerStep", jobRepository)
+                .<CsvEmployee, Employee>chunk(chunkSize, transactionManager)
+                .reader(employeeCsvRangeReader(null, null, null, null))
+                .processor(employeeProcessor)
+                .writer(affinityRouted(parallelEmployeeWriter, Employee::getEmployeeCode))
+                .listener((StepExecutionListener) employeeSeenKeyRecordingListener)
+                .build();
+    }
+
+    /**
+     * 従業員CSVの範囲リーダー
+     */
+    @Bean
+    @StepScope
+    public ItemStreamReader<CsvEmployee> employeeCsvRangeReader(
+            @Value(FILE_PATH_EXPRESSION) String filePath,
+            @Value("#{jobParameters['reader.mode']}") String readerModeParameter,
+            @Value("#{stepExecutionContext['startOffset']}") Long startOffset,
+            @Value("#{stepExecutionContext['endOffset']}") Long endOffset) {
+        return rangeReader("employeeCsvRangeReader", filePath, readerModeParameter, startOffset, endOffset,
+                MappedCsvRecordMappers.employee(), new CsvEmployeeFieldSetMapper());
+    }
+
+    /**
+     * 商品CSV→DBステップ（パーティション、マスター）
+     */
+    @Bean
+    public Step productPartitionedCsvToDbStep(Step productCsvRangeWorkerStep) {
+        return partitionedStep("productPartitionedCsvToDbStep", "productCsvRangeWorkerStep",
+                productCsvRangeWorkerStep);
+    }
+
+    /**
+     * 商品CSV→DBステップ（パーティション、ワーカー）
+     */
+    @Bean
+    public Step productCsvRangeWorkerStep(ItemProcessor<CsvProduct, Product> productProcessor,
+                                          ItemWriter<Product> parallelProductWriter,
+                                          SeenKeyRecordingListener<CsvProduct> productSeenKeyRecordingListener) {
+        return new StepBuilder("productCsvRangeWorkerStep", jobRepository)
+                .<CsvProduct, Product>chunk(chunkSize, transactionManager)
+                .reader(productCsvRangeReader(null, null, null, null))
+                .processor(productProcessor)
+                .writer(affinityRouted(parallelProductWriter, Product::getProductCode))
+                .listener((StepExecutionListener) productSeenKeyRecordingListener)
+                .build();
+    }
+
+    /**
+     * 商品CSVの範囲リーダー
+     */
+    @Bean
+    @StepScope
+    public ItemStreamReader<CsvProduct> productCsvRangeReader(
+            @Value(FILE_PATH_EXPRESSION) String filePath,
+            @Value("#{jobParameters['reader.mode']}") String readerModeParameter,
+            @Value("#{stepExecutionContext['startOffset']}") Long startOffset,
+            @Value("#{stepExecutionContext['endOffset']}") Long endOffset) {
+        return rangeReader("productCsvRangeReader", filePath, readerModeParameter, startOffset, endOffset,
+                MappedCsvRecordMappers.product(), new CsvProductFieldSetMapper());
+    }
+
+    /**
+     * 売上CSV→DBステップ（パーティション、マスター）
+     */
+    @Bean
+    public Step salesPartitionedCsvToDbStep(Step salesCsvRangeWorkerStep) {
+        return partitionedStep("salesPartitionedCsvToDbStep", "salesCsvRangeWorkerStep",
+                salesCsvRangeWorkerStep);
+    }
+
+    /**
+     * 売上CSV→DBステップ（パーティション、ワーカー）
+     */
+    @Bean
+    public Step salesCsvRangeWorkerStep(ItemProcessor<CsvSales, Sales> salesProcessor,
+                                        ItemWriter<Sales> parallelSalesWriter) {
+        return new StepBuilder("salesCsvRangeWorkerStep", jobRepository)
+                .<CsvSales, Sales>chunk(chunkSize, transactionManager)
+                .reader(salesCsvRangeReader(null, null, null, null))
+                .processor(salesProcessor)
+                .writer(parallelSalesWriter)
+                .build();
+    }
+
+    /**
+     * 売上CSVの範囲リーダー
+     */
+    @Bean
+    @StepScope
+    public ItemStreamReader<CsvSales> salesCsvRangeReader(
+            @Value(FILE_PATH_EXPRESSION) String filePath,
+            @Value("#{jobParameters['reader.mode']}") String readerModeParameter,
+            @Value("#{stepExecutionContext['startOffset']}") Long startOffset,
+            @Value("#{stepExecutionContext['endOffset']}") Long endOffset) {
+        return rangeReader("salesCsvRangeReader", filePath, readerModeParameter, startOffset, endOffset,
+                MappedCsvRecordMappers.sales(), new CsvSalesFieldSetMapper());
+    }
+
+    /**
+     * マスターステップを組み立て
+     */
+    private Step partitionedStep(String name, String workerStepName, Step workerStep) {
+        return new StepBuilder(name, jobRepository)
+                .partitioner(workerStepName, csvFilePartitioner(null, null))
+                .partitionHandler(partitionHandler(workerStep))
+                .build();
+    }
+
+    private PartitionHandler partitionHandler(Step workerStep) {
+        TaskExecutorPartitionHandler handler = new TaskExecutorPartitionHandler();
+        handler.setTaskExecutor(partitionTaskExecutor);
+        handler.setStep(workerStep);
+        handler.setGridSize(gridSize > 0 ? gridSize : Runtime.getRuntime().availableProcessors());
+        return handler;
+    }
+
+    /**
+     * ワーカーのライターを自然キーのハッシュで振り分けるライターで包む
+     * ワーカーステップは全パーティションで共有されるため、レーンも全パーティションで共有される
+     */
+    private <T> ItemWriter<T> affinityRouted(ItemWriter<T> writer, Function<T, String> keyExtractor) {
+        if (WriterMode.of(writerMode) == WriterMode.APPEND) {
+            return writer;
+        }
+        return new AffinityRoutingItemWriter<>(writer, keyExtractor, writerLanes, laneBatchSize, transactionManager);
+    }
+
+    /**
+     * 範囲リーダーを作成
+     * パーティションのstartOffset〜endOffsetの範囲だけを読み込む（範囲にヘッダー行は含まれない）
+     * reader.mode=mappedの場合はメモリマップCSVリーダーを使用する
+     * 範囲のないパーティション（複数ファイル入力の圧縮ファイル）はファイル全体をヘッダー行をスキップして読み込む
+     */
+    private <T> ItemStreamReader<T> rangeReader(String name, String filePath, String readerModeParameter,
+                                                Long startOffset, Long endOffset,
+                                                MappedCsvRecordMapper<T> recordMapper,
+                                                PositionalFieldSetMapper<T> fieldSetMapper) {
+        if (startOffset == null) {
+            return new FlatFileItemReaderBuilder<T>()
+                    .name(name)
+                    .resource(new FileSystemResource(filePath))
+                    .bufferedReaderFactory(new CompressedBufferedReaderFactory())
+                    .lineTokenizer(new CsvLineTokenizer(fieldSetMapper.getColumnNames()))
+                    .recordSeparatorPolicy(new CsvRecordSeparatorPolicy())
+                    .fieldSetMapper(fieldSetMapper)
+                    .linesToSkip(1)
+                    .build();
+        }
+
+        String mode = readerModeParameter != null ? readerModeParameter : readerMode;
+        if (ReaderMode.of(mode) == ReaderMode.MAPPED) {
+            MappedCsvItemReader<T> reader = new MappedCsvItemReader<>();
+            reader.setName(name);
+            reader.setResource(new FileSystemResource(filePath));
+            reader.setRecordMapper(recordMapper);
+            reader.setCharset(Charset.forName(encoding));
+            reader.setExpectedFieldCount(MappedCsvRecordMappers.FIELD_COUNT);
+            reader.setWindowSize(readerWindowSize);
+            reader.setRange(startOffset, endOffset);
+            return reader;
+        }
+
+        return new FlatFileItemReaderBuilder<T>()
+                .name(name)
+                .resource(new FileSystemResource(filePath))
+                .encoding(encoding)
+                .bufferedReaderFactory(new FileRangeBufferedReaderFactory(startOffset, endOffset))
+                .lineTokenizer(new CsvLineTokenizer(fieldSetMapper.getColumnNames()))
+                .recordSeparatorPolicy(new CsvRecordSeparatorPolicy())
+                .fieldSetMapper(fieldSetMapper)
+                .build();
+    }
+}
@@ -1,5 +1,7 @@
 package com.example.batch.job;
 
+import com.example.batch.csv.CsvLineTokenizer;
+import com.example.batch.csv.OffsetRestartableItemReader;
 import com.example.batch.dto.CsvEmployee;
 import com.example.batch.entity.Employee;
 import com.example.batch.listener.SkipListener;
@@ -18,13 +20,13 @@ import org.springframework.batch.core.repository.JobRepository;
 import org.springframework.batch.core.step.builder.StepBuilder;
 import org.springframework.batch.item.ItemProcessor;
 import org.springframework.batch.item.ItemReader;
+import org.springframework.batch.item.ItemStreamReader;
 import org.springframework.batch.item.ItemWriter;
 import org.springframework.batch.item.database.BeanPropertyItemSqlParameterSourceProvider;
 import org.springframework.batch.item.database.JdbcBatchItemWriter;
 import org.springframework.batch.item.database.builder.JdbcBatchItemWriterBuilder;
-import org.springframework.batch.item.file.FlatFileItemReader;
-import org.springframework.batch.item.file.builder.FlatFileItemReaderBuilder;
 import org.springframework.batch.item.file.mapping.BeanWrapperFieldSetMapper;
+import org.springframework.batch.item.file.mapping.DefaultLineMapper;
 import org.springframework.batch.item.support.CompositeItemProcessor;
 import org.springframework.batch.item.validator.ValidationException;
 import org.springframework.batch.item.validator.ValidatingItemProcessor;
@@ -102,24 +104,31 @@ public class RestartableJobConfig {
                 .build();
     }
     
+    /**
+     * 再起動可能なCSVリーダー
+     * コミット済みのバイト位置を保存し、再起動時は読み込み済みの行を読み直さずにその位置から再開する
+     */
     @Bean
     @StepScope
-    public FlatFileItemReader<CsvEmployee> restartableItemReader(
+    public ItemStreamReader<CsvEmployee> restartableItemReader(
             @Value("#{jobParameters['inputFile']}") String inputFile) {
         
-        return new FlatFileItemReaderBuilder<CsvEmployee>()
-                .name("restartableItemReader")
-                .resource(new FileSystemResource(inputFile != null ? inputFile : "input/employees.csv"))
-                // 再起動時にスキップする行数を保存
-                .saveState(true)
-                .linesToSkip(1)
-                .delimited()
-                .names("employeeCode", "firstName", "lastName", "email", 
-                       "department", "position", "salary", "hireDate", "status")
-                .fieldSetMapper(new BeanWrapperFieldSetMapper<>() {{
-                    setTargetType(CsvEmployee.class);
-                }})
-                .build();
+        CsvLineTokenizer tokenizer = new CsvLineTokenizer("employeeCode", "firstName", "lastName", "email",
+                "department", "position", "salary", "hireDate", "status");
+        BeanWrapperFieldSetMapper<CsvEmployee> fieldSetMapper = new BeanWrapperFieldSetMapper<>();
+        fieldSetMapper.setTargetType(CsvEmployee.class);
+        DefaultLineMapper<CsvEmployee> lineMapper = new DefaultLineMapper<>();
+        lineMapper.setLineTokenizer(tokenizer);
+        lineMapper.setFieldSetMapper(fieldSetMapper);
+        
+        OffsetRestartableItemReader<CsvEmployee> reader = new OffsetRestartableItemReader<>();
+        reader.setName("restartableItemReader");
+        reader.setResource(new FileSystemResource(inputFile != null ? inputFile : "input/employees.csv"));
+        // 再起動時に再開するバイト位置を保存
+        reader.setSaveState(true);
+        reader.setLinesToSkip(1);
+        reader.setLineMapper(lineMapper);
+        return reader;
     }
     
     @Bean
@@ -0,0 +1,137 @@
+package com.example.batch.job;
+
+import com.example.batch.dto.CsvEmployee;
+import com.example.batch.dto.CsvProduct;
+import com.example.batch.listener.SeenKeyRecordingListener;
+import com.example.batch.support.ImportTable;
+import com.example.batch.sync.SnapshotSyncOperations;
+import com.example.batch.sync.SyncAction;
+import com.example.batch.sync.SyncMode;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.JobParameters;
+import org.springframework.batch.core.Step;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.step.builder.StepBuilder;
+import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/**
+ * スナップショット同期ステップ設定クラス
+ * sync.mode=snapshotの場合に、取り込みステップで記録した既読キーとの反結合で
+ * ファイルにない行を1回のUPDATE/DELETEで無効化・削除する
+ * 取り込みでスキップ・除外された行がある場合は、ファイルにある行を無効化・削除しないよう反映を行わない
+ * （sync.allow-rejected=trueを指定した場合は反映する）
+ */
+@Slf4j
+@Configuration
+@RequiredArgsConstructor
+public class SnapshotSyncStepConfig {
+    
+    private final JobRepository jobRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final SnapshotSyncOperations snapshotSyncOperations;
+    
+    /** 同期方式（ジョブパラメータsync.modeで上書き可能） */
+    @Value("${app.batch.sync.mode:none}")
+    private String syncMode;
+    
+    /** ファイルにない行に対する処理（ジョブパラメータsync.actionで上書き可能） */
+    @Value("${app.batch.sync.action:deactivate}")
+    private String syncAction;
+    
+    /** スキップ・除外された行があっても反映するか（ジョブパラメータsync.allow-rejectedで上書き可能） */
+    @Value("${app.batch.sync.allow-rejected:false}")
+    private boolean allowRejected;
+    
+    /**
+     * 従業員の既読キー記録リスナー（従業員CSVを読み込む取り込みステップに登録する）
+     */
+    @Bean
+    public SeenKeyRecordingListener<CsvEmployee> employeeSeenKeyRecordingListener() {
+        return new SeenKeyRecordingListener<>(ImportTable.EMPLOYEE, CsvEmployee::getEmployeeCode,
+                snapshotSyncOperations, syncMode);
+    }
+    
+    /**
+     * 商品の既読キー記録リスナー（商品CSVを読み込む取り込みステップに登録する）
+     */
+    @Bean
+    public SeenKeyRecordingListener<CsvProduct> productSeenKeyRecordingListener() {
+        return new SeenKeyRecordingListener<>(ImportTable.PRODUCT, CsvProduct::getProductCode,
+                snapshotSyncOperations, syncMode);
+    }
+    
+    /**
+     * 従業員スナップショット同期ステップ
+     */
+    @Bean
+    public Step employeeSnapshotSyncStep() {
+        return snapshotSyncStep("employeeSnapshotSyncStep", ImportTable.EMPLOYEE);
+    }
+    
+    /**
+     * 商品スナップショット同期ステップ
+     */
+    @Bean
+    public Step productSnapshotSyncStep() {
+        return snapshotSyncStep("productSnapshotSyncStep", ImportTable.PRODUCT);
+    }
+    
+    /**
+     * スナップショット同期ステップを組み立て
+     * 反映と既読キーの削除は同一トランザクションで行うため、失敗時は再実行で同じ結果になる
+     */
+    private Step snapshotSyncStep(String name, ImportTable table) {
+        return new StepBuilder(name, jobRepository)
+                .tasklet((contribution, chunkContext) -> {
+                    StepExecution stepExecution = chunkContext.getStepContext().getStepExecution();
+                    JobParameters jobParameters = stepExecution.getJobParameters();
+                    if (SyncMode.of(jobParameters.getString("sync.mode", syncMode)) != SyncMode.SNAPSHOT) {
+                        return RepeatStatus.FINISHED;
+                    }
+                    
+                    long jobInstanceId = stepExecution.getJobExecution().getJobInstance().getInstanceId();
+                    SyncAction action = SyncAction.of(jobParameters.getString("sync.action", syncAction));
+                    
+                    // 読み込みスキップした行はキーを記録できないため、スキップ・除外があれば既定では反映しない
+                    long rejected = rejectedCount(stepExecution);
+                    boolean rejectedAllowed = Boolean.parseBoolean(
+                            jobParameters.getString("sync.allow-rejected", Boolean.toString(allowRejected)));
+                    
+                    // 空ファイルで全件が無効化・削除されないよう、既読キーがない場合は反映しない
+                    if (snapshotSyncOperations.countKeys(table, jobInstanceId) == 0) {
+                        log.warn("No keys were recorded for {}, skipping snapshot sync", table.getTableName());
+                    } else if (rejected > 0 && !rejectedAllowed) {
+                        log.warn("{} rows were skipped or filtered while loading {}, skipping snapshot sync"
+                                + " (set sync.allow-rejected=true to sync anyway)", rejected, table.getTableName());
+                    } else {
+                        int affected = snapshotSyncOperations.applyMissing(table, jobInstanceId, action);
+                        contribution.incrementWriteCount(affected);
+                    }
+                    snapshotSyncOperations.clear(table, jobInstanceId);
+                    return RepeatStatus.FINISHED;
+                }, transactionManager)
+                .build();
+    }
+    
+    /**
+     * 同じジョブ実行の他のステップでスキップ・除外された件数を取得
+     * 
+     * @param stepExecution 同期ステップの実行情報
+     * @return スキップ件数と除外件数の合計
+     */
+    static long rejectedCount(StepExecution stepExecution) {
+        long rejected = 0;
+        for (StepExecution other : stepExecution.getJobExecution().getStepExecutions()) {
+            if (other != stepExecution) {
+                rejected += other.getSkipCount() + other.getFilterCount();
+            }
+        }
+        return rejected;
+    }
+}
@@ -0,0 +1,223 @@
+package com.example.batch.job;
+
+import com.example.batch.dto.CsvEmployee;
+import com.example.batch.dto.CsvProduct;
+import com.example.batch.dto.CsvSales;
+import com.example.batch.entity.Employee;
+import com.example.batch.entity.Product;
+import com.example.batch.entity.Sales;
+import com.example.batch.listener.SeenKeyRecordingListener;
+import com.example.batch.processor.EmployeeProcessor;
+import com.example.batch.staging.StagingTableOperations;
+import com.example.batch.support.ImportTable;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.Step;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.StepExecutionListener;
+import org.springframework.batch.core.configuration.annotation.StepScope;
+import org.springframework.batch.core.job.builder.FlowBuilder;
+import org.springframework.batch.core.job.flow.Flow;
+import org.springframework.batch.core.job.flow.support.SimpleFlow;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.step.builder.StepBuilder;
+import org.springframework.batch.item.ItemProcessor;
+import org.springframework.batch.item.ItemStreamReader;
+import org.springframework.batch.item.database.JdbcBatchItemWriter;
+import org.springframework.batch.item.database.builder.JdbcBatchItemWriterBuilder;
+import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+
+/**
+ * ステージングロードフロー設定クラス
+ * load.mode=stagingの場合に、インデックス・制約のないステージングテーブルへチャンク単位で投入し、
+ * 1回の集合MERGEで対象テーブルへ反映する
+ * 
+ * フロー: 準備（ステージング行の削除）→ 投入 → 二次インデックス削除（任意）→ MERGE・後片付け → 二次インデックス再作成
+ */
+@Slf4j
+@Configuration
+@RequiredArgsConstructor
+public class StagingLoadFlowConfig {
+    
+    private final JobRepository jobRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final DataSource dataSource;
+    private final StagingTableOperations stagingTableOperations;
+    private final EmployeeProcessor employeeProcessor;
+    
+    @Value("${app.batch.chunk-size:100}")
+    private int chunkSize;
+    
+    /** 大量ロード時に二次インデックスを削除・再作成するか（ジョブパラメータload.rebuild-indexesで上書き可能） */
+    @Value("${app.batch.load.rebuild-indexes:false}")
+    private boolean rebuildIndexes;
+    
+    /** 内容ハッシュが一致する未変更行をMERGEから除外するか */
+    @Value("${app.batch.writer.skip-unchanged:false}")
+    private boolean skipUnchanged;
+    
+    /**
+     * 従業員ステージングロードフロー
+     */
+    @Bean
+    public Flow employeeStagingLoadFlow(ItemStreamReader<CsvEmployee> employeeCsvReader,
+                                        SeenKeyRecordingListener<CsvEmployee> employeeSeenKeyRecordingListener) {
+        Step loadStep = new StepBuilder("employeeStageLoadStep", jobRepository)
+                .<CsvEmployee, Employee>chunk(chunkSize, transactionManager)
+                .reader(employeeCsvReader)
+                .processor(employeeProcessor)
+                .writer(employeeStageWriter(null))
+                .listener((StepExecutionListener) employeeSeenKeyRecordingListener)
+                .build();
+        return stagingLoadFlow("employee", ImportTable.EMPLOYEE, loadStep);
+    }
+    
+    /**
+     * 従業員ステージングライター
+     */
+    @Bean
+    @StepScope
+    public JdbcBatchItemWriter<Employee> employeeStageWriter(
+            @Value("#{stepExecution.jobExecution.jobInstance.instanceId}") Long jobInstanceId) {
+        return stageWriter(ImportTable.EMPLOYEE, jobInstanceId);
+    }
+    
+    /**
+     * 商品ステージングロードフロー
+     */
+    @Bean
+    public Flow productStagingLoadFlow(ItemStreamReader<CsvProduct> productCsvReader,
+                                       ItemProcessor<CsvProduct, Product> productProcessor,
+                                       SeenKeyRecordingListener<CsvProduct> productSeenKeyRecordingListener) {
+        Step loadStep = new StepBuilder("productStageLoadStep", jobRepository)
+                .<CsvProduct, Product>chunk(chunkSize, transactionManager)
+                .reader(productCsvReader)
+                .processor(productProcessor)
+                .writer(productStageWriter(null))
+                .listener((StepExecutionListener) productSeenKeyRecordingListener)
+                .build();
+        return stagingLoadFlow("product", ImportTable.PRODUCT, loadStep);
+    }
+    
+    /**
+     * 商品ステージングライター
+     */
+    @Bean
+    @StepScope
+    public JdbcBatchItemWriter<Product> productStageWriter(
+            @Value("#{stepExecution.jobExecution.jobInstance.instanceId}") Long jobInstanceId) {
+        return stageWriter(ImportTable.PRODUCT, jobInstanceId);
+    }
+    
+    /**
+     * 売上ステージングロードフロー
+     */
+    @Bean
+    public Flow salesStagingLoadFlow(ItemStreamReader<CsvSales> salesCsvReader,
+                                     ItemProcessor<CsvSales, Sales> salesProcessor) {
+        Step loadStep = new StepBuilder("salesStageLoadStep", jobRepository)
+                .<CsvSales, Sales>chunk(chunkSize, transactionManager)
+                .reader(salesCsvReader)
+                .processor(salesProcessor)
+                .writer(salesStageWriter(null))
+                .build();
+        return stagingLoadFlow("sales", ImportTable.SALES, loadStep);
+    }
+    
+    /**
+     * 売上ステージングライター
+     */
+    @Bean
+    @StepScope
+    public JdbcBatchItemWriter<Sales> salesStageWriter(
+            @Value("#{stepExecution.jobExecution.jobInstance.instanceId}") Long jobInstanceId) {
+        return stageWriter(ImportTable.SALES, jobInstanceId);
+    }
+    
+    /**
+     * ステージングロードフローを組み立て
+     * 完了済みステップは再実行時にスキップされるため、準備ステップは初回のみ実行され、
+     * 投入ステップはコミット済みの位置から再開する。MERGEと後片付けは同一トランザクションで行う
+     */
+    private Flow stagingLoadFlow(String prefix, ImportTable table, Step loadStep) {
+        Step prepareStep = new StepBuilder(prefix + "StagePrepareStep", jobRepository)
+                .tasklet((contribution, chunkContext) -> {
+                    // 同一ジョブインスタンスの投入途中の行が残っていれば削除
+                    stagingTableOperations.clear(table, jobInstanceId(chunkContext));
+                    return RepeatStatus.FINISHED;
+                }, transactionManager)
+                .build();
+        
+        Step dropIndexStep = new StepBuilder(prefix + "StageDropIndexStep", jobRepository)
+                .tasklet((contribution, chunkContext) -> {
+                    if (isRebuildIndexes(chunkContext)) {
+                        stagingTableOperations.dropSecondaryIndexes(table);
+                    }
+                    return RepeatStatus.FINISHED;
+                }, transactionManager)
+                .build();
+        
+        Step mergeStep = new StepBuilder(prefix + "StageMergeStep", jobRepository)
+                .tasklet((contribution, chunkContext) -> {
+                    long jobInstanceId = jobInstanceId(chunkContext);
+                    int merged = stagingTableOperations.mergeFromStage(table, jobInstanceId, skipUnchanged);
+                    contribution.incrementWriteCount(merged);
+                    stagingTableOperations.clear(table, jobInstanceId);
+                    return RepeatStatus.FINISHED;
+                }, transactionManager)
+                .listener(new StepExecutionListener() {
+                    @Override
+                    public ExitStatus afterStep(StepExecution stepExecution) {
+                        // MERGE失敗時もインデックスが欠けたままにならないよう再作成しておく
+                        if (stepExecution.getStatus() == BatchStatus.FAILED) {
+                            stagingTableOperations.rebuildSecondaryIndexes(table);
+                        }
+                        return null;
+                    }
+                })
+                .build();
+        
+        Step rebuildIndexStep = new StepBuilder(prefix + "StageRebuildIndexStep", jobRepository)
+                .tasklet((contribution, chunkContext) -> {
+                    // 既に存在するインデックスは作成されないため、削除していない場合も実行してよい
+                    stagingTableOperations.rebuildSecondaryIndexes(table);
+                    return RepeatStatus.FINISHED;
+                }, transactionManager)
+                .build();
+        
+        return new FlowBuilder<SimpleFlow>(prefix + "StagingLoadFlow")
+                .start(prepareStep)
+                .next(loadStep)
+                .next(dropIndexStep)
+                .next(mergeStep)
+                .next(rebuildIndexStep)
+                .build();
+    }
+    
+    private <T> JdbcBatchItemWriter<T> stageWriter(ImportTable table, Long jobInstanceId) {
+        return new JdbcBatchItemWriterBuilder<T>()
+                .dataSource(dataSource)
+                .sql(stagingTableOperations.insertSql(table, jobInstanceId))
+                .beanMapped()
+                .build();
+    }
+    
+    private static long jobInstanceId(ChunkContext chunkContext) {
+        return chunkContext.getStepContext().getStepExecution()
+                .getJobExecution().getJobInstance().getInstanceId();
+    }
+    
+    private boolean isRebuildIndexes(ChunkContext chunkContext) {
+        Object value = chunkContext.getStepContext().getJobParameters().get("load.rebuild-indexes");
+        return value != null ? Boolean.parseBoolean(value.toString()) : rebuildIndexes;
+    }
+}
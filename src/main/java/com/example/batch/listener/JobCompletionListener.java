@@ -1,10 +1,16 @@
 package com.example.batch.listener;
 
+import com.example.batch.tasklet.CsvSortTasklet;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.BatchStatus;
 import org.springframework.batch.core.JobExecution;
 import org.springframework.batch.core.JobExecutionListener;
 import org.springframework.stereotype.Component;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
 /**
  * ジョブ完了リスナー
  * ジョブの開始と終了時にログを出力
@@ -46,6 +52,23 @@ public class JobCompletionListener implements JobExecutionListener {
                 log.error("Error: ", throwable));
         }
         
+        deleteSortedFile(jobExecution);
+        
         log.info("====================================");
     }
+    
+    /**
+     * CSVソートステップが作成したソート済みファイルを削除する（正常終了時のみ、失敗時は再実行で再利用する）
+     */
+    private void deleteSortedFile(JobExecution jobExecution) {
+        String sortedFilePath = jobExecution.getExecutionContext().getString(CsvSortTasklet.SORTED_FILE_PATH_KEY, null);
+        if (sortedFilePath == null || jobExecution.getStatus() != BatchStatus.COMPLETED) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(Path.of(sortedFilePath));
+        } catch (IOException e) {
+            log.warn("Failed to delete sorted file: {}", sortedFilePath, e);
+        }
+    }
 }
\ No newline at end of file
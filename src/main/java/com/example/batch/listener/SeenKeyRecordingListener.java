@@ -0,0 +1,113 @@
+package com.example.batch.listener;
+
+import com.example.batch.support.ImportTable;
+import com.example.batch.sync.SnapshotSyncOperations;
+import com.example.batch.sync.SyncMode;
+import org.springframework.batch.core.ItemReadListener;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.StepExecutionListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * 既読キー記録リスナー
+ * ジョブパラメータsync.mode=snapshotの場合に、読み込んだ行の自然キーを既読キーテーブルへ記録する
+ * 書き込み時ではなく読み込み時に記録するため、プロセッサーで除外された行や未変更で書き込みを省略した行も既読として扱う
+ * キーはチャンクのトランザクションのコミット直前にまとめて記録し、ロールバックしたチャンクのキーは破棄する
+ * （フォールトトレラントでないステップでは、ロールバックしたチャンクは再起動時に読み直される）
+ */
+public class SeenKeyRecordingListener<T> implements ItemReadListener<T>, StepExecutionListener {
+    
+    private final ImportTable table;
+    private final Function<T, String> keyExtractor;
+    private final SnapshotSyncOperations snapshotSyncOperations;
+    private final String defaultSyncMode;
+    
+    private volatile boolean recording;
+    private volatile long jobInstanceId;
+    
+    /**
+     * コンストラクタ
+     * 
+     * @param table 取り込み対象テーブル
+     * @param keyExtractor 読み込んだ行から自然キーを取得する関数
+     * @param snapshotSyncOperations スナップショット同期操作
+     * @param defaultSyncMode ジョブパラメータ未指定時の同期方式
+     */
+    public SeenKeyRecordingListener(ImportTable table,
+                                    Function<T, String> keyExtractor,
+                                    SnapshotSyncOperations snapshotSyncOperations,
+                                    String defaultSyncMode) {
+        this.table = table;
+        this.keyExtractor = keyExtractor;
+        this.snapshotSyncOperations = snapshotSyncOperations;
+        this.defaultSyncMode = defaultSyncMode;
+    }
+    
+    @Override
+    public void beforeStep(StepExecution stepExecution) {
+        String syncMode = stepExecution.getJobParameters().getString("sync.mode", defaultSyncMode);
+        this.recording = SyncMode.of(syncMode) == SyncMode.SNAPSHOT;
+        this.jobInstanceId = stepExecution.getJobExecution().getJobInstance().getInstanceId();
+    }
+    
+    /**
+     * 読み込んだ行の自然キーをトランザクションの記録待ちキーに追加
+     * 
+     * @param item 読み込んだ行
+     */
+    @Override
+    public void afterRead(T item) {
+        if (!recording) {
+            return;
+        }
+        String key = keyExtractor.apply(item);
+        if (key == null || key.isBlank()) {
+            return;
+        }
+        List<String> pending = pendingKeys();
+        if (pending == null) {
+            snapshotSyncOperations.recordKeys(table, jobInstanceId, List.of(key));
+            return;
+        }
+        pending.add(key);
+    }
+    
+    /**
+     * 現在のトランザクションの記録待ちキーを取得
+     * 初回はトランザクションに登録し、コミット直前に既読キーテーブルへ記録する
+     * 
+     * @return 記録待ちキー（トランザクション同期が無効な場合はnull）
+     */
+    @SuppressWarnings("unchecked")
+    private List<String> pendingKeys() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return null;
+        }
+        List<String> pending = (List<String>) TransactionSynchronizationManager.getResource(this);
+        if (pending != null) {
+            return pending;
+        }
+        List<String> created = new ArrayList<>();
+        long instanceId = jobInstanceId;
+        TransactionSynchronizationManager.bindResource(this, created);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                if (!created.isEmpty()) {
+                    snapshotSyncOperations.recordKeys(table, instanceId, created);
+                }
+            }
+            
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(SeenKeyRecordingListener.this);
+            }
+        });
+        return created;
+    }
+}
@@ -28,6 +28,15 @@ public interface EmployeeMapper {
      */
     List<Employee> selectWithPaging(@Param("offset") int offset, @Param("limit") int limit);
     
+    /**
+     * キーセットページング用の従業員取得
+     * 
+     * @param lastId 前ページの最後のID（先頭ページはnull）
+     * @param pageSize 取得件数
+     * @return 従業員リスト（ID順）
+     */
+    List<Employee> selectAfterId(@Param("lastId") Long lastId, @Param("pageSize") int pageSize);
+    
     /**
      * 従業員コードで検索
      * 
@@ -36,6 +45,56 @@ public interface EmployeeMapper {
      */
     Employee selectByEmployeeCode(@Param("employeeCode") String employeeCode);
     
+    /**
+     * 従業員コードリストで一括検索
+     * 
+     * @param employeeCodes 従業員コードリスト
+     * @return 従業員リスト
+     */
+    List<Employee> selectByEmployeeCodes(@Param("employeeCodes") List<String> employeeCodes);
+    
+    /**
+     * 従業員をチャンク単位で一括登録・更新（MERGE）
+     * 
+     * @param employeeList 従業員エンティティリスト
+     * @return 登録・更新件数
+     */
+    int mergeBatch(@Param("list") List<Employee> employeeList);
+    
+    /**
+     * 従業員を1件登録・更新（MERGE）
+     * BATCH実行モードでJDBCバッチにまとめて送信するために使用
+     * 
+     * @param employee 従業員エンティティ
+     * @return 登録・更新件数
+     */
+    int merge(Employee employee);
+    
+    /**
+     * CSVファイルのデータ行数を取得（H2 CSVREAD）
+     * 
+     * @param filePath CSVファイルパス（SQLの文字列リテラルに埋め込むため、単一引用符はエスケープ済みであること）
+     * @return データ行数
+     */
+    long countCsvRows(@Param("filePath") String filePath);
+    
+    /**
+     * CSVファイルの不正行数を取得（H2 CSVREAD）
+     * キーがあり、型変換・桁数・必須列の検査に失敗する行を数える
+     * 
+     * @param filePath CSVファイルパス（単一引用符はエスケープ済みであること）
+     * @return 不正行数
+     */
+    long countRejectedCsvRows(@Param("filePath") String filePath);
+    
+    /**
+     * CSVファイルから従業員を一括登録・更新（H2 CSVREAD＋MERGE）
+     * 
+     * @param filePath CSVファイルパス（単一引用符はエスケープ済みであること）
+     * @return 登録・更新件数
+     */
+    int bulkMergeFromCsv(@Param("filePath") String filePath);
+    
     /**
      * 従業員を登録
      * 
@@ -44,6 +103,14 @@ public interface EmployeeMapper {
      */
     int insert(Employee employee);
     
+    /**
+     * 従業員を複数行INSERT文で一括登録（採番IDは設定しない）
+     * 
+     * @param employeeList 従業員エンティティリスト
+     * @return 登録件数
+     */
+    int insertBatch(@Param("list") List<Employee> employeeList);
+    
     /**
      * 従業員を更新
      * 
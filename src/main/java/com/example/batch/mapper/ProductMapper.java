@@ -28,6 +28,15 @@ public interface ProductMapper {
      */
     List<Product> selectWithPaging(@Param("offset") int offset, @Param("limit") int limit);
     
+    /**
+     * キーセットページング用の商品取得
+     * 
+     * @param lastId 前ページの最後のID（先頭ページはnull）
+     * @param pageSize 取得件数
+     * @return 商品リスト（ID順）
+     */
+    List<Product> selectAfterId(@Param("lastId") Long lastId, @Param("pageSize") int pageSize);
+    
     /**
      * 商品コードで検索
      * 
@@ -36,6 +45,56 @@ public interface ProductMapper {
      */
     Product selectByProductCode(@Param("productCode") String productCode);
     
+    /**
+     * 商品コードリストで一括検索
+     * 
+     * @param productCodes 商品コードリスト
+     * @return 商品リスト
+     */
+    List<Product> selectByProductCodes(@Param("productCodes") List<String> productCodes);
+    
+    /**
+     * 商品をチャンク単位で一括登録・更新（MERGE）
+     * 
+     * @param productList 商品エンティティリスト
+     * @return 登録・更新件数
+     */
+    int mergeBatch(@Param("list") List<Product> productList);
+    
+    /**
+     * 商品を1件登録・更新（MERGE）
+     * BATCH実行モードでJDBCバッチにまとめて送信するために使用
+     * 
+     * @param product 商品エンティティ
+     * @return 登録・更新件数
+     */
+    int merge(Product product);
+    
+    /**
+     * CSVファイルのデータ行数を取得（H2 CSVREAD）
+     * 
+     * @param filePath CSVファイルパス（SQLの文字列リテラルに埋め込むため、単一引用符はエスケープ済みであること）
+     * @return データ行数
+     */
+    long countCsvRows(@Param("filePath") String filePath);
+    
+    /**
+     * CSVファイルの不正行数を取得（H2 CSVREAD）
+     * キーがあり、型変換・桁数・必須列の検査に失敗する行を数える
+     * 
+     * @param filePath CSVファイルパス（単一引用符はエスケープ済みであること）
+     * @return 不正行数
+     */
+    long countRejectedCsvRows(@Param("filePath") String filePath);
+    
+    /**
+     * CSVファイルから商品を一括登録・更新（H2 CSVREAD＋MERGE）
+     * 
+     * @param filePath CSVファイルパス（単一引用符はエスケープ済みであること）
+     * @return 登録・更新件数
+     */
+    int bulkMergeFromCsv(@Param("filePath") String filePath);
+    
     /**
      * カテゴリで検索
      * 
@@ -52,6 +111,14 @@ public interface ProductMapper {
      */
     int insert(Product product);
     
+    /**
+     * 商品を複数行INSERT文で一括登録（採番IDは設定しない）
+     * 
+     * @param productList 商品エンティティリスト
+     * @return 登録件数
+     */
+    int insertBatch(@Param("list") List<Product> productList);
+    
     /**
      * 商品を更新
      * 
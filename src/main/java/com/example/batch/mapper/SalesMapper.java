@@ -29,6 +29,15 @@ public interface SalesMapper {
      */
     List<Sales> selectWithPaging(@Param("offset") int offset, @Param("limit") int limit);
     
+    /**
+     * キーセットページング用の売上取得
+     * 
+     * @param lastId 前ページの最後のID（先頭ページはnull）
+     * @param pageSize 取得件数
+     * @return 売上リスト（ID順）
+     */
+    List<Sales> selectAfterId(@Param("lastId") Long lastId, @Param("pageSize") int pageSize);
+    
     /**
      * 取引IDで検索
      * 
@@ -37,6 +46,56 @@ public interface SalesMapper {
      */
     Sales selectByTransactionId(@Param("transactionId") String transactionId);
     
+    /**
+     * 取引IDリストで一括検索
+     * 
+     * @param transactionIds 取引IDリスト
+     * @return 売上リスト
+     */
+    List<Sales> selectByTransactionIds(@Param("transactionIds") List<String> transactionIds);
+    
+    /**
+     * 売上をチャンク単位で一括登録・更新（MERGE）
+     * 
+     * @param salesList 売上エンティティリスト
+     * @return 登録・更新件数
+     */
+    int mergeBatch(@Param("list") List<Sales> salesList);
+    
+    /**
+     * 売上を1件登録・更新（MERGE）
+     * BATCH実行モードでJDBCバッチにまとめて送信するために使用
+     * 
+     * @param sales 売上エンティティ
+     * @return 登録・更新件数
+     */
+    int merge(Sales sales);
+    
+    /**
+     * CSVファイルのデータ行数を取得（H2 CSVREAD）
+     * 
+     * @param filePath CSVファイルパス（SQLの文字列リテラルに埋め込むため、単一引用符はエスケープ済みであること）
+     * @return データ行数
+     */
+    long countCsvRows(@Param("filePath") String filePath);
+    
+    /**
+     * CSVファイルの不正行数を取得（H2 CSVREAD）
+     * キーがあり、型変換・桁数・必須列の検査に失敗する行を数える
+     * 
+     * @param filePath CSVファイルパス（単一引用符はエスケープ済みであること）
+     * @return 不正行数
+     */
+    long countRejectedCsvRows(@Param("filePath") String filePath);
+    
+    /**
+     * CSVファイルから売上を一括登録・更新（H2 CSVREAD＋MERGE）
+     * 
+     * @param filePath CSVファイルパス（単一引用符はエスケープ済みであること）
+     * @return 登録・更新件数
+     */
+    int bulkMergeFromCsv(@Param("filePath") String filePath);
+    
     /**
      * 期間で検索
      * 
@@ -55,6 +114,14 @@ public interface SalesMapper {
      */
     int insert(Sales sales);
     
+    /**
+     * 売上を複数行INSERT文で一括登録（採番IDは設定しない）
+     * 
+     * @param salesList 売上エンティティリスト
+     * @return 登録件数
+     */
+    int insertBatch(@Param("list") List<Sales> salesList);
+    
     /**
      * 売上を更新
      * 
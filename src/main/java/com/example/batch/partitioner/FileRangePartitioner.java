@@ -0,0 +1,138 @@
+package com.example.batch.partitioner;
+
+import com.example.batch.csv.CompressedInputs;
+import com.example.batch.support.RecordBoundaries;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.partition.support.Partitioner;
+import org.springframework.batch.item.ExecutionContext;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * CSVファイルのバイト範囲パーティショナー
+ * 1つのCSVファイルをレコード境界に揃えたN個のバイト範囲に分割し、各パーティションのコンテキストに
+ * startOffset（範囲の先頭、含む）とendOffset（範囲の末尾、含まない）を設定する
+ *
+ * 境界は目標位置以降でクォート外の最初の改行の直後とするため、クォート内の改行で分割されることはない
+ * 目標位置がクォート内かは、RecordBoundariesでファイルを区間ごとに並列に数えたダブルクォートの数の偶奇から求める
+ * （判定方法はCsvRecordReader・FlatFileItemReaderの既定のレコード区切りと同じ）
+ * ヘッダー行は最初のパーティションの範囲に含めないため、各範囲のリーダーは読み飛ばし行なしで読み込める
+ * 圧縮ファイル（.gz・.zip）はバイト範囲で分割できないため対象外とする
+ */
+@Slf4j
+public class FileRangePartitioner implements Partitioner {
+
+    /** 範囲の先頭位置（バイト、含む） */
+    public static final String START_OFFSET_KEY = "startOffset";
+
+    /** 範囲の末尾位置（バイト、含まない） */
+    public static final String END_OFFSET_KEY = "endOffset";
+
+    private final Path file;
+    private final int linesToSkip;
+    private final long minRangeBytes;
+
+    /**
+     * コンストラクタ
+     *
+     * @param file 入力ファイル
+     * @param linesToSkip 先頭の読み飛ばすレコード数（ヘッダー行）
+     * @param minRangeBytes 1パーティションの最小サイズ（小さいファイルはパーティション数を減らす）
+     */
+    public FileRangePartitioner(Path file, int linesToSkip, long minRangeBytes) {
+        this.file = file;
+        this.linesToSkip = linesToSkip;
+        this.minRangeBytes = Math.max(1, minRangeBytes);
+    }
+
+    @Override
+    public Map<String, ExecutionContext> partition(int gridSize) {
+        log.info("ファイルパーティション作成開始。ファイル: {}, グリッドサイズ: {}", file, gridSize);
+        if (CompressedInputs.isCompressed(file.toString())) {
+            throw new IllegalArgumentException("Compressed input cannot be split into byte ranges: " + file);
+        }
+
+        List<Long> boundaries;
+        try {
+            boundaries = findBoundaries(Math.max(1, gridSize));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to partition " + file, e);
+        }
+
+        Map<String, ExecutionContext> partitions = new HashMap<>();
+        if (boundaries.size() < 2) {
+            log.warn("処理対象データがありません");
+            return partitions;
+        }
+
+        for (int i = 0; i < boundaries.size() - 1; i++) {
+            long startOffset = boundaries.get(i);
+            long endOffset = boundaries.get(i + 1);
+
+            ExecutionContext context = new ExecutionContext();
+            context.putLong(START_OFFSET_KEY, startOffset);
+            context.putLong(END_OFFSET_KEY, endOffset);
+            context.putInt("partitionNumber", i);
+            context.putString("name", "partition" + i);
+
+            partitions.put("partition" + i, context);
+
+            log.info("パーティション {} を作成: 範囲 [{} - {})", i, startOffset, endOffset);
+        }
+
+        return partitions;
+    }
+
+    /**
+     * 範囲の境界位置を求める（先頭はデータ行の開始位置、末尾はファイルサイズ）
+     *
+     * @param gridSize パーティション数の上限
+     * @return 昇順の境界位置（データ行がない場合は空）
+     */
+    List<Long> findBoundaries(int gridSize) throws IOException {
+        List<Long> boundaries = new ArrayList<>();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long dataStart = 0;
+            for (int i = 0; i < linesToSkip && dataStart < size; i++) {
+                dataStart = RecordBoundaries.recordEnd(channel, dataStart, false, size);
+            }
+            if (dataStart >= size) {
+                return boundaries;
+            }
+
+            boundaries.add(dataStart);
+            long previous = dataStart;
+            for (long end : RecordBoundaries.recordEnds(channel, dataStart, targets(dataStart, size, gridSize), size)) {
+                // 長いレコードが複数の目標位置をまたぐ場合は1つの境界にまとめる
+                if (end > previous && end < size) {
+                    boundaries.add(end);
+                    previous = end;
+                }
+            }
+            boundaries.add(size);
+        }
+        return boundaries;
+    }
+
+    /**
+     * 均等に分割した場合の境界の目標位置（範囲の先頭と末尾を除く）
+     */
+    private long[] targets(long dataStart, long size, int gridSize) {
+        long dataSize = size - dataStart;
+        int count = (int) Math.max(1, Math.min(gridSize, dataSize / minRangeBytes));
+        long[] targets = new long[count - 1];
+        for (int i = 1; i < count; i++) {
+            targets[i - 1] = dataStart + dataSize * i / count;
+        }
+        return targets;
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.batch.partitioner;
+
+import com.example.batch.csv.CompressedInputs;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.partition.support.Partitioner;
+import org.springframework.batch.item.ExecutionContext;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 複数CSVファイルのパーティショナー
+ * 1ファイルを1パーティションとし、各パーティションのコンテキストにfilePathを設定する
+ * 閾値を超える大きなファイルはFileRangePartitionerでさらにバイト範囲に分割する（startOffset・endOffsetも設定）
+ *
+ * パーティション名はファイル名から決まるため、再起動時は未完了のファイル（範囲）のパーティションだけが再実行される
+ * 圧縮ファイル（.gz・.zip）は分割せずに1パーティションで読み込む
+ */
+@Slf4j
+public class MultiFilePartitioner implements Partitioner {
+
+    /** パーティションの入力ファイルパス */
+    public static final String FILE_PATH_KEY = "filePath";
+
+    private final List<Path> files;
+    private final int linesToSkip;
+    private final long splitThresholdBytes;
+    private final long minRangeBytes;
+
+    /**
+     * コンストラクタ
+     *
+     * @param files 入力ファイル
+     * @param linesToSkip 各ファイルの先頭の読み飛ばすレコード数（ヘッダー行）
+     * @param splitThresholdBytes バイト範囲に分割するファイルサイズの閾値
+     * @param minRangeBytes 分割時の1パーティションの最小サイズ
+     */
+    public MultiFilePartitioner(List<Path> files, int linesToSkip, long splitThresholdBytes, long minRangeBytes) {
+        this.files = files;
+        this.linesToSkip = linesToSkip;
+        this.splitThresholdBytes = splitThresholdBytes;
+        this.minRangeBytes = minRangeBytes;
+    }
+
+    @Override
+    public Map<String, ExecutionContext> partition(int gridSize) {
+        log.info("複数ファイルパーティション作成開始。ファイル数: {}, グリッドサイズ: {}", files.size(), gridSize);
+
+        Map<String, ExecutionContext> partitions = new LinkedHashMap<>();
+        for (Path file : files) {
+            String fileName = file.getFileName().toString();
+            if (CompressedInputs.isCompressed(fileName)) {
+                ExecutionContext context = new ExecutionContext();
+                context.putString(FILE_PATH_KEY, file.toString());
+                put(partitions, fileName, context);
+                continue;
+            }
+
+            // 閾値以下のファイルは1パーティション（ヘッダーのみのファイルはパーティションなし）
+            int split = size(file) > splitThresholdBytes ? gridSize : 1;
+            Map<String, ExecutionContext> ranges = new FileRangePartitioner(file, linesToSkip, minRangeBytes)
+                    .partition(split);
+            for (int i = 0; i < ranges.size(); i++) {
+                ExecutionContext context = ranges.get("partition" + i);
+                context.putString(FILE_PATH_KEY, file.toString());
+                put(partitions, ranges.size() == 1 ? fileName : fileName + "#" + i, context);
+            }
+        }
+
+        log.info("複数ファイルパーティション作成完了。パーティション数: {}", partitions.size());
+        return partitions;
+    }
+
+    private void put(Map<String, ExecutionContext> partitions, String name, ExecutionContext context) {
+        // 別ディレクトリの同名ファイルは連番を付けて区別する
+        String unique = name;
+        for (int n = 2; partitions.containsKey(unique); n++) {
+            unique = name + "~" + n;
+        }
+        context.putString("name", unique);
+        partitions.put(unique, context);
+    }
+
+    private long size(Path file) {
+        try {
+            return Files.size(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read size of " + file, e);
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.example.batch.processor;
 
 import com.example.batch.dto.CsvEmployee;
 import com.example.batch.entity.Employee;
+import com.example.batch.support.ContentHash;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.batch.item.ItemProcessor;
 import org.springframework.stereotype.Component;
@@ -50,6 +51,9 @@ public class EmployeeProcessor implements ItemProcessor<CsvEmployee, Employee> {
             employee.setEmail(employee.getEmail().toLowerCase());
         }
         
+        // 変更有無の判定用に内容ハッシュを設定
+        employee.setContentHash(ContentHash.of(employee));
+        
         log.debug("Processed employee: {}", employee.getEmployeeCode());
         return employee;
     }
@@ -0,0 +1,176 @@
+package com.example.batch.reader;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.mybatis.spring.SqlSessionTemplate;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemStreamException;
+import org.springframework.batch.item.support.AbstractItemCountingItemStreamItemReader;
+import org.springframework.util.Assert;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * キーセット（シーク）ページングのMyBatisリーダー
+ * 前ページの最後のIDをパラメータ「lastId」、ページサイズを「pageSize」としてクエリを実行し、
+ * 「WHERE id &gt; #{lastId} ORDER BY id LIMIT #{pageSize}」の形で次のページを取得する
+ * MyBatisPagingItemReader（LIMIT/OFFSET）のように読み飛ばす行をページごとに走査し直すことがなく、
+ * 件数が増えてもページあたりのコストは一定となる
+ *
+ * update()のたびに最後に返したアイテムのIDをExecutionContextへ保存し、再開時はそのIDの次から読み込む
+ * IDのない実行コンテキスト（read.countのみ）からの再開は、従来どおりアイテムを読み飛ばして再開する
+ * クエリはID（一意で昇順）で並べ替え、lastIdがnullの場合は先頭ページを返すこと
+ *
+ * @param <T> アイテムの型
+ */
+@Slf4j
+public class KeysetPagingItemReader<T> extends AbstractItemCountingItemStreamItemReader<T> {
+
+    private static final String LAST_ID_KEY = "last.id";
+
+    private SqlSessionFactory sqlSessionFactory;
+    private String queryId;
+    private int pageSize = 100;
+    private Function<T, Long> idExtractor;
+    private Map<String, Object> parameterValues = Map.of();
+
+    private SqlSessionTemplate sqlSessionTemplate;
+    private Iterator<T> page = Collections.emptyIterator();
+    private boolean lastPage;
+    private Long lastId;
+    private Long restartLastId;
+
+    public KeysetPagingItemReader() {
+        setName("keysetPagingItemReader");
+    }
+
+    public void setSqlSessionFactory(SqlSessionFactory sqlSessionFactory) {
+        this.sqlSessionFactory = sqlSessionFactory;
+    }
+
+    public void setQueryId(String queryId) {
+        this.queryId = queryId;
+    }
+
+    public void setPageSize(int pageSize) {
+        this.pageSize = pageSize;
+    }
+
+    /**
+     * アイテムからIDを取り出す関数（クエリの並び順のキー）
+     *
+     * @param idExtractor IDの取り出し
+     */
+    public void setIdExtractor(Function<T, Long> idExtractor) {
+        this.idExtractor = idExtractor;
+    }
+
+    /**
+     * lastId・pageSize以外のクエリのパラメータ
+     *
+     * @param parameterValues パラメータ
+     */
+    public void setParameterValues(Map<String, Object> parameterValues) {
+        this.parameterValues = parameterValues;
+    }
+
+    /**
+     * 保存済みの最後のIDを取得して開く
+     *
+     * @param executionContext 実行コンテキスト
+     */
+    @Override
+    public void open(ExecutionContext executionContext) throws ItemStreamException {
+        Assert.notNull(idExtractor, "idExtractor is required");
+        Assert.isTrue(pageSize > 0, "pageSize must be positive");
+
+        restartLastId = null;
+        String lastIdKey = getExecutionContextKey(LAST_ID_KEY);
+        if (isSaveState() && executionContext.containsKey(lastIdKey)) {
+            restartLastId = executionContext.getLong(lastIdKey);
+        }
+        super.open(executionContext);
+    }
+
+    /**
+     * 読み込み件数に加えて、最後に返したアイテムのIDを保存
+     *
+     * @param executionContext 実行コンテキスト
+     */
+    @Override
+    public void update(ExecutionContext executionContext) throws ItemStreamException {
+        super.update(executionContext);
+        if (isSaveState() && lastId != null) {
+            executionContext.putLong(getExecutionContextKey(LAST_ID_KEY), lastId);
+        }
+    }
+
+    @Override
+    protected void doOpen() throws Exception {
+        if (sqlSessionTemplate == null && sqlSessionFactory != null) {
+            sqlSessionTemplate = new SqlSessionTemplate(sqlSessionFactory, ExecutorType.BATCH);
+        }
+        page = Collections.emptyIterator();
+        lastPage = false;
+        lastId = null;
+    }
+
+    @Override
+    protected T doRead() throws Exception {
+        if (!page.hasNext()) {
+            if (lastPage) {
+                return null;
+            }
+            List<T> items = readPage(lastId, pageSize);
+            // 件数がページサイズに満たない場合は最終ページ（次のページの問い合わせを省く）
+            lastPage = items.size() < pageSize;
+            page = items.iterator();
+            if (!page.hasNext()) {
+                return null;
+            }
+        }
+        T item = page.next();
+        lastId = idExtractor.apply(item);
+        return item;
+    }
+
+    /**
+     * 指定したIDより後ろの1ページを取得
+     *
+     * @param afterId 前ページの最後のID（先頭ページはnull）
+     * @param size ページサイズ
+     * @return アイテム（ID順）
+     */
+    protected List<T> readPage(Long afterId, int size) {
+        Assert.notNull(sqlSessionTemplate, "sqlSessionFactory is required");
+        Assert.hasText(queryId, "queryId is required");
+        Map<String, Object> parameters = new HashMap<>(parameterValues);
+        parameters.put("lastId", afterId);
+        parameters.put("pageSize", size);
+        return sqlSessionTemplate.selectList(queryId, parameters);
+    }
+
+    /**
+     * 保存済みのIDの次から読み込む（IDがない場合はアイテムを読み飛ばす）
+     */
+    @Override
+    protected void jumpToItem(int itemIndex) throws Exception {
+        if (restartLastId != null) {
+            lastId = restartLastId;
+            log.info("Restarting {} after id {} (item {})", queryId, restartLastId, itemIndex);
+            return;
+        }
+        super.jumpToItem(itemIndex);
+    }
+
+    @Override
+    protected void doClose() throws Exception {
+        page = Collections.emptyIterator();
+    }
+}
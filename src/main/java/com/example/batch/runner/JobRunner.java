@@ -1,5 +1,6 @@
 package com.example.batch.runner;
 
+import com.example.batch.support.InputFiles;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.batch.core.Job;
@@ -101,6 +102,8 @@ public class JobRunner implements CommandLineRunner {
         log.info("Usage examples:");
         log.info("  CSV to DB (Chunk):");
         log.info("    mvn spring-boot:run -Dspring-boot.run.arguments=\"employeeCsvToDbChunkJob input.file.path=data/input/employees.csv\"");
+        log.info("  CSV to DB (Chunk, multiple files):");
+        log.info("    mvn spring-boot:run -Dspring-boot.run.arguments=\"salesCsvToDbChunkJob input.file.path=data/input/sales-*.csv\"");
         log.info("  CSV to DB (Tasklet):");
         log.info("    mvn spring-boot:run -Dspring-boot.run.arguments=\"employeeCsvToDbTaskletJob input.file.path=data/input/employees.csv\"");
         log.info("  DB to CSV (Chunk):");
@@ -118,8 +121,12 @@ public class JobRunner implements CommandLineRunner {
      */
     private void validateFilePath(String key, String path) throws Exception {
         if (key.contains("input")) {
-            // 入力ファイルは存在チェック
-            if (!Files.exists(Paths.get(path))) {
+            // 入力ファイルは存在チェック（globパターンは1ファイル以上一致すること）
+            if (InputFiles.isGlob(path)) {
+                if (InputFiles.resolve(path).isEmpty()) {
+                    throw new IllegalArgumentException("No input files match: " + path);
+                }
+            } else if (!Files.exists(Paths.get(path))) {
                 throw new IllegalArgumentException("Input file not found: " + path);
             }
         } else if (key.contains("output")) {
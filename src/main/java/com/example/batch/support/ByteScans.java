@@ -0,0 +1,44 @@
+package com.example.batch.support;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * バイト列の走査
+ * 8バイトずつ読み、対象の値とのXORで0になったバイトの最上位ビットだけを立ててビット数を数える（SWAR）
+ * メモリマップしたファイルの改行・ダブルクォートの計数に使用する
+ */
+public final class ByteScans {
+
+    private static final long LOW7 = 0x7F7F7F7F7F7F7F7FL;
+    private static final long ONES = 0x0101010101010101L;
+
+    private ByteScans() {
+    }
+
+    /**
+     * 指定した値のバイト数を数える
+     * 
+     * @param buffer 走査するバイト列（positionからlimitまで、positionは変更しない）
+     * @param value 数える値
+     * @return 値が一致したバイト数
+     */
+    public static long count(ByteBuffer buffer, byte value) {
+        ByteBuffer bytes = buffer.duplicate().order(ByteOrder.nativeOrder());
+        long pattern = (value & 0xFFL) * ONES;
+        long count = 0;
+        int i = bytes.position();
+        int limit = bytes.limit();
+        for (; i + Long.BYTES <= limit; i += Long.BYTES) {
+            long x = bytes.getLong(i) ^ pattern;
+            long zeros = ~(((x & LOW7) + LOW7) | x | LOW7);
+            count += Long.bitCount(zeros);
+        }
+        for (; i < limit; i++) {
+            if (bytes.get(i) == value) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.batch.support;
+
+import com.example.batch.entity.Employee;
+import com.example.batch.entity.Product;
+
+import java.math.BigDecimal;
+
+/**
+ * 内容ハッシュ
+ * 業務列の値から64ビットのハッシュ値（FNV-1a）を計算し、前回取り込み時から変更がない行の判定に使用する
+ * id・作成日時・更新日時はハッシュに含めない
+ */
+public final class ContentHash {
+    
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+    
+    /** 列区切り（値に含まれない制御文字） */
+    private static final char SEPARATOR = '\u001f';
+    
+    /** NULLを表す値（空文字と区別するため） */
+    private static final char NULL_MARKER = '\u0000';
+    
+    private ContentHash() {
+    }
+    
+    /**
+     * 従業員の内容ハッシュを計算
+     * 
+     * @param employee 従業員エンティティ
+     * @return 内容ハッシュ
+     */
+    public static long of(Employee employee) {
+        return of(employee.getEmployeeCode(), employee.getFirstName(), employee.getLastName(),
+                employee.getEmail(), employee.getDepartment(), employee.getPosition(),
+                employee.getSalary(), employee.getHireDate(), employee.getStatus());
+    }
+    
+    /**
+     * 商品の内容ハッシュを計算
+     * 
+     * @param product 商品エンティティ
+     * @return 内容ハッシュ
+     */
+    public static long of(Product product) {
+        return of(product.getProductCode(), product.getProductName(), product.getCategory(),
+                product.getPrice(), product.getStockQuantity(), product.getDescription(),
+                product.getManufacturer(), product.getReleaseDate(), product.getIsActive());
+    }
+    
+    /**
+     * 値の並びから内容ハッシュを計算
+     * 数値は末尾のゼロを除いた表現で比較するため、スケールの違い（100.0と100.00）は同じ値とみなす
+     * 
+     * @param values 列の値
+     * @return 内容ハッシュ
+     */
+    public static long of(Object... values) {
+        long hash = FNV_OFFSET_BASIS;
+        for (Object value : values) {
+            if (value == null) {
+                hash = mix(hash, NULL_MARKER);
+            } else {
+                String text = value instanceof BigDecimal decimal
+                        ? decimal.stripTrailingZeros().toPlainString()
+                        : value.toString();
+                for (int i = 0; i < text.length(); i++) {
+                    hash = mix(hash, text.charAt(i));
+                }
+            }
+            hash = mix(hash, SEPARATOR);
+        }
+        return hash;
+    }
+    
+    private static long mix(long hash, char c) {
+        hash = (hash ^ (c & 0xff)) * FNV_PRIME;
+        return (hash ^ (c >>> 8)) * FNV_PRIME;
+    }
+}
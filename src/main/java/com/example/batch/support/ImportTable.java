@@ -0,0 +1,93 @@
+package com.example.batch.support;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * CSV→DB取り込み対象テーブル定義
+ * テーブル名・自然キー（業務キー）列・取り込み列・二次インデックス・有効フラグ列の対応を保持する
+ */
+public enum ImportTable {
+    
+    /** 従業員 */
+    EMPLOYEE("employee", "employee_code",
+            List.of("employee_code", "first_name", "last_name", "email",
+                    "department", "position", "salary", "hire_date", "status", "content_hash"),
+            Map.of("idx_employee_email", "email"),
+            "status", "'INACTIVE'"),
+    
+    /** 商品 */
+    PRODUCT("product", "product_code",
+            List.of("product_code", "product_name", "category", "price",
+                    "stock_quantity", "description", "manufacturer", "release_date", "is_active", "content_hash"),
+            Map.of("idx_product_category", "category"),
+            "is_active", "FALSE"),
+    
+    /** 売上 */
+    SALES("sales", "transaction_id",
+            List.of("transaction_id", "product_code", "customer_name", "quantity",
+                    "unit_price", "total_amount", "sale_date", "payment_method", "status"),
+            Map.of("idx_sales_date", "sale_date"),
+            null, null);
+    
+    private final String tableName;
+    private final String keyColumn;
+    private final List<String> columns;
+    private final Map<String, String> secondaryIndexes;
+    private final String activeColumn;
+    private final String inactiveValue;
+    
+    ImportTable(String tableName, String keyColumn, List<String> columns, Map<String, String> secondaryIndexes,
+                String activeColumn, String inactiveValue) {
+        this.tableName = tableName;
+        this.keyColumn = keyColumn;
+        this.columns = columns;
+        this.secondaryIndexes = secondaryIndexes;
+        this.activeColumn = activeColumn;
+        this.inactiveValue = inactiveValue;
+    }
+    
+    public String getTableName() {
+        return tableName;
+    }
+    
+    public String getKeyColumn() {
+        return keyColumn;
+    }
+    
+    /**
+     * 取り込み時に書き込む列（id・作成日時・更新日時を除く）
+     */
+    public List<String> getColumns() {
+        return columns;
+    }
+    
+    /**
+     * 一括ロード時に削除・再作成できる二次インデックス（インデックス名→列）
+     * 一意制約はMERGEのキー検索に使用するため含めない
+     */
+    public Map<String, String> getSecondaryIndexes() {
+        return secondaryIndexes;
+    }
+    
+    /**
+     * 有効・無効を表す列（無効化できないテーブルはnull）
+     */
+    public String getActiveColumn() {
+        return activeColumn;
+    }
+    
+    /**
+     * 無効を表す値（SQLリテラル）
+     */
+    public String getInactiveValue() {
+        return inactiveValue;
+    }
+    
+    /**
+     * ステージングテーブル名
+     */
+    public String getStageTableName() {
+        return tableName + "_stage";
+    }
+}
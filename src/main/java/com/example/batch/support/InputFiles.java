@@ -0,0 +1,108 @@
+package com.example.batch.support;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * 入力ファイル指定の解決
+ * input.file.pathにはファイルのほか、ディレクトリ（直下のファイルすべて）またはglobパターン（例: data/input/sales-*.csv）を指定できる
+ * 複数ファイルは名前順に並べて返す
+ */
+public final class InputFiles {
+
+    private static final String GLOB_CHARACTERS = "*?[{";
+
+    private InputFiles() {
+    }
+
+    /**
+     * globパターンか
+     *
+     * @param spec 入力ファイル指定
+     * @return globパターンの場合true
+     */
+    public static boolean isGlob(String spec) {
+        if (spec == null) {
+            return false;
+        }
+        for (int i = 0; i < spec.length(); i++) {
+            if (GLOB_CHARACTERS.indexOf(spec.charAt(i)) >= 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 複数ファイルの指定（ディレクトリまたはglobパターン）か
+     *
+     * @param spec 入力ファイル指定
+     * @return ディレクトリまたはglobパターンの場合true
+     */
+    public static boolean isMultiFile(String spec) {
+        return spec != null && (isGlob(spec) || Files.isDirectory(Path.of(spec)));
+    }
+
+    /**
+     * 入力ファイル指定を解決
+     *
+     * @param spec 入力ファイル指定（ファイル・ディレクトリ・globパターン）
+     * @return 名前順のファイル一覧（該当なしの場合は空、隠しファイルは含めない）
+     */
+    public static List<Path> resolve(String spec) {
+        if (!isGlob(spec)) {
+            Path path = Path.of(spec);
+            if (!Files.isDirectory(path)) {
+                return Files.isRegularFile(path) ? List.of(path) : List.of();
+            }
+            return list(path, 1, file -> true);
+        }
+
+        // globを含まない先頭のディレクトリから、パターンの階層数（**の場合は無制限）まで探索する
+        Path pattern = Path.of(spec).normalize();
+        Path base = pattern.isAbsolute() ? pattern.getRoot() : Path.of("");
+        int depth = 0;
+        boolean baseResolved = false;
+        for (Path name : pattern) {
+            if (!baseResolved && !isGlob(name.toString())) {
+                base = base.resolve(name);
+            } else {
+                baseResolved = true;
+                depth++;
+            }
+        }
+        if (spec.contains("**")) {
+            depth = Integer.MAX_VALUE;
+        }
+        PathMatcher matcher = FileSystems.getDefault().getPathMatcher("glob:" + pattern);
+        if (base.toString().isEmpty()) {
+            // カレントディレクトリ起点のパターンは「./」を除いた相対パスで照合する
+            Path current = Path.of(".");
+            return list(current, depth, file -> matcher.matches(current.relativize(file)));
+        }
+        return list(base, depth, matcher::matches);
+    }
+
+    private static List<Path> list(Path directory, int depth, Predicate<Path> filter) {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.walk(directory, depth)) {
+            return files
+                    .filter(Files::isRegularFile)
+                    .filter(file -> !file.getFileName().toString().startsWith("."))
+                    .filter(filter)
+                    .sorted()
+                    .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to list input files: " + directory, e);
+        }
+    }
+}
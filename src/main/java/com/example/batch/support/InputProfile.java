@@ -0,0 +1,95 @@
+package com.example.batch.support;
+
+import org.springframework.batch.item.ExecutionContext;
+
+/**
+ * 入力ファイルのプロファイル
+ * 事前走査で求めたバイト数・推定件数・平均レコード長を保持し、ジョブ実行コンテキストを介して後続のデシジョン・ステップへ渡す
+ * 件数は改行の数から求めるため、クォート内の改行を含むファイルでは実際の件数より多くなる
+ */
+public final class InputProfile {
+
+    private static final String PREFIX = "input.profile.";
+    private static final String FILES_KEY = PREFIX + "files";
+    private static final String BYTES_KEY = PREFIX + "bytes";
+    private static final String ROWS_KEY = PREFIX + "rows";
+    private static final String ROW_BYTES_KEY = PREFIX + "row-bytes";
+    private static final String EXACT_KEY = PREFIX + "exact";
+
+    private final int files;
+    private final long bytes;
+    private final long estimatedRows;
+    private final int averageRowBytes;
+    private final boolean exact;
+
+    /**
+     * コンストラクタ
+     *
+     * @param files ファイル数
+     * @param bytes 合計バイト数（圧縮ファイルは展開後のサイズ）
+     * @param estimatedRows 推定件数（ヘッダー行を除く）
+     * @param averageRowBytes 平均レコード長（バイト、改行を含む）
+     * @param exact 全体を走査した件数の場合true（標本から推定した場合false）
+     */
+    public InputProfile(int files, long bytes, long estimatedRows, int averageRowBytes, boolean exact) {
+        this.files = files;
+        this.bytes = bytes;
+        this.estimatedRows = estimatedRows;
+        this.averageRowBytes = averageRowBytes;
+        this.exact = exact;
+    }
+
+    public int getFiles() {
+        return files;
+    }
+
+    public long getBytes() {
+        return bytes;
+    }
+
+    public long getEstimatedRows() {
+        return estimatedRows;
+    }
+
+    public int getAverageRowBytes() {
+        return averageRowBytes;
+    }
+
+    public boolean isExact() {
+        return exact;
+    }
+
+    /**
+     * 実行コンテキストへ保存
+     *
+     * @param executionContext ジョブ実行コンテキスト
+     */
+    public void writeTo(ExecutionContext executionContext) {
+        executionContext.putInt(FILES_KEY, files);
+        executionContext.putLong(BYTES_KEY, bytes);
+        executionContext.putLong(ROWS_KEY, estimatedRows);
+        executionContext.putInt(ROW_BYTES_KEY, averageRowBytes);
+        executionContext.putString(EXACT_KEY, Boolean.toString(exact));
+    }
+
+    /**
+     * 実行コンテキストから取得
+     *
+     * @param executionContext ジョブ実行コンテキスト
+     * @return プロファイル（事前走査していない場合はnull）
+     */
+    public static InputProfile from(ExecutionContext executionContext) {
+        if (executionContext == null || !executionContext.containsKey(ROWS_KEY)) {
+            return null;
+        }
+        return new InputProfile(executionContext.getInt(FILES_KEY), executionContext.getLong(BYTES_KEY),
+                executionContext.getLong(ROWS_KEY), executionContext.getInt(ROW_BYTES_KEY),
+                Boolean.parseBoolean(executionContext.getString(EXACT_KEY)));
+    }
+
+    @Override
+    public String toString() {
+        return "files=" + files + ", bytes=" + bytes + ", rows" + (exact ? "=" : "~") + estimatedRows
+                + ", rowBytes=" + averageRowBytes;
+    }
+}
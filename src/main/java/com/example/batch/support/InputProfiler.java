@@ -0,0 +1,175 @@
+package com.example.batch.support;
+
+import com.example.batch.csv.CompressedInputs;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Locale;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * 入力ファイルの事前走査
+ * ファイルをメモリマップし、ByteScans（8バイト単位のビット演算）で改行を数えて件数・平均レコード長を求める
+ * 全体走査の上限を超えるファイルは、ファイル全体に等間隔に配置した標本区間の改行密度から件数を推定する
+ * 圧縮ファイル（.gz・.zip）は伸長した先頭部分を標本とし、展開後のサイズはgzipのトレーラー・zipのエントリー情報から求める
+ */
+public final class InputProfiler {
+
+    /** 一度にマップする最大バイト数 */
+    private static final long MAX_MAP_BYTES = 1L << 30;
+
+    private final long fullScanBytes;
+    private final int sampleCount;
+    private final int sampleBytes;
+    private final int linesToSkip;
+
+    /**
+     * コンストラクタ
+     *
+     * @param fullScanBytes 全体を走査するファイルサイズの上限（バイト、超える場合は標本から推定）
+     * @param sampleCount 標本区間の数
+     * @param sampleBytes 標本区間1つのバイト数
+     * @param linesToSkip ファイルごとの読み飛ばす行数（ヘッダー行）
+     */
+    public InputProfiler(long fullScanBytes, int sampleCount, int sampleBytes, int linesToSkip) {
+        this.fullScanBytes = fullScanBytes;
+        this.sampleCount = Math.max(1, sampleCount);
+        this.sampleBytes = Math.max(1, sampleBytes);
+        this.linesToSkip = linesToSkip;
+    }
+
+    /**
+     * 入力ファイルを走査してプロファイルを作成
+     *
+     * @param files 入力ファイル
+     * @return プロファイル
+     * @throws IOException 読み込みエラー時の例外
+     */
+    public InputProfile profile(List<Path> files) throws IOException {
+        long bytes = 0;
+        long rows = 0;
+        boolean exact = true;
+        for (Path file : files) {
+            FileProfile profile = CompressedInputs.isCompressed(file.toString())
+                    ? profileCompressed(file) : profileFile(file);
+            bytes += profile.bytes;
+            rows += Math.max(0, profile.lines - linesToSkip);
+            exact &= profile.exact;
+        }
+        int averageRowBytes = rows > 0 ? (int) Math.min(Integer.MAX_VALUE, bytes / rows) : 0;
+        return new InputProfile(files.size(), bytes, rows, averageRowBytes, exact);
+    }
+
+    private FileProfile profileFile(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size == 0) {
+                return new FileProfile(0, 0, true);
+            }
+            if (size <= fullScanBytes || (long) sampleCount * sampleBytes >= size) {
+                long lines = 0;
+                for (long position = 0; position < size; position += MAX_MAP_BYTES) {
+                    lines += countNewlines(channel.map(FileChannel.MapMode.READ_ONLY,
+                            position, Math.min(MAX_MAP_BYTES, size - position)));
+                }
+                // 最終行に改行がない場合も1行として数える
+                if (lastByte(channel, size) != '\n') {
+                    lines++;
+                }
+                return new FileProfile(size, lines, true);
+            }
+
+            // 先頭から末尾まで等間隔に標本区間を取り、改行密度をファイル全体に掛ける
+            long stride = (size - sampleBytes) / Math.max(1, sampleCount - 1);
+            long sampledLines = 0;
+            for (int i = 0; i < sampleCount; i++) {
+                sampledLines += countNewlines(channel.map(FileChannel.MapMode.READ_ONLY, i * stride, sampleBytes));
+            }
+            long sampled = (long) sampleCount * sampleBytes;
+            return new FileProfile(size, Math.round((double) sampledLines * size / sampled), false);
+        }
+    }
+
+    private FileProfile profileCompressed(Path file) throws IOException {
+        long limit = (long) sampleCount * sampleBytes;
+        byte[] buffer = new byte[64 * 1024];
+        long read = 0;
+        long lines = 0;
+        int last = -1;
+        try (InputStream in = CompressedInputs.open(file)) {
+            int n;
+            while (read < limit && (n = in.read(buffer)) > 0) {
+                lines += countNewlines(ByteBuffer.wrap(buffer, 0, n));
+                last = buffer[n - 1];
+                read += n;
+            }
+            if (in.read() < 0) {
+                // 先頭の標本で末尾まで読み終えた場合は正確な件数とする
+                return new FileProfile(read, read > 0 && last != '\n' ? lines + 1 : lines, true);
+            }
+        }
+        long size = Math.max(read, uncompressedSize(file));
+        return new FileProfile(size, Math.round((double) lines * size / read), false);
+    }
+
+    /**
+     * 改行の数を数える
+     *
+     * @param buffer 走査するバイト列（positionからlimitまで）
+     * @return 改行の数
+     */
+    static long countNewlines(ByteBuffer buffer) {
+        return ByteScans.count(buffer, (byte) '\n');
+    }
+
+    private static byte lastByte(FileChannel channel, long size) throws IOException {
+        ByteBuffer last = ByteBuffer.allocate(1);
+        channel.read(last, size - 1);
+        return last.get(0);
+    }
+
+    /**
+     * 圧縮ファイルの展開後のサイズ
+     * gzipはトレーラーのISIZE（展開後サイズの下位32ビット）を圧縮サイズ以上になるまで4GiB単位で補正する
+     */
+    private static long uncompressedSize(Path file) throws IOException {
+        long compressed = Files.size(file);
+        if (file.getFileName().toString().toLowerCase(Locale.ROOT).endsWith(".gz")) {
+            if (compressed < 4) {
+                return 0;
+            }
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                ByteBuffer trailer = ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN);
+                channel.read(trailer, compressed - 4);
+                long size = Integer.toUnsignedLong(trailer.getInt(0));
+                while (size < compressed) {
+                    size += 1L << 32;
+                }
+                return size;
+            }
+        }
+        long size = 0;
+        try (ZipFile zipFile = new ZipFile(file.toFile())) {
+            Enumeration<? extends ZipEntry> entries = zipFile.entries();
+            while (entries.hasMoreElements()) {
+                ZipEntry entry = entries.nextElement();
+                if (!entry.isDirectory() && entry.getSize() > 0) {
+                    size += entry.getSize();
+                }
+            }
+        }
+        return size;
+    }
+
+    private record FileProfile(long bytes, long lines, boolean exact) {
+    }
+}
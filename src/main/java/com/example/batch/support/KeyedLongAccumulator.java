@@ -0,0 +1,124 @@
+package com.example.batch.support;
+
+import java.util.Arrays;
+
+/**
+ * 文字列キーごとのlong値集計
+ * キーと値をオープンアドレス法の配列で保持し、加算ごとのボクシングを行わない
+ * スレッドセーフではない
+ */
+public class KeyedLongAccumulator {
+    
+    private static final float LOAD_FACTOR = 0.6f;
+    
+    private String[] keys;
+    private long[] values;
+    private int size;
+    
+    public KeyedLongAccumulator() {
+        this(16);
+    }
+    
+    /**
+     * コンストラクタ
+     * 
+     * @param expectedKeys 想定キー数
+     */
+    public KeyedLongAccumulator(int expectedKeys) {
+        int capacity = Integer.highestOneBit(Math.max(4, (int) (expectedKeys / LOAD_FACTOR)) - 1) << 1;
+        this.keys = new String[capacity];
+        this.values = new long[capacity];
+    }
+    
+    /**
+     * キーの値に加算
+     * 
+     * @param key キー
+     * @param delta 加算値
+     */
+    public void add(String key, long delta) {
+        if (key == null) {
+            throw new IllegalArgumentException("key must not be null");
+        }
+        if (size + 1 > keys.length * LOAD_FACTOR) {
+            resize(keys.length << 1);
+        }
+        int slot = slot(keys, key);
+        if (keys[slot] == null) {
+            keys[slot] = key;
+            size++;
+        }
+        values[slot] += delta;
+    }
+    
+    /**
+     * キーの集計値を取得
+     * 
+     * @param key キー
+     * @return 集計値（未登録の場合は0）
+     */
+    public long get(String key) {
+        int slot = slot(keys, key);
+        return keys[slot] != null ? values[slot] : 0L;
+    }
+    
+    /**
+     * 登録済みキーを昇順で取得
+     * 更新順を揃えて行ロックの競合・デッドロックを避けるために使用する
+     * 
+     * @return キー配列
+     */
+    public String[] sortedKeys() {
+        String[] result = new String[size];
+        int i = 0;
+        for (String key : keys) {
+            if (key != null) {
+                result[i++] = key;
+            }
+        }
+        Arrays.sort(result);
+        return result;
+    }
+    
+    public int size() {
+        return size;
+    }
+    
+    public boolean isEmpty() {
+        return size == 0;
+    }
+    
+    /**
+     * 全キーを削除（配列は再利用する）
+     */
+    public void clear() {
+        Arrays.fill(keys, null);
+        Arrays.fill(values, 0L);
+        size = 0;
+    }
+    
+    private void resize(int capacity) {
+        String[] oldKeys = keys;
+        long[] oldValues = values;
+        keys = new String[capacity];
+        values = new long[capacity];
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != null) {
+                int slot = slot(keys, oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+    
+    private static int slot(String[] table, String key) {
+        int h = key.hashCode();
+        h ^= (h >>> 16);
+        int mask = table.length - 1;
+        int slot = h & mask;
+        while (table[slot] != null && !table[slot].equals(key)) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.batch.support;
+
+import org.springframework.batch.core.scope.context.StepContext;
+import org.springframework.batch.core.scope.context.StepSynchronizationManager;
+import org.springframework.batch.repeat.RepeatContext;
+import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.batch.repeat.context.RepeatContextSupport;
+import org.springframework.batch.repeat.policy.DefaultResultCompletionPolicy;
+
+/**
+ * 入力プロファイルによるチャンクサイズ
+ * チャンクの開始時にジョブ実行コンテキストの平均レコード長を参照し、1チャンクがおよそtargetChunkBytesになる件数で区切る
+ * （1〜maxChunkSize件に収める）
+ * targetChunkBytesが0以下の場合、または入力プロファイルがない場合は固定の件数（SimpleCompletionPolicyと同じ）で区切る
+ * 
+ * 件数はチャンクごとのコンテキストに保持するため、1つのインスタンスを複数のステップ・スレッドで共有できる
+ */
+public class ProfiledCompletionPolicy extends DefaultResultCompletionPolicy {
+    
+    private final int defaultChunkSize;
+    private final long targetChunkBytes;
+    private final int maxChunkSize;
+    
+    /**
+     * コンストラクタ
+     * 
+     * @param defaultChunkSize 入力プロファイルがない場合のチャンクサイズ（件数）
+     * @param targetChunkBytes 1チャンクの目標バイト数（0以下の場合は常にdefaultChunkSize）
+     * @param maxChunkSize チャンクサイズの上限（件数）
+     */
+    public ProfiledCompletionPolicy(int defaultChunkSize, long targetChunkBytes, int maxChunkSize) {
+        this.defaultChunkSize = defaultChunkSize;
+        this.targetChunkBytes = targetChunkBytes;
+        this.maxChunkSize = Math.max(1, maxChunkSize);
+    }
+    
+    @Override
+    public RepeatContext start(RepeatContext parent) {
+        StepContext stepContext = StepSynchronizationManager.getContext();
+        InputProfile profile = stepContext == null ? null
+                : InputProfile.from(stepContext.getStepExecution().getJobExecution().getExecutionContext());
+        return new ChunkSizeContext(parent, chunkSize(profile));
+    }
+    
+    @Override
+    public boolean isComplete(RepeatContext context, RepeatStatus result) {
+        return super.isComplete(context, result) || isComplete(context);
+    }
+    
+    @Override
+    public boolean isComplete(RepeatContext context) {
+        ChunkSizeContext chunk = (ChunkSizeContext) context;
+        return chunk.getStartedCount() >= chunk.chunkSize;
+    }
+    
+    @Override
+    public void update(RepeatContext context) {
+        ((ChunkSizeContext) context).increment();
+    }
+    
+    /**
+     * 入力プロファイルからチャンクサイズを決める
+     * 
+     * @param profile 入力プロファイル（nullの場合は固定の件数）
+     * @return チャンクサイズ（件数）
+     */
+    int chunkSize(InputProfile profile) {
+        if (targetChunkBytes <= 0 || profile == null || profile.getAverageRowBytes() <= 0) {
+            return defaultChunkSize;
+        }
+        long rows = targetChunkBytes / profile.getAverageRowBytes();
+        return (int) Math.max(1, Math.min(maxChunkSize, rows));
+    }
+    
+    private static class ChunkSizeContext extends RepeatContextSupport {
+        
+        private final int chunkSize;
+        
+        ChunkSizeContext(RepeatContext parent, int chunkSize) {
+            super(parent);
+            this.chunkSize = chunkSize;
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.example.batch.support;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.stream.IntStream;
+
+/**
+ * CSVファイルのレコード境界の探索
+ * 指定した切断位置ごとに、その位置以降でクォート外の最初の改行の直後をレコード境界とする
+ * 切断位置がクォート内かどうかは先頭からの走査ではなく、次の2段階で求める
+ * <ol>
+ * <li>データ部を一定サイズの区間に分け、区間内のダブルクォートの数を区間ごとに並列に数える（メモリマップしてByteScansで計数）</li>
+ * <li>区間の数の偶奇を先頭から累積し、各切断位置の先頭がクォート内かを決める</li>
+ * </ol>
+ * 境界の走査は切断位置からレコード1件分だけを読むため、ファイルを1バイトずつ走査するのは切断位置の周辺に限られる
+ */
+public final class RecordBoundaries {
+
+    /** ダブルクォートを数える区間の最大サイズ（一度にマップするサイズ） */
+    private static final long PARITY_SEGMENT_BYTES = 64L * 1024 * 1024;
+
+    private static final int SCAN_BUFFER_SIZE = 64 * 1024;
+
+    private RecordBoundaries() {
+    }
+
+    /**
+     * 各切断位置の次のレコード境界を求める
+     *
+     * @param channel 入力ファイル
+     * @param dataStart データ部の開始位置（レコードの先頭、クォート外であること）
+     * @param cuts 切断位置（昇順、dataStart以上）
+     * @param size ファイルサイズ
+     * @return 切断位置ごとのレコード境界（昇順、改行がない場合はファイルサイズ、長いレコードをまたぐ切断位置は同じ値になる）
+     * @throws IOException 読み込みエラー時の例外
+     */
+    public static long[] recordEnds(FileChannel channel, long dataStart, long[] cuts, long size) throws IOException {
+        return recordEnds(channel, dataStart, cuts, size, PARITY_SEGMENT_BYTES);
+    }
+
+    /**
+     * 各切断位置の次のレコード境界を求める（ダブルクォートを数える区間の最大サイズを指定）
+     */
+    static long[] recordEnds(FileChannel channel, long dataStart, long[] cuts, long size,
+                             long segmentBytes) throws IOException {
+        boolean[] inQuotes = inQuotes(channel, dataStart, cuts, segmentBytes);
+        long[] ends = new long[cuts.length];
+        unchecked(IntStream.range(0, cuts.length).parallel(), k ->
+                ends[k] = recordEnd(channel, cuts[k], inQuotes[k], size));
+        return ends;
+    }
+
+    /**
+     * 指定位置から、クォート外の最初の改行の直後の位置を求める
+     *
+     * @param channel 入力ファイル
+     * @param from 走査の開始位置
+     * @param inQuotes 開始位置がクォート内か
+     * @param size ファイルサイズ
+     * @return レコードの末尾位置（改行がない場合はファイルサイズ）
+     * @throws IOException 読み込みエラー時の例外
+     */
+    public static long recordEnd(FileChannel channel, long from, boolean inQuotes, long size) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(SCAN_BUFFER_SIZE);
+        long position = from;
+        while (position < size) {
+            buffer.clear();
+            int read = channel.read(buffer, position);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                byte b = buffer.get(i);
+                if (b == '"') {
+                    inQuotes = !inQuotes;
+                } else if (b == '\n' && !inQuotes) {
+                    return position + i + 1;
+                }
+            }
+            position += read;
+        }
+        return size;
+    }
+
+    /**
+     * 各切断位置の先頭がクォート内かを求める
+     * データ部の先頭から最後の切断位置までを、切断位置と最大サイズで区間に分けて並列に数える
+     */
+    private static boolean[] inQuotes(FileChannel channel, long dataStart, long[] cuts,
+                                      long segmentBytes) throws IOException {
+        boolean[] inQuotes = new boolean[cuts.length];
+        if (cuts.length == 0) {
+            return inQuotes;
+        }
+
+        // 区間の先頭位置と、各切断位置から始まる区間の番号
+        int[] firstSegment = new int[cuts.length];
+        int segments = 0;
+        long previous = dataStart;
+        for (int k = 0; k < cuts.length; k++) {
+            segments += (int) ((cuts[k] - previous + segmentBytes - 1) / segmentBytes);
+            firstSegment[k] = segments;
+            previous = cuts[k];
+        }
+        long[] starts = new long[segments + 1];
+        int index = 0;
+        previous = dataStart;
+        for (long cut : cuts) {
+            for (long start = previous; start < cut; start += segmentBytes) {
+                starts[index++] = start;
+            }
+            previous = cut;
+        }
+        starts[segments] = previous;
+
+        boolean[] oddQuotes = new boolean[segments];
+        unchecked(IntStream.range(0, segments).parallel(), i -> {
+            long start = starts[i];
+            long length = Math.min(segmentBytes, starts[i + 1] - start);
+            long quotes = ByteScans.count(channel.map(FileChannel.MapMode.READ_ONLY, start, length), (byte) '"');
+            oddQuotes[i] = (quotes & 1) == 1;
+        });
+
+        boolean parity = false;
+        int segment = 0;
+        for (int k = 0; k < cuts.length; k++) {
+            for (; segment < firstSegment[k]; segment++) {
+                parity ^= oddQuotes[segment];
+            }
+            inQuotes[k] = parity;
+        }
+        return inQuotes;
+    }
+
+    /**
+     * 並列ストリームの各要素を処理し、読み込みエラーはIOExceptionとして呼び出し元へ返す
+     */
+    private static void unchecked(IntStream indexes, IndexAction action) throws IOException {
+        try {
+            indexes.forEach(i -> {
+                try {
+                    action.accept(i);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    @FunctionalInterface
+    private interface IndexAction {
+        void accept(int index) throws IOException;
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.batch.sync;
+
+import com.example.batch.support.ImportTable;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * スナップショット同期操作
+ * 取り込み中に書き込んだ自然キーを既読キーテーブルに記録し、
+ * ステップ終了時に既読キーとの反結合で対象テーブルのファイルにない行を一括で無効化・削除する
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SnapshotSyncOperations {
+    
+    private static final String SEEN_KEY_TABLE = "import_seen_key";
+    
+    private final JdbcTemplate jdbcTemplate;
+    
+    /**
+     * 既読キーを記録
+     * チャンクと同じトランザクションで記録されるため、再実行時もコミット済みチャンクのキーだけが残る
+     * 
+     * @param table 取り込み対象テーブル
+     * @param jobInstanceId ジョブインスタンスID
+     * @param keys 自然キーリスト
+     */
+    public void recordKeys(ImportTable table, long jobInstanceId, List<String> keys) {
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO " + SEEN_KEY_TABLE + " (job_instance_id, table_name, natural_key) VALUES (?, ?, ?)",
+                keys, keys.size(), (ps, key) -> {
+                    ps.setLong(1, jobInstanceId);
+                    ps.setString(2, table.getTableName());
+                    ps.setString(3, key);
+                });
+    }
+    
+    /**
+     * 既読キーの件数を取得
+     * 
+     * @param table 取り込み対象テーブル
+     * @param jobInstanceId ジョブインスタンスID
+     * @return 既読キーの件数
+     */
+    public long countKeys(ImportTable table, long jobInstanceId) {
+        Long count = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM " + SEEN_KEY_TABLE + " WHERE job_instance_id = ? AND table_name = ?",
+                Long.class, jobInstanceId, table.getTableName());
+        return count != null ? count : 0L;
+    }
+    
+    /**
+     * 既読キーにない行を無効化・削除
+     * 無効化した行は内容ハッシュをクリアし、次回ファイルに再登場したときに必ず更新されるようにする
+     * 
+     * @param table 取り込み対象テーブル
+     * @param jobInstanceId ジョブインスタンスID
+     * @param action ファイルにない行に対する処理
+     * @return 無効化・削除件数
+     */
+    public int applyMissing(ImportTable table, long jobInstanceId, SyncAction action) {
+        String notSeen = "NOT EXISTS (SELECT 1 FROM " + SEEN_KEY_TABLE + " k"
+                + " WHERE k.job_instance_id = ? AND k.table_name = ?"
+                + " AND k.natural_key = " + table.getTableName() + "." + table.getKeyColumn() + ")";
+        
+        String sql;
+        if (action == SyncAction.DELETE) {
+            sql = "DELETE FROM " + table.getTableName() + " WHERE " + notSeen;
+        } else {
+            if (table.getActiveColumn() == null) {
+                throw new IllegalArgumentException("Table does not support deactivation: " + table.getTableName());
+            }
+            String hashClear = table.getColumns().contains("content_hash") ? ", content_hash = NULL" : "";
+            sql = "UPDATE " + table.getTableName()
+                    + " SET " + table.getActiveColumn() + " = " + table.getInactiveValue()
+                    + hashClear + ", updated_at = CURRENT_TIMESTAMP"
+                    + " WHERE " + table.getActiveColumn() + " IS DISTINCT FROM " + table.getInactiveValue()
+                    + " AND " + notSeen;
+        }
+        
+        int affected = jdbcTemplate.update(sql, jobInstanceId, table.getTableName());
+        log.info("Snapshot sync ({}) affected {} rows in {}", action, affected, table.getTableName());
+        return affected;
+    }
+    
+    /**
+     * ジョブインスタンスの既読キーを削除
+     * 
+     * @param table 取り込み対象テーブル
+     * @param jobInstanceId ジョブインスタンスID
+     * @return 削除件数
+     */
+    public int clear(ImportTable table, long jobInstanceId) {
+        return jdbcTemplate.update(
+                "DELETE FROM " + SEEN_KEY_TABLE + " WHERE job_instance_id = ? AND table_name = ?",
+                jobInstanceId, table.getTableName());
+    }
+}
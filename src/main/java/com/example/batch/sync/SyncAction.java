@@ -0,0 +1,32 @@
+package com.example.batch.sync;
+
+import java.util.Locale;
+
+/**
+ * スナップショット同期でファイルにない行に対する処理
+ */
+public enum SyncAction {
+    
+    /** 無効化する（従業員: status=INACTIVE / 商品: is_active=FALSE） */
+    DEACTIVATE,
+    
+    /** 削除する */
+    DELETE;
+    
+    /**
+     * 設定値から処理を取得
+     * 
+     * @param value 設定値（大文字小文字は区別しない）
+     * @return 処理
+     */
+    public static SyncAction of(String value) {
+        if (value == null || value.isBlank()) {
+            return DEACTIVATE;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown sync action: " + value, e);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.batch.sync;
+
+import java.util.Locale;
+
+/**
+ * CSV→DBジョブの同期方式
+ */
+public enum SyncMode {
+    
+    /** ファイルに含まれる行の登録・更新のみ行う */
+    NONE,
+    
+    /** ファイルを全件スナップショットとみなし、ファイルにない行を無効化または削除する */
+    SNAPSHOT;
+    
+    /**
+     * 設定値から同期方式を取得
+     * 
+     * @param value 設定値（大文字小文字は区別しない）
+     * @return 同期方式
+     */
+    public static SyncMode of(String value) {
+        if (value == null || value.isBlank()) {
+            return NONE;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown sync mode: " + value, e);
+        }
+    }
+}
@@ -1,34 +1,86 @@
 package com.example.batch.tasklet;
 
+import com.example.batch.csv.CompressedInputs;
+import com.example.batch.csv.FieldSetCsvIterator;
+import com.example.batch.csv.PositionalFieldSetMapper;
 import com.example.batch.dto.CsvEmployee;
 import com.example.batch.dto.CsvProduct;
 import com.example.batch.dto.CsvSales;
 import com.example.batch.entity.Employee;
 import com.example.batch.entity.Product;
 import com.example.batch.entity.Sales;
+import com.example.batch.index.NaturalKeyIndex;
 import com.example.batch.mapper.EmployeeMapper;
 import com.example.batch.mapper.ProductMapper;
 import com.example.batch.mapper.SalesMapper;
-import com.opencsv.bean.CsvToBean;
-import com.opencsv.bean.CsvToBeanBuilder;
+import com.example.batch.writer.WriterMode;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.session.SqlSession;
+import org.mybatis.spring.SqlSessionTemplate;
+import org.springframework.batch.core.ExitStatus;
 import org.springframework.batch.core.StepContribution;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.StepExecutionListener;
 import org.springframework.batch.core.scope.context.ChunkContext;
 import org.springframework.batch.core.step.tasklet.Tasklet;
+import org.springframework.batch.item.ExecutionContext;
 import org.springframework.batch.repeat.RepeatStatus;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
-import java.io.FileReader;
+import java.io.IOException;
 import java.io.Reader;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * CSV→DBタスクレット基底クラス
- * タスクレットモデルを使用してCSVファイルを一括読み込みしてDBに登録
+ * タスクレットモデルを使用してCSVファイルを読み込んでDBに登録
+ * 
+ * <p>実行モードはジョブパラメータ{@code tasklet.mode}（未指定時は{@code app.batch.tasklet.mode}）で切り替える。</p>
+ * <ul>
+ *   <li>standard: ファイル全件を読み込み、1トランザクションで1件ずつ登録（従来方式）</li>
+ *   <li>streaming: イテレータで逐次読み込み、commit-interval件ごとにBATCH実行モードで登録してコミット</li>
+ * </ul>
+ * 
+ * <p>CSVはCsvParserで読み込み、ヘッダー行の列名で列位置指定のフィールドセットマッパーに並べ替えてDTOに変換する
+ * （FieldSetCsvIterator、リフレクションを使用しない）。</p>
+ * 
+ * <p>入力ファイルが圧縮ファイル（.gz・.zip）の場合は展開せずに読み込み、伸長は別スレッドで行う。</p>
  */
 @Slf4j
-public abstract class CsvToDbTasklet<T, E> implements Tasklet {
+public abstract class CsvToDbTasklet<T, E> implements Tasklet, StepExecutionListener {
+    
+    /** ストリーミングモードの処理済みレコード数（再起動位置）を保存するキー */
+    private static final String POSITION_KEY = "csv.tasklet.position";
+    
+    private static final String MODE_STREAMING = "streaming";
+    
+    @Autowired
+    @Qualifier("batchSqlSessionTemplate")
+    private SqlSessionTemplate batchSqlSessionTemplate;
+    
+    @Value("${app.batch.tasklet.mode:standard}")
+    private String defaultMode;
+    
+    @Value("${app.batch.tasklet.commit-interval:1000}")
+    private int commitInterval;
+    
+    @Value("${app.batch.writer.mode:merge}")
+    private String writerMode;
+    
+    /** ステップ実行ごとのストリーミング状態（ステップ実行ID→状態） */
+    private final Map<Long, StreamingState<T>> streamingStates = new ConcurrentHashMap<>();
     
     /**
      * CSVファイルを読み込んでエンティティに変換し、DBに登録
@@ -47,16 +99,18 @@ public abstract class CsvToDbTasklet<T, E> implements Tasklet {
             throw new IllegalArgumentException("input.file.path parameter is required");
         }
         
+        String mode = (String) chunkContext.getStepContext()
+                .getJobParameters().getOrDefault("tasklet.mode", defaultMode);
+        if (MODE_STREAMING.equalsIgnoreCase(mode)) {
+            return executeStreaming(contribution, chunkContext, filePath);
+        }
+        
         log.info("Starting CSV import from: {}", filePath);
         
-        try (Reader reader = new FileReader(filePath)) {
+        try (Reader reader = CompressedInputs.newReader(Path.of(filePath), Charset.defaultCharset())) {
             // CSVファイルを読み込み
-            CsvToBean<T> csvToBean = new CsvToBeanBuilder<T>(reader)
-                    .withType(getCsvType())
-                    .withIgnoreLeadingWhiteSpace(true)
-                    .build();
-            
-            List<T> csvRecords = csvToBean.parse();
+            List<T> csvRecords = new ArrayList<>();
+            openRecords(reader).forEachRemaining(csvRecords::add);
             log.info("Read {} records from CSV", csvRecords.size());
             
             int processedCount = 0;
@@ -83,11 +137,211 @@ public abstract class CsvToDbTasklet<T, E> implements Tasklet {
     }
     
     /**
-     * CSV DTOクラスを取得
+     * ストリーミングモードで1バッチ分を処理
+     * commit-interval件を読み込んでBATCH実行モードで登録し、残りがあればCONTINUABLEを返す。
+     * 戻るたびにタスクレットのトランザクションがコミットされ、処理位置がステップの
+     * ExecutionContextに保存されるため、再起動時は最後にコミットした位置から再開する。
+     * 
+     * @param contribution ステップの寄与情報
+     * @param chunkContext チャンクコンテキスト
+     * @param filePath 入力ファイルパス
+     * @return 処理結果
+     * @throws Exception 処理エラー時の例外
+     */
+    private RepeatStatus executeStreaming(StepContribution contribution, ChunkContext chunkContext,
+                                          String filePath) throws Exception {
+        StepExecution stepExecution = chunkContext.getStepContext().getStepExecution();
+        ExecutionContext executionContext = stepExecution.getExecutionContext();
+        
+        StreamingState<T> state = streamingStates.get(stepExecution.getId());
+        if (state == null) {
+            state = openStreaming(filePath, executionContext.getLong(POSITION_KEY, 0L));
+            streamingStates.put(stepExecution.getId(), state);
+        }
+        
+        List<E> batch = new ArrayList<>(commitInterval);
+        int consumed = 0;
+        while (consumed < commitInterval && state.iterator.hasNext()) {
+            T csvRecord = state.iterator.next();
+            consumed++;
+            contribution.incrementReadCount();
+            
+            E entity;
+            try {
+                entity = convertToEntity(csvRecord);
+            } catch (Exception e) {
+                log.error("Error processing record: {}", csvRecord, e);
+                contribution.incrementProcessSkipCount();
+                continue;
+            }
+            
+            if (entity == null) {
+                contribution.incrementFilterCount(1);
+                continue;
+            }
+            batch.add(entity);
+        }
+        
+        // BATCH実行モードでまとめて送信（コミットはタスクレットのトランザクションで行われる）
+        for (E entity : batch) {
+            mergeEntity(batchSqlSessionTemplate, entity);
+        }
+        batchSqlSessionTemplate.flushStatements();
+        contribution.incrementWriteCount(batch.size());
+        
+        state.position += consumed;
+        executionContext.putLong(POSITION_KEY, state.position);
+        log.debug("Committed batch: {} records (position: {})", batch.size(), state.position);
+        
+        if (state.iterator.hasNext()) {
+            return RepeatStatus.CONTINUABLE;
+        }
+        
+        log.info("CSV streaming import completed. Records: {}", state.position);
+        closeStreaming(stepExecution.getId());
+        return RepeatStatus.FINISHED;
+    }
+    
+    /**
+     * ストリーミング用のCSVイテレータを開き、再起動時は処理済み位置まで読み飛ばす
+     * 
+     * @param filePath 入力ファイルパス
+     * @param position 処理済みレコード数
+     * @return ストリーミング状態
+     * @throws IOException ファイル読み込みエラー時の例外
+     */
+    private StreamingState<T> openStreaming(String filePath, long position) throws IOException {
+        log.info("Starting CSV streaming import from: {} (commit interval: {})", filePath, commitInterval);
+        
+        Reader reader = CompressedInputs.newReader(Path.of(filePath), Charset.defaultCharset());
+        StreamingState<T> state = new StreamingState<>(reader, openRecords(reader));
+        while (state.position < position && state.iterator.hasNext()) {
+            state.iterator.next();
+            state.position++;
+        }
+        if (position > 0) {
+            log.info("Resumed CSV streaming import at record {}", state.position);
+        }
+        return state;
+    }
+    
+    /**
+     * CSVレコードのイテレータを開く（ヘッダー行を読み込む）
+     * 
+     * @param reader 入力
+     * @return CSV DTOのイテレータ
+     * @throws IOException ファイル読み込みエラー時の例外
+     */
+    private Iterator<T> openRecords(Reader reader) throws IOException {
+        return new FieldSetCsvIterator<>(reader, getFieldSetMapper());
+    }
+    
+    /**
+     * ストリーミング状態を破棄してファイルを閉じる
+     * 
+     * @param stepExecutionId ステップ実行ID
+     */
+    private void closeStreaming(Long stepExecutionId) {
+        StreamingState<T> state = streamingStates.remove(stepExecutionId);
+        if (state != null) {
+            try {
+                state.reader.close();
+            } catch (IOException e) {
+                log.warn("Failed to close CSV reader: {}", e.getMessage());
+            }
+        }
+    }
+    
+    /**
+     * ステップ終了時に未クローズのストリーミング状態を破棄（失敗・停止時用）
      * 
-     * @return CSV DTOクラス
+     * @param stepExecution ステップ実行情報
+     * @return 終了ステータス
      */
-    protected abstract Class<T> getCsvType();
+    @Override
+    public ExitStatus afterStep(StepExecution stepExecution) {
+        closeStreaming(stepExecution.getId());
+        return stepExecution.getExitStatus();
+    }
+    
+    /**
+     * 既存チェックに自然キー索引を使用するか（app.batch.writer.mode=indexed）
+     * 
+     * @return 索引を使用する場合true
+     */
+    protected boolean useKeyIndex() {
+        return WriterMode.of(writerMode) == WriterMode.INDEXED;
+    }
+    
+    /**
+     * 自然キー索引からIDを取得
+     * 実行中のトランザクションで新規登録したキー（コミット前のため索引には未反映）も参照する
+     * 
+     * @param keyIndex 自然キー索引
+     * @param key 自然キー
+     * @return ID（未登録の場合は{@link NaturalKeyIndex#NO_ID}）
+     */
+    protected long findInKeyIndex(NaturalKeyIndex keyIndex, String key) {
+        Map<String, Long> pending = pendingKeys(keyIndex, false);
+        Long id = pending != null ? pending.get(key) : null;
+        return id != null ? id : keyIndex.get(key);
+    }
+    
+    /**
+     * 新規登録したキーをトランザクションのコミット後に索引へ反映
+     * ロールバックされた場合は反映しないため、登録されなかった行のキーが索引に残ることはない
+     * 
+     * @param keyIndex 自然キー索引
+     * @param key 自然キー
+     * @param id 採番されたID
+     */
+    protected void registerInKeyIndex(NaturalKeyIndex keyIndex, String key, Long id) {
+        Map<String, Long> pending = pendingKeys(keyIndex, true);
+        if (pending == null) {
+            keyIndex.put(key, id);
+            return;
+        }
+        pending.put(key, id);
+    }
+    
+    /**
+     * 実行中のトランザクションで新規登録したキー（トランザクションのリソースとして索引ごとに保持）
+     * 
+     * @param keyIndex 自然キー索引
+     * @param create 未作成の場合に作成するか
+     * @return 新規登録したキー（トランザクション外、または未作成でcreate=falseの場合はnull）
+     */
+    @SuppressWarnings("unchecked")
+    private static Map<String, Long> pendingKeys(NaturalKeyIndex keyIndex, boolean create) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return null;
+        }
+        Map<String, Long> pending = (Map<String, Long>) TransactionSynchronizationManager.getResource(keyIndex);
+        if (pending != null || !create) {
+            return pending;
+        }
+        Map<String, Long> created = new HashMap<>();
+        TransactionSynchronizationManager.bindResource(keyIndex, created);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                created.forEach(keyIndex::put);
+            }
+            
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(keyIndex);
+            }
+        });
+        return created;
+    }
+    
+    /**
+     * CSV DTOのフィールドセットマッパーを取得
+     * 
+     * @return フィールドセットマッパー
+     */
+    protected abstract PositionalFieldSetMapper<T> getFieldSetMapper();
     
     /**
      * CSV DTOをエンティティに変換
@@ -103,5 +357,28 @@ public abstract class CsvToDbTasklet<T, E> implements Tasklet {
      * @param entity エンティティ
      */
     protected abstract void saveEntity(E entity);
+    
+    /**
+     * エンティティをMERGE文でBATCH実行用セッションに登録（ストリーミングモード用）
+     * 
+     * @param batchSession BATCH実行モードのセッション
+     * @param entity エンティティ
+     */
+    protected abstract void mergeEntity(SqlSession batchSession, E entity);
+    
+    /**
+     * ストリーミングモードの読み込み状態
+     */
+    private static final class StreamingState<T> {
+        
+        private final Reader reader;
+        private final Iterator<T> iterator;
+        private long position;
+        
+        private StreamingState(Reader reader, Iterator<T> iterator) {
+            this.reader = reader;
+            this.iterator = iterator;
+        }
+    }
 }
 
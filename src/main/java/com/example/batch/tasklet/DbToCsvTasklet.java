@@ -1,5 +1,6 @@
 package com.example.batch.tasklet;
 
+import com.example.batch.csv.CsvWriter;
 import com.example.batch.dto.CsvEmployee;
 import com.example.batch.dto.CsvProduct;
 import com.example.batch.dto.CsvSales;
@@ -9,9 +10,6 @@ import com.example.batch.entity.Sales;
 import com.example.batch.mapper.EmployeeMapper;
 import com.example.batch.mapper.ProductMapper;
 import com.example.batch.mapper.SalesMapper;
-import com.opencsv.CSVWriter;
-import com.opencsv.bean.StatefulBeanToCsv;
-import com.opencsv.bean.StatefulBeanToCsvBuilder;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.batch.core.StepContribution;
 import org.springframework.batch.core.scope.context.ChunkContext;
@@ -20,8 +18,8 @@ import org.springframework.batch.repeat.RepeatStatus;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import java.io.BufferedWriter;
 import java.io.FileWriter;
-import java.io.Writer;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -65,18 +63,14 @@ public abstract class DbToCsvTasklet<E, T> implements Tasklet {
         }
         
         // CSVファイルに書き込み
-        try (Writer writer = new FileWriter(filePath)) {
+        try (CsvWriter writer = new CsvWriter(new BufferedWriter(new FileWriter(filePath)))) {
             // ヘッダーを書き込み
-            writer.write(getCsvHeader() + "\n");
+            writer.writeRecord((Object[]) getCsvHeader().split(","));
             
-            // データを書き込み
-            StatefulBeanToCsv<T> beanToCsv = new StatefulBeanToCsvBuilder<T>(writer)
-                    .withQuotechar(CSVWriter.NO_QUOTE_CHARACTER)
-                    .withSeparator(',')
-                    .withOrderedResults(true)
-                    .build();
-            
-            beanToCsv.write(csvRecords);
+            // データを書き込み（区切り文字・ダブルクォート・改行を含む項目はダブルクォートで囲む）
+            for (T csvRecord : csvRecords) {
+                writer.writeRecord(toCsvValues(csvRecord));
+            }
             
             log.info("CSV export completed. Exported {} records", csvRecords.size());
         }
@@ -99,6 +93,14 @@ public abstract class DbToCsvTasklet<E, T> implements Tasklet {
      */
     protected abstract T convertToCsvDto(E entity);
     
+    /**
+     * CSV DTOの項目の値を列の順に取得
+     * 
+     * @param csvRecord CSV DTO
+     * @return 項目の値（日付・日時・10進数はCsvValuesで書式化される）
+     */
+    protected abstract Object[] toCsvValues(T csvRecord);
+    
     /**
      * CSVヘッダーを取得
      * 
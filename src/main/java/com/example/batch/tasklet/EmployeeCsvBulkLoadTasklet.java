@@ -0,0 +1,30 @@
+package com.example.batch.tasklet;
+
+import com.example.batch.mapper.EmployeeMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * 従業員CSV一括ロードタスクレット
+ */
+@Component
+public class EmployeeCsvBulkLoadTasklet extends CsvBulkLoadTasklet {
+    
+    @Autowired
+    private EmployeeMapper employeeMapper;
+    
+    @Override
+    protected long countCsvRows(String filePath) {
+        return employeeMapper.countCsvRows(filePath);
+    }
+    
+    @Override
+    protected long countRejectedCsvRows(String filePath) {
+        return employeeMapper.countRejectedCsvRows(filePath);
+    }
+    
+    @Override
+    protected int mergeFromCsv(String filePath) {
+        return employeeMapper.bulkMergeFromCsv(filePath);
+    }
+}
@@ -1,10 +1,16 @@
 package com.example.batch.tasklet;
 
+import com.example.batch.csv.CsvEmployeeFieldSetMapper;
+import com.example.batch.csv.PositionalFieldSetMapper;
 import com.example.batch.dto.CsvEmployee;
 import com.example.batch.entity.Employee;
+import com.example.batch.index.NaturalKeyIndex;
 import com.example.batch.mapper.EmployeeMapper;
+import com.example.batch.support.ContentHash;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.session.SqlSession;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Component;
 
 /**
@@ -14,12 +20,18 @@ import org.springframework.stereotype.Component;
 @Component
 public class EmployeeCsvToDbTasklet extends CsvToDbTasklet<CsvEmployee, Employee> {
     
+    private static final CsvEmployeeFieldSetMapper FIELD_SET_MAPPER = new CsvEmployeeFieldSetMapper();
+    
     @Autowired
     private EmployeeMapper employeeMapper;
     
+    @Autowired
+    @Qualifier("employeeKeyIndex")
+    private NaturalKeyIndex employeeKeyIndex;
+    
     @Override
-    protected Class<CsvEmployee> getCsvType() {
-        return CsvEmployee.class;
+    protected PositionalFieldSetMapper<CsvEmployee> getFieldSetMapper() {
+        return FIELD_SET_MAPPER;
     }
     
     @Override
@@ -29,7 +41,7 @@ public class EmployeeCsvToDbTasklet extends CsvToDbTasklet<CsvEmployee, Employee
             return null;
         }
         
-        return Employee.builder()
+        Employee employee = Employee.builder()
                 .employeeCode(csvEmployee.getEmployeeCode())
                 .firstName(csvEmployee.getFirstName())
                 .lastName(csvEmployee.getLastName())
@@ -40,10 +52,17 @@ public class EmployeeCsvToDbTasklet extends CsvToDbTasklet<CsvEmployee, Employee
                 .hireDate(csvEmployee.getHireDate())
                 .status(csvEmployee.getStatus() != null ? csvEmployee.getStatus() : "ACTIVE")
                 .build();
+        employee.setContentHash(ContentHash.of(employee));
+        return employee;
     }
     
     @Override
     protected void saveEntity(Employee employee) {
+        if (useKeyIndex()) {
+            saveEntityWithKeyIndex(employee);
+            return;
+        }
+        
         Employee existing = employeeMapper.selectByEmployeeCode(employee.getEmployeeCode());
         if (existing != null) {
             employee.setId(existing.getId());
@@ -54,4 +73,27 @@ public class EmployeeCsvToDbTasklet extends CsvToDbTasklet<CsvEmployee, Employee
             log.debug("Inserted employee: {}", employee.getEmployeeCode());
         }
     }
+    
+    /**
+     * 自然キー索引で既存判定して登録・更新（新規登録したキーはコミット後に索引へ反映）
+     * 
+     * @param employee 従業員エンティティ
+     */
+    private void saveEntityWithKeyIndex(Employee employee) {
+        long id = findInKeyIndex(employeeKeyIndex, employee.getEmployeeCode());
+        if (id != NaturalKeyIndex.NO_ID) {
+            employee.setId(id);
+            employeeMapper.update(employee);
+            log.debug("Updated employee: {}", employee.getEmployeeCode());
+        } else {
+            employeeMapper.insert(employee);
+            registerInKeyIndex(employeeKeyIndex, employee.getEmployeeCode(), employee.getId());
+            log.debug("Inserted employee: {}", employee.getEmployeeCode());
+        }
+    }
+    
+    @Override
+    protected void mergeEntity(SqlSession batchSession, Employee employee) {
+        batchSession.getMapper(EmployeeMapper.class).merge(employee);
+    }
 }
\ No newline at end of file
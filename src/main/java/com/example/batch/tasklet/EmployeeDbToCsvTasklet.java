@@ -41,6 +41,15 @@ public class EmployeeDbToCsvTasklet extends DbToCsvTasklet<Employee, CsvEmployee
                 .build();
     }
     
+    @Override
+    protected Object[] toCsvValues(CsvEmployee csvEmployee) {
+        return new Object[]{
+                csvEmployee.getEmployeeCode(), csvEmployee.getFirstName(), csvEmployee.getLastName(),
+                csvEmployee.getEmail(), csvEmployee.getDepartment(), csvEmployee.getPosition(),
+                csvEmployee.getSalary(), csvEmployee.getHireDate(), csvEmployee.getStatus()
+        };
+    }
+    
     @Override
     protected String getCsvHeader() {
         return "employee_code,first_name,last_name,email,department,position,salary,hire_date,status";
@@ -0,0 +1,133 @@
+package com.example.batch.tasklet;
+
+import com.example.batch.csv.CompressedInputs;
+import com.example.batch.incremental.AppendOnlyFiles;
+import com.example.batch.incremental.IngestionOffset;
+import com.example.batch.incremental.IngestionOffsetOperations;
+import com.example.batch.support.ImportTable;
+import com.example.batch.support.InputFiles;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.JobParameters;
+import org.springframework.batch.core.StepContribution;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.step.tasklet.Tasklet;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.repeat.RepeatStatus;
+
+import java.nio.file.Path;
+
+/**
+ * 増分取り込み範囲タスクレット
+ * input.incremental=trueの場合に、前回の取り込み状態から今回読み込むバイト範囲を決め、
+ * ジョブ実行コンテキストの「incremental.start-offset」「incremental.end-offset」に設定する
+ * 後続のCSVリーダーは、この範囲が設定されていればファイル全体の代わりにその範囲だけを読み込む
+ * 
+ * 取り込み完了後に保存する状態（次回の開始位置とファイルの識別情報）も合わせて設定し、保存は取り込み後のステップで行う
+ * 入力のソート・複数ファイル・圧縮ファイルとは併用できない
+ */
+@Slf4j
+public class IncrementalRangeTasklet implements Tasklet {
+    
+    /** 読み込み範囲の先頭位置を保持するジョブ実行コンテキストのキー */
+    public static final String START_OFFSET_KEY = "incremental.start-offset";
+    
+    /** 読み込み範囲の末尾位置を保持するジョブ実行コンテキストのキー */
+    public static final String END_OFFSET_KEY = "incremental.end-offset";
+    
+    private static final String SOURCE_PATH_KEY = "incremental.source-path";
+    private static final String FILE_KEY_KEY = "incremental.file-key";
+    private static final String HEAD_LENGTH_KEY = "incremental.head-length";
+    private static final String HEAD_CHECKSUM_KEY = "incremental.head-checksum";
+    
+    private final ImportTable table;
+    private final IngestionOffsetOperations offsetOperations;
+    private final boolean incrementalByDefault;
+    private final int headBytes;
+    
+    /**
+     * コンストラクタ
+     * 
+     * @param table 取り込み対象テーブル
+     * @param offsetOperations 取り込み状態の操作
+     * @param incrementalByDefault ジョブパラメータinput.incrementalが未指定の場合に増分取り込みとするか
+     * @param headBytes ファイルの同一性確認に使用する先頭のバイト数
+     */
+    public IncrementalRangeTasklet(ImportTable table, IngestionOffsetOperations offsetOperations,
+                                   boolean incrementalByDefault, int headBytes) {
+        this.table = table;
+        this.offsetOperations = offsetOperations;
+        this.incrementalByDefault = incrementalByDefault;
+        this.headBytes = headBytes;
+    }
+    
+    @Override
+    public RepeatStatus execute(StepContribution contribution, ChunkContext chunkContext) throws Exception {
+        StepExecution stepExecution = chunkContext.getStepContext().getStepExecution();
+        JobParameters jobParameters = stepExecution.getJobParameters();
+        if (!Boolean.parseBoolean(jobParameters.getString("input.incremental", Boolean.toString(incrementalByDefault)))) {
+            return RepeatStatus.FINISHED;
+        }
+        
+        String filePath = jobParameters.getString("input.file.path");
+        if (filePath == null || filePath.isEmpty()) {
+            throw new IllegalArgumentException("input.file.path parameter is required");
+        }
+        if (InputFiles.isMultiFile(filePath) || CompressedInputs.isCompressed(filePath)) {
+            throw new IllegalArgumentException("Incremental ingestion requires a single uncompressed file: " + filePath);
+        }
+        if (jobParameters.getString("sort.column") != null || Boolean.parseBoolean(jobParameters.getString("input.sort"))) {
+            throw new IllegalArgumentException("Incremental ingestion cannot be combined with input sorting");
+        }
+        
+        Path file = Path.of(filePath);
+        String sourcePath = file.toAbsolutePath().normalize().toString();
+        IngestionOffset previous = offsetOperations.find(table, sourcePath);
+        AppendOnlyFiles.Range range = AppendOnlyFiles.plan(file, previous, headBytes);
+        if (previous != null && range.isFullRead()) {
+            log.warn("Reading {} from the beginning: {}", sourcePath, range.reason());
+        }
+        log.info("Incremental range of {}: [{}, {}) ({})", sourcePath, range.start(), range.end(), range.reason());
+        
+        ExecutionContext jobContext = stepExecution.getJobExecution().getExecutionContext();
+        jobContext.putLong(START_OFFSET_KEY, range.start());
+        jobContext.putLong(END_OFFSET_KEY, range.end());
+        jobContext.putString(SOURCE_PATH_KEY, sourcePath);
+        IngestionOffset next = range.next();
+        if (next.fileKey() != null) {
+            jobContext.putString(FILE_KEY_KEY, next.fileKey());
+        }
+        jobContext.putInt(HEAD_LENGTH_KEY, next.headLength());
+        jobContext.putString(HEAD_CHECKSUM_KEY, next.headChecksum());
+        return RepeatStatus.FINISHED;
+    }
+    
+    /**
+     * 増分取り込み中か（読み込み範囲が設定されているか）
+     * 
+     * @param jobContext ジョブ実行コンテキスト
+     * @return 増分取り込みの場合true
+     */
+    public static boolean isIncremental(ExecutionContext jobContext) {
+        return jobContext.containsKey(END_OFFSET_KEY);
+    }
+    
+    /**
+     * 取り込み完了後に保存する状態を保存
+     * 
+     * @param jobContext ジョブ実行コンテキスト
+     * @param table 取り込み対象テーブル
+     * @param offsetOperations 取り込み状態の操作
+     * @return 保存した場合true（増分取り込みでない場合false）
+     */
+    public static boolean commit(ExecutionContext jobContext, ImportTable table, IngestionOffsetOperations offsetOperations) {
+        if (!isIncremental(jobContext)) {
+            return false;
+        }
+        IngestionOffset next = new IngestionOffset(jobContext.getString(FILE_KEY_KEY, null),
+                jobContext.getLong(END_OFFSET_KEY), jobContext.getInt(HEAD_LENGTH_KEY),
+                jobContext.getString(HEAD_CHECKSUM_KEY));
+        offsetOperations.save(table, jobContext.getString(SOURCE_PATH_KEY), next);
+        return true;
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.batch.tasklet;
+
+import com.example.batch.support.InputFiles;
+import com.example.batch.support.InputProfile;
+import com.example.batch.support.InputProfiler;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.JobParameters;
+import org.springframework.batch.core.StepContribution;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.step.tasklet.Tasklet;
+import org.springframework.batch.repeat.RepeatStatus;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * 入力プロファイルタスクレット
+ * 取り込み前に入力ファイルを走査し、バイト数・推定件数・平均レコード長をジョブ実行コンテキストへ保存する
+ * 後続のデシジョン（LoadModeDecider・JobFlowDecider）とチャンクサイズの決定は、この値を使って処理方式を選ぶ
+ *
+ * 入力ファイルはソート済みファイル（sorted.file.path）、ジョブパラメータinput.file.path、inputFileの順に参照する
+ * 入力ファイルが存在しない場合は何もしない（ファイルの検証は各ジョブのバリデーターで行う）
+ */
+@Slf4j
+public class InputProfileTasklet implements Tasklet {
+
+    private final InputProfiler profiler;
+
+    public InputProfileTasklet(InputProfiler profiler) {
+        this.profiler = profiler;
+    }
+
+    @Override
+    public RepeatStatus execute(StepContribution contribution, ChunkContext chunkContext) throws Exception {
+        StepExecution stepExecution = chunkContext.getStepContext().getStepExecution();
+        JobParameters jobParameters = stepExecution.getJobParameters();
+
+        String filePath = stepExecution.getJobExecution().getExecutionContext()
+                .getString(CsvSortTasklet.SORTED_FILE_PATH_KEY, null);
+        if (filePath == null) {
+            filePath = jobParameters.getString("input.file.path", jobParameters.getString("inputFile"));
+        }
+        if (filePath == null || filePath.isEmpty()) {
+            log.info("No input file to profile");
+            return RepeatStatus.FINISHED;
+        }
+
+        List<Path> files = InputFiles.isMultiFile(filePath)
+                ? InputFiles.resolve(filePath)
+                : Files.isRegularFile(Path.of(filePath)) ? List.of(Path.of(filePath)) : List.of();
+        if (files.isEmpty()) {
+            log.info("Input file not found, skipping profile: {}", filePath);
+            return RepeatStatus.FINISHED;
+        }
+
+        long start = System.nanoTime();
+        InputProfile profile = profiler.profile(files);
+        profile.writeTo(stepExecution.getJobExecution().getExecutionContext());
+        log.info("Input profile of {}: {} ({} ms)", filePath, profile, (System.nanoTime() - start) / 1_000_000);
+        return RepeatStatus.FINISHED;
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.batch.tasklet;
+
+import com.example.batch.mapper.ProductMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * 商品CSV一括ロードタスクレット
+ */
+@Component
+public class ProductCsvBulkLoadTasklet extends CsvBulkLoadTasklet {
+    
+    @Autowired
+    private ProductMapper productMapper;
+    
+    @Override
+    protected long countCsvRows(String filePath) {
+        return productMapper.countCsvRows(filePath);
+    }
+    
+    @Override
+    protected long countRejectedCsvRows(String filePath) {
+        return productMapper.countRejectedCsvRows(filePath);
+    }
+    
+    @Override
+    protected int mergeFromCsv(String filePath) {
+        return productMapper.bulkMergeFromCsv(filePath);
+    }
+}
@@ -1,10 +1,16 @@
 package com.example.batch.tasklet;
 
+import com.example.batch.csv.CsvProductFieldSetMapper;
+import com.example.batch.csv.PositionalFieldSetMapper;
 import com.example.batch.dto.CsvProduct;
 import com.example.batch.entity.Product;
+import com.example.batch.index.NaturalKeyIndex;
 import com.example.batch.mapper.ProductMapper;
+import com.example.batch.support.ContentHash;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.session.SqlSession;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Component;
 
 /**
@@ -14,12 +20,18 @@ import org.springframework.stereotype.Component;
 @Component
 public class ProductCsvToDbTasklet extends CsvToDbTasklet<CsvProduct, Product> {
     
+    private static final CsvProductFieldSetMapper FIELD_SET_MAPPER = new CsvProductFieldSetMapper();
+    
     @Autowired
     private ProductMapper productMapper;
     
+    @Autowired
+    @Qualifier("productKeyIndex")
+    private NaturalKeyIndex productKeyIndex;
+    
     @Override
-    protected Class<CsvProduct> getCsvType() {
-        return CsvProduct.class;
+    protected PositionalFieldSetMapper<CsvProduct> getFieldSetMapper() {
+        return FIELD_SET_MAPPER;
     }
     
     @Override
@@ -29,7 +41,7 @@ public class ProductCsvToDbTasklet extends CsvToDbTasklet<CsvProduct, Product> {
             return null;
         }
         
-        return Product.builder()
+        Product product = Product.builder()
                 .productCode(csvProduct.getProductCode())
                 .productName(csvProduct.getProductName())
                 .category(csvProduct.getCategory())
@@ -40,10 +52,17 @@ public class ProductCsvToDbTasklet extends CsvToDbTasklet<CsvProduct, Product> {
                 .releaseDate(csvProduct.getReleaseDate())
                 .isActive(csvProduct.getIsActive() != null ? csvProduct.getIsActive() : true)
                 .build();
+        product.setContentHash(ContentHash.of(product));
+        return product;
     }
     
     @Override
     protected void saveEntity(Product product) {
+        if (useKeyIndex()) {
+            saveEntityWithKeyIndex(product);
+            return;
+        }
+        
         Product existing = productMapper.selectByProductCode(product.getProductCode());
         if (existing != null) {
             product.setId(existing.getId());
@@ -54,4 +73,27 @@ public class ProductCsvToDbTasklet extends CsvToDbTasklet<CsvProduct, Product> {
             log.debug("Inserted product: {}", product.getProductCode());
         }
     }
+    
+    /**
+     * 自然キー索引で既存判定して登録・更新（新規登録したキーはコミット後に索引へ反映）
+     * 
+     * @param product 商品エンティティ
+     */
+    private void saveEntityWithKeyIndex(Product product) {
+        long id = findInKeyIndex(productKeyIndex, product.getProductCode());
+        if (id != NaturalKeyIndex.NO_ID) {
+            product.setId(id);
+            productMapper.update(product);
+            log.debug("Updated product: {}", product.getProductCode());
+        } else {
+            productMapper.insert(product);
+            registerInKeyIndex(productKeyIndex, product.getProductCode(), product.getId());
+            log.debug("Inserted product: {}", product.getProductCode());
+        }
+    }
+    
+    @Override
+    protected void mergeEntity(SqlSession batchSession, Product product) {
+        batchSession.getMapper(ProductMapper.class).merge(product);
+    }
 }
\ No newline at end of file
@@ -41,6 +41,15 @@ public class ProductDbToCsvTasklet extends DbToCsvTasklet<Product, CsvProduct> {
                 .build();
     }
     
+    @Override
+    protected Object[] toCsvValues(CsvProduct csvProduct) {
+        return new Object[]{
+                csvProduct.getProductCode(), csvProduct.getProductName(), csvProduct.getCategory(),
+                csvProduct.getPrice(), csvProduct.getStockQuantity(), csvProduct.getDescription(),
+                csvProduct.getManufacturer(), csvProduct.getReleaseDate(), csvProduct.getIsActive()
+        };
+    }
+    
     @Override
     protected String getCsvHeader() {
         return "product_code,product_name,category,price,stock_quantity,description,manufacturer,release_date,is_active";
@@ -0,0 +1,30 @@
+package com.example.batch.tasklet;
+
+import com.example.batch.mapper.SalesMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * 売上CSV一括ロードタスクレット
+ */
+@Component
+public class SalesCsvBulkLoadTasklet extends CsvBulkLoadTasklet {
+    
+    @Autowired
+    private SalesMapper salesMapper;
+    
+    @Override
+    protected long countCsvRows(String filePath) {
+        return salesMapper.countCsvRows(filePath);
+    }
+    
+    @Override
+    protected long countRejectedCsvRows(String filePath) {
+        return salesMapper.countRejectedCsvRows(filePath);
+    }
+    
+    @Override
+    protected int mergeFromCsv(String filePath) {
+        return salesMapper.bulkMergeFromCsv(filePath);
+    }
+}
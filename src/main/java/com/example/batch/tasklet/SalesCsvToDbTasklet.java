@@ -1,10 +1,15 @@
 package com.example.batch.tasklet;
 
+import com.example.batch.csv.CsvSalesFieldSetMapper;
+import com.example.batch.csv.PositionalFieldSetMapper;
 import com.example.batch.dto.CsvSales;
 import com.example.batch.entity.Sales;
+import com.example.batch.index.NaturalKeyIndex;
 import com.example.batch.mapper.SalesMapper;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.session.SqlSession;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Component;
 
 /**
@@ -14,12 +19,18 @@ import org.springframework.stereotype.Component;
 @Component
 public class SalesCsvToDbTasklet extends CsvToDbTasklet<CsvSales, Sales> {
     
+    private static final CsvSalesFieldSetMapper FIELD_SET_MAPPER = new CsvSalesFieldSetMapper();
+    
     @Autowired
     private SalesMapper salesMapper;
     
+    @Autowired
+    @Qualifier("salesKeyIndex")
+    private NaturalKeyIndex salesKeyIndex;
+    
     @Override
-    protected Class<CsvSales> getCsvType() {
-        return CsvSales.class;
+    protected PositionalFieldSetMapper<CsvSales> getFieldSetMapper() {
+        return FIELD_SET_MAPPER;
     }
     
     @Override
@@ -44,6 +55,11 @@ public class SalesCsvToDbTasklet extends CsvToDbTasklet<CsvSales, Sales> {
     
     @Override
     protected void saveEntity(Sales sales) {
+        if (useKeyIndex()) {
+            saveEntityWithKeyIndex(sales);
+            return;
+        }
+        
         Sales existing = salesMapper.selectByTransactionId(sales.getTransactionId());
         if (existing != null) {
             sales.setId(existing.getId());
@@ -54,4 +70,27 @@ public class SalesCsvToDbTasklet extends CsvToDbTasklet<CsvSales, Sales> {
             log.debug("Inserted sales: {}", sales.getTransactionId());
         }
     }
+    
+    /**
+     * 自然キー索引で既存判定して登録・更新（新規登録したキーはコミット後に索引へ反映）
+     * 
+     * @param sales 売上エンティティ
+     */
+    private void saveEntityWithKeyIndex(Sales sales) {
+        long id = findInKeyIndex(salesKeyIndex, sales.getTransactionId());
+        if (id != NaturalKeyIndex.NO_ID) {
+            sales.setId(id);
+            salesMapper.update(sales);
+            log.debug("Updated sales: {}", sales.getTransactionId());
+        } else {
+            salesMapper.insert(sales);
+            registerInKeyIndex(salesKeyIndex, sales.getTransactionId(), sales.getId());
+            log.debug("Inserted sales: {}", sales.getTransactionId());
+        }
+    }
+    
+    @Override
+    protected void mergeEntity(SqlSession batchSession, Sales sales) {
+        batchSession.getMapper(SalesMapper.class).merge(sales);
+    }
 }
\ No newline at end of file
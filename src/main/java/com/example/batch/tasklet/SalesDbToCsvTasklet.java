@@ -41,6 +41,15 @@ public class SalesDbToCsvTasklet extends DbToCsvTasklet<Sales, CsvSales> {
                 .build();
     }
     
+    @Override
+    protected Object[] toCsvValues(CsvSales csvSales) {
+        return new Object[]{
+                csvSales.getTransactionId(), csvSales.getProductCode(), csvSales.getCustomerName(),
+                csvSales.getQuantity(), csvSales.getUnitPrice(), csvSales.getTotalAmount(),
+                csvSales.getSaleDate(), csvSales.getPaymentMethod(), csvSales.getStatus()
+        };
+    }
+    
     @Override
     protected String getCsvHeader() {
         return "transaction_id,product_code,customer_name,quantity,unit_price,total_amount,sale_date,payment_method,status";
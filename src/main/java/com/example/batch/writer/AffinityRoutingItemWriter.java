@@ -0,0 +1,307 @@
+package com.example.batch.writer;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemStreamException;
+import org.springframework.batch.item.ItemStreamWriter;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.Function;
+
+/**
+ * 自然キーアフィニティ振り分けライター
+ * 各アイテムを自然キーのハッシュでN本の書き込みレーンに振り分け、レーンごとに1スレッドで書き込む
+ * 同じキーは常に同じレーンで書き込まれるため、マルチスレッドステップ・パーティションの並列書き込みで
+ * 同一キーの行ロードが競合せず、デッドロックとそのリトライが発生しない
+ *
+ * レーンは複数のチャンクから届いたアイテムをまとめて1回の書き込み・1トランザクション（REQUIRES_NEW）で処理する
+ * write()は自身のアイテムがコミットされるまで待機し、失敗時はその例外を送出する（ステップのリトライ・スキップが適用される）
+ * レーンの書き込みはチャンクのトランザクションとは別にコミットされるため、委譲先はMERGEなど再実行しても結果が変わらないライターに限る
+ *
+ * 1つのインスタンスを複数のステップで共有できる（パーティションの全ワーカーで共有すると、パーティションをまたいで同じキーが同じレーンに集まる）
+ * レーンは最初のopenで開始し、openと同じ回数のcloseで停止する
+ */
+@Slf4j
+public class AffinityRoutingItemWriter<T> implements ItemStreamWriter<T> {
+
+    private final ItemWriter<T> delegate;
+    private final Function<T, String> keyExtractor;
+    private final int laneCount;
+    private final int maxBatchSize;
+    private final TransactionTemplate transactionTemplate;
+
+    private volatile List<Lane<T>> lanes;
+    private int openCount;
+
+    /**
+     * コンストラクタ
+     *
+     * @param delegate 委譲先ライター（冪等な登録・更新であること）
+     * @param keyExtractor 自然キーの取得処理
+     * @param laneCount 書き込みレーン数
+     * @param maxBatchSize レーンが1回の書き込みにまとめる最大件数
+     * @param transactionManager レーンの書き込みに使用するトランザクションマネージャー
+     */
+    public AffinityRoutingItemWriter(ItemWriter<T> delegate, Function<T, String> keyExtractor,
+                                     int laneCount, int maxBatchSize,
+                                     PlatformTransactionManager transactionManager) {
+        if (laneCount < 1) {
+            throw new IllegalArgumentException("laneCount must be positive: " + laneCount);
+        }
+        this.delegate = delegate;
+        this.keyExtractor = keyExtractor;
+        this.laneCount = laneCount;
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * チャンクをレーンごとに振り分けて書き込み、全レーンの完了を待つ
+     *
+     * @param chunk 書き込み対象チャンク
+     * @throws Exception レーンの書き込みで発生した例外
+     */
+    @Override
+    public void write(Chunk<? extends T> chunk) throws Exception {
+        if (chunk.isEmpty()) {
+            return;
+        }
+
+        List<Lane<T>> current = startedLanes();
+        List<List<T>> groups = new ArrayList<>(laneCount);
+        for (int i = 0; i < laneCount; i++) {
+            groups.add(null);
+        }
+        for (T item : chunk) {
+            int lane = laneOf(keyExtractor.apply(item), laneCount);
+            List<T> group = groups.get(lane);
+            if (group == null) {
+                group = new ArrayList<>();
+                groups.set(lane, group);
+            }
+            group.add(item);
+        }
+
+        List<CompletableFuture<Void>> pending = new ArrayList<>();
+        for (int i = 0; i < laneCount; i++) {
+            List<T> group = groups.get(i);
+            if (group != null) {
+                pending.add(current.get(i).submit(group));
+            }
+        }
+
+        Exception failure = null;
+        for (CompletableFuture<Void> future : pending) {
+            try {
+                future.get();
+            } catch (ExecutionException e) {
+                if (failure == null) {
+                    failure = e.getCause() instanceof Exception cause ? cause : e;
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * 自然キーからレーン番号を算出（nullキーはレーン0）
+     *
+     * @param key 自然キー
+     * @param laneCount レーン数
+     * @return レーン番号
+     */
+    static int laneOf(String key, int laneCount) {
+        if (key == null) {
+            return 0;
+        }
+        int h = key.hashCode();
+        h ^= (h >>> 16);
+        return Math.floorMod(h, laneCount);
+    }
+
+    /**
+     * レーンを開始する
+     * 複数のステップ（パーティションのワーカー）で共有できるよう、openの回数を数えて最後のcloseでレーンを停止する
+     */
+    @Override
+    public synchronized void open(ExecutionContext executionContext) throws ItemStreamException {
+        openCount++;
+        startedLanes();
+    }
+
+    @Override
+    public void update(ExecutionContext executionContext) throws ItemStreamException {
+        // レーンは状態を持たない
+    }
+
+    @Override
+    public synchronized void close() throws ItemStreamException {
+        if (openCount > 0 && --openCount > 0) {
+            return;
+        }
+        if (lanes == null) {
+            return;
+        }
+        for (Lane<T> lane : lanes) {
+            lane.shutdown();
+        }
+        lanes = null;
+    }
+
+    private List<Lane<T>> startedLanes() {
+        List<Lane<T>> current = lanes;
+        if (current != null) {
+            return current;
+        }
+        synchronized (this) {
+            if (lanes == null) {
+                List<Lane<T>> created = new ArrayList<>(laneCount);
+                for (int i = 0; i < laneCount; i++) {
+                    Lane<T> lane = new Lane<>(i, this);
+                    lane.start();
+                    created.add(lane);
+                }
+                lanes = List.copyOf(created);
+                log.debug("Started {} writer lanes", laneCount);
+            }
+            return lanes;
+        }
+    }
+
+    /**
+     * 1つのレーンの書き込みをトランザクション内で実行
+     */
+    private void writeInTransaction(List<T> items) {
+        transactionTemplate.executeWithoutResult(status -> {
+            try {
+                delegate.write(new Chunk<>(items));
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new LaneWriteException(e);
+            }
+        });
+    }
+
+    /**
+     * 書き込み依頼（1チャンク分のレーン内アイテムと完了通知）
+     */
+    private record Request<T>(List<T> items, CompletableFuture<Void> done) {
+    }
+
+    /**
+     * 書き込みレーン
+     * キューに溜まった依頼をまとめて書き込み、失敗時は依頼ごとに書き込み直して失敗した依頼にのみ例外を通知する
+     */
+    private static final class Lane<T> extends Thread {
+
+        private static final Request<?> SHUTDOWN = new Request<>(List.of(), new CompletableFuture<>());
+
+        private final BlockingQueue<Request<T>> queue = new LinkedBlockingQueue<>();
+        private final AffinityRoutingItemWriter<T> owner;
+
+        Lane(int index, AffinityRoutingItemWriter<T> owner) {
+            super("writer-lane-" + index);
+            setDaemon(true);
+            this.owner = owner;
+        }
+
+        CompletableFuture<Void> submit(List<T> items) {
+            CompletableFuture<Void> done = new CompletableFuture<>();
+            queue.add(new Request<>(items, done));
+            return done;
+        }
+
+        @SuppressWarnings("unchecked")
+        void shutdown() {
+            queue.add((Request<T>) SHUTDOWN);
+            try {
+                join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        @Override
+        public void run() {
+            List<Request<T>> batch = new ArrayList<>();
+            try {
+                while (true) {
+                    Request<T> first = queue.take();
+                    if (first == SHUTDOWN) {
+                        return;
+                    }
+                    batch.add(first);
+                    int size = first.items().size();
+                    Request<T> next;
+                    while (size < owner.maxBatchSize && (next = queue.peek()) != null && next != SHUTDOWN) {
+                        batch.add(queue.poll());
+                        size += next.items().size();
+                    }
+                    writeBatch(batch, size);
+                    batch.clear();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                for (Request<T> request : batch) {
+                    request.done().cancel(false);
+                }
+                for (Request<T> request : queue) {
+                    request.done().cancel(false);
+                }
+            }
+        }
+
+        private void writeBatch(List<Request<T>> batch, int size) {
+            if (batch.size() > 1) {
+                List<T> combined = new ArrayList<>(size);
+                for (Request<T> request : batch) {
+                    combined.addAll(request.items());
+                }
+                try {
+                    owner.writeInTransaction(combined);
+                    batch.forEach(request -> request.done().complete(null));
+                    return;
+                } catch (RuntimeException e) {
+                    log.debug("Combined lane write failed, retrying per request", e);
+                }
+            }
+            for (Request<T> request : batch) {
+                try {
+                    owner.writeInTransaction(request.items());
+                    request.done().complete(null);
+                } catch (LaneWriteException e) {
+                    request.done().completeExceptionally(e.getCause());
+                } catch (RuntimeException e) {
+                    request.done().completeExceptionally(e);
+                }
+            }
+        }
+    }
+
+    /**
+     * 委譲先のチェック例外をトランザクション境界の外へ運ぶための例外
+     */
+    private static final class LaneWriteException extends RuntimeException {
+
+        private static final long serialVersionUID = 1L;
+
+        LaneWriteException(Exception cause) {
+            super(cause);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.batch.writer;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.beans.factory.annotation.Value;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 追記ライター基底クラス
+ * 既存チェックを行わず、チャンクを複数行INSERT文（VALUES (...), (...)）で登録する
+ * 採番キーは取得しないため、書き込み後のエンティティにIDは設定されない
+ */
+@Slf4j
+public abstract class AppendItemWriter<E> implements ItemWriter<E> {
+    
+    /** 1回のINSERT文で登録する行数 */
+    @Value("${app.batch.writer.rows-per-statement:100}")
+    private int rowsPerStatement;
+    
+    /**
+     * チャンクを複数行INSERT文で登録
+     * 
+     * @param chunk 書き込み対象チャンク
+     * @throws Exception 書き込みエラー時の例外
+     */
+    @Override
+    public void write(Chunk<? extends E> chunk) throws Exception {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        
+        List<E> items = new ArrayList<>(chunk.getItems());
+        int size = Math.max(1, rowsPerStatement);
+        int inserted = 0;
+        for (int from = 0; from < items.size(); from += size) {
+            inserted += insertAll(items.subList(from, Math.min(from + size, items.size())));
+        }
+        log.debug("Inserted {} rows ({} rows per statement)", inserted, size);
+    }
+    
+    public void setRowsPerStatement(int rowsPerStatement) {
+        this.rowsPerStatement = rowsPerStatement;
+    }
+    
+    /**
+     * エンティティリストを1回の複数行INSERT文で登録
+     * 
+     * @param items エンティティリスト
+     * @return 登録件数
+     */
+    protected abstract int insertAll(List<E> items);
+}
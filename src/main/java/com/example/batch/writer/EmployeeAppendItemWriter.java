@@ -0,0 +1,23 @@
+package com.example.batch.writer;
+
+import com.example.batch.entity.Employee;
+import com.example.batch.mapper.EmployeeMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 従業員追記ライター
+ */
+@Component
+public class EmployeeAppendItemWriter extends AppendItemWriter<Employee> {
+    
+    @Autowired
+    private EmployeeMapper employeeMapper;
+    
+    @Override
+    protected int insertAll(List<Employee> items) {
+        return employeeMapper.insertBatch(items);
+    }
+}
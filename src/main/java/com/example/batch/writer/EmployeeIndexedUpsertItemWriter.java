@@ -0,0 +1,57 @@
+package com.example.batch.writer;
+
+import com.example.batch.entity.Employee;
+import com.example.batch.index.NaturalKeyIndex;
+import com.example.batch.mapper.EmployeeMapper;
+import org.apache.ibatis.session.SqlSession;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 従業員索引振り分けライター
+ */
+@Component
+public class EmployeeIndexedUpsertItemWriter extends IndexedUpsertItemWriter<Employee> {
+    
+    @Autowired
+    @Qualifier("employeeKeyIndex")
+    private NaturalKeyIndex employeeKeyIndex;
+    
+    @Override
+    protected NaturalKeyIndex getKeyIndex() {
+        return employeeKeyIndex;
+    }
+    
+    @Override
+    protected void insert(SqlSession batchSession, Employee employee) {
+        batchSession.getMapper(EmployeeMapper.class).insert(employee);
+    }
+    
+    @Override
+    protected void update(SqlSession batchSession, Employee employee) {
+        batchSession.getMapper(EmployeeMapper.class).update(employee);
+    }
+    
+    @Override
+    protected List<Employee> findByNaturalKeys(SqlSession batchSession, List<String> keys) {
+        return batchSession.getMapper(EmployeeMapper.class).selectByEmployeeCodes(keys);
+    }
+    
+    @Override
+    protected String getNaturalKey(Employee employee) {
+        return employee.getEmployeeCode();
+    }
+    
+    @Override
+    protected Long getId(Employee employee) {
+        return employee.getId();
+    }
+    
+    @Override
+    protected void setId(Employee employee, Long id) {
+        employee.setId(id);
+    }
+}
\ No newline at end of file
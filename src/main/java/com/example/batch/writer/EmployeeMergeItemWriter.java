@@ -0,0 +1,43 @@
+package com.example.batch.writer;
+
+import com.example.batch.entity.Employee;
+import com.example.batch.mapper.EmployeeMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 従業員MERGEライター
+ */
+@Component
+public class EmployeeMergeItemWriter extends MergeItemWriter<Employee> {
+    
+    @Autowired
+    private EmployeeMapper employeeMapper;
+    
+    @Override
+    protected int mergeAll(List<Employee> items) {
+        return employeeMapper.mergeBatch(items);
+    }
+    
+    @Override
+    protected List<Employee> findByNaturalKeys(List<String> keys) {
+        return employeeMapper.selectByEmployeeCodes(keys);
+    }
+    
+    @Override
+    protected String getNaturalKey(Employee employee) {
+        return employee.getEmployeeCode();
+    }
+    
+    @Override
+    protected Long getId(Employee employee) {
+        return employee.getId();
+    }
+    
+    @Override
+    protected void setId(Employee employee, Long id) {
+        employee.setId(id);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,206 @@
+package com.example.batch.writer;
+
+import com.example.batch.index.NaturalKeyIndex;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.session.SqlSession;
+import org.mybatis.spring.SqlSessionTemplate;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.StepExecutionListener;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 索引振り分けライター基底クラス
+ * 
+ * <p>ステップ開始時に読み込んだ自然キー索引で登録・更新を判定し、
+ * 既存チェックのSELECTを発行せずにBATCH実行モードのINSERT/UPDATEへ振り分ける。
+ * 新規登録したキーはトランザクションのコミット後に索引へ反映するため、
+ * ロールバックされたチャンクのキーが索引に残ることはない。</p>
+ * 
+ * <p>索引はジョブ内で共有し、新規キーはコミット後に反映するため、並行するワーカーが同じ新規キーを読むと双方がINSERTする。
+ * そのためパーティション・非同期チャンクの取り込みでは使用せず、チャンク単位MERGEのライターに置き換える。</p>
+ */
+@Slf4j
+public abstract class IndexedUpsertItemWriter<E> implements ItemWriter<E>, StepExecutionListener {
+    
+    @Autowired
+    @Qualifier("batchSqlSessionTemplate")
+    private SqlSessionTemplate batchSqlSessionTemplate;
+    
+    /**
+     * ステップ開始時に索引を読み込む（ジョブ内で未読み込みの場合のみ）
+     * 
+     * @param stepExecution ステップ実行情報
+     */
+    @Override
+    public void beforeStep(StepExecution stepExecution) {
+        log.debug("Key index ready: {} keys", getKeyIndex().size());
+    }
+    
+    /**
+     * チャンクを索引で振り分けて登録・更新
+     * 
+     * @param chunk 書き込み対象チャンク
+     * @throws Exception 書き込みエラー時の例外
+     */
+    @Override
+    public void write(Chunk<? extends E> chunk) throws Exception {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        
+        NaturalKeyIndex keyIndex = getKeyIndex();
+        // 同一チャンク内で新規キーが重複した場合は後勝ちで1件にまとめる
+        Map<String, E> inserts = new LinkedHashMap<>();
+        List<E> updates = new ArrayList<>();
+        
+        for (E item : chunk) {
+            String key = getNaturalKey(item);
+            long id = keyIndex.get(key);
+            if (id != NaturalKeyIndex.NO_ID) {
+                setId(item, id);
+                updates.add(item);
+            } else {
+                inserts.put(key, item);
+            }
+        }
+        
+        Map<String, Long> insertedKeys = new HashMap<>();
+        if (!inserts.isEmpty()) {
+            for (E item : inserts.values()) {
+                insert(batchSqlSessionTemplate, item);
+            }
+            batchSqlSessionTemplate.flushStatements();
+            collectInsertedIds(inserts, insertedKeys);
+        }
+        
+        for (E item : updates) {
+            update(batchSqlSessionTemplate, item);
+        }
+        batchSqlSessionTemplate.flushStatements();
+        
+        registerAfterCommit(keyIndex, insertedKeys);
+        log.debug("Indexed upsert: {} inserted, {} updated", inserts.size(), updates.size());
+    }
+    
+    /**
+     * 自然キーリストで登録済みエンティティを検索
+     * 書き込みと同じBATCH実行モードのセッションで検索するため、同じチャンクのトランザクション内で前段のライターから使用できる
+     * （SIMPLE実行モードのMapperで検索すると、MyBatisが同一トランザクション内での実行モードの切り替えを拒否する）
+     * 
+     * @param keys 自然キーリスト
+     * @return エンティティリスト
+     */
+    public List<E> findStored(List<String> keys) {
+        return findByNaturalKeys(batchSqlSessionTemplate, keys);
+    }
+    
+    /**
+     * 新規登録したエンティティのIDを収集
+     * JDBCドライバがバッチの採番キーを返さない場合は自然キーで再取得する
+     */
+    private void collectInsertedIds(Map<String, E> inserts, Map<String, Long> insertedKeys) {
+        List<String> missing = new ArrayList<>();
+        for (Map.Entry<String, E> entry : inserts.entrySet()) {
+            Long id = getId(entry.getValue());
+            if (id != null) {
+                insertedKeys.put(entry.getKey(), id);
+            } else {
+                missing.add(entry.getKey());
+            }
+        }
+        
+        if (!missing.isEmpty()) {
+            for (E stored : findByNaturalKeys(batchSqlSessionTemplate, missing)) {
+                String key = getNaturalKey(stored);
+                insertedKeys.put(key, getId(stored));
+                setId(inserts.get(key), getId(stored));
+            }
+        }
+    }
+    
+    /**
+     * トランザクションのコミット後に新規キーを索引へ反映
+     */
+    private void registerAfterCommit(NaturalKeyIndex keyIndex, Map<String, Long> insertedKeys) {
+        if (insertedKeys.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            insertedKeys.forEach(keyIndex::put);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                insertedKeys.forEach(keyIndex::put);
+            }
+        });
+    }
+    
+    /**
+     * 自然キー索引を取得
+     * 
+     * @return 自然キー索引
+     */
+    protected abstract NaturalKeyIndex getKeyIndex();
+    
+    /**
+     * エンティティをBATCH実行用セッションに登録
+     * 
+     * @param batchSession BATCH実行モードのセッション
+     * @param entity エンティティ
+     */
+    protected abstract void insert(SqlSession batchSession, E entity);
+    
+    /**
+     * エンティティをBATCH実行用セッションで更新
+     * 
+     * @param batchSession BATCH実行モードのセッション
+     * @param entity エンティティ
+     */
+    protected abstract void update(SqlSession batchSession, E entity);
+    
+    /**
+     * 自然キーリストでエンティティを検索
+     * 
+     * @param batchSession BATCH実行モードのセッション
+     * @param keys 自然キーリスト
+     * @return エンティティリスト
+     */
+    protected abstract List<E> findByNaturalKeys(SqlSession batchSession, List<String> keys);
+    
+    /**
+     * エンティティの自然キーを取得
+     * 
+     * @param entity エンティティ
+     * @return 自然キー
+     */
+    protected abstract String getNaturalKey(E entity);
+    
+    /**
+     * エンティティのIDを取得
+     * 
+     * @param entity エンティティ
+     * @return ID
+     */
+    protected abstract Long getId(E entity);
+    
+    /**
+     * エンティティにIDを設定
+     * 
+     * @param entity エンティティ
+     * @param id ID
+     */
+    protected abstract void setId(E entity, Long id);
+}
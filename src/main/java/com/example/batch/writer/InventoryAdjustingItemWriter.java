@@ -0,0 +1,149 @@
+package com.example.batch.writer;
+
+import com.example.batch.entity.Sales;
+import com.example.batch.support.KeyedLongAccumulator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.StepExecutionListener;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * 在庫引当ライター
+ * ジョブパラメータinventory.adjust=trueの場合に、チャンク内の新規取引の数量を商品コードごとに集計し、
+ * 商品ごとに1回のUPDATEで在庫数を減算する（チャンク単位でバッチ実行）
+ * 新規取引は引当済み取引テーブル（inventory_adjustment）への条件付きMERGEで1回だけ引当として確定する
+ * 引当済み・登録済みの取引IDは再取り込みとみなし、在庫を二重に減算しない
+ * 直接取り込み・非同期・パーティション（ワーカーが並行して同じライターを使用する）の各経路で使用し（ステージング経由では在庫を減算しない）、
+ * 同じ取引IDを並行して引き当てた場合は主キー制約で一方のチャンクが失敗する
+ */
+@Slf4j
+public class InventoryAdjustingItemWriter implements ItemWriter<Sales>, StepExecutionListener {
+    
+    /** 引当済みでなく売上にも登録されていない取引だけを引当として登録する（登録件数0は引当対象外） */
+    private static final String CLAIM_SQL =
+            "MERGE INTO inventory_adjustment a"
+            + " USING (VALUES (CAST(? AS VARCHAR(50)), CAST(? AS VARCHAR(50)), CAST(? AS INT)))"
+            + " s (transaction_id, product_code, quantity)"
+            + " ON a.transaction_id = s.transaction_id"
+            + " WHEN NOT MATCHED AND NOT EXISTS (SELECT 1 FROM sales x WHERE x.transaction_id = s.transaction_id)"
+            + " THEN INSERT (transaction_id, product_code, quantity) VALUES (s.transaction_id, s.product_code, s.quantity)";
+    
+    private static final String DECREMENT_SQL =
+            "UPDATE product SET stock_quantity = stock_quantity - ?, updated_at = CURRENT_TIMESTAMP WHERE product_code = ?";
+    
+    private final ItemWriter<Sales> delegate;
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean defaultAdjust;
+    
+    private boolean adjusting;
+    
+    /**
+     * コンストラクタ
+     * 
+     * @param delegate 売上を書き込むライター
+     * @param jdbcTemplate 引当の登録・在庫更新に使用するJdbcTemplate
+     * @param defaultAdjust ジョブパラメータ未指定時に在庫を減算するか
+     */
+    public InventoryAdjustingItemWriter(ItemWriter<Sales> delegate,
+                                        JdbcTemplate jdbcTemplate,
+                                        boolean defaultAdjust) {
+        this.delegate = delegate;
+        this.jdbcTemplate = jdbcTemplate;
+        this.defaultAdjust = defaultAdjust;
+    }
+    
+    @Override
+    public void beforeStep(StepExecution stepExecution) {
+        String value = stepExecution.getJobParameters().getString("inventory.adjust");
+        this.adjusting = value != null ? Boolean.parseBoolean(value) : defaultAdjust;
+        if (delegate instanceof StepExecutionListener listener) {
+            listener.beforeStep(stepExecution);
+        }
+    }
+    
+    @Override
+    public ExitStatus afterStep(StepExecution stepExecution) {
+        if (delegate instanceof StepExecutionListener listener) {
+            return listener.afterStep(stepExecution);
+        }
+        return null;
+    }
+    
+    /**
+     * 売上を書き込み、新規取引分の在庫を減算
+     * 引当の登録・在庫の減算は売上の書き込みと同じトランザクションで行う
+     * 
+     * @param chunk 書き込み対象チャンク
+     * @throws Exception 書き込みエラー時の例外
+     */
+    @Override
+    public void write(Chunk<? extends Sales> chunk) throws Exception {
+        if (!adjusting || chunk.isEmpty()) {
+            delegate.write(chunk);
+            return;
+        }
+        
+        // 売上の書き込み前に引当を登録する（書き込み後は全件が売上に登録済みになるため）
+        // 並行するパーティションとのロック順を揃えるため、取引ID順に登録する
+        List<Sales> candidates = new ArrayList<>(chunk.size());
+        for (Sales sales : chunk) {
+            if (sales.getTransactionId() != null && sales.getProductCode() != null && sales.getQuantity() != null) {
+                candidates.add(sales);
+            }
+        }
+        candidates.sort(Comparator.comparing(Sales::getTransactionId));
+        int[] claimed = jdbcTemplate.batchUpdate(CLAIM_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                Sales sales = candidates.get(i);
+                ps.setString(1, sales.getTransactionId());
+                ps.setString(2, sales.getProductCode());
+                ps.setInt(3, sales.getQuantity());
+            }
+            
+            @Override
+            public int getBatchSize() {
+                return candidates.size();
+            }
+        });
+        
+        KeyedLongAccumulator quantities = new KeyedLongAccumulator(chunk.size());
+        for (int i = 0; i < claimed.length; i++) {
+            // 引当済み・登録済みの取引、チャンク内で重複した取引は登録件数が0になる
+            if (claimed[i] > 0) {
+                Sales sales = candidates.get(i);
+                quantities.add(sales.getProductCode(), sales.getQuantity());
+            }
+        }
+        
+        delegate.write(chunk);
+        
+        if (quantities.isEmpty()) {
+            return;
+        }
+        String[] productCodes = quantities.sortedKeys();
+        jdbcTemplate.batchUpdate(DECREMENT_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                ps.setLong(1, quantities.get(productCodes[i]));
+                ps.setString(2, productCodes[i]);
+            }
+            
+            @Override
+            public int getBatchSize() {
+                return productCodes.length;
+            }
+        });
+        log.debug("Adjusted stock for {} products ({} items)", productCodes.length, chunk.size());
+    }
+}
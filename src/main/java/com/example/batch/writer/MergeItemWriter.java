@@ -0,0 +1,112 @@
+package com.example.batch.writer;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.beans.factory.annotation.Value;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * MERGEライター基底クラス
+ * チャンク全件を1回のMERGE文で登録・更新し、必要に応じて採番IDをエンティティに補完
+ */
+@Slf4j
+public abstract class MergeItemWriter<E> implements ItemWriter<E> {
+    
+    /** MERGE後に採番IDをエンティティへ補完するか */
+    @Value("${app.batch.writer.backfill-ids:false}")
+    private boolean backfillIds;
+    
+    /**
+     * チャンクをMERGE文で一括登録・更新
+     * 
+     * @param chunk 書き込み対象チャンク
+     * @throws Exception 書き込みエラー時の例外
+     */
+    @Override
+    public void write(Chunk<? extends E> chunk) throws Exception {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        
+        List<E> items = new ArrayList<>(chunk.getItems());
+        int merged = mergeAll(items);
+        log.debug("Merged {} rows ({} items)", merged, items.size());
+        
+        if (backfillIds) {
+            backfill(items);
+        }
+    }
+    
+    /**
+     * 自然キーで採番IDを再取得してエンティティに設定
+     * 
+     * @param items 書き込み済みエンティティリスト
+     */
+    private void backfill(List<E> items) {
+        List<String> keys = new ArrayList<>(items.size());
+        for (E item : items) {
+            keys.add(getNaturalKey(item));
+        }
+        
+        Map<String, Long> idByKey = new HashMap<>();
+        for (E stored : findByNaturalKeys(keys)) {
+            idByKey.put(getNaturalKey(stored), getId(stored));
+        }
+        
+        for (E item : items) {
+            Long id = idByKey.get(getNaturalKey(item));
+            if (id != null) {
+                setId(item, id);
+            }
+        }
+    }
+    
+    public void setBackfillIds(boolean backfillIds) {
+        this.backfillIds = backfillIds;
+    }
+    
+    /**
+     * エンティティリストをMERGE文で一括登録・更新
+     * 
+     * @param items エンティティリスト
+     * @return 登録・更新件数
+     */
+    protected abstract int mergeAll(List<E> items);
+    
+    /**
+     * 自然キーリストでエンティティを検索
+     * 
+     * @param keys 自然キーリスト
+     * @return エンティティリスト
+     */
+    protected abstract List<E> findByNaturalKeys(List<String> keys);
+    
+    /**
+     * エンティティの自然キーを取得
+     * 
+     * @param entity エンティティ
+     * @return 自然キー
+     */
+    protected abstract String getNaturalKey(E entity);
+    
+    /**
+     * エンティティのIDを取得
+     * 
+     * @param entity エンティティ
+     * @return ID
+     */
+    protected abstract Long getId(E entity);
+    
+    /**
+     * エンティティにIDを設定
+     * 
+     * @param entity エンティティ
+     * @param id ID
+     */
+    protected abstract void setId(E entity, Long id);
+}
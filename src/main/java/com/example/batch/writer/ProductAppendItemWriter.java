@@ -0,0 +1,23 @@
+package com.example.batch.writer;
+
+import com.example.batch.entity.Product;
+import com.example.batch.mapper.ProductMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 商品追記ライター
+ */
+@Component
+public class ProductAppendItemWriter extends AppendItemWriter<Product> {
+    
+    @Autowired
+    private ProductMapper productMapper;
+    
+    @Override
+    protected int insertAll(List<Product> items) {
+        return productMapper.insertBatch(items);
+    }
+}
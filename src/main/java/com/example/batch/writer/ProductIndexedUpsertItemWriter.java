@@ -0,0 +1,57 @@
+package com.example.batch.writer;
+
+import com.example.batch.entity.Product;
+import com.example.batch.index.NaturalKeyIndex;
+import com.example.batch.mapper.ProductMapper;
+import org.apache.ibatis.session.SqlSession;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 商品索引振り分けライター
+ */
+@Component
+public class ProductIndexedUpsertItemWriter extends IndexedUpsertItemWriter<Product> {
+    
+    @Autowired
+    @Qualifier("productKeyIndex")
+    private NaturalKeyIndex productKeyIndex;
+    
+    @Override
+    protected NaturalKeyIndex getKeyIndex() {
+        return productKeyIndex;
+    }
+    
+    @Override
+    protected void insert(SqlSession batchSession, Product product) {
+        batchSession.getMapper(ProductMapper.class).insert(product);
+    }
+    
+    @Override
+    protected void update(SqlSession batchSession, Product product) {
+        batchSession.getMapper(ProductMapper.class).update(product);
+    }
+    
+    @Override
+    protected List<Product> findByNaturalKeys(SqlSession batchSession, List<String> keys) {
+        return batchSession.getMapper(ProductMapper.class).selectByProductCodes(keys);
+    }
+    
+    @Override
+    protected String getNaturalKey(Product product) {
+        return product.getProductCode();
+    }
+    
+    @Override
+    protected Long getId(Product product) {
+        return product.getId();
+    }
+    
+    @Override
+    protected void setId(Product product, Long id) {
+        product.setId(id);
+    }
+}
\ No newline at end of file
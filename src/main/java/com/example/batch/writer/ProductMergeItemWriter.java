@@ -0,0 +1,43 @@
+package com.example.batch.writer;
+
+import com.example.batch.entity.Product;
+import com.example.batch.mapper.ProductMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 商品MERGEライター
+ */
+@Component
+public class ProductMergeItemWriter extends MergeItemWriter<Product> {
+    
+    @Autowired
+    private ProductMapper productMapper;
+    
+    @Override
+    protected int mergeAll(List<Product> items) {
+        return productMapper.mergeBatch(items);
+    }
+    
+    @Override
+    protected List<Product> findByNaturalKeys(List<String> keys) {
+        return productMapper.selectByProductCodes(keys);
+    }
+    
+    @Override
+    protected String getNaturalKey(Product product) {
+        return product.getProductCode();
+    }
+    
+    @Override
+    protected Long getId(Product product) {
+        return product.getId();
+    }
+    
+    @Override
+    protected void setId(Product product, Long id) {
+        product.setId(id);
+    }
+}
\ No newline at end of file
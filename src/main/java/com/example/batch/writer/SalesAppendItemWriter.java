@@ -0,0 +1,23 @@
+package com.example.batch.writer;
+
+import com.example.batch.entity.Sales;
+import com.example.batch.mapper.SalesMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 売上追記ライター
+ */
+@Component
+public class SalesAppendItemWriter extends AppendItemWriter<Sales> {
+    
+    @Autowired
+    private SalesMapper salesMapper;
+    
+    @Override
+    protected int insertAll(List<Sales> items) {
+        return salesMapper.insertBatch(items);
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.batch.writer;
+
+import com.example.batch.entity.Sales;
+import com.example.batch.index.NaturalKeyIndex;
+import com.example.batch.mapper.SalesMapper;
+import org.apache.ibatis.session.SqlSession;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 売上索引振り分けライター
+ */
+@Component
+public class SalesIndexedUpsertItemWriter extends IndexedUpsertItemWriter<Sales> {
+    
+    @Autowired
+    @Qualifier("salesKeyIndex")
+    private NaturalKeyIndex salesKeyIndex;
+    
+    @Override
+    protected NaturalKeyIndex getKeyIndex() {
+        return salesKeyIndex;
+    }
+    
+    @Override
+    protected void insert(SqlSession batchSession, Sales sales) {
+        batchSession.getMapper(SalesMapper.class).insert(sales);
+    }
+    
+    @Override
+    protected void update(SqlSession batchSession, Sales sales) {
+        batchSession.getMapper(SalesMapper.class).update(sales);
+    }
+    
+    @Override
+    protected List<Sales> findByNaturalKeys(SqlSession batchSession, List<String> keys) {
+        return batchSession.getMapper(SalesMapper.class).selectByTransactionIds(keys);
+    }
+    
+    @Override
+    protected String getNaturalKey(Sales sales) {
+        return sales.getTransactionId();
+    }
+    
+    @Override
+    protected Long getId(Sales sales) {
+        return sales.getId();
+    }
+    
+    @Override
+    protected void setId(Sales sales, Long id) {
+        sales.setId(id);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,43 @@
+package com.example.batch.writer;
+
+import com.example.batch.entity.Sales;
+import com.example.batch.mapper.SalesMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 売上MERGEライター
+ */
+@Component
+public class SalesMergeItemWriter extends MergeItemWriter<Sales> {
+    
+    @Autowired
+    private SalesMapper salesMapper;
+    
+    @Override
+    protected int mergeAll(List<Sales> items) {
+        return salesMapper.mergeBatch(items);
+    }
+    
+    @Override
+    protected List<Sales> findByNaturalKeys(List<String> keys) {
+        return salesMapper.selectByTransactionIds(keys);
+    }
+    
+    @Override
+    protected String getNaturalKey(Sales sales) {
+        return sales.getTransactionId();
+    }
+    
+    @Override
+    protected Long getId(Sales sales) {
+        return sales.getId();
+    }
+    
+    @Override
+    protected void setId(Sales sales, Long id) {
+        sales.setId(id);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,115 @@
+package com.example.batch.writer;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.StepExecutionListener;
+import org.springframework.batch.core.scope.context.StepContext;
+import org.springframework.batch.core.scope.context.StepSynchronizationManager;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ItemWriter;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * 未変更行スキップライター
+ * 取り込み行の内容ハッシュを登録済みの内容ハッシュと比較し、一致する行は書き込まずに委譲先ライターへ渡さない
+ * スキップした件数はステップ実行コンテキストの「unchanged.count」に記録する
+ * 記録先は書き込み中のスレッドのステップ実行とするため、パーティションのワーカーステップで共有しても件数は混ざらない
+ */
+@Slf4j
+public class UnchangedRowSkippingItemWriter<E> implements ItemWriter<E>, StepExecutionListener {
+    
+    /** スキップ件数を記録するステップ実行コンテキストのキー */
+    public static final String UNCHANGED_COUNT_KEY = "unchanged.count";
+    
+    private final ItemWriter<E> delegate;
+    private final Function<List<String>, List<E>> finder;
+    private final Function<E, String> keyExtractor;
+    private final Function<E, Long> hashExtractor;
+    
+    /**
+     * コンストラクタ
+     * 
+     * @param delegate 変更のある行を書き込むライター
+     * @param finder 自然キーリストで登録済みエンティティを検索する関数
+     * @param keyExtractor 自然キーを取得する関数
+     * @param hashExtractor 内容ハッシュを取得する関数
+     */
+    public UnchangedRowSkippingItemWriter(ItemWriter<E> delegate,
+                                          Function<List<String>, List<E>> finder,
+                                          Function<E, String> keyExtractor,
+                                          Function<E, Long> hashExtractor) {
+        this.delegate = delegate;
+        this.finder = finder;
+        this.keyExtractor = keyExtractor;
+        this.hashExtractor = hashExtractor;
+    }
+    
+    @Override
+    public void beforeStep(StepExecution stepExecution) {
+        if (delegate instanceof StepExecutionListener listener) {
+            listener.beforeStep(stepExecution);
+        }
+    }
+    
+    @Override
+    public ExitStatus afterStep(StepExecution stepExecution) {
+        log.info("Unchanged rows skipped: {}",
+                stepExecution.getExecutionContext().getLong(UNCHANGED_COUNT_KEY, 0L));
+        if (delegate instanceof StepExecutionListener listener) {
+            return listener.afterStep(stepExecution);
+        }
+        return null;
+    }
+    
+    /**
+     * 内容ハッシュが変わった行・新規行のみを委譲先ライターで書き込む
+     * 
+     * @param chunk 書き込み対象チャンク
+     * @throws Exception 書き込みエラー時の例外
+     */
+    @Override
+    public void write(Chunk<? extends E> chunk) throws Exception {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        
+        List<String> keys = new ArrayList<>(chunk.size());
+        for (E item : chunk) {
+            keys.add(keyExtractor.apply(item));
+        }
+        
+        Map<String, Long> storedHashes = new HashMap<>();
+        for (E stored : finder.apply(keys)) {
+            storedHashes.put(keyExtractor.apply(stored), hashExtractor.apply(stored));
+        }
+        
+        List<E> changed = new ArrayList<>(chunk.size());
+        for (E item : chunk) {
+            Long hash = hashExtractor.apply(item);
+            // ハッシュ未計算の行、登録済みハッシュがない行は変更ありとして扱う
+            if (hash == null || !Objects.equals(hash, storedHashes.get(keyExtractor.apply(item)))) {
+                changed.add(item);
+            }
+        }
+        
+        int unchanged = chunk.size() - changed.size();
+        StepContext stepContext = StepSynchronizationManager.getContext();
+        if (unchanged > 0 && stepContext != null) {
+            StepExecution stepExecution = stepContext.getStepExecution();
+            long total = stepExecution.getExecutionContext().getLong(UNCHANGED_COUNT_KEY, 0L);
+            stepExecution.getExecutionContext().putLong(UNCHANGED_COUNT_KEY, total + unchanged);
+        }
+        log.debug("Skipped {} unchanged rows ({} items)", unchanged, chunk.size());
+        
+        if (!changed.isEmpty()) {
+            delegate.write(new Chunk<>(changed));
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.batch.writer;
+
+import java.util.Locale;
+
+/**
+ * CSV→DBチャンクジョブのライター方式
+ */
+public enum WriterMode {
+    
+    /** チャンク単位のMERGE文で一括登録・更新 */
+    MERGE,
+    
+    /** 1件ずつ既存チェックしてから登録・更新（従来方式） */
+    COMPAT,
+    
+    /** 自然キー索引で振り分けてBATCH実行モードで登録・更新 */
+    INDEXED,
+    
+    /** 既存チェックなしで複数行INSERT文により追記（採番キーは取得しない） */
+    APPEND;
+    
+    /**
+     * 設定値からライター方式を取得
+     * 
+     * @param value 設定値（大文字小文字は区別しない）
+     * @return ライター方式
+     */
+    public static WriterMode of(String value) {
+        if (value == null || value.isBlank()) {
+            return MERGE;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown writer mode: " + value, e);
+        }
+    }
+    
+    /**
+     * 並列取り込み（パーティション・非同期チャンク）で使用するライター方式を取得
+     * 索引振り分けは新規キーをコミット後に索引へ反映するため、並行するワーカーが同じ新規キーを読むと双方がINSERTして一意制約違反となる
+     * そのためINDEXEDはチャンク単位のMERGEに置き換える
+     * 
+     * @return ライター方式
+     */
+    public WriterMode forParallelLoad() {
+        return this == INDEXED ? MERGE : this;
+    }
+}
@@ -1,35 +1,41 @@
 package com.example.springbatchdemo.job;
 
+import com.example.batch.csv.CsvLineTokenizer;
+import com.example.batch.csv.CsvValues;
+import com.example.batch.csv.OffsetRestartableItemReader;
 import com.example.springbatchdemo.entity.Employee;
-import com.fasterxml.jackson.databind.MappingIterator;
-import com.fasterxml.jackson.databind.ObjectReader;
-import com.fasterxml.jackson.dataformat.csv.CsvMapper;
-import com.fasterxml.jackson.dataformat.csv.CsvSchema;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import net.sf.jasperreports.engine.*;
 import net.sf.jasperreports.engine.data.JRBeanCollectionDataSource;
 import org.springframework.batch.core.Job;
 import org.springframework.batch.core.Step;
 import org.springframework.batch.core.configuration.annotation.EnableBatchProcessing;
+import org.springframework.batch.core.configuration.annotation.StepScope;
 import org.springframework.batch.core.job.builder.JobBuilder;
 import org.springframework.batch.core.launch.support.RunIdIncrementer;
 import org.springframework.batch.core.repository.JobRepository;
 import org.springframework.batch.core.step.builder.StepBuilder;
+import org.springframework.batch.core.step.tasklet.Tasklet;
 import org.springframework.batch.item.ItemProcessor;
-import org.springframework.batch.item.ItemReader;
-import org.springframework.batch.item.ItemWriter;
+import org.springframework.batch.item.ItemStreamReader;
+import org.springframework.batch.item.database.JdbcBatchItemWriter;
+import org.springframework.batch.item.database.builder.JdbcBatchItemWriterBuilder;
+import org.springframework.batch.item.file.LineMapper;
+import org.springframework.batch.item.file.mapping.DefaultLineMapper;
+import org.springframework.batch.repeat.RepeatStatus;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.io.ClassPathResource;
 import org.springframework.core.io.FileSystemResource;
+import org.springframework.jdbc.core.BeanPropertyRowMapper;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.transaction.PlatformTransactionManager;
 
-import java.io.File;
+import javax.sql.DataSource;
 import java.io.InputStream;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
-import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -44,48 +50,51 @@ public class CsvToJasperReportJobConfig {
     @Autowired
     private PlatformTransactionManager transactionManager;
     
+    @Autowired
+    private DataSource dataSource;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    /**
+     * 社員CSVの行変換（全ステップ実行で共有）
+     * CsvLineTokenizerはスレッドごとに分割用のバッファを持ち、フィールドセットの変換は状態を持たないため、
+     * 1つのインスタンスを複数のリーダー・スレッドから使用できる
+     * 列の並び: employeeId, firstName, lastName, email, department, salary, hireDate
+     */
     @Bean
-    public ItemReader<Employee> csvEmployeeReader() {
-        return new ItemReader<Employee>() {
-            private MappingIterator<Employee> iterator;
-            private boolean initialized = false;
-            
-            @Override
-            public Employee read() throws Exception {
-                if (!initialized) {
-                    initialize();
-                }
-                
-                if (iterator != null && iterator.hasNext()) {
-                    return iterator.next();
-                }
-                return null;
-            }
-            
-            private void initialize() throws Exception {
-                CsvMapper csvMapper = new CsvMapper();
-                csvMapper.registerModule(new JavaTimeModule());
-                
-                CsvSchema schema = CsvSchema.builder()
-                        .addColumn("employeeId")
-                        .addColumn("firstName")
-                        .addColumn("lastName")
-                        .addColumn("email")
-                        .addColumn("department")
-                        .addColumn("salary")
-                        .addColumn("hireDate")
-                        .build()
-                        .withHeader();
-                
-                ObjectReader reader = csvMapper
-                        .readerFor(Employee.class)
-                        .with(schema);
-                
-                File csvFile = new FileSystemResource("input/employees.csv").getFile();
-                iterator = reader.readValues(csvFile);
-                initialized = true;
-            }
-        };
+    public LineMapper<Employee> csvEmployeeLineMapper() {
+        DefaultLineMapper<Employee> lineMapper = new DefaultLineMapper<>();
+        lineMapper.setLineTokenizer(new CsvLineTokenizer(
+                "employeeId", "firstName", "lastName", "email", "department", "salary", "hireDate"));
+        lineMapper.setFieldSetMapper(fieldSet -> Employee.builder()
+                .employeeId(fieldSet.readString(0))
+                .firstName(fieldSet.readString(1))
+                .lastName(fieldSet.readString(2))
+                .email(fieldSet.readString(3))
+                .department(fieldSet.readString(4))
+                .salary(CsvValues.parseDecimal(fieldSet.readString(5)))
+                .hireDate(CsvValues.parseDate(fieldSet.readString(6)))
+                .build());
+        return lineMapper;
+    }
+    
+    /**
+     * 再起動可能な社員CSVリーダー
+     * 入力ファイルはジョブパラメータinput.file.pathで指定し（省略時はinput/employees.csv）、
+     * コミット済みのバイト位置を保存して、再起動時はその位置から読み込みを再開する
+     */
+    @Bean
+    @StepScope
+    public ItemStreamReader<Employee> csvEmployeeReader(
+            @Value("#{jobParameters['input.file.path']}") String inputFilePath) {
+        OffsetRestartableItemReader<Employee> reader = new OffsetRestartableItemReader<>();
+        reader.setName("csvEmployeeReader");
+        reader.setResource(new FileSystemResource(inputFilePath != null ? inputFilePath : "input/employees.csv"));
+        reader.setSaveState(true);
+        reader.setLinesToSkip(1);
+        reader.setLineMapper(csvEmployeeLineMapper());
+        return reader;
     }
     
     @Bean
@@ -97,73 +106,44 @@ public class CsvToJasperReportJobConfig {
         };
     }
     
+    /**
+     * 社員CSVの中間テーブルライター
+     * 読み込んだ行をジョブインスタンスごとに中間テーブルへ登録する
+     * 登録はチャンクのトランザクションでリーダーの読み込み位置と一緒にコミットされるため、
+     * 再起動時はコミット済みの行が中間テーブルに残り、リーダーは続きの行から読み込む
+     */
+    @Bean
+    @StepScope
+    public JdbcBatchItemWriter<Employee> csvJasperReportWriter(
+            @Value("#{stepExecution.jobExecution.jobInstance.instanceId}") Long jobInstanceId) {
+        return new JdbcBatchItemWriterBuilder<Employee>()
+                .dataSource(dataSource)
+                .sql("INSERT INTO jasper_employee_stage (job_instance_id, employee_id, first_name, last_name, "
+                        + "email, department, salary, hire_date) VALUES (" + jobInstanceId + ", :employeeId, "
+                        + ":firstName, :lastName, :email, :department, :salary, :hireDate)")
+                .beanMapped()
+                .build();
+    }
+    
+    /**
+     * レポート出力タスクレット
+     * 中間テーブルに登録した全行（再起動前のステップ実行で登録した行を含む）から、レポートを1回だけ作成し、
+     * 作成後にジョブインスタンスの行を削除する
+     * レポートの作成に失敗した場合はこのステップだけが失敗し、再起動時は中間テーブルの行から作成し直す
+     */
     @Bean
-    public ItemWriter<Employee> csvJasperReportWriter() {
-        return new ItemWriter<Employee>() {
-            private List<Employee> allEmployees = new ArrayList<>();
-            
-            @Override
-            public void write(List<? extends Employee> items) throws Exception {
-                allEmployees.addAll(items);
-                
-                // Generate report after collecting all data
-                if (isLastChunk()) {
-                    generateJasperReport(allEmployees);
-                }
-            }
-            
-            private boolean isLastChunk() {
-                // This is a simplified check - in production you might want a more robust solution
-                return true;
-            }
-            
-            private void generateJasperReport(List<Employee> employees) throws Exception {
-                // Load the Jasper template
-                InputStream reportStream = new ClassPathResource("reports/employee_report.jrxml")
-                        .getInputStream();
-                
-                // Compile the report
-                JasperReport jasperReport = JasperCompileManager.compileReport(reportStream);
-                
-                // Create data source
-                JRBeanCollectionDataSource dataSource = new JRBeanCollectionDataSource(employees);
-                
-                // Set parameters
-                Map<String, Object> parameters = new HashMap<>();
-                parameters.put("ReportTitle", "Employee Report from CSV");
-                parameters.put("GeneratedDate", LocalDateTime.now()
-                        .format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")));
-                
-                // Fill the report
-                JasperPrint jasperPrint = JasperFillManager.fillReport(
-                        jasperReport, parameters, dataSource);
-                
-                // Export to PDF
-                String outputPath = "output/employee_report_csv_" + 
-                        LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss")) + 
-                        ".pdf";
-                JasperExportManager.exportReportToPdfFile(jasperPrint, outputPath);
-                
-                // Also export to other formats if needed
-                // Export to Excel
-                String excelPath = "output/employee_report_csv_" + 
-                        LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss")) + 
-                        ".xlsx";
-                net.sf.jasperreports.export.SimpleXlsxReportConfiguration xlsxConfig = 
-                        new net.sf.jasperreports.export.SimpleXlsxReportConfiguration();
-                xlsxConfig.setOnePagePerSheet(false);
-                xlsxConfig.setRemoveEmptySpaceBetweenRows(true);
-                
-                net.sf.jasperreports.engine.export.ooxml.JRXlsxExporter xlsxExporter = 
-                        new net.sf.jasperreports.engine.export.ooxml.JRXlsxExporter();
-                xlsxExporter.setExporterInput(new net.sf.jasperreports.export.SimpleExporterInput(jasperPrint));
-                xlsxExporter.setExporterOutput(new net.sf.jasperreports.export.SimpleOutputStreamExporterOutput(excelPath));
-                xlsxExporter.setConfiguration(xlsxConfig);
-                xlsxExporter.exportReport();
-                
-                System.out.println("PDF Report generated: " + outputPath);
-                System.out.println("Excel Report generated: " + excelPath);
-            }
+    public Tasklet csvJasperReportTasklet() {
+        return (contribution, chunkContext) -> {
+            long jobInstanceId = chunkContext.getStepContext().getStepExecution()
+                    .getJobExecution().getJobInstance().getInstanceId();
+            List<Employee> employees = jdbcTemplate.query(
+                    "SELECT employee_id, first_name, last_name, email, department, salary, hire_date "
+                            + "FROM jasper_employee_stage WHERE job_instance_id = ? ORDER BY stage_id",
+                    new BeanPropertyRowMapper<>(Employee.class), jobInstanceId);
+            contribution.incrementWriteCount(employees.size());
+            generateJasperReport(employees);
+            jdbcTemplate.update("DELETE FROM jasper_employee_stage WHERE job_instance_id = ?", jobInstanceId);
+            return RepeatStatus.FINISHED;
         };
     }
     
@@ -171,9 +151,16 @@ public class CsvToJasperReportJobConfig {
     public Step csvToJasperReportStep() {
         return new StepBuilder("csvToJasperReportStep", jobRepository)
                 .<Employee, Employee>chunk(100, transactionManager)
-                .reader(csvEmployeeReader())
+                .reader(csvEmployeeReader(null))
                 .processor(csvEmployeeProcessor())
-                .writer(csvJasperReportWriter())
+                .writer(csvJasperReportWriter(null))
+                .build();
+    }
+    
+    @Bean
+    public Step csvJasperReportExportStep() {
+        return new StepBuilder("csvJasperReportExportStep", jobRepository)
+                .tasklet(csvJasperReportTasklet(), transactionManager)
                 .build();
     }
     
@@ -182,7 +169,59 @@ public class CsvToJasperReportJobConfig {
         return new JobBuilder("csvToJasperReportJob", jobRepository)
                 .incrementer(new RunIdIncrementer())
                 .flow(csvToJasperReportStep())
+                .next(csvJasperReportExportStep())
                 .end()
                 .build();
     }
-}
\ No newline at end of file
+    
+    /**
+     * 社員一覧のレポート（PDF・Excel）を出力
+     */
+    private void generateJasperReport(List<Employee> employees) throws Exception {
+        // Load the Jasper template
+        InputStream reportStream = new ClassPathResource("reports/employee_report.jrxml")
+                .getInputStream();
+        
+        // Compile the report
+        JasperReport jasperReport = JasperCompileManager.compileReport(reportStream);
+        
+        // Create data source
+        JRBeanCollectionDataSource dataSource = new JRBeanCollectionDataSource(employees);
+        
+        // Set parameters
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("ReportTitle", "Employee Report from CSV");
+        parameters.put("GeneratedDate", LocalDateTime.now()
+                .format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")));
+        
+        // Fill the report
+        JasperPrint jasperPrint = JasperFillManager.fillReport(
+                jasperReport, parameters, dataSource);
+        
+        // Export to PDF
+        String outputPath = "output/employee_report_csv_" + 
+                LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss")) + 
+                ".pdf";
+        JasperExportManager.exportReportToPdfFile(jasperPrint, outputPath);
+        
+        // Also export to other formats if needed
+        // Export to Excel
+        String excelPath = "output/employee_report_csv_" + 
+                LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss")) + 
+                ".xlsx";
+        net.sf.jasperreports.export.SimpleXlsxReportConfiguration xlsxConfig = 
+                new net.sf.jasperreports.export.SimpleXlsxReportConfiguration();
+        xlsxConfig.setOnePagePerSheet(false);
+        xlsxConfig.setRemoveEmptySpaceBetweenRows(true);
+        
+        net.sf.jasperreports.engine.export.ooxml.JRXlsxExporter xlsxExporter = 
+                new net.sf.jasperreports.engine.export.ooxml.JRXlsxExporter();
+        xlsxExporter.setExporterInput(new net.sf.jasperreports.export.SimpleExporterInput(jasperPrint));
+        xlsxExporter.setExporterOutput(new net.sf.jasperreports.export.SimpleOutputStreamExporterOutput(excelPath));
+        xlsxExporter.setConfiguration(xlsxConfig);
+        xlsxExporter.exportReport();
+        
+        System.out.println("PDF Report generated: " + outputPath);
+        System.out.println("Excel Report generated: " + excelPath);
+    }
+}
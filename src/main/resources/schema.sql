@@ -11,6 +11,7 @@ CREATE TABLE employee (
     salary DECIMAL(10, 2),
     hire_date DATE,
     status VARCHAR(20),
+    content_hash BIGINT,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP
 );
@@ -28,6 +29,7 @@ CREATE TABLE product (
     manufacturer VARCHAR(100),
     release_date DATE,
     is_active BOOLEAN DEFAULT true,
+    content_hash BIGINT,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP
 );
@@ -57,6 +59,118 @@ CREATE INDEX idx_product_category ON product(category);
 CREATE INDEX idx_sales_transaction ON sales(transaction_id);
 CREATE INDEX idx_sales_date ON sales(sale_date);
 
+-- ステージングテーブル（load.mode=staging用）
+-- 取り込み中の行を一時的に保持するため、インデックス・制約は付与しない
+-- job_instance_idで取り込み単位を区別し、stage_idで読み込み順を保持する
+DROP TABLE IF EXISTS employee_stage;
+CREATE TABLE employee_stage (
+    stage_id BIGINT AUTO_INCREMENT,
+    job_instance_id BIGINT,
+    employee_code VARCHAR(20),
+    first_name VARCHAR(100),
+    last_name VARCHAR(100),
+    email VARCHAR(255),
+    department VARCHAR(100),
+    position VARCHAR(100),
+    salary DECIMAL(10, 2),
+    hire_date DATE,
+    status VARCHAR(20),
+    content_hash BIGINT
+);
+
+DROP TABLE IF EXISTS product_stage;
+CREATE TABLE product_stage (
+    stage_id BIGINT AUTO_INCREMENT,
+    job_instance_id BIGINT,
+    product_code VARCHAR(50),
+    product_name VARCHAR(200),
+    category VARCHAR(100),
+    price DECIMAL(10, 2),
+    stock_quantity INT,
+    description TEXT,
+    manufacturer VARCHAR(100),
+    release_date DATE,
+    is_active BOOLEAN,
+    content_hash BIGINT
+);
+
+DROP TABLE IF EXISTS sales_stage;
+CREATE TABLE sales_stage (
+    stage_id BIGINT AUTO_INCREMENT,
+    job_instance_id BIGINT,
+    transaction_id VARCHAR(50),
+    product_code VARCHAR(50),
+    customer_name VARCHAR(200),
+    quantity INT,
+    unit_price DECIMAL(10, 2),
+    total_amount DECIMAL(10, 2),
+    sale_date DATETIME,
+    payment_method VARCHAR(50),
+    status VARCHAR(20)
+);
+
+-- スナップショット同期の既読キーテーブル（sync.mode=snapshot用）
+-- 取り込み中に書き込んだ自然キーをジョブインスタンス単位で記録し、ステップ終了時の差分反映に使用する
+DROP TABLE IF EXISTS import_seen_key;
+CREATE TABLE import_seen_key (
+    job_instance_id BIGINT NOT NULL,
+    table_name VARCHAR(50) NOT NULL,
+    natural_key VARCHAR(50) NOT NULL
+);
+CREATE INDEX idx_import_seen_key ON import_seen_key(job_instance_id, table_name, natural_key);
+
+-- 追記型CSVの増分取り込み状態（input.incremental=true用）
+-- ソースファイル・取り込み対象テーブルごとに、取り込み済みのバイト位置とファイルの識別情報（inode・先頭のチェックサム）を保持する
+DROP TABLE IF EXISTS ingestion_offset;
+CREATE TABLE ingestion_offset (
+    source_path VARCHAR(1000) NOT NULL,
+    table_name VARCHAR(50) NOT NULL,
+    file_key VARCHAR(200),
+    committed_offset BIGINT NOT NULL,
+    head_length INT NOT NULL,
+    head_checksum VARCHAR(16) NOT NULL,
+    updated_at TIMESTAMP NOT NULL,
+    PRIMARY KEY (source_path, table_name)
+);
+
+-- 入力ファイルのブロック単位のフィンガープリント（input.fingerprint=true用）
+-- フィード（論理的な入力）ごとに、前回取り込んだファイルのレコード境界に揃えたブロックの位置とハッシュ値を保持する
+DROP TABLE IF EXISTS input_block_fingerprint;
+CREATE TABLE input_block_fingerprint (
+    feed VARCHAR(200) NOT NULL,
+    block_index INT NOT NULL,
+    start_offset BIGINT NOT NULL,
+    end_offset BIGINT NOT NULL,
+    block_hash VARCHAR(32) NOT NULL,
+    updated_at TIMESTAMP NOT NULL,
+    PRIMARY KEY (feed, block_index)
+);
+
+-- 在庫引当済みの取引（inventory.adjust=true用）
+-- 取引IDを主キーにして引当を1回に限定し、パーティション・ジョブ間で同じ取引の在庫を二重に減算しない
+DROP TABLE IF EXISTS inventory_adjustment;
+CREATE TABLE inventory_adjustment (
+    transaction_id VARCHAR(50) PRIMARY KEY,
+    product_code VARCHAR(50) NOT NULL,
+    quantity INT NOT NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+-- CSV→Jasperレポートジョブの中間テーブル
+-- 読み込んだ行をjob_instance_idごとに保持し、再起動時もコミット済みの行からレポートを作成する（作成後に削除）
+DROP TABLE IF EXISTS jasper_employee_stage;
+CREATE TABLE jasper_employee_stage (
+    stage_id BIGINT AUTO_INCREMENT,
+    job_instance_id BIGINT,
+    employee_id VARCHAR(20),
+    first_name VARCHAR(100),
+    last_name VARCHAR(100),
+    email VARCHAR(255),
+    department VARCHAR(100),
+    salary DECIMAL(10, 2),
+    hire_date DATE
+);
+
 -- JasperReports用のemployeesテーブル（既存のemployeeテーブルとは別）
 DROP TABLE IF EXISTS employees;
 CREATE TABLE employees (
@@ -0,0 +1,99 @@
+package com.example.batch.csv;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompressedInputsTest {
+    
+    @TempDir
+    Path tempDir;
+    
+    @Test
+    void readsGzipAndZipWithoutExtracting() throws Exception {
+        String csv = csv(20_000);
+        
+        Path gz = tempDir.resolve("sales.csv.gz");
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(gz))) {
+            out.write(csv.getBytes(StandardCharsets.UTF_8));
+        }
+        Path zip = tempDir.resolve("sales.zip");
+        try (ZipOutputStream out = new ZipOutputStream(Files.newOutputStream(zip))) {
+            out.putNextEntry(new ZipEntry("monthly/"));
+            out.closeEntry();
+            out.putNextEntry(new ZipEntry("monthly/sales.csv"));
+            out.write(csv.getBytes(StandardCharsets.UTF_8));
+            out.closeEntry();
+        }
+        
+        assertTrue(CompressedInputs.isCompressed(gz.toString()));
+        assertTrue(CompressedInputs.isCompressed("SALES.ZIP"));
+        assertFalse(CompressedInputs.isCompressed("sales.csv"));
+        assertEquals(csv, read(CompressedInputs.open(gz)));
+        assertEquals(csv, read(CompressedInputs.open(zip)));
+    }
+    
+    @Test
+    void rejectsZipWithMultipleFiles() throws Exception {
+        Path zip = tempDir.resolve("archive.zip");
+        try (ZipOutputStream out = new ZipOutputStream(Files.newOutputStream(zip))) {
+            out.putNextEntry(new ZipEntry("a.csv"));
+            out.closeEntry();
+            out.putNextEntry(new ZipEntry("b.csv"));
+            out.closeEntry();
+        }
+        
+        assertThrows(IllegalArgumentException.class, () -> CompressedInputs.open(zip));
+    }
+    
+    @Test
+    void backgroundStreamPreservesBytesAndPropagatesErrors() throws Exception {
+        byte[] data = csv(5_000).getBytes(StandardCharsets.UTF_8);
+        try (InputStream in = new BackgroundInflatingInputStream(new ByteArrayInputStream(data), "test", 1000, 2)) {
+            assertArrayEquals(data, in.readAllBytes());
+            assertEquals(-1, in.read());
+        }
+        
+        InputStream failing = new InputStream() {
+            private int count;
+            
+            @Override
+            public int read() throws IOException {
+                if (count++ >= 1500) {
+                    throw new IOException("corrupt");
+                }
+                return 'x';
+            }
+        };
+        try (InputStream in = new BackgroundInflatingInputStream(failing, "test", 1000, 2)) {
+            IOException e = assertThrows(IOException.class, in::readAllBytes);
+            assertEquals("corrupt", e.getCause().getMessage());
+        }
+    }
+    
+    private static String csv(int rows) {
+        StringBuilder csv = new StringBuilder("transaction_id,product_code,customer_name\n");
+        for (int i = 0; i < rows; i++) {
+            csv.append("TRX").append(i).append(",PRD").append(i % 7).append(",顧客").append(i).append('\n');
+        }
+        return csv.toString();
+    }
+    
+    private static String read(InputStream in) throws IOException {
+        try (in) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
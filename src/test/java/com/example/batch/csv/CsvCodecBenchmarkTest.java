@@ -0,0 +1,212 @@
+package com.example.batch.csv;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.opencsv.CSVReader;
+import com.opencsv.CSVWriter;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.file.FlatFileItemReader;
+import org.springframework.batch.item.file.builder.FlatFileItemReaderBuilder;
+import org.springframework.batch.item.file.transform.DelimitedLineAggregator;
+import org.springframework.batch.item.file.transform.DelimitedLineTokenizer;
+import org.springframework.batch.item.file.transform.FieldSet;
+import org.springframework.core.io.FileSystemResource;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * CSVコーデックのベンチマーク
+ * 同じ売上CSVを内部コーデック（CsvParser / CsvWriter）、Spring FlatFile、OpenCSV、Jackson CSVで読み書きし、
+ * スループット（rows/s）を比較する（項目は文字列の配列のまま扱い、DTOへの変換は含めない）
+ * 通常のテストからは除外しており、./gradlew benchmark で実行する
+ */
+@Tag("benchmark")
+class CsvCodecBenchmarkTest {
+
+    private static final int TOTAL_ROWS = 1_000_000;
+    private static final int ITERATIONS = 5;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void rowsPerSecondByCodec() throws Exception {
+        Path input = createSalesCsv(tempDir.resolve("sales.csv"));
+        String[][] rows = readAll(input);
+        Path output = tempDir.resolve("out.csv");
+
+        // ウォームアップ
+        for (int i = 0; i < 2; i++) {
+            readCodec(input);
+            readFlatFile(input);
+            readOpenCsv(input);
+            readJackson(input);
+            writeCodec(output, rows);
+            writeFlatFile(output, rows);
+            writeOpenCsv(output, rows);
+            writeJackson(output, rows);
+        }
+
+        System.out.println("read              rows/s");
+        report("codec", () -> readCodec(input));
+        report("flatfile", () -> readFlatFile(input));
+        report("opencsv", () -> readOpenCsv(input));
+        report("jackson", () -> readJackson(input));
+
+        System.out.println("write             rows/s");
+        report("codec", () -> writeCodec(output, rows));
+        report("flatfile", () -> writeFlatFile(output, rows));
+        report("opencsv", () -> writeOpenCsv(output, rows));
+        report("jackson", () -> writeJackson(output, rows));
+    }
+
+    private void report(String name, Run run) throws Exception {
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < ITERATIONS; i++) {
+            long start = System.nanoTime();
+            assertEquals(TOTAL_ROWS, run.rows());
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        double rowsPerSecond = TOTAL_ROWS / (best / 1_000_000_000.0);
+        System.out.printf("%-10s %13.0f%n", name, rowsPerSecond);
+    }
+
+    private static String[][] readAll(Path file) throws Exception {
+        String[][] rows = new String[TOTAL_ROWS][];
+        try (CsvParser parser = new CsvParser(Files.newBufferedReader(file, StandardCharsets.UTF_8))) {
+            parser.next();
+            for (int i = 0; parser.next(); i++) {
+                rows[i] = parser.values();
+            }
+        }
+        return rows;
+    }
+
+    private static int readCodec(Path file) throws Exception {
+        int count = 0;
+        try (CsvParser parser = new CsvParser(Files.newBufferedReader(file, StandardCharsets.UTF_8))) {
+            parser.next();
+            while (parser.next()) {
+                if (parser.field(2) != null) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    private static int readFlatFile(Path file) throws Exception {
+        FlatFileItemReader<String[]> reader = new FlatFileItemReaderBuilder<String[]>()
+                .name("flatFileReader")
+                .resource(new FileSystemResource(file))
+                .lineTokenizer(new DelimitedLineTokenizer())
+                .fieldSetMapper(FieldSet::getValues)
+                .linesToSkip(1)
+                .build();
+        reader.open(new ExecutionContext());
+        int count = 0;
+        while (reader.read() != null) {
+            count++;
+        }
+        reader.close();
+        return count;
+    }
+
+    private static int readOpenCsv(Path file) throws Exception {
+        int count = 0;
+        try (CSVReader reader = new CSVReader(Files.newBufferedReader(file, StandardCharsets.UTF_8))) {
+            reader.skip(1);
+            while (reader.readNext() != null) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static int readJackson(Path file) throws Exception {
+        CsvMapper mapper = new CsvMapper();
+        mapper.enable(com.fasterxml.jackson.dataformat.csv.CsvParser.Feature.WRAP_AS_ARRAY);
+        int count = 0;
+        try (BufferedReader in = Files.newBufferedReader(file, StandardCharsets.UTF_8);
+             MappingIterator<String[]> iterator = mapper.readerFor(String[].class).readValues(in)) {
+            iterator.next();
+            while (iterator.hasNext()) {
+                iterator.next();
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static int writeCodec(Path file, String[][] rows) throws Exception {
+        try (CsvWriter writer = new CsvWriter(Files.newBufferedWriter(file, StandardCharsets.UTF_8))) {
+            for (String[] row : rows) {
+                writer.writeRecord((Object[]) row);
+            }
+        }
+        return rows.length;
+    }
+
+    private static int writeFlatFile(Path file, String[][] rows) throws Exception {
+        DelimitedLineAggregator<String[]> aggregator = new DelimitedLineAggregator<>();
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            for (String[] row : rows) {
+                writer.write(aggregator.aggregate(row));
+                writer.write('\n');
+            }
+        }
+        return rows.length;
+    }
+
+    private static int writeOpenCsv(Path file, String[][] rows) throws Exception {
+        try (CSVWriter writer = new CSVWriter(Files.newBufferedWriter(file, StandardCharsets.UTF_8))) {
+            for (String[] row : rows) {
+                // 必要な項目だけを囲む（CsvWriterと同じ出力）
+                writer.writeNext(row, false);
+            }
+        }
+        return rows.length;
+    }
+
+    private static int writeJackson(Path file, String[][] rows) throws Exception {
+        CsvMapper mapper = new CsvMapper();
+        try (Writer out = Files.newBufferedWriter(file, StandardCharsets.UTF_8);
+             SequenceWriter writer = mapper.writerFor(String[].class).with(CsvSchema.emptySchema()).writeValues(out)) {
+            for (String[] row : rows) {
+                writer.write(row);
+            }
+        }
+        return rows.length;
+    }
+
+    private static Path createSalesCsv(Path file) throws Exception {
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write("transaction_id,product_code,customer_name,quantity,unit_price,total_amount,sale_date,payment_method,status\n");
+            for (int i = 0; i < TOTAL_ROWS; i++) {
+                int quantity = i % 5 + 1;
+                // 10件に1件は区切り文字・ダブルクォートを含む囲み項目にする
+                String customer = i % 10 == 0 ? "\"Customer " + (i % 10000) + ", \"\"VIP\"\"\"" : "Customer " + (i % 10000);
+                writer.write("TRX" + i + ",PRD" + (i % 1000) + "," + customer + "," + quantity
+                        + ",120.00," + (120 * quantity) + ".00,2024-01-19 15:30:00,DEBIT_CARD,COMPLETED\n");
+            }
+        }
+        return file;
+    }
+
+    @FunctionalInterface
+    private interface Run {
+        int rows() throws Exception;
+    }
+}
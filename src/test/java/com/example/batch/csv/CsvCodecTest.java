@@ -0,0 +1,45 @@
+package com.example.batch.csv;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CsvCodecTest {
+
+    @Test
+    void tokenizesQuotedAndEmptyFields() {
+        CsvTokenizer tokenizer = new CsvTokenizer();
+
+        assertEquals(4, tokenizer.tokenize("a,\"b,\"\"c\"\"\",,"));
+        assertArrayEquals(new String[] {"a", "b,\"c\"", "", ""}, tokenizer.toArray());
+
+        assertEquals(1, tokenizer.tokenize(""));
+        assertEquals("", tokenizer.get(0));
+        assertThrows(IndexOutOfBoundsException.class, () -> tokenizer.get(1));
+    }
+
+    @Test
+    void writerQuotesOnlyWhenNeededAndParserRestoresValues() throws Exception {
+        StringWriter out = new StringWriter();
+        try (CsvWriter writer = new CsvWriter(out)) {
+            writer.writeRecord("PRD001", "Monitor, 27\"", null, new BigDecimal("450.00"), LocalDate.of(2023, 2, 10));
+            writer.writeRecord("line1\nline2", "");
+        }
+        assertEquals("PRD001,\"Monitor, 27\"\"\",,450.00,2023-02-10\n\"line1\nline2\",\n", out.toString());
+
+        try (CsvParser parser = new CsvParser(new StringReader(out.toString()))) {
+            assertTrue(parser.next());
+            assertArrayEquals(new String[] {"PRD001", "Monitor, 27\"", "", "450.00", "2023-02-10"}, parser.values());
+            assertTrue(parser.next());
+            assertEquals("line1\nline2", parser.field(0));
+            assertEquals("", parser.field(1));
+            assertEquals(2, parser.recordNumber());
+            assertFalse(parser.next());
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.batch.csv;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CsvValuesTest {
+    
+    @Test
+    void parsesFixedLayoutDatesFromCharsAndBytes() {
+        assertEquals(LocalDate.of(2024, 2, 29), CsvValues.parseDate("2024-02-29"));
+        assertEquals(LocalDateTime.of(2024, 1, 18, 11, 45, 3), CsvValues.parseDateTime("2024-01-18 11:45:03"));
+        assertEquals(LocalDate.of(2023, 2, 10), parseDateBytes("2023-02-10"));
+        assertNull(CsvValues.parseDate(""));
+        
+        assertThrows(DateTimeException.class, () -> CsvValues.parseDate("2023-02-30"));
+        assertThrows(DateTimeException.class, () -> CsvValues.parseDate("2023/02/10"));
+        assertThrows(DateTimeException.class, () -> CsvValues.parseDateTime("2024-01-18T11:45:03"));
+    }
+    
+    @Test
+    void parsesDecimalsWithSameScaleAsBigDecimalConstructor() {
+        for (String value : new String[] {"0", "12", "-12.5", "+3.00", "1200.50", "0.001", "99999999.99",
+                "1234567890123456789.12", "1E+3", ".5"}) {
+            BigDecimal expected = new BigDecimal(value);
+            BigDecimal actual = CsvValues.parseDecimal(value);
+            assertEquals(expected, actual, value);
+            assertEquals(expected.scale(), actual.scale(), value);
+        }
+        assertSame(CsvValues.parseDecimal("12.50"), CsvValues.parseDecimal("12.50"));
+        assertThrows(NumberFormatException.class, () -> CsvValues.parseDecimal("12a"));
+        assertThrows(NumberFormatException.class, () -> CsvValues.parseDecimal("-"));
+    }
+    
+    @Test
+    void parsesIntegersAndBooleans() {
+        assertEquals(42, CsvValues.parseInteger("42"));
+        assertEquals(-7, CsvValues.parseInteger("-7"));
+        assertEquals(Integer.MAX_VALUE, CsvValues.parseInteger(String.valueOf(Integer.MAX_VALUE)));
+        assertThrows(NumberFormatException.class, () -> CsvValues.parseInteger("4.2"));
+        
+        assertTrue(CsvValues.parseBoolean("TRUE"));
+        assertFalse(CsvValues.parseBoolean("0"));
+        assertNull(CsvValues.parseBoolean(""));
+        assertThrows(IllegalArgumentException.class, () -> CsvValues.parseBoolean("maybe"));
+    }
+    
+    @Test
+    void formatsValuesInImportLayout() {
+        assertEquals("2024-01-05", CsvValues.format(LocalDate.of(2024, 1, 5)));
+        assertEquals("2024-01-18 09:05:00", CsvValues.format(LocalDateTime.of(2024, 1, 18, 9, 5)));
+        assertEquals("1000", CsvValues.format(new BigDecimal("1E+3")));
+        assertEquals("ACTIVE", CsvValues.format("ACTIVE"));
+        assertNull(CsvValues.format(null));
+    }
+    
+    private static LocalDate parseDateBytes(String value) {
+        byte[] bytes = (" " + value + " ").getBytes(StandardCharsets.US_ASCII);
+        return CsvValues.parseDate(ByteBuffer.wrap(bytes), 1, bytes.length - 1);
+    }
+}
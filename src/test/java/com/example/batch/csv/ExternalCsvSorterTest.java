@@ -0,0 +1,79 @@
+package com.example.batch.csv;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExternalCsvSorterTest {
+    
+    @TempDir
+    Path tempDir;
+    
+    @Test
+    void sortsByColumnKeepingHeaderAndInputOrderForEqualKeys() throws Exception {
+        Path input = tempDir.resolve("input.csv");
+        Files.writeString(input, String.join("\n",
+                "code,name",
+                "C,\"third, quoted\"",
+                "A,first",
+                "B,second",
+                "A,first-again"), StandardCharsets.UTF_8);
+        Path output = tempDir.resolve("sorted.csv");
+        
+        long records = new ExternalCsvSorter(1024, tempDir, StandardCharsets.UTF_8, ',')
+                .sort(input, output, "code");
+        
+        assertEquals(4, records);
+        assertEquals(List.of(
+                "code,name",
+                "A,first",
+                "A,first-again",
+                "B,second",
+                "C,\"third, quoted\""), Files.readAllLines(output, StandardCharsets.UTF_8));
+    }
+    
+    @Test
+    void mergesSpilledRunsAndRemovesTemporaryFiles() throws Exception {
+        Path input = tempDir.resolve("input.csv");
+        List<String> lines = new ArrayList<>();
+        lines.add("id,key");
+        for (int i = 0; i < 2_000; i++) {
+            lines.add(i + ",K" + String.format("%04d", (i * 7919) % 500));
+        }
+        Files.write(input, lines, StandardCharsets.UTF_8);
+        Path output = tempDir.resolve("sorted.csv");
+        
+        long records = new ExternalCsvSorter(4 * 1024, tempDir, StandardCharsets.UTF_8, ',')
+                .sort(input, output, "key");
+        
+        assertEquals(2_000, records);
+        List<String> sorted = Files.readAllLines(output, StandardCharsets.UTF_8);
+        assertEquals("id,key", sorted.get(0));
+        for (int i = 2; i < sorted.size(); i++) {
+            String[] previous = sorted.get(i - 1).split(",");
+            String[] current = sorted.get(i).split(",");
+            int cmp = previous[1].compareTo(current[1]);
+            assertTrue(cmp < 0 || (cmp == 0 && Integer.parseInt(previous[0]) < Integer.parseInt(current[0])));
+        }
+        try (Stream<Path> files = Files.list(tempDir)) {
+            assertTrue(files.noneMatch(p -> p.getFileName().toString().startsWith("csv-sort-run-")));
+        }
+    }
+    
+    @Test
+    void unknownColumnIsRejected() throws Exception {
+        Path input = tempDir.resolve("input.csv");
+        Files.writeString(input, "code,name\nA,x\n", StandardCharsets.UTF_8);
+        
+        assertThrows(IllegalArgumentException.class, () -> new ExternalCsvSorter(1024, tempDir, StandardCharsets.UTF_8, ',')
+                .sort(input, tempDir.resolve("out.csv"), "missing"));
+    }
+}
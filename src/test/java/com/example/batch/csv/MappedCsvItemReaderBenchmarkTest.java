@@ -0,0 +1,136 @@
+package com.example.batch.csv;
+
+import com.example.batch.dto.CsvSales;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemStreamReader;
+import org.springframework.batch.item.file.builder.FlatFileItemReaderBuilder;
+import org.springframework.batch.item.file.mapping.BeanWrapperFieldSetMapper;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.format.datetime.standard.DateTimeFormatterRegistrar;
+import org.springframework.format.support.DefaultFormattingConversionService;
+
+import java.io.BufferedWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.format.DateTimeFormatter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * CSVリーダーのベンチマーク
+ * 同じ売上CSVをFlatFileItemReader（BeanWrapperFieldSetMapper / 列位置指定マッパー）とMappedCsvItemReaderで読み込み、
+ * スループット（rows/s）を比較する
+ * 通常のテストからは除外しており、./gradlew benchmark で実行する
+ */
+@Tag("benchmark")
+class MappedCsvItemReaderBenchmarkTest {
+    
+    private static final int TOTAL_ROWS = 1_000_000;
+    private static final int ITERATIONS = 5;
+    
+    @TempDir
+    Path tempDir;
+    
+    @Test
+    void rowsPerSecondByReader() throws Exception {
+        Path file = createSalesCsv(tempDir.resolve("sales.csv"));
+        
+        // ウォームアップ
+        for (int i = 0; i < 2; i++) {
+            run(flatFileReader(file));
+            run(positionalReader(file));
+            run(mappedReader(file));
+        }
+        
+        System.out.println("reader            rows/s");
+        report("flatfile", () -> flatFileReader(file));
+        report("positional", () -> positionalReader(file));
+        report("mapped", () -> mappedReader(file));
+    }
+    
+    private void report(String name, ReaderFactory factory) throws Exception {
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < ITERATIONS; i++) {
+            best = Math.min(best, run(factory.create()));
+        }
+        double rowsPerSecond = TOTAL_ROWS / (best / 1_000_000_000.0);
+        System.out.printf("%-10s %13.0f%n", name, rowsPerSecond);
+    }
+    
+    private static long run(ItemStreamReader<CsvSales> reader) throws Exception {
+        long start = System.nanoTime();
+        reader.open(new ExecutionContext());
+        int count = 0;
+        while (reader.read() != null) {
+            count++;
+        }
+        reader.close();
+        long elapsed = System.nanoTime() - start;
+        assertEquals(TOTAL_ROWS, count);
+        return elapsed;
+    }
+    
+    private static ItemStreamReader<CsvSales> flatFileReader(Path file) {
+        DefaultFormattingConversionService conversionService = new DefaultFormattingConversionService();
+        DateTimeFormatterRegistrar registrar = new DateTimeFormatterRegistrar();
+        registrar.setDateTimeFormatter(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"));
+        registrar.registerFormatters(conversionService);
+        
+        BeanWrapperFieldSetMapper<CsvSales> fieldSetMapper = new BeanWrapperFieldSetMapper<>();
+        fieldSetMapper.setTargetType(CsvSales.class);
+        fieldSetMapper.setConversionService(conversionService);
+        
+        return new FlatFileItemReaderBuilder<CsvSales>()
+                .name("flatFileReader")
+                .resource(new FileSystemResource(file))
+                .delimited()
+                .names("transactionId", "productCode", "customerName", "quantity",
+                       "unitPrice", "totalAmount", "saleDate", "paymentMethod", "status")
+                .fieldSetMapper(fieldSetMapper)
+                .linesToSkip(1)
+                .build();
+    }
+    
+    private static ItemStreamReader<CsvSales> positionalReader(Path file) {
+        CsvSalesFieldSetMapper fieldSetMapper = new CsvSalesFieldSetMapper();
+        return new FlatFileItemReaderBuilder<CsvSales>()
+                .name("positionalReader")
+                .resource(new FileSystemResource(file))
+                .delimited()
+                .names(fieldSetMapper.getColumnNames())
+                .fieldSetMapper(fieldSetMapper)
+                .linesToSkip(1)
+                .build();
+    }
+    
+    private static ItemStreamReader<CsvSales> mappedReader(Path file) {
+        MappedCsvItemReader<CsvSales> reader = new MappedCsvItemReader<>();
+        reader.setName("mappedReader");
+        reader.setResource(new FileSystemResource(file));
+        reader.setRecordMapper(MappedCsvRecordMappers.sales());
+        reader.setExpectedFieldCount(MappedCsvRecordMappers.FIELD_COUNT);
+        reader.setLinesToSkip(1);
+        return reader;
+    }
+    
+    private static Path createSalesCsv(Path file) throws Exception {
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write("transaction_id,product_code,customer_name,quantity,unit_price,total_amount,sale_date,payment_method,status\n");
+            for (int i = 0; i < TOTAL_ROWS; i++) {
+                int quantity = i % 5 + 1;
+                writer.write("TRX" + i + ",PRD" + (i % 1000) + ",Customer " + (i % 10000) + "," + quantity
+                        + ",120.00," + (120 * quantity) + ".00,2024-01-19 15:30:00,DEBIT_CARD,COMPLETED\n");
+            }
+        }
+        return file;
+    }
+    
+    @FunctionalInterface
+    private interface ReaderFactory {
+        ItemStreamReader<CsvSales> create();
+    }
+}
@@ -0,0 +1,132 @@
+package com.example.batch.csv;
+
+import com.example.batch.dto.CsvProduct;
+import com.example.batch.dto.CsvSales;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.file.FlatFileParseException;
+import org.springframework.core.io.FileSystemResource;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MappedCsvItemReaderTest {
+    
+    @TempDir
+    Path tempDir;
+    
+    @Test
+    void readsTypedFieldsQuotedValuesAndSkipsHeaderAndBlankLines() throws Exception {
+        Path file = write("""
+                product_code,product_name,category,price,stock_quantity,description,manufacturer,release_date,is_active\r
+                PRD001,"Laptop, 14\""",Electronics,1200.50,10,"He said ""fast\""",Maker,2023-01-15,true\r
+                \r
+                PRD002,キーボード,Accessories,80,,,Maker,,false""");
+        
+        MappedCsvItemReader<CsvProduct> reader = reader(file, MappedCsvRecordMappers.product());
+        reader.open(new ExecutionContext());
+        CsvProduct first = reader.read();
+        CsvProduct second = reader.read();
+        assertNull(reader.read());
+        reader.close();
+        
+        assertEquals("PRD001", first.getProductCode());
+        assertEquals("Laptop, 14\"", first.getProductName());
+        assertEquals(new BigDecimal("1200.50"), first.getPrice());
+        assertEquals(10, first.getStockQuantity());
+        assertEquals("He said \"fast\"", first.getDescription());
+        assertEquals(LocalDate.of(2023, 1, 15), first.getReleaseDate());
+        assertTrue(first.getIsActive());
+        
+        assertEquals("キーボード", second.getProductName());
+        assertEquals(new BigDecimal("80"), second.getPrice());
+        assertNull(second.getStockQuantity());
+        assertEquals("", second.getDescription());
+        assertNull(second.getReleaseDate());
+        assertFalse(second.getIsActive());
+    }
+    
+    @Test
+    void readsAcrossMappingWindowsAndRestartsFromSavedCount() throws Exception {
+        StringBuilder csv = new StringBuilder("transaction_id,product_code,customer_name,quantity,unit_price,total_amount,sale_date,payment_method,status\n");
+        for (int i = 0; i < 500; i++) {
+            csv.append("TRX").append(i).append(",PRD").append(i % 7).append(",Customer ").append(i)
+                    .append(',').append(i % 5 + 1).append(",10.00,").append(10 * (i % 5 + 1)).append(".00")
+                    .append(",2024-01-18 11:45:").append(String.format("%02d", i % 60))
+                    .append(",CASH,COMPLETED\n");
+        }
+        Path file = write(csv.toString());
+        
+        MappedCsvItemReader<CsvSales> reader = reader(file, MappedCsvRecordMappers.sales());
+        reader.setWindowSize(256);
+        ExecutionContext executionContext = new ExecutionContext();
+        reader.open(executionContext);
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            ids.add(reader.read().getTransactionId());
+        }
+        reader.update(executionContext);
+        reader.close();
+        
+        MappedCsvItemReader<CsvSales> restarted = reader(file, MappedCsvRecordMappers.sales());
+        restarted.setWindowSize(256);
+        restarted.open(executionContext);
+        CsvSales sales;
+        CsvSales last = null;
+        while ((sales = restarted.read()) != null) {
+            ids.add(sales.getTransactionId());
+            last = sales;
+        }
+        restarted.close();
+        
+        assertEquals(500, ids.size());
+        for (int i = 0; i < 500; i++) {
+            assertEquals("TRX" + i, ids.get(i));
+        }
+        assertEquals(LocalDateTime.of(2024, 1, 18, 11, 45, 499 % 60), last.getSaleDate());
+        assertEquals(new BigDecimal("50.00"), last.getTotalAmount());
+    }
+    
+    @Test
+    void invalidFieldIsReportedAsFlatFileParseException() throws Exception {
+        Path file = write("""
+                product_code,product_name,category,price,stock_quantity,description,manufacturer,release_date,is_active
+                PRD001,Laptop,Electronics,abc,10,,Maker,2023-01-15,true
+                PRD002,Mouse,Accessories,20
+                """);
+        
+        MappedCsvItemReader<CsvProduct> reader = reader(file, MappedCsvRecordMappers.product());
+        reader.open(new ExecutionContext());
+        FlatFileParseException invalidValue = assertThrows(FlatFileParseException.class, reader::read);
+        assertEquals(2, invalidValue.getLineNumber());
+        assertTrue(invalidValue.getInput().startsWith("PRD001"));
+        FlatFileParseException missingFields = assertThrows(FlatFileParseException.class, reader::read);
+        assertEquals(3, missingFields.getLineNumber());
+        reader.close();
+    }
+    
+    private Path write(String content) throws Exception {
+        Path file = tempDir.resolve("input.csv");
+        Files.writeString(file, content, StandardCharsets.UTF_8);
+        return file;
+    }
+    
+    private static <T> MappedCsvItemReader<T> reader(Path file, MappedCsvRecordMapper<T> mapper) {
+        MappedCsvItemReader<T> reader = new MappedCsvItemReader<>();
+        reader.setName("testReader");
+        reader.setResource(new FileSystemResource(file));
+        reader.setRecordMapper(mapper);
+        reader.setExpectedFieldCount(MappedCsvRecordMappers.FIELD_COUNT);
+        reader.setLinesToSkip(1);
+        return reader;
+    }
+}
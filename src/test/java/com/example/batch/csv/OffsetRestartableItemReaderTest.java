@@ -0,0 +1,109 @@
+package com.example.batch.csv;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemStreamException;
+import org.springframework.core.io.FileSystemResource;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OffsetRestartableItemReaderTest {
+    
+    @TempDir
+    Path tempDir;
+    
+    @Test
+    void restartsFromSavedByteOffsetWithLineNumbers() throws Exception {
+        Path file = tempDir.resolve("input.csv");
+        StringBuilder csv = new StringBuilder("id,note\r\n");
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            String record = i % 10 == 0 ? i + ",\"two\nlines\"" : i + ",note " + i;
+            expected.add(record);
+            csv.append(record).append("\r\n");
+            if (i == 150) {
+                csv.append("\r\n");
+            }
+        }
+        Files.writeString(file, csv.toString(), StandardCharsets.UTF_8);
+        
+        List<String> read = new ArrayList<>();
+        ExecutionContext context = new ExecutionContext();
+        OffsetRestartableItemReader<String> first = reader(file);
+        first.open(context);
+        for (int i = 0; i < 200; i++) {
+            read.add(first.read());
+        }
+        first.update(context);
+        first.close();
+        
+        assertEquals(200, context.getInt("test.read.count"));
+        assertTrue(context.getLong("test.byte.offset") > 0);
+        
+        OffsetRestartableItemReader<String> second = reader(file);
+        second.open(context);
+        String item;
+        while ((item = second.read()) != null) {
+            read.add(item);
+        }
+        second.close();
+        
+        assertEquals(expected.size(), read.size());
+        for (int i = 0; i < expected.size(); i++) {
+            // 行番号はヘッダー・クォート内の改行・空行を含む物理行で数える
+            assertTrue(read.get(i).endsWith(":" + expected.get(i)), read.get(i));
+        }
+        assertEquals(lineNumberOf(csv.toString(), "299,note 299"), read.get(299).substring(0, read.get(299).indexOf(':')));
+    }
+    
+    @Test
+    void rejectsRestartAgainstChangedFile() throws Exception {
+        Path file = tempDir.resolve("input.csv");
+        Files.writeString(file, "id,note\n1,a\n2,b\n3,c\n", StandardCharsets.UTF_8);
+        ExecutionContext context = new ExecutionContext();
+        OffsetRestartableItemReader<String> first = reader(file);
+        first.open(context);
+        first.read();
+        first.update(context);
+        first.close();
+        
+        Files.writeString(file, "id,note\n1,a\n2,b\n3,c\n4,d\n", StandardCharsets.UTF_8);
+        
+        assertThrows(ItemStreamException.class, () -> reader(file).open(context));
+    }
+    
+    @Test
+    void fallsBackToSkippingRecordsWithoutSavedOffset() throws Exception {
+        Path file = tempDir.resolve("input.csv");
+        Files.writeString(file, "id,note\n1,a\n2,b\n3,c\n", StandardCharsets.UTF_8);
+        ExecutionContext context = new ExecutionContext();
+        context.putInt("test.read.count", 2);
+        
+        OffsetRestartableItemReader<String> reader = reader(file);
+        reader.open(context);
+        assertEquals("4:3,c", reader.read());
+        assertNull(reader.read());
+        reader.close();
+    }
+    
+    private static OffsetRestartableItemReader<String> reader(Path file) {
+        OffsetRestartableItemReader<String> reader = new OffsetRestartableItemReader<>();
+        reader.setName("test");
+        reader.setResource(new FileSystemResource(file));
+        reader.setLinesToSkip(1);
+        reader.setLineMapper((line, lineNumber) -> lineNumber + ":" + line);
+        return reader;
+    }
+    
+    private static String lineNumberOf(String csv, String record) {
+        String before = csv.substring(0, csv.indexOf(record));
+        return String.valueOf(before.chars().filter(c -> c == '\n').count() + 1);
+    }
+}
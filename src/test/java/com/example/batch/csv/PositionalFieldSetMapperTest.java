@@ -0,0 +1,87 @@
+package com.example.batch.csv;
+
+import com.example.batch.dto.CsvEmployee;
+import com.example.batch.dto.CsvProduct;
+import com.example.batch.dto.CsvSales;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.item.file.transform.DefaultFieldSet;
+
+import java.io.StringReader;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PositionalFieldSetMapperTest {
+    
+    @Test
+    void columnNamesFollowFieldOrderOfDto() {
+        assertArrayEquals(declaredColumns(CsvEmployee.class), new CsvEmployeeFieldSetMapper().getColumnNames());
+        assertArrayEquals(declaredColumns(CsvProduct.class), new CsvProductFieldSetMapper().getColumnNames());
+        assertArrayEquals(declaredColumns(CsvSales.class), new CsvSalesFieldSetMapper().getColumnNames());
+    }
+    
+    @Test
+    void mapsTypedValuesByIndexAndBlankAsNull() throws Exception {
+        CsvProductFieldSetMapper mapper = new CsvProductFieldSetMapper();
+        CsvProduct product = mapper.mapFieldSet(new DefaultFieldSet(new String[] {
+                "PRD001", " Monitor ", "Electronics", "450.00", "", "", "DisplayTech", "2023-02-10", "TRUE"
+        }, mapper.getColumnNames()));
+        
+        assertEquals("PRD001", product.getProductCode());
+        assertEquals("Monitor", product.getProductName());
+        assertEquals(new BigDecimal("450.00"), product.getPrice());
+        assertNull(product.getStockQuantity());
+        assertEquals("", product.getDescription());
+        assertEquals(LocalDate.of(2023, 2, 10), product.getReleaseDate());
+        assertTrue(product.getIsActive());
+        
+        CsvSalesFieldSetMapper salesMapper = new CsvSalesFieldSetMapper();
+        CsvSales sales = salesMapper.mapFieldSet(new DefaultFieldSet(new String[] {
+                "TRX004", "PRD004", "Customer D", "1", "450.00", "450.00", "2024-01-18 11:45:00", "CREDIT_CARD", "COMPLETED"
+        }, salesMapper.getColumnNames()));
+        assertEquals(1, sales.getQuantity());
+        assertEquals(LocalDateTime.of(2024, 1, 18, 11, 45), sales.getSaleDate());
+    }
+    
+    @Test
+    void iteratorBindsColumnsByHeaderName() throws Exception {
+        String csv = """
+                status,employee_code,first_name,last_name,email,department,position,salary,hire_date
+                ACTIVE,EMP001,Taro,"Yamada, Jr.",taro@example.com,Sales,Manager,60000.00,2020-04-01
+                
+                INACTIVE,EMP002,Hanako,Suzuki,hanako@example.com,HR,Staff,45000,2021-10-15
+                """;
+        List<CsvEmployee> employees = new ArrayList<>();
+        try (FieldSetCsvIterator<CsvEmployee> iterator =
+                     new FieldSetCsvIterator<>(new StringReader(csv), new CsvEmployeeFieldSetMapper())) {
+            iterator.forEachRemaining(employees::add);
+        }
+        
+        assertEquals(2, employees.size());
+        assertEquals("EMP001", employees.get(0).getEmployeeCode());
+        assertEquals("Yamada, Jr.", employees.get(0).getLastName());
+        assertEquals("ACTIVE", employees.get(0).getStatus());
+        assertEquals(new BigDecimal("45000"), employees.get(1).getSalary());
+        assertEquals(LocalDate.of(2021, 10, 15), employees.get(1).getHireDate());
+    }
+    
+    /**
+     * DTOのフィールドを宣言順にスネークケースの列名へ変換
+     */
+    private static String[] declaredColumns(Class<?> dtoType) {
+        List<String> columns = new ArrayList<>();
+        for (Field field : dtoType.getDeclaredFields()) {
+            if (!Modifier.isStatic(field.getModifiers())) {
+                columns.add(field.getName().replaceAll("([A-Z])", "_$1").toLowerCase(Locale.ROOT));
+            }
+        }
+        return columns.toArray(new String[0]);
+    }
+}
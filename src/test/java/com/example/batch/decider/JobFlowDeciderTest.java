@@ -0,0 +1,59 @@
+package com.example.batch.decider;
+
+import com.example.batch.support.InputProfile;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.test.MetaDataInstanceFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JobFlowDeciderTest {
+    
+    private final JobFlowDecider decider = new JobFlowDecider();
+    
+    private JobExecution jobExecution;
+    private StepExecution validationStep;
+    private StepExecution inputProfileStep;
+    
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(decider, "largeDataRows", 10_000L);
+        jobExecution = MetaDataInstanceFactory.createJobExecution();
+        validationStep = MetaDataInstanceFactory.createStepExecution(jobExecution, "validationStep", 1L);
+        inputProfileStep = MetaDataInstanceFactory.createStepExecution(jobExecution, "inputProfileStep", 2L);
+    }
+    
+    @Test
+    void highSkipRateWinsOverProfiledRows() {
+        validationStep.setReadCount(100);
+        validationStep.setProcessSkipCount(20);
+        new InputProfile(1, 1_000_000, 50_000, 20, false).writeTo(jobExecution.getExecutionContext());
+        
+        assertEquals("HIGH_SKIP_RATE", decider.decide(jobExecution, inputProfileStep).getName());
+    }
+    
+    @Test
+    void routesOnProfiledRowsWhenSkipRateIsLow() {
+        validationStep.setReadCount(100);
+        validationStep.setProcessSkipCount(5);
+        
+        new InputProfile(1, 1_000_000, 50_000, 20, false).writeTo(jobExecution.getExecutionContext());
+        assertEquals("LARGE_DATA", decider.decide(jobExecution, inputProfileStep).getName());
+        
+        new InputProfile(1, 0, 0, 0, true).writeTo(jobExecution.getExecutionContext());
+        assertEquals("NO_DATA", decider.decide(jobExecution, inputProfileStep).getName());
+        
+        new InputProfile(1, 10_000, 500, 20, true).writeTo(jobExecution.getExecutionContext());
+        assertEquals("COMPLETED", decider.decide(jobExecution, inputProfileStep).getName());
+    }
+    
+    @Test
+    void routesOnReadCountWithoutProfile() {
+        inputProfileStep.setReadCount(20_000);
+        
+        assertEquals("LARGE_DATA", decider.decide(jobExecution, inputProfileStep).getName());
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.batch.fingerprint;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BlockFingerprinterTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void splitsBlocksOnRecordBoundariesOutsideQuotes() throws Exception {
+        String csv = csv(2_000, 0);
+        Path file = Files.writeString(tempDir.resolve("sales.csv"), csv);
+
+        List<BlockFingerprint> blocks = new BlockFingerprinter(4096).fingerprint(file);
+        assertEquals(csv.indexOf('\n') + 1, blocks.get(0).endOffset());
+        assertTrue(blocks.size() > 10);
+        byte[] bytes = csv.getBytes(StandardCharsets.UTF_8);
+        for (int i = 1; i < blocks.size(); i++) {
+            BlockFingerprint block = blocks.get(i);
+            assertEquals(blocks.get(i - 1).endOffset(), block.startOffset());
+            assertTrue(block.endOffset() > block.startOffset());
+            // 境界はクォート外の改行の直後
+            assertEquals('\n', bytes[(int) block.endOffset() - 1]);
+            assertEquals(0, quotes(bytes, (int) block.endOffset()) % 2);
+        }
+        assertEquals(bytes.length, blocks.get(blocks.size() - 1).endOffset());
+    }
+
+    @Test
+    void reportsOnlyChangedBlocks() throws Exception {
+        Path file = Files.writeString(tempDir.resolve("sales.csv"), csv(2_000, 0));
+        BlockFingerprinter fingerprinter = new BlockFingerprinter(4096);
+        List<BlockFingerprint> previous = fingerprinter.fingerprint(file);
+
+        assertEquals(previous, fingerprinter.fingerprint(file));
+        assertTrue(BlockFingerprinter.changedRanges(previous, fingerprinter.fingerprint(file)).isEmpty());
+        assertEquals(1, BlockFingerprinter.changedRanges(List.of(), previous).size());
+
+        // 同じ長さのまま1レコードを書き換えると、そのレコードを含むブロックだけが変更ありとなる
+        String edited = csv(2_000, 0).replace("TRX001000,PRD000,1", "TRX001000,PRD000,9");
+        Files.writeString(file, edited);
+        List<BlockFingerprint> current = fingerprinter.fingerprint(file);
+        List<long[]> changed = BlockFingerprinter.changedRanges(previous, current);
+        assertEquals(1, changed.size());
+        long editedAt = edited.indexOf("TRX001000");
+        assertTrue(changed.get(0)[0] <= editedAt && editedAt < changed.get(0)[1]);
+        assertTrue(changed.get(0)[1] - changed.get(0)[0] < edited.length() / 4);
+
+        // ヘッダー行が変わった場合はファイル全体
+        Files.writeString(file, edited.replace("quantity", "QUANTITY"));
+        List<long[]> all = BlockFingerprinter.changedRanges(previous, fingerprinter.fingerprint(file));
+        assertArrayEquals(new long[] {0, edited.length()}, all.get(0));
+    }
+
+    @Test
+    void appendChangesOnlyTailBlocks() throws Exception {
+        String csv = csv(2_000, 0);
+        Path file = Files.writeString(tempDir.resolve("sales.csv"), csv);
+        BlockFingerprinter fingerprinter = new BlockFingerprinter(4096);
+        List<BlockFingerprint> previous = fingerprinter.fingerprint(file);
+
+        Files.writeString(file, csv + "TRX999999,PRD000,1,2024-01-20 09:00:00,appended\n");
+        List<BlockFingerprint> current = fingerprinter.fingerprint(file);
+
+        // 追記前の最後のブロック（途中で終わっていたブロック）以降だけが変更あり
+        assertEquals(previous.subList(0, previous.size() - 1), current.subList(0, previous.size() - 1));
+        List<long[]> changed = BlockFingerprinter.changedRanges(previous, current);
+        assertEquals(1, changed.size());
+        assertEquals(previous.get(previous.size() - 1).startOffset(), changed.get(0)[0]);
+        assertEquals(Files.size(file), changed.get(0)[1]);
+    }
+
+    @Test
+    void insertChangesOnlyBlocksFromInsertedRecord() throws Exception {
+        String csv = csv(2_000, 0);
+        Path file = Files.writeString(tempDir.resolve("sales.csv"), csv);
+        BlockFingerprinter fingerprinter = new BlockFingerprinter(4096);
+        List<BlockFingerprint> previous = fingerprinter.fingerprint(file);
+
+        int insertedAt = csv.indexOf("TRX001000");
+        Files.writeString(file, csv.substring(0, insertedAt)
+                + "TRX999999,PRD000,1,2024-01-20 09:00:00,inserted\n" + csv.substring(insertedAt));
+        List<BlockFingerprint> current = fingerprinter.fingerprint(file);
+
+        // 挿入位置より前で終わるブロックは変更なし、挿入位置を含むブロック以降が変更あり
+        for (BlockFingerprint block : previous) {
+            if (block.endOffset() <= insertedAt) {
+                assertTrue(current.contains(block));
+            }
+        }
+        List<long[]> changed = BlockFingerprinter.changedRanges(previous, current);
+        assertEquals(1, changed.size());
+        assertTrue(changed.get(0)[0] <= insertedAt);
+        assertTrue(insertedAt - changed.get(0)[0] < 4096 * 2);
+        assertEquals(Files.size(file), changed.get(0)[1]);
+    }
+
+    private static int quotes(byte[] bytes, int end) {
+        int quotes = 0;
+        for (int i = 0; i < end; i++) {
+            if (bytes[i] == '"') {
+                quotes++;
+            }
+        }
+        return quotes;
+    }
+
+    private static String csv(int rows, int seed) {
+        StringBuilder csv = new StringBuilder("transaction_id,product_code,quantity,sale_date,note\n");
+        for (int i = 0; i < rows; i++) {
+            // 一部のレコードはクォート内に改行を含む
+            String note = i % 7 == seed ? "\"multi\nline, \"\"quoted\"\"\"" : "plain";
+            csv.append(String.format("TRX%06d,PRD%03d,%d,2024-01-19 15:30:00,%s\n", i, i % 100, i % 5 + 1, note));
+        }
+        return csv.toString();
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.batch.incremental;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AppendOnlyFilesTest {
+
+    private static final String HEADER = "transaction_id,product_code,quantity\n";
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void readsOnlyCompleteRecordsAppendedSinceLastRun() throws Exception {
+        Path file = Files.writeString(tempDir.resolve("sales.csv"), HEADER + "TRX1,PRD1,1\nTRX2,\"PRD\n2\",2\nTRX3,PR");
+
+        AppendOnlyFiles.Range first = AppendOnlyFiles.plan(file, null, 16);
+        assertTrue(first.isFullRead());
+        // 書き込み途中の最終行は範囲に含めない
+        assertEquals((HEADER + "TRX1,PRD1,1\nTRX2,\"PRD\n2\",2\n").length(), first.end());
+        assertEquals(16, first.next().headLength());
+
+        Files.writeString(file, "D3,3\nTRX4,PRD4,4\n", StandardOpenOption.APPEND);
+        AppendOnlyFiles.Range second = AppendOnlyFiles.plan(file, first.next(), 16);
+        assertFalse(second.isFullRead());
+        assertEquals(first.end(), second.start());
+        assertEquals(Files.size(file), second.end());
+
+        // 追記がない場合は空の範囲
+        AppendOnlyFiles.Range third = AppendOnlyFiles.plan(file, second.next(), 16);
+        assertEquals(third.start(), third.end());
+    }
+
+    @Test
+    void fallsBackToFullReadWhenTruncatedOrReplaced() throws Exception {
+        Path file = Files.writeString(tempDir.resolve("sales.csv"), HEADER + "TRX1,PRD1,1\nTRX2,PRD2,2\n");
+        IngestionOffset committed = AppendOnlyFiles.plan(file, null, 8192).next();
+
+        Files.writeString(file, HEADER + "TRX9,PRD9,9\n");
+        AppendOnlyFiles.Range truncated = AppendOnlyFiles.plan(file, committed, 8192);
+        assertTrue(truncated.isFullRead());
+        assertEquals(Files.size(file), truncated.end());
+
+        // 同じサイズ以上でも先頭が書き換えられていれば先頭から読み込む
+        Files.writeString(file, HEADER + "TRX8,PRD8,8\nTRX7,PRD7,7\nTRX6,PRD6,6\n");
+        assertTrue(AppendOnlyFiles.plan(file, committed, 8192).isFullRead());
+
+        // 別のファイルへの差し替え（ローテーション）
+        Path rotated = Files.writeString(tempDir.resolve("sales.new"), HEADER + "TRX1,PRD1,1\nTRX2,PRD2,2\nTRX3,PRD3,3\n");
+        Files.move(rotated, file, StandardCopyOption.REPLACE_EXISTING);
+        AppendOnlyFiles.Range replaced = AppendOnlyFiles.plan(file, committed, 8192);
+        assertEquals(committed.fileKey() == null ? committed.committedOffset() : 0, replaced.start());
+    }
+}
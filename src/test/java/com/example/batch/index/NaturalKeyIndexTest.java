@@ -0,0 +1,63 @@
+package com.example.batch.index;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NaturalKeyIndexTest {
+    
+    @Test
+    void testPutAndGet() {
+        NaturalKeyIndex index = new NaturalKeyIndex(10, false);
+        index.put("EMP000001", 1L);
+        index.put("EMP000002", 2L);
+        
+        assertEquals(1L, index.get("EMP000001"));
+        assertEquals(2L, index.get("EMP000002"));
+        assertEquals(NaturalKeyIndex.NO_ID, index.get("EMP000003"));
+        assertTrue(index.contains("EMP000001"));
+        assertFalse(index.contains("EMP000003"));
+        assertEquals(2, index.size());
+    }
+    
+    @Test
+    void testPutOverwritesId() {
+        NaturalKeyIndex index = new NaturalKeyIndex(10, false);
+        index.put("PRD001", 1L);
+        index.put("PRD001", 10L);
+        
+        assertEquals(10L, index.get("PRD001"));
+        assertEquals(1, index.size());
+    }
+    
+    @Test
+    void testGrowBeyondExpectedSize() {
+        NaturalKeyIndex index = new NaturalKeyIndex(4, false);
+        for (int i = 0; i < 100_000; i++) {
+            index.put("TRX" + i, i);
+        }
+        
+        assertEquals(100_000, index.size());
+        for (int i = 0; i < 100_000; i++) {
+            assertEquals(i, index.get("TRX" + i));
+        }
+    }
+    
+    @Test
+    void testOffHeapAndMultiByteKeys() {
+        NaturalKeyIndex index = new NaturalKeyIndex(1000, true);
+        index.put("商品-001", 7L);
+        index.put("商品-002", 8L);
+        
+        assertTrue(index.isOffHeap());
+        assertEquals(7L, index.get("商品-001"));
+        assertEquals(8L, index.get("商品-002"));
+        assertEquals(NaturalKeyIndex.NO_ID, index.get("商品-003"));
+    }
+    
+    @Test
+    void testNullKeyIsRejected() {
+        NaturalKeyIndex index = new NaturalKeyIndex(10, false);
+        assertThrows(IllegalArgumentException.class, () -> index.put(null, 1L));
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.batch.listener;
+
+import com.example.batch.dto.CsvProduct;
+import com.example.batch.support.ImportTable;
+import com.example.batch.sync.SnapshotSyncOperations;
+import com.example.batch.sync.SyncAction;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobInstance;
+import org.springframework.batch.core.JobParametersBuilder;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SeenKeyRecordingListenerTest {
+    
+    private static final long JOB_INSTANCE_ID = 7L;
+    
+    private EmbeddedDatabase database;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+    private SnapshotSyncOperations operations;
+    private SeenKeyRecordingListener<CsvProduct> listener;
+    
+    @BeforeEach
+    void setUp() {
+        database = new EmbeddedDatabaseBuilder()
+                .generateUniqueName(true)
+                .setType(EmbeddedDatabaseType.H2)
+                .addScript("classpath:schema.sql")
+                .build();
+        jdbcTemplate = new JdbcTemplate(database);
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(database));
+        operations = new SnapshotSyncOperations(jdbcTemplate);
+        for (String code : List.of("PRD001", "PRD002", "PRD003")) {
+            jdbcTemplate.update("INSERT INTO product (product_code, product_name, is_active) VALUES (?, ?, TRUE)",
+                    code, "Product " + code);
+        }
+        
+        listener = new SeenKeyRecordingListener<>(ImportTable.PRODUCT, CsvProduct::getProductCode, operations, "none");
+        JobExecution jobExecution = new JobExecution(new JobInstance(JOB_INSTANCE_ID, "productCsvToDbChunkJob"),
+                new JobParametersBuilder().addString("sync.mode", "snapshot").toJobParameters());
+        listener.beforeStep(new StepExecution("productCsvToDbChunkStep", jobExecution));
+    }
+    
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+    
+    @Test
+    void filteredRowKeySurvivesSync() {
+        // PRD002はプロセッサーで除外されライターに届かないが、読み込み時にキーが記録される
+        transactionTemplate.executeWithoutResult(status -> {
+            listener.afterRead(product("PRD001"));
+            listener.afterRead(product("PRD002"));
+            assertEquals(0, operations.countKeys(ImportTable.PRODUCT, JOB_INSTANCE_ID));
+        });
+        assertEquals(2, operations.countKeys(ImportTable.PRODUCT, JOB_INSTANCE_ID));
+        
+        int affected = operations.applyMissing(ImportTable.PRODUCT, JOB_INSTANCE_ID, SyncAction.DEACTIVATE);
+        
+        assertEquals(1, affected);
+        assertTrue(isActive("PRD001"));
+        assertTrue(isActive("PRD002"));
+        assertFalse(isActive("PRD003"));
+    }
+    
+    @Test
+    void discardsKeysOfRolledBackChunk() {
+        transactionTemplate.executeWithoutResult(status -> {
+            listener.afterRead(product("PRD001"));
+            status.setRollbackOnly();
+        });
+        transactionTemplate.executeWithoutResult(status -> listener.afterRead(product("PRD002")));
+        
+        assertEquals(1, operations.countKeys(ImportTable.PRODUCT, JOB_INSTANCE_ID));
+    }
+    
+    private boolean isActive(String productCode) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT is_active FROM product WHERE product_code = ?", Boolean.class, productCode));
+    }
+    
+    private static CsvProduct product(String productCode) {
+        return CsvProduct.builder().productCode(productCode).build();
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.batch.partitioner;
+
+import com.example.batch.csv.CsvRecordReader;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.batch.item.ExecutionContext;
+
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FileRangePartitionerTest {
+    
+    @TempDir
+    Path tempDir;
+    
+    @Test
+    void splitsAtRecordBoundariesOutsideQuotes() throws Exception {
+        List<String> records = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            records.add(i % 7 == 0
+                    ? "TRX" + i + ",\"multi\nline, note " + i + "\",\"say \"\"hi\"\"\""
+                    : "TRX" + i + ",plain " + i + ",x");
+        }
+        Path input = tempDir.resolve("sales.csv");
+        Files.writeString(input, "transaction_id,note,memo\n" + String.join("\n", records) + "\n", StandardCharsets.UTF_8);
+        byte[] bytes = Files.readAllBytes(input);
+        
+        Map<String, ExecutionContext> partitions = new FileRangePartitioner(input, 1, 1).partition(8);
+        
+        assertEquals(8, partitions.size());
+        List<ExecutionContext> ranges = new ArrayList<>(partitions.values());
+        ranges.sort(Comparator.comparingLong(c -> c.getLong(FileRangePartitioner.START_OFFSET_KEY)));
+        
+        long expectedStart = "transaction_id,note,memo\n".length();
+        List<String> read = new ArrayList<>();
+        for (ExecutionContext range : ranges) {
+            long start = range.getLong(FileRangePartitioner.START_OFFSET_KEY);
+            long end = range.getLong(FileRangePartitioner.END_OFFSET_KEY);
+            assertEquals(expectedStart, start);
+            assertTrue(end > start);
+            assertEquals('\n', bytes[(int) end - 1]);
+            
+            String slice = new String(bytes, (int) start, (int) (end - start), StandardCharsets.UTF_8);
+            try (CsvRecordReader reader = new CsvRecordReader(new StringReader(slice))) {
+                String record;
+                while ((record = reader.readRecord()) != null) {
+                    read.add(record);
+                }
+            }
+            expectedStart = end;
+        }
+        assertEquals(bytes.length, expectedStart);
+        assertEquals(records, read);
+    }
+    
+    @Test
+    void reducesPartitionsForSmallFilesAndSkipsHeaderOnlyFiles() throws Exception {
+        Path input = tempDir.resolve("small.csv");
+        Files.writeString(input, "id,name\n1,a\n2,b\n3,c", StandardCharsets.UTF_8);
+        
+        Map<String, ExecutionContext> partitions = new FileRangePartitioner(input, 1, 1024).partition(4);
+        
+        assertEquals(1, partitions.size());
+        ExecutionContext range = partitions.get("partition0");
+        assertEquals(8, range.getLong(FileRangePartitioner.START_OFFSET_KEY));
+        assertEquals(Files.size(input), range.getLong(FileRangePartitioner.END_OFFSET_KEY));
+        
+        Path headerOnly = tempDir.resolve("header.csv");
+        Files.writeString(headerOnly, "id,name\n", StandardCharsets.UTF_8);
+        assertTrue(new FileRangePartitioner(headerOnly, 1, 1).partition(4).isEmpty());
+    }
+}
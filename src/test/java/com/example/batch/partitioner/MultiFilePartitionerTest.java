@@ -0,0 +1,73 @@
+package com.example.batch.partitioner;
+
+import com.example.batch.support.InputFiles;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.batch.item.ExecutionContext;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MultiFilePartitionerTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void resolvesDirectoriesAndGlobPatternsInNameOrder() throws Exception {
+        Path daily = Files.createDirectories(tempDir.resolve("daily"));
+        Path second = Files.writeString(daily.resolve("sales-20240102.csv"), "id\n1\n");
+        Path first = Files.writeString(daily.resolve("sales-20240101.csv"), "id\n1\n");
+        Path other = Files.writeString(daily.resolve("products.csv"), "id\n1\n");
+        Files.writeString(daily.resolve(".sales-20240103.csv"), "id\n1\n");
+        Files.createDirectories(daily.resolve("archive"));
+
+        assertTrue(InputFiles.isMultiFile(daily.toString()));
+        assertFalse(InputFiles.isMultiFile(first.toString()));
+        assertEquals(List.of(other, first, second), InputFiles.resolve(daily.toString()));
+        assertEquals(List.of(first, second), InputFiles.resolve(daily.resolve("sales-*.csv").toString()));
+        assertEquals(List.of(first, second), InputFiles.resolve(tempDir.resolve("*/sales-2024010?.csv").toString()));
+        assertTrue(InputFiles.resolve(daily.resolve("orders-*.csv").toString()).isEmpty());
+    }
+
+    @Test
+    void createsOnePartitionPerFileAndSplitsLargeFiles() throws Exception {
+        StringBuilder large = new StringBuilder("id,name\n");
+        for (int i = 0; i < 1000; i++) {
+            large.append(i).append(",name").append(i).append('\n');
+        }
+        Path small = Files.writeString(tempDir.resolve("a.csv"), "id,name\n1,a\n2,b\n", StandardCharsets.UTF_8);
+        Path big = Files.writeString(tempDir.resolve("b.csv"), large, StandardCharsets.UTF_8);
+        Path headerOnly = Files.writeString(tempDir.resolve("c.csv"), "id,name\n", StandardCharsets.UTF_8);
+        Path compressed = Files.write(tempDir.resolve("d.csv.gz"), new byte[0]);
+
+        Map<String, ExecutionContext> partitions =
+                new MultiFilePartitioner(List.of(small, big, headerOnly, compressed), 1, 1024, 1).partition(4);
+
+        assertEquals(List.of("a.csv", "b.csv#0", "b.csv#1", "b.csv#2", "b.csv#3", "d.csv.gz"),
+                List.copyOf(partitions.keySet()));
+
+        ExecutionContext smallContext = partitions.get("a.csv");
+        assertEquals(small.toString(), smallContext.getString(MultiFilePartitioner.FILE_PATH_KEY));
+        assertEquals(8, smallContext.getLong(FileRangePartitioner.START_OFFSET_KEY));
+        assertEquals(Files.size(small), smallContext.getLong(FileRangePartitioner.END_OFFSET_KEY));
+
+        long expectedStart = 8;
+        for (int i = 0; i < 4; i++) {
+            ExecutionContext range = partitions.get("b.csv#" + i);
+            assertEquals(big.toString(), range.getString(MultiFilePartitioner.FILE_PATH_KEY));
+            assertEquals(expectedStart, range.getLong(FileRangePartitioner.START_OFFSET_KEY));
+            expectedStart = range.getLong(FileRangePartitioner.END_OFFSET_KEY);
+        }
+        assertEquals(Files.size(big), expectedStart);
+
+        ExecutionContext compressedContext = partitions.get("d.csv.gz");
+        assertEquals(compressed.toString(), compressedContext.getString(MultiFilePartitioner.FILE_PATH_KEY));
+        assertFalse(compressedContext.containsKey(FileRangePartitioner.START_OFFSET_KEY));
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.batch.reader;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.item.ExecutionContext;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KeysetPagingItemReaderTest {
+
+    /** IDに欠番のあるテーブル */
+    private static final List<Long> TABLE = ids(250);
+
+    @Test
+    void readsPagesAfterLastIdWithoutOffset() throws Exception {
+        InMemoryReader reader = reader();
+        reader.open(new ExecutionContext());
+        List<Long> read = readAll(reader);
+        reader.close();
+
+        assertEquals(TABLE, read);
+        // 250件・ページサイズ100は3ページ（最終ページは件数が満たないため次の問い合わせを行わない）
+        assertEquals(List.of("null", String.valueOf(TABLE.get(99)), String.valueOf(TABLE.get(199))), reader.queries);
+    }
+
+    @Test
+    void restartsAfterSavedLastId() throws Exception {
+        ExecutionContext context = new ExecutionContext();
+        InMemoryReader first = reader();
+        first.open(context);
+        List<Long> read = new ArrayList<>();
+        for (int i = 0; i < 130; i++) {
+            read.add(first.read());
+        }
+        first.update(context);
+        first.close();
+        assertEquals(130, context.getInt("test.read.count"));
+        assertEquals(TABLE.get(129).longValue(), context.getLong("test.last.id"));
+
+        InMemoryReader second = reader();
+        second.open(context);
+        read.addAll(readAll(second));
+        second.close();
+
+        assertEquals(TABLE, read);
+        // 読み込み済みの行を読み直さず、保存したIDの次のページから問い合わせる
+        assertEquals(List.of(String.valueOf(TABLE.get(129)), String.valueOf(TABLE.get(229))), second.queries);
+    }
+
+    private static InMemoryReader reader() {
+        InMemoryReader reader = new InMemoryReader();
+        reader.setName("test");
+        reader.setPageSize(100);
+        reader.setIdExtractor(id -> id);
+        return reader;
+    }
+
+    private static List<Long> readAll(InMemoryReader reader) throws Exception {
+        List<Long> read = new ArrayList<>();
+        Long item;
+        while ((item = reader.read()) != null) {
+            read.add(item);
+        }
+        return read;
+    }
+
+    private static List<Long> ids(int count) {
+        List<Long> ids = new ArrayList<>();
+        for (long id = 1; ids.size() < count; id++) {
+            if (id % 2 == 0) {
+                ids.add(id);
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * 「WHERE id > lastId ORDER BY id LIMIT pageSize」をリストで再現するリーダー
+     */
+    private static class InMemoryReader extends KeysetPagingItemReader<Long> {
+
+        private final List<String> queries = new ArrayList<>();
+
+        @Override
+        protected List<Long> readPage(Long afterId, int size) {
+            queries.add(String.valueOf(afterId));
+            return TABLE.stream().filter(id -> afterId == null || id > afterId).limit(size).toList();
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.batch.support;
+
+import com.example.batch.entity.Employee;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ContentHashTest {
+    
+    private Employee employee() {
+        return Employee.builder()
+                .employeeCode("EMP001")
+                .firstName("Taro")
+                .lastName("Yamada")
+                .email("taro.yamada@example.com")
+                .department("Engineering")
+                .position("Engineer")
+                .salary(new BigDecimal("50000.00"))
+                .hireDate(LocalDate.of(2020, 4, 1))
+                .status("ACTIVE")
+                .build();
+    }
+    
+    @Test
+    void sameBusinessColumnsProduceSameHash() {
+        Employee stored = employee();
+        stored.setId(10L);
+        stored.setCreatedAt(LocalDateTime.of(2024, 1, 1, 0, 0));
+        stored.setUpdatedAt(LocalDateTime.of(2024, 6, 1, 0, 0));
+        
+        assertEquals(ContentHash.of(employee()), ContentHash.of(stored));
+    }
+    
+    @Test
+    void changedColumnProducesDifferentHash() {
+        Employee changed = employee();
+        changed.setDepartment("Sales");
+        
+        assertNotEquals(ContentHash.of(employee()), ContentHash.of(changed));
+    }
+    
+    @Test
+    void nullAndEmptyAreDistinguished() {
+        assertNotEquals(ContentHash.of("A", null), ContentHash.of("A", ""));
+        assertNotEquals(ContentHash.of("AB", "C"), ContentHash.of("A", "BC"));
+    }
+    
+    @Test
+    void decimalScaleIsIgnored() {
+        assertEquals(ContentHash.of(new BigDecimal("100.0")), ContentHash.of(new BigDecimal("100.00")));
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.batch.support;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InputProfilerTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void countsNewlinesWordAtATime() {
+        byte[] bytes = new byte[1003];
+        new Random(42).nextBytes(bytes);
+        long expected = 0;
+        for (byte b : bytes) {
+            if (b == '\n') {
+                expected++;
+            }
+        }
+        assertEquals(expected, InputProfiler.countNewlines(ByteBuffer.wrap(bytes)));
+        assertEquals(3, InputProfiler.countNewlines(ByteBuffer.wrap("\n\n\n".getBytes(StandardCharsets.US_ASCII))));
+    }
+
+    @Test
+    void scansSmallFilesExactlyAndSamplesLargeFiles() throws Exception {
+        String csv = csv(10_000);
+        Path file = Files.writeString(tempDir.resolve("sales.csv"), csv);
+
+        InputProfile exact = new InputProfiler(Long.MAX_VALUE, 4, 4096, 1).profile(List.of(file));
+        assertTrue(exact.isExact());
+        assertEquals(10_000, exact.getEstimatedRows());
+        assertEquals(Files.size(file), exact.getBytes());
+
+        // 最終行に改行がない場合も1件と数える
+        Path unterminated = Files.writeString(tempDir.resolve("unterminated.csv"), "id\n1\n2");
+        assertEquals(2, new InputProfiler(Long.MAX_VALUE, 4, 4096, 1).profile(List.of(unterminated)).getEstimatedRows());
+
+        InputProfile sampled = new InputProfiler(0, 8, 4096, 1).profile(List.of(file, file));
+        assertFalse(sampled.isExact());
+        assertEquals(2, sampled.getFiles());
+        assertEquals(20_000, sampled.getEstimatedRows(), 20_000 * 0.05);
+        assertEquals(exact.getAverageRowBytes(), sampled.getAverageRowBytes(), 3);
+    }
+
+    @Test
+    void estimatesCompressedFilesFromHeadAndTrailer() throws Exception {
+        Path gz = tempDir.resolve("sales.csv.gz");
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(gz))) {
+            out.write(csv(10_000).getBytes(StandardCharsets.UTF_8));
+        }
+
+        InputProfile exact = new InputProfiler(0, 64, 64 * 1024, 1).profile(List.of(gz));
+        assertTrue(exact.isExact());
+        assertEquals(10_000, exact.getEstimatedRows());
+
+        InputProfile sampled = new InputProfiler(0, 1, 64 * 1024, 1).profile(List.of(gz));
+        assertFalse(sampled.isExact());
+        assertEquals(csv(10_000).length(), sampled.getBytes());
+        assertEquals(10_000, sampled.getEstimatedRows(), 10_000 * 0.05);
+    }
+
+    private static String csv(int rows) {
+        StringBuilder csv = new StringBuilder("transaction_id,product_code,quantity,sale_date\n");
+        for (int i = 0; i < rows; i++) {
+            csv.append(String.format("TRX%06d,PRD%03d,%d,2024-01-19 15:30:00\n", i, i % 100, i % 5 + 1));
+        }
+        return csv.toString();
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.batch.support;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KeyedLongAccumulatorTest {
+    
+    @Test
+    void addAccumulatesPerKey() {
+        KeyedLongAccumulator accumulator = new KeyedLongAccumulator();
+        accumulator.add("PRD001", 2);
+        accumulator.add("PRD002", 5);
+        accumulator.add("PRD001", 3);
+        
+        assertEquals(2, accumulator.size());
+        assertEquals(5, accumulator.get("PRD001"));
+        assertEquals(5, accumulator.get("PRD002"));
+        assertEquals(0, accumulator.get("PRD999"));
+    }
+    
+    @Test
+    void growsBeyondInitialCapacity() {
+        KeyedLongAccumulator accumulator = new KeyedLongAccumulator(1);
+        for (int i = 0; i < 10_000; i++) {
+            accumulator.add("P" + (i % 1_000), 1);
+        }
+        
+        assertEquals(1_000, accumulator.size());
+        assertEquals(10, accumulator.get("P123"));
+    }
+    
+    @Test
+    void sortedKeysAreInAscendingOrder() {
+        KeyedLongAccumulator accumulator = new KeyedLongAccumulator();
+        accumulator.add("PRD003", 1);
+        accumulator.add("PRD001", 1);
+        accumulator.add("PRD002", 1);
+        
+        assertArrayEquals(new String[]{"PRD001", "PRD002", "PRD003"}, accumulator.sortedKeys());
+    }
+    
+    @Test
+    void clearRemovesAllKeys() {
+        KeyedLongAccumulator accumulator = new KeyedLongAccumulator();
+        accumulator.add("PRD001", 1);
+        accumulator.clear();
+        
+        assertTrue(accumulator.isEmpty());
+        assertEquals(0, accumulator.get("PRD001"));
+    }
+}
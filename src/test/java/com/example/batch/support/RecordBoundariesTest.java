@@ -0,0 +1,67 @@
+package com.example.batch.support;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RecordBoundariesTest {
+    
+    @TempDir
+    Path tempDir;
+    
+    @Test
+    void recordEndsMatchSequentialScan() throws Exception {
+        Random random = new Random(42);
+        StringBuilder csv = new StringBuilder("id,note\n");
+        for (int i = 0; i < 300; i++) {
+            csv.append(i).append(',');
+            switch (random.nextInt(3)) {
+                case 0 -> csv.append("\"multi\nline \"\"quoted\"\"\n note\"");
+                case 1 -> csv.append("\"a, b\"");
+                default -> csv.append("plain");
+            }
+            csv.append('\n');
+        }
+        Path input = tempDir.resolve("input.csv");
+        Files.writeString(input, csv, StandardCharsets.UTF_8);
+        byte[] bytes = Files.readAllBytes(input);
+        long dataStart = "id,note\n".length();
+        
+        long[] cuts = new long[bytes.length - (int) dataStart];
+        for (int i = 0; i < cuts.length; i++) {
+            cuts[i] = dataStart + i;
+        }
+        try (FileChannel channel = FileChannel.open(input, StandardOpenOption.READ)) {
+            for (long segmentBytes : new long[] {1, 7, 64, bytes.length}) {
+                long[] ends = RecordBoundaries.recordEnds(channel, dataStart, cuts, bytes.length, segmentBytes);
+                for (int i = 0; i < cuts.length; i++) {
+                    assertEquals(sequentialRecordEnd(bytes, (int) dataStart, (int) cuts[i]), ends[i],
+                            "cut " + cuts[i] + ", segment " + segmentBytes);
+                }
+            }
+        }
+    }
+    
+    /**
+     * データ部の先頭からクォートの開閉を数え、切断位置以降でクォート外の最初の改行の直後を返す
+     */
+    private static long sequentialRecordEnd(byte[] bytes, int dataStart, int cut) {
+        boolean inQuotes = false;
+        for (int i = dataStart; i < bytes.length; i++) {
+            if (bytes[i] == '"') {
+                inQuotes = !inQuotes;
+            } else if (bytes[i] == '\n' && !inQuotes && i >= cut) {
+                return i + 1;
+            }
+        }
+        return bytes.length;
+    }
+}
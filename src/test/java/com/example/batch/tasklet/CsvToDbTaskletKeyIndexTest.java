@@ -0,0 +1,56 @@
+package com.example.batch.tasklet;
+
+import com.example.batch.index.NaturalKeyIndex;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CsvToDbTaskletKeyIndexTest {
+    
+    private final EmployeeCsvToDbTasklet tasklet = new EmployeeCsvToDbTasklet();
+    private final NaturalKeyIndex keyIndex = new NaturalKeyIndex(16, false);
+    
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TransactionSynchronizationManager.unbindResourceIfPossible(keyIndex);
+    }
+    
+    @Test
+    void registersKeysOnlyAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        tasklet.registerInKeyIndex(keyIndex, "EMP001", 1L);
+        
+        // 同じトランザクション内では新規キーとして参照でき、索引には未反映
+        assertEquals(1L, tasklet.findInKeyIndex(keyIndex, "EMP001"));
+        assertFalse(keyIndex.contains("EMP001"));
+        
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+        assertEquals(1L, keyIndex.get("EMP001"));
+    }
+    
+    @Test
+    void discardsKeysOnRollback() {
+        TransactionSynchronizationManager.initSynchronization();
+        tasklet.registerInKeyIndex(keyIndex, "EMP001", 1L);
+        
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+        assertFalse(keyIndex.contains("EMP001"));
+        assertEquals(NaturalKeyIndex.NO_ID, tasklet.findInKeyIndex(keyIndex, "EMP001"));
+    }
+    
+    private static void complete(int status) {
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            if (status == TransactionSynchronization.STATUS_COMMITTED) {
+                synchronization.afterCommit();
+            }
+            synchronization.afterCompletion(status);
+        }
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.batch.writer;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.support.transaction.ResourcelessTransactionManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AffinityRoutingItemWriterTest {
+    
+    @Test
+    void sameKeyIsAlwaysWrittenByTheSameLane() throws Exception {
+        Map<String, Set<String>> threadsByKey = new ConcurrentHashMap<>();
+        AtomicInteger written = new AtomicInteger();
+        AffinityRoutingItemWriter<String> writer = new AffinityRoutingItemWriter<>(chunk -> {
+            for (String item : chunk) {
+                threadsByKey.computeIfAbsent(item, k -> ConcurrentHashMap.newKeySet())
+                        .add(Thread.currentThread().getName());
+                written.incrementAndGet();
+            }
+        }, item -> item, 4, 100, new ResourcelessTransactionManager());
+        
+        writer.open(new ExecutionContext());
+        ExecutorService callers = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                futures.add(callers.submit(() -> {
+                    for (int c = 0; c < 50; c++) {
+                        Chunk<String> chunk = new Chunk<>();
+                        for (int i = 0; i < 20; i++) {
+                            chunk.add("K" + ((c * 20 + i) % 37));
+                        }
+                        writer.write(chunk);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            callers.shutdown();
+            writer.close();
+        }
+        
+        assertEquals(4 * 50 * 20, written.get());
+        threadsByKey.forEach((key, threads) -> assertEquals(1, threads.size(), key));
+    }
+    
+    @Test
+    void failureIsReportedOnlyToTheChunkThatContainsTheItem() throws Exception {
+        AffinityRoutingItemWriter<String> writer = new AffinityRoutingItemWriter<>(chunk -> {
+            if (chunk.getItems().contains("BAD")) {
+                throw new IllegalStateException("bad item");
+            }
+        }, item -> item, 2, 100, new ResourcelessTransactionManager());
+        
+        try {
+            writer.write(new Chunk<>(List.of("A", "B")));
+            IllegalStateException e = assertThrows(IllegalStateException.class,
+                    () -> writer.write(new Chunk<>(List.of("C", "BAD"))));
+            assertEquals("bad item", e.getMessage());
+            writer.write(new Chunk<>(List.of("D")));
+        } finally {
+            writer.close();
+        }
+    }
+    
+    @Test
+    void sharedWriterKeepsLanesUntilLastClose() throws Exception {
+        Set<Thread> laneThreads = ConcurrentHashMap.newKeySet();
+        AffinityRoutingItemWriter<String> writer = new AffinityRoutingItemWriter<>(
+                chunk -> laneThreads.add(Thread.currentThread()),
+                item -> item, 1, 100, new ResourcelessTransactionManager());
+        
+        writer.open(new ExecutionContext());
+        writer.open(new ExecutionContext());
+        try {
+            writer.write(new Chunk<>(List.of("A")));
+            writer.close();
+            writer.write(new Chunk<>(List.of("B")));
+        } finally {
+            writer.close();
+        }
+        
+        assertEquals(1, laneThreads.size());
+        assertFalse(laneThreads.iterator().next().isAlive());
+    }
+}
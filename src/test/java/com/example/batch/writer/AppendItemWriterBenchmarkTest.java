@@ -0,0 +1,94 @@
+package com.example.batch.writer;
+
+import com.example.batch.entity.Product;
+import com.example.batch.mapper.ProductMapper;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.item.Chunk;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 追記ライターのベンチマーク
+ * 1文あたりの行数ごとに登録スループット（rows/s）を計測する
+ * 通常のテストからは除外しており、./gradlew benchmark で実行する
+ */
+@Tag("benchmark")
+@SpringBootTest
+class AppendItemWriterBenchmarkTest {
+    
+    private static final int TOTAL_ROWS = 50_000;
+    private static final int CHUNK_SIZE = 1_000;
+    private static final int[] ROWS_PER_STATEMENT = {1, 10, 50, 100, 250, 500, 1000};
+    
+    @Autowired
+    private ProductAppendItemWriter writer;
+    
+    @Autowired
+    private ProductMapper productMapper;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    @Test
+    void rowsPerSecondByRowsPerStatement() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        
+        // ウォームアップ
+        run(transactionTemplate, 100, TOTAL_ROWS / 5);
+        
+        System.out.println("rows/statement    rows/s");
+        for (int rowsPerStatement : ROWS_PER_STATEMENT) {
+            long elapsedNanos = run(transactionTemplate, rowsPerStatement, TOTAL_ROWS);
+            assertEquals(TOTAL_ROWS, productMapper.count());
+            
+            double rowsPerSecond = TOTAL_ROWS / (elapsedNanos / 1_000_000_000.0);
+            System.out.printf("%14d %10.0f%n", rowsPerStatement, rowsPerSecond);
+        }
+    }
+    
+    private long run(TransactionTemplate transactionTemplate, int rowsPerStatement, int totalRows) {
+        transactionTemplate.executeWithoutResult(status -> productMapper.deleteAll());
+        writer.setRowsPerStatement(rowsPerStatement);
+        
+        long start = System.nanoTime();
+        for (int from = 0; from < totalRows; from += CHUNK_SIZE) {
+            Chunk<Product> chunk = createChunk(from, Math.min(CHUNK_SIZE, totalRows - from));
+            transactionTemplate.executeWithoutResult(status -> {
+                try {
+                    writer.write(chunk);
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+        }
+        return System.nanoTime() - start;
+    }
+    
+    private static Chunk<Product> createChunk(int offset, int size) {
+        List<Product> items = new ArrayList<>(size);
+        for (int i = offset; i < offset + size; i++) {
+            items.add(Product.builder()
+                    .productCode(String.format("BENCH%08d", i))
+                    .productName("Benchmark Product " + i)
+                    .category("Benchmark")
+                    .price(BigDecimal.valueOf(1000 + i % 100))
+                    .stockQuantity(i % 500)
+                    .description("benchmark row")
+                    .manufacturer("Bench Inc.")
+                    .releaseDate(LocalDate.of(2024, 1, 1))
+                    .isActive(true)
+                    .build());
+        }
+        return new Chunk<>(items);
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.batch.writer;
+
+import com.example.batch.entity.Sales;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobInstance;
+import org.springframework.batch.core.JobParametersBuilder;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InventoryAdjustingItemWriterTest {
+    
+    private EmbeddedDatabase database;
+    private JdbcTemplate jdbcTemplate;
+    
+    @BeforeEach
+    void setUp() {
+        database = new EmbeddedDatabaseBuilder()
+                .generateUniqueName(true)
+                .setType(EmbeddedDatabaseType.H2)
+                .addScript("classpath:schema.sql")
+                .build();
+        jdbcTemplate = new JdbcTemplate(database);
+        jdbcTemplate.update("INSERT INTO product (product_code, product_name, stock_quantity) VALUES ('PRD001', 'Laptop', 100)");
+        jdbcTemplate.update("INSERT INTO product (product_code, product_name, stock_quantity) VALUES ('PRD002', 'Mouse', 100)");
+    }
+    
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+    
+    @Test
+    void adjustsEachTransactionOnceAcrossPartitions() throws Exception {
+        // パーティションのワーカーは同じライターで別々のチャンクを書き込む
+        InventoryAdjustingItemWriter writer = writer();
+        writer.write(Chunk.of(sales("TXN001", "PRD001", 3), sales("TXN002", "PRD002", 5), sales("TXN001", "PRD001", 3)));
+        writer.write(Chunk.of(sales("TXN001", "PRD001", 3), sales("TXN003", "PRD001", 2)));
+        
+        assertEquals(95, stock("PRD001"));
+        assertEquals(95, stock("PRD002"));
+    }
+    
+    @Test
+    void doesNotAdjustRegisteredTransactions() throws Exception {
+        jdbcTemplate.update("INSERT INTO sales (transaction_id, product_code, quantity) VALUES ('TXN001', 'PRD001', 3)");
+        
+        writer().write(Chunk.of(sales("TXN001", "PRD001", 3), sales("TXN002", "PRD001", 4)));
+        
+        assertEquals(96, stock("PRD001"));
+    }
+    
+    private InventoryAdjustingItemWriter writer() {
+        // 売上ライターは取引IDをキーに登録・更新する動作だけを再現する
+        ItemWriter<Sales> salesWriter = chunk -> {
+            for (Sales sales : chunk) {
+                jdbcTemplate.update("MERGE INTO sales (transaction_id, product_code, quantity) KEY (transaction_id) VALUES (?, ?, ?)",
+                        sales.getTransactionId(), sales.getProductCode(), sales.getQuantity());
+            }
+        };
+        InventoryAdjustingItemWriter writer = new InventoryAdjustingItemWriter(salesWriter, jdbcTemplate, false);
+        JobExecution jobExecution = new JobExecution(new JobInstance(1L, "salesCsvToDbChunkJob"),
+                new JobParametersBuilder().addString("inventory.adjust", "true").toJobParameters());
+        writer.beforeStep(new StepExecution("salesCsvRangeWorkerStep", jobExecution));
+        return writer;
+    }
+    
+    private int stock(String productCode) {
+        return jdbcTemplate.queryForObject("SELECT stock_quantity FROM product WHERE product_code = ?", Integer.class, productCode);
+    }
+    
+    private static Sales sales(String transactionId, String productCode, int quantity) {
+        return Sales.builder().transactionId(transactionId).productCode(productCode).quantity(quantity).build();
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.batch.writer;
+
+import com.example.batch.config.MyBatisConfig;
+import com.example.batch.entity.Employee;
+import com.example.batch.index.NaturalKeyIndex;
+import com.example.batch.mapper.EmployeeMapper;
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mybatis.spring.SqlSessionTemplate;
+import org.springframework.batch.item.Chunk;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UnchangedRowSkippingItemWriterTest {
+    
+    private EmbeddedDatabase database;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+    private EmployeeIndexedUpsertItemWriter indexedWriter;
+    
+    @BeforeEach
+    void setUp() throws Exception {
+        database = new EmbeddedDatabaseBuilder()
+                .generateUniqueName(true)
+                .setType(EmbeddedDatabaseType.H2)
+                .addScript("classpath:schema.sql")
+                .build();
+        jdbcTemplate = new JdbcTemplate(database);
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(database));
+        
+        SqlSessionFactory sqlSessionFactory = new MyBatisConfig().sqlSessionFactory(database);
+        new SqlSessionTemplate(sqlSessionFactory).getMapper(EmployeeMapper.class)
+                .insert(employee("EMP001", "Taro", 1L));
+        NaturalKeyIndex keyIndex = new NaturalKeyIndex(16, false);
+        keyIndex.put("EMP001", jdbcTemplate.queryForObject(
+                "SELECT id FROM employee WHERE employee_code = 'EMP001'", Long.class));
+        
+        indexedWriter = new EmployeeIndexedUpsertItemWriter();
+        ReflectionTestUtils.setField(indexedWriter, "batchSqlSessionTemplate",
+                new SqlSessionTemplate(sqlSessionFactory, ExecutorType.BATCH));
+        ReflectionTestUtils.setField(indexedWriter, "employeeKeyIndex", keyIndex);
+    }
+    
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+    
+    @Test
+    void skipsUnchangedRowsInFrontOfIndexedWriter() {
+        // 索引振り分けライターと同じBATCH実行モードのセッションで登録済みハッシュを検索する
+        UnchangedRowSkippingItemWriter<Employee> writer = new UnchangedRowSkippingItemWriter<>(indexedWriter,
+                indexedWriter::findStored, Employee::getEmployeeCode, Employee::getContentHash);
+        
+        transactionTemplate.executeWithoutResult(status -> {
+            try {
+                writer.write(Chunk.of(employee("EMP001", "Changed", 1L), employee("EMP002", "Hanako", 2L)));
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        
+        // EMP001は内容ハッシュが一致するため書き込まれず、EMP002は新規登録される
+        assertEquals("Taro", firstName("EMP001"));
+        assertEquals("Hanako", firstName("EMP002"));
+    }
+    
+    private String firstName(String employeeCode) {
+        return jdbcTemplate.queryForObject(
+                "SELECT first_name FROM employee WHERE employee_code = ?", String.class, employeeCode);
+    }
+    
+    private static Employee employee(String employeeCode, String firstName, Long contentHash) {
+        return Employee.builder()
+                .employeeCode(employeeCode)
+                .firstName(firstName)
+                .lastName("Yamada")
+                .email(employeeCode.toLowerCase() + "@example.com")
+                .status("ACTIVE")
+                .contentHash(contentHash)
+                .build();
+    }
+}